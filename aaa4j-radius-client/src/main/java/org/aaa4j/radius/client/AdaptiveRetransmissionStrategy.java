@@ -0,0 +1,215 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.client;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A retransmission strategy that adapts the timeouts to the round-trip times measured for each server. The strategy
+ * keeps a smoothed round-trip time and round-trip time variation per server (Jacobson/Karels, see RFC 6298), and waits
+ * for the smoothed round-trip time plus four times the variation before the first retransmission. Each retransmission
+ * then doubles the timeout, up to a maximum timeout, with a random jitter of +/-10% (RFC 5080, section 2.2.1). A
+ * timeout backs off the timeout of the server (to twice the expired timeout) until a new round-trip time is measured,
+ * like the retransmission timer of RFC 6298, so that the strategy recovers when the round-trip time suddenly grows.
+ * The timeout of an attempt is the larger of the backed off timeout and the measured timeout doubled for each previous
+ * attempt, so the back-off isn't applied twice.
+ *
+ * <p>
+ * Since the timeouts follow the round-trip time, the retransmissions start much earlier than with a fixed timeout on a
+ * fast network, so a strategy making more attempts (e.g., 5) is usually suitable. Instances are thread-safe and may be
+ * shared by several clients.
+ * </p>
+ */
+public final class AdaptiveRetransmissionStrategy implements RetransmissionStrategy {
+
+    private static final Duration DEFAULT_INITIAL_TIMEOUT = Duration.ofSeconds(2);
+
+    private static final Duration DEFAULT_MIN_TIMEOUT = Duration.ofMillis(20);
+
+    private static final Duration DEFAULT_MAX_TIMEOUT = Duration.ofSeconds(16);
+
+    private static final double JITTER = 0.1;
+
+    private final int maxAttempts;
+
+    private final long initialTimeoutNanos;
+
+    private final long minTimeoutNanos;
+
+    private final long maxTimeoutNanos;
+
+    private final Map<InetSocketAddress, RoundTripTimeEstimator> estimators = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new retransmission strategy with the given maximum number of attempts. The timeout before the
+     * round-trip time to a server is measured is 2 seconds, and the timeouts are kept between 20 milliseconds and 16
+     * seconds.
+     *
+     * @param maxAttempts the total maximum number of attempts
+     */
+    public AdaptiveRetransmissionStrategy(int maxAttempts) {
+        this(maxAttempts, DEFAULT_INITIAL_TIMEOUT, DEFAULT_MIN_TIMEOUT, DEFAULT_MAX_TIMEOUT);
+    }
+
+    /**
+     * Constructs a new retransmission strategy with the given parameters.
+     *
+     * @param maxAttempts the total maximum number of attempts
+     * @param initialTimeout the timeout of the first attempt until the round-trip time to the server is measured
+     * @param minTimeout the minimum timeout of the first attempt
+     * @param maxTimeout the maximum timeout of an attempt
+     */
+    public AdaptiveRetransmissionStrategy(int maxAttempts, Duration initialTimeout, Duration minTimeout,
+                                          Duration maxTimeout)
+    {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be at least 1");
+        }
+
+        if (minTimeout.compareTo(maxTimeout) > 0) {
+            throw new IllegalArgumentException("Min timeout must not be greater than max timeout");
+        }
+
+        this.maxAttempts = maxAttempts;
+        this.initialTimeoutNanos = initialTimeout.toNanos();
+        this.minTimeoutNanos = minTimeout.toNanos();
+        this.maxTimeoutNanos = maxTimeout.toNanos();
+    }
+
+    @Override
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    @Override
+    public Duration timeoutForAttempt(int attempt) {
+        checkAttempt(attempt);
+
+        return jitter(backOff(clamp(initialTimeoutNanos), attempt));
+    }
+
+    @Override
+    public Duration timeoutForAttempt(InetSocketAddress address, int attempt) {
+        RoundTripTimeEstimator estimator = estimators.get(address);
+
+        if (estimator == null) {
+            return timeoutForAttempt(attempt);
+        }
+
+        checkAttempt(attempt);
+
+        // A timeout of the previous attempt already backed off the server's timeout, so the per-attempt doubling is only
+        // applied to the measured timeout
+        long timeoutNanos = Math.max(estimator.getBackedOffTimeoutNanos(),
+                backOff(estimator.getTimeoutNanos(), attempt));
+
+        return jitter(timeoutNanos);
+    }
+
+    @Override
+    public void handleRoundTripTime(InetSocketAddress address, Duration roundTripTime) {
+        estimators.computeIfAbsent(address, a -> new RoundTripTimeEstimator()).addSample(roundTripTime.toNanos());
+    }
+
+    @Override
+    public void handleTimeout(InetSocketAddress address, Duration timeout) {
+        estimators.computeIfAbsent(address, a -> new RoundTripTimeEstimator()).backOff(timeout.toNanos());
+    }
+
+    private void checkAttempt(int attempt) {
+        if (attempt < 0 || attempt >= maxAttempts) {
+            throw new IllegalArgumentException("Attempt " + attempt + " is outside of the valid range");
+        }
+    }
+
+    private long backOff(long timeoutNanos, int attempt) {
+        // RT = 2 * RTprev, up to the maximum timeout
+        for (int i = 0; i < attempt && timeoutNanos < maxTimeoutNanos; i++) {
+            timeoutNanos = timeoutNanos * 2;
+        }
+
+        return Math.min(timeoutNanos, maxTimeoutNanos);
+    }
+
+    private static Duration jitter(long timeoutNanos) {
+        // RT = RT + RAND * RT, with RAND uniformly distributed between -0.1 and +0.1
+        double rand = ThreadLocalRandom.current().nextDouble(-JITTER, JITTER);
+
+        return Duration.ofNanos(timeoutNanos + (long) (rand * timeoutNanos));
+    }
+
+    private long clamp(long timeoutNanos) {
+        return Math.max(minTimeoutNanos, Math.min(maxTimeoutNanos, timeoutNanos));
+    }
+
+    /**
+     * The round-trip time estimate of a server.
+     */
+    private final class RoundTripTimeEstimator {
+
+        private long smoothedRoundTripTimeNanos = -1;
+
+        private long roundTripTimeVariationNanos;
+
+        /**
+         * The backed off timeout after a timeout, or 0 if a round-trip time was measured since the last timeout.
+         */
+        private long backedOffTimeoutNanos;
+
+        synchronized void addSample(long roundTripTimeNanos) {
+            if (smoothedRoundTripTimeNanos == -1) {
+                smoothedRoundTripTimeNanos = roundTripTimeNanos;
+                roundTripTimeVariationNanos = roundTripTimeNanos / 2;
+            }
+            else {
+                // RTTVAR = 3/4 * RTTVAR + 1/4 * |SRTT - R|, then SRTT = 7/8 * SRTT + 1/8 * R
+                long deviationNanos = Math.abs(smoothedRoundTripTimeNanos - roundTripTimeNanos);
+
+                roundTripTimeVariationNanos += (deviationNanos - roundTripTimeVariationNanos) / 4;
+                smoothedRoundTripTimeNanos += (roundTripTimeNanos - smoothedRoundTripTimeNanos) / 8;
+            }
+
+            backedOffTimeoutNanos = 0;
+        }
+
+        synchronized void backOff(long timeoutNanos) {
+            // Concurrent timeouts of the same timeout only back off once
+            backedOffTimeoutNanos = Math.max(backedOffTimeoutNanos, clamp(timeoutNanos * 2));
+        }
+
+        /**
+         * Returns the timeout from the measured round-trip times, or the initial timeout if none was measured.
+         */
+        synchronized long getTimeoutNanos() {
+            long timeoutNanos = smoothedRoundTripTimeNanos == -1
+                    ? initialTimeoutNanos
+                    : smoothedRoundTripTimeNanos + 4 * roundTripTimeVariationNanos;
+
+            return clamp(timeoutNanos);
+        }
+
+        synchronized long getBackedOffTimeoutNanos() {
+            return backedOffTimeoutNanos;
+        }
+
+    }
+
+}
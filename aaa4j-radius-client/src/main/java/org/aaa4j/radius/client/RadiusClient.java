@@ -18,13 +18,16 @@ package org.aaa4j.radius.client;
 
 import org.aaa4j.radius.core.packet.Packet;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * A RADIUS client sends RADIUS request packets and receives RADIUS response packets.
  */
 public interface RadiusClient extends AutoCloseable {
 
     /**
-     * Sends a RADIUS request packet.
+     * Sends a RADIUS request packet. Blocks until a response packet is received or until the client gives up (see
+     * {@link #sendAsync(Packet)} to send without blocking).
      *
      * @param requestPacket the request packet to send
      * 
@@ -35,6 +38,35 @@ public interface RadiusClient extends AutoCloseable {
      */
     Packet send(Packet requestPacket) throws IllegalStateException, RadiusClientException;
 
+    /**
+     * Sends a RADIUS request packet without blocking. The returned future is completed with the response packet, or
+     * completed exceptionally with a {@link RadiusClientException} if an error occurs (e.g., IO error or timeout).
+     * Cancelling the future stops the client from waiting for (and retransmitting) the request.
+     * <p>
+     * The default implementation blocks a thread of the common fork-join pool in {@link #send(Packet)}, so cancelling
+     * the future doesn't stop the request. Implementations should override it with a non-blocking implementation.
+     *
+     * @param requestPacket the request packet to send
+     *
+     * @return a future completed with the RADIUS response packet
+     *
+     * @throws IllegalStateException if the client has already been closed
+     */
+    default CompletableFuture<Packet> sendAsync(Packet requestPacket) throws IllegalStateException {
+        CompletableFuture<Packet> responseFuture = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                responseFuture.complete(send(requestPacket));
+            }
+            catch (RadiusClientException | RuntimeException e) {
+                responseFuture.completeExceptionally(e);
+            }
+        });
+
+        return responseFuture;
+    }
+
     /**
      * Initiates an orderly shutdown where all packets in flight are handled to completion. Blocks until all resources
      * are released. Calling this method multiple times is permitted.
@@ -16,6 +16,7 @@
 
 package org.aaa4j.radius.client;
 
+import java.net.InetSocketAddress;
 import java.time.Duration;
 
 /**
@@ -40,4 +41,40 @@ public interface RetransmissionStrategy {
      */
     Duration timeoutForAttempt(int attempt);
 
+    /**
+     * Gets the timeout duration that a client should wait before timing out when sending to the given server. The
+     * default implementation returns {@link #timeoutForAttempt(int)}.
+     *
+     * @param address the server address
+     * @param attempt the attempt number (starting at <code>0</code>)
+     *
+     * @return the timeout duration to wait for the given attempt
+     */
+    default Duration timeoutForAttempt(InetSocketAddress address, int attempt) {
+        return timeoutForAttempt(attempt);
+    }
+
+    /**
+     * Handles the round-trip time measured for a request sent to the given server. Clients only report the requests
+     * answered before being retransmitted, since a response to a retransmitted request can't be matched to one of the
+     * transmissions (Karn's algorithm). The default implementation does nothing.
+     *
+     * @param address the server address
+     * @param roundTripTime the time between sending the request and receiving its response
+     */
+    default void handleRoundTripTime(InetSocketAddress address, Duration roundTripTime) {
+        // Nothing to do
+    }
+
+    /**
+     * Handles a request sent to the given server timing out, before it is retransmitted or given up on. The default
+     * implementation does nothing.
+     *
+     * @param address the server address
+     * @param timeout the timeout duration that expired
+     */
+    default void handleTimeout(InetSocketAddress address, Duration timeout) {
+        // Nothing to do
+    }
+
 }
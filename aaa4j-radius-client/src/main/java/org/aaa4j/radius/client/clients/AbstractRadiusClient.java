@@ -20,15 +20,19 @@ import org.aaa4j.radius.client.RadiusClient;
 import org.aaa4j.radius.client.RadiusClientException;
 import org.aaa4j.radius.core.dictionary.Dictionary;
 import org.aaa4j.radius.core.dictionary.dictionaries.StandardDictionary;
-import org.aaa4j.radius.core.packet.IncrementingPacketIdGenerator;
 import org.aaa4j.radius.core.packet.Packet;
 import org.aaa4j.radius.core.packet.PacketCodec;
+import org.aaa4j.radius.core.packet.PacketCodecException;
 import org.aaa4j.radius.core.util.RandomProvider;
 import org.aaa4j.radius.core.util.SecureRandomProvider;
 
 import java.net.InetSocketAddress;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -55,17 +59,39 @@ abstract class AbstractRadiusClient implements RadiusClient {
 
     final PacketCodec packetCodec;
 
+    final EventLoop eventLoop;
+
+    /**
+     * The executor completing the futures returned by {@link #sendAsync(Packet)} or null to complete them on the event
+     * loop thread.
+     */
+    final Executor executor;
+
     /**
      * Indicates that the client has already been closed
      */
     volatile boolean isClosed = false;
 
+    /**
+     * Indicates that the client was closed on the event loop thread while packets were in flight, so the last one to
+     * complete releases the resources. Guarded by {@link #sharedLock}.
+     */
+    boolean isCloseDeferred = false;
+
+    /**
+     * The identifier of the request packet being encoded by {@link #encodeRequest(Packet, int, byte[])}. Only used on
+     * the event loop thread.
+     */
+    private int encodingPacketId;
+
     public AbstractRadiusClient(Builder<?, ?> builder, byte[] defaultSecret) {
         this.address = Objects.requireNonNull(builder.address);
         this.secret = Objects.requireNonNull(builder.secret == null ? defaultSecret : builder.secret);
         this.dictionary = builder.dictionary == null ? new StandardDictionary() : builder.dictionary;
 
-        this.packetCodec = new PacketCodec(dictionary, randomProvider, new IncrementingPacketIdGenerator(1));
+        this.packetCodec = new PacketCodec(dictionary, randomProvider, () -> encodingPacketId);
+        this.executor = builder.executor;
+        this.eventLoop = EventLoop.acquireShared();
     }
 
     public AbstractRadiusClient(Builder<?, ?> builder) {
@@ -74,6 +100,17 @@ abstract class AbstractRadiusClient implements RadiusClient {
 
     @Override
     public final Packet send(Packet requestPacket) throws RadiusClientException {
+        if (eventLoop.inEventLoop()) {
+            throw new IllegalStateException("Blocking send is not allowed on the client event loop thread");
+        }
+
+        return await(sendAsync(requestPacket));
+    }
+
+    @Override
+    public final CompletableFuture<Packet> sendAsync(Packet requestPacket) {
+        Objects.requireNonNull(requestPacket);
+
         sharedLock.lock();
 
         try {
@@ -87,24 +124,43 @@ abstract class AbstractRadiusClient implements RadiusClient {
             sharedLock.unlock();
         }
 
-        try {
-            return doSend(requestPacket);
-        }
-        finally {
-            sharedLock.lock();
+        CompletableFuture<Packet> future = new CompletableFuture<>();
 
-            try {
-                activeSenderCount.decrementAndGet();
+        // Completed by the transport on the event loop thread
+        CompletableFuture<Packet> responseFuture = new CompletableFuture<>();
 
-                if (closeLatch != null) {
-                    // Signal the thread(s) waiting on close
-                    closeLatch.countDown();
-                }
+        responseFuture.whenComplete((responsePacket, throwable) -> {
+            finishSender();
+
+            if (executor == null) {
+                complete(future, responsePacket, throwable);
+
+                return;
             }
-            finally {
-                sharedLock.unlock();
+
+            try {
+                executor.execute(() -> complete(future, responsePacket, throwable));
+            }
+            catch (RejectedExecutionException e) {
+                complete(future, responsePacket, throwable);
             }
+        });
+
+        // Stop waiting for the response when the caller cancels the future
+        future.whenComplete((responsePacket, throwable) -> {
+            if (future.isCancelled()) {
+                responseFuture.cancel(false);
+            }
+        });
+
+        try {
+            doSendAsync(requestPacket, responseFuture);
+        }
+        catch (RuntimeException e) {
+            responseFuture.completeExceptionally(e);
         }
+
+        return future;
     }
 
     @Override
@@ -127,6 +183,13 @@ abstract class AbstractRadiusClient implements RadiusClient {
                 numActiveSenders = activeSenderCount.get();
 
                 if (numActiveSenders > 0) {
+                    if (eventLoop.inEventLoop()) {
+                        // Waiting would keep the packets in flight from completing
+                        isCloseDeferred = true;
+
+                        return;
+                    }
+
                     closeLatch = new CountDownLatch(Math.toIntExact(numActiveSenders));
                 }
             }
@@ -149,7 +212,7 @@ abstract class AbstractRadiusClient implements RadiusClient {
             }
 
             // Close all resources
-            doClose();
+            closeResources();
         }
         finally {
             closeLatch = null;
@@ -158,10 +221,123 @@ abstract class AbstractRadiusClient implements RadiusClient {
         }
     }
 
-    abstract Packet doSend(Packet requestPacket) throws RadiusClientException;
+    /**
+     * Sends a request packet without blocking. Implementations complete the response future on the event loop thread,
+     * exceptionally with a {@link RadiusClientException} if there is no valid response, and stop waiting for the
+     * response once the future is cancelled.
+     *
+     * @param requestPacket the request packet to send
+     * @param responseFuture the future to complete with the response packet
+     */
+    abstract void doSendAsync(Packet requestPacket, CompletableFuture<Packet> responseFuture);
 
     abstract void doClose();
 
+    /**
+     * Encodes a request packet with the given identifier. Must be called on the event loop thread.
+     *
+     * @param requestPacket the request packet
+     * @param packetId the packet identifier
+     * @param authenticatorBytes the request authenticator; populated for Accounting-Request packets
+     *
+     * @return the encoded request packet
+     *
+     * @throws PacketCodecException if there's a problem encoding the packet
+     */
+    final byte[] encodeRequest(Packet requestPacket, int packetId, byte[] authenticatorBytes)
+            throws PacketCodecException
+    {
+        encodingPacketId = packetId;
+
+        return packetCodec.encodeRequest(requestPacket, secret, authenticatorBytes);
+    }
+
+    private void finishSender() {
+        boolean isClosing = false;
+
+        sharedLock.lock();
+
+        try {
+            if (activeSenderCount.decrementAndGet() == 0 && isCloseDeferred) {
+                isCloseDeferred = false;
+                isClosing = true;
+            }
+
+            if (closeLatch != null) {
+                // Signal the thread(s) waiting on close
+                closeLatch.countDown();
+            }
+        }
+        finally {
+            sharedLock.unlock();
+        }
+
+        if (isClosing) {
+            // The client was closed on the event loop thread while this packet was in flight
+            closeResources();
+        }
+    }
+
+    private void closeResources() {
+        try {
+            doClose();
+        }
+        catch (IllegalStateException ignored) {
+            // The event loop is closed, and it closed the channels when it stopped
+        }
+        finally {
+            eventLoop.release();
+        }
+    }
+
+    /**
+     * Waits for the response to a request packet sent without blocking.
+     *
+     * @param future the future returned by {@link RadiusClient#sendAsync(Packet)}
+     *
+     * @return the response packet
+     *
+     * @throws RadiusClientException if an error occurs (e.g., IO error or timeout) or the thread is interrupted
+     */
+    static Packet await(CompletableFuture<Packet> future) throws RadiusClientException {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException e) {
+            future.cancel(false);
+
+            Thread.currentThread().interrupt();
+
+            throw new RadiusClientException(e);
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof RadiusClientException) {
+                throw (RadiusClientException) cause;
+            }
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new RadiusClientException(cause);
+        }
+    }
+
+    private static void complete(CompletableFuture<Packet> future, Packet responsePacket, Throwable throwable) {
+        if (throwable == null) {
+            future.complete(responsePacket);
+        }
+        else {
+            future.completeExceptionally(throwable);
+        }
+    }
+
     static abstract class Builder<T extends RadiusClient, B extends Builder<T, B>> {
 
         InetSocketAddress address;
@@ -170,6 +346,8 @@ abstract class AbstractRadiusClient implements RadiusClient {
 
         Dictionary dictionary;
 
+        Executor executor;
+
         /**
          * Sets the address of the server. Required.
          *
@@ -218,6 +396,25 @@ abstract class AbstractRadiusClient implements RadiusClient {
             return builder;
         }
 
+        /**
+         * Sets the executor used to complete the futures returned by {@link RadiusClient#sendAsync(Packet)}, and thus
+         * to run their dependent actions. The TLS clients also run the delegated tasks of the TLS handshake (e.g.,
+         * certificate validation) on it. Optional. When not set, the futures are completed by the client event loop
+         * thread, so the dependent actions must not block, and the delegated tasks run on the common fork-join pool.
+         *
+         * @param executor the executor to use
+         *
+         * @return this builder
+         */
+        public B executor(Executor executor) {
+            this.executor = executor;
+
+            @SuppressWarnings("unchecked")
+            B builder = (B) this;
+
+            return builder;
+        }
+
         public abstract T build();
 
     }
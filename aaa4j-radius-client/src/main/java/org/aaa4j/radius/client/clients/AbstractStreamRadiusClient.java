@@ -0,0 +1,621 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.client.clients;
+
+import org.aaa4j.radius.client.RadiusClient;
+import org.aaa4j.radius.client.RadiusClientException;
+import org.aaa4j.radius.core.packet.Packet;
+import org.aaa4j.radius.core.packet.PacketCodecException;
+
+import javax.net.ssl.SSLEngine;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Base class of the clients using a stream transport (TCP or TLS over TCP). The requests are pipelined over a pool of
+ * persistent {@link StreamConnection}s served by the event loop, and matched to their responses by packet identifier
+ * (RFC 6613). Each connection has up to 256 requests in flight; more connections are opened while the identifiers of
+ * the open connections are all in use, up to a maximum number of connections.
+ */
+abstract class AbstractStreamRadiusClient extends AbstractRadiusClient {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final int DEFAULT_MAX_CONNECTIONS = 4;
+
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * The delay before replacing a pre-warmed connection that failed, so that an unreachable server isn't retried in a
+     * tight loop.
+     */
+    private static final long RECONNECT_DELAY_NANOS = Duration.ofSeconds(1).toNanos();
+
+    final Duration timeout;
+
+    final int maxConnections;
+
+    final int minConnections;
+
+    final Duration idleTimeout;
+
+    /**
+     * The open connections. Only used on the event loop thread.
+     */
+    private final List<PooledConnection> connections = new ArrayList<>();
+
+    /**
+     * The requests waiting for a free identifier while the identifiers of every connection are in use. Only used on
+     * the event loop thread.
+     */
+    private final Queue<Request> waitingRequests = new ArrayDeque<>();
+
+    /**
+     * Indicates that the connections are closed and no new connections are opened. Only used on the event loop thread.
+     */
+    private boolean isPoolClosed;
+
+    AbstractStreamRadiusClient(Builder<?, ?> builder, byte[] defaultSecret) {
+        super(builder, defaultSecret);
+
+        this.timeout = builder.timeout == null ? DEFAULT_TIMEOUT : builder.timeout;
+        this.maxConnections = builder.maxConnections == null ? DEFAULT_MAX_CONNECTIONS : builder.maxConnections;
+        this.minConnections = builder.minConnections == null ? 0 : builder.minConnections;
+        this.idleTimeout = builder.idleTimeout == null ? DEFAULT_IDLE_TIMEOUT : builder.idleTimeout;
+
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("The maximum number of connections must be at least 1");
+        }
+
+        if (minConnections < 0 || minConnections > maxConnections) {
+            throw new IllegalArgumentException("The minimum number of connections must be between 0 and the maximum "
+                    + "number of connections");
+        }
+    }
+
+    @Override
+    void doSendAsync(Packet requestPacket, CompletableFuture<Packet> responseFuture) {
+        eventLoop.execute(new Request(requestPacket, responseFuture)::start);
+    }
+
+    @Override
+    void doClose() {
+        eventLoop.execute(() -> {
+            isPoolClosed = true;
+
+            for (PooledConnection connection : new ArrayList<>(connections)) {
+                connection.connection.close();
+            }
+        });
+    }
+
+    /**
+     * Opens the pre-warmed connections, so that the first requests don't wait for a connection (and TLS handshake).
+     * Called by the subclasses once they are fully constructed, since the connections are opened on the event loop
+     * thread.
+     */
+    final void openPrewarmedConnections() {
+        if (minConnections > 0) {
+            eventLoop.execute(this::openMinConnections);
+        }
+    }
+
+    /**
+     * Creates the TLS engine of a new connection. Runs on the event loop thread.
+     *
+     * @return a client mode TLS engine or null to use plain TCP
+     */
+    abstract SSLEngine createSslEngine();
+
+    /**
+     * Gets the connection to send a new request over: the least busy connection with a free identifier, or a new
+     * connection when the identifiers of every connection are in use.
+     *
+     * @return a connection or null if the identifiers of the maximum number of connections are all in use
+     */
+    private PooledConnection getAvailableConnection() {
+        PooledConnection availableConnection = null;
+
+        for (PooledConnection connection : connections) {
+            if (connection.isDraining || connection.requests.isFull()) {
+                continue;
+            }
+
+            if (availableConnection == null || connection.requests.size() < availableConnection.requests.size()) {
+                availableConnection = connection;
+            }
+        }
+
+        if (availableConnection == null && connections.size() < maxConnections) {
+            availableConnection = new PooledConnection();
+
+            connections.add(availableConnection);
+
+            availableConnection.connection.connect();
+        }
+
+        return availableConnection;
+    }
+
+    /**
+     * Opens connections until the minimum number of connections that take new requests is reached.
+     */
+    private void openMinConnections() {
+        while (!isPoolClosed && countActiveConnections() < minConnections) {
+            PooledConnection connection = new PooledConnection();
+
+            connections.add(connection);
+
+            connection.connection.connect();
+
+            if (connection.connection.isClosed()) {
+                // The connection failed right away and its replacement is already scheduled
+                return;
+            }
+        }
+    }
+
+    /**
+     * Counts the connections that take new requests.
+     *
+     * @return the number of connections that aren't draining
+     */
+    private int countActiveConnections() {
+        int count = 0;
+
+        for (PooledConnection connection : connections) {
+            if (!connection.isDraining) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Sends the requests waiting for a free identifier.
+     */
+    private void sendWaitingRequests() {
+        Request request;
+
+        if (!eventLoop.isRunning()) {
+            // The event loop is closed, so the waiting requests would never time out
+            while ((request = waitingRequests.poll()) != null) {
+                request.fail(new RadiusClientException("Client event loop is closed"));
+            }
+
+            return;
+        }
+
+        while ((request = waitingRequests.peek()) != null) {
+            if (request.responseFuture.isDone()) {
+                // Timed out or cancelled while waiting
+                waitingRequests.poll();
+
+                continue;
+            }
+
+            PooledConnection connection = getAvailableConnection();
+
+            if (connection == null) {
+                return;
+            }
+
+            waitingRequests.poll();
+
+            request.send(connection);
+        }
+    }
+
+    /**
+     * A persistent connection of the pool. Only used on the event loop thread.
+     */
+    private final class PooledConnection implements StreamConnection.Listener {
+
+        private final StreamConnection connection;
+
+        private final RequestTable<Request> requests = new RequestTable<>();
+
+        /**
+         * The time of the last response received over the connection.
+         */
+        private long lastResponseNanos = System.nanoTime();
+
+        /**
+         * The time the last request in flight completed.
+         */
+        private long idleSinceNanos;
+
+        private boolean isIdleCheckScheduled;
+
+        /**
+         * Indicates that the server stopped responding over the connection, so the connection doesn't get new requests
+         * and is closed once its requests complete.
+         */
+        private boolean isDraining;
+
+        /**
+         * The error that closed the connection or null if the connection was closed by the client.
+         */
+        private Exception closeCause;
+
+        private PooledConnection() {
+            this.connection = new StreamConnection(eventLoop, address, createSslEngine(), this,
+                    executor == null ? ForkJoinPool.commonPool() : executor);
+        }
+
+        @Override
+        public void handleConnect(StreamConnection connection) {
+            // Nothing to do, the queued request packets are written once the connection is established
+        }
+
+        @Override
+        public void handlePacket(StreamConnection connection, ByteBuffer buffer, int offset, int length) {
+            lastResponseNanos = System.nanoTime();
+
+            Request request = requests.get(buffer.get(offset + 1) & 0xff);
+
+            if (request != null) {
+                request.handleResponse(buffer, offset, length);
+            }
+        }
+
+        @Override
+        public void handleClose(StreamConnection connection, Exception cause) {
+            closeCause = cause;
+
+            connections.remove(this);
+
+            for (Request request : requests.removeAll()) {
+                request.fail(newCloseException());
+            }
+
+            if (!waitingRequests.isEmpty()) {
+                // The waiting requests can use a new connection
+                eventLoop.execute(AbstractStreamRadiusClient.this::sendWaitingRequests);
+            }
+
+            if (!isPoolClosed && minConnections > 0 && eventLoop.isRunning()) {
+                // Replace the pre-warmed connection
+                if (cause == null) {
+                    eventLoop.execute(AbstractStreamRadiusClient.this::openMinConnections);
+                }
+                else {
+                    eventLoop.schedule(AbstractStreamRadiusClient.this::openMinConnections, RECONNECT_DELAY_NANOS);
+                }
+            }
+        }
+
+        private RadiusClientException newCloseException() {
+            return closeCause == null
+                    ? new RadiusClientException("Client closed")
+                    : new RadiusClientException(closeCause);
+        }
+
+        private void release(int packetId) {
+            requests.remove(packetId);
+
+            if (!requests.isEmpty() || connection.isClosed()) {
+                return;
+            }
+
+            if (isDraining) {
+                connection.close();
+
+                return;
+            }
+
+            idleSinceNanos = System.nanoTime();
+
+            scheduleIdleCheck(idleTimeout.toNanos());
+        }
+
+        private void scheduleIdleCheck(long delayNanos) {
+            // A single check per connection, instead of a timeout per request, to close the idle connection
+            if (!isIdleCheckScheduled) {
+                isIdleCheckScheduled = true;
+
+                eventLoop.schedule(this::checkIdle, delayNanos);
+            }
+        }
+
+        private void checkIdle() {
+            isIdleCheckScheduled = false;
+
+            if (!requests.isEmpty() || connection.isClosed()) {
+                return;
+            }
+
+            if (countActiveConnections() <= minConnections) {
+                // Keep the pre-warmed connections open
+                return;
+            }
+
+            long remainingNanos = idleSinceNanos + idleTimeout.toNanos() - System.nanoTime();
+
+            if (remainingNanos > 0) {
+                scheduleIdleCheck(remainingNanos);
+            }
+            else {
+                connection.close();
+            }
+        }
+
+    }
+
+    /**
+     * A request packet sent over a pooled connection. Only used on the event loop thread.
+     */
+    private final class Request {
+
+        private final Packet requestPacket;
+
+        private final CompletableFuture<Packet> responseFuture;
+
+        private final byte[] authenticatorBytes = new byte[16];
+
+        private PooledConnection connection;
+
+        private int packetId = -1;
+
+        private long sendNanos;
+
+        private EventLoop.Timeout timeoutTask;
+
+        /**
+         * The error of the last invalid response, which is reported if there is no valid response.
+         */
+        private Exception invalidResponseException;
+
+        private Request(Packet requestPacket, CompletableFuture<Packet> responseFuture) {
+            this.requestPacket = requestPacket;
+            this.responseFuture = responseFuture;
+        }
+
+        private void start() {
+            if (responseFuture.isDone()) {
+                return;
+            }
+
+            try {
+                // The timeout covers waiting for an identifier, connecting, the TLS handshake and waiting for the
+                // response
+                timeoutTask = eventLoop.schedule(this::handleTimeout, timeout.toNanos());
+            }
+            catch (IllegalStateException e) {
+                // The event loop is closed
+                responseFuture.completeExceptionally(new RadiusClientException(e));
+
+                return;
+            }
+
+            // Free the identifier right away when the caller gives up
+            responseFuture.whenComplete((responsePacket, throwable) -> {
+                if (responseFuture.isCancelled()) {
+                    eventLoop.execute(this::release);
+                }
+            });
+
+            PooledConnection availableConnection;
+
+            try {
+                // Keep the waiting requests in order
+                availableConnection = waitingRequests.isEmpty() ? getAvailableConnection() : null;
+            }
+            catch (Exception e) {
+                fail(new RadiusClientException(e));
+
+                return;
+            }
+
+            if (availableConnection == null) {
+                waitingRequests.add(this);
+
+                return;
+            }
+
+            send(availableConnection);
+        }
+
+        private void send(PooledConnection connection) {
+            if (connection.connection.isClosed()) {
+                // The connection failed right away
+                fail(connection.newCloseException());
+
+                return;
+            }
+
+            byte[] outBytes;
+
+            try {
+                int packetId = connection.requests.allocate(this);
+
+                this.connection = connection;
+                this.packetId = packetId;
+
+                randomProvider.nextBytes(authenticatorBytes);
+
+                outBytes = encodeRequest(requestPacket, packetId, authenticatorBytes);
+            }
+            catch (PacketCodecException e) {
+                fail(new RadiusClientException(e));
+
+                return;
+            }
+
+            sendNanos = System.nanoTime();
+
+            connection.connection.write(outBytes);
+        }
+
+        private void handleResponse(ByteBuffer buffer, int offset, int length) {
+            Packet responsePacket;
+
+            try {
+                responsePacket = packetCodec.decodeResponse(buffer, offset, length, secret, authenticatorBytes);
+            }
+            catch (PacketCodecException e) {
+                // Silently discard invalid responses (RFC 2865, section 3)
+                invalidResponseException = e;
+
+                return;
+            }
+
+            release();
+
+            responseFuture.complete(responsePacket);
+        }
+
+        private void handleTimeout() {
+            timeoutTask = null;
+
+            if (connection != null && connection.lastResponseNanos - sendNanos < 0) {
+                // The server didn't respond over the connection since the request was sent, so stop using it
+                connection.isDraining = true;
+            }
+
+            RadiusClientException exception = new RadiusClientException("Timeout waiting for response");
+
+            if (invalidResponseException != null) {
+                exception.addSuppressed(invalidResponseException);
+            }
+
+            fail(exception);
+        }
+
+        private void fail(RadiusClientException exception) {
+            release();
+
+            responseFuture.completeExceptionally(exception);
+        }
+
+        private void release() {
+            if (timeoutTask != null) {
+                timeoutTask.cancel();
+                timeoutTask = null;
+            }
+
+            if (packetId == -1) {
+                return;
+            }
+
+            int releasedPacketId = packetId;
+
+            packetId = -1;
+
+            connection.release(releasedPacketId);
+
+            sendWaitingRequests();
+        }
+
+    }
+
+    /**
+     * Builder for the clients using a stream transport.
+     */
+    static abstract class Builder<T extends RadiusClient, B extends Builder<T, B>>
+            extends AbstractRadiusClient.Builder<T, B>
+    {
+
+        Duration timeout;
+
+        Integer maxConnections;
+
+        Integer minConnections;
+
+        Duration idleTimeout;
+
+        /**
+         * Sets the timeout to wait for receiving a response to a request. Optional. When not set, a default timeout of
+         * 5 seconds is used.
+         *
+         * @param timeout the response timeout
+         *
+         * @return this builder
+         */
+        public B timeout(Duration timeout) {
+            this.timeout = timeout;
+
+            @SuppressWarnings("unchecked")
+            B builder = (B) this;
+
+            return builder;
+        }
+
+        /**
+         * Sets the maximum number of connections to the server. Optional. When not set, at most 4 connections are
+         * opened. Each connection has up to 256 requests in flight; further requests wait for an identifier to be
+         * freed.
+         *
+         * @param maxConnections the maximum number of connections
+         *
+         * @return this builder
+         */
+        public B maxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+
+            @SuppressWarnings("unchecked")
+            B builder = (B) this;
+
+            return builder;
+        }
+
+        /**
+         * Sets the number of connections to the server kept open even without requests in flight. Optional. When not
+         * set, no connections are opened before the first request and idle connections are all closed. The connections
+         * are opened when the client is built and replaced when they close, so that requests don't wait for a new
+         * connection (and TLS handshake).
+         *
+         * @param minConnections the minimum number of connections
+         *
+         * @return this builder
+         */
+        public B minConnections(int minConnections) {
+            this.minConnections = minConnections;
+
+            @SuppressWarnings("unchecked")
+            B builder = (B) this;
+
+            return builder;
+        }
+
+        /**
+         * Sets the duration after which a connection without requests in flight is closed. Optional. When not set, idle
+         * connections are closed after 30 seconds.
+         *
+         * @param idleTimeout the idle timeout
+         *
+         * @return this builder
+         */
+        public B idleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+
+            @SuppressWarnings("unchecked")
+            B builder = (B) this;
+
+            return builder;
+        }
+
+    }
+
+}
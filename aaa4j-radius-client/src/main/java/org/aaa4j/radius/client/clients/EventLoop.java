@@ -0,0 +1,470 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.client.clients;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * A selector loop and timer running on a single daemon thread. Channels registered with the loop have their ready
+ * operations dispatched to the {@link Handler} attached to their selection key, and scheduled timeouts run on the loop
+ * thread once they expire. All I/O on a registered channel happens on the loop thread; other threads hand work over to
+ * the loop using {@link #execute(Runnable)}.
+ *
+ * <p>
+ * The clients share one loop (see {@link #acquireShared()}), which only runs while at least one client is open.
+ * </p>
+ *
+ * <p>
+ * Exceptions thrown by handlers, tasks and timeouts are reported to the exception handler of the loop and don't stop
+ * the loop. A handler that throws an exception is closed, so that the requests using its channel fail instead of
+ * waiting forever.
+ * </p>
+ */
+final class EventLoop {
+
+    private static final String SHARED_THREAD_NAME = "aaa4j-radius-client-event-loop";
+
+    private static final Object SHARED_LOCK = new Object();
+
+    private static EventLoop sharedEventLoop;
+
+    private final Selector selector;
+
+    private final Thread thread;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The scheduled timeouts ordered by deadline. Only used on the loop thread.
+     */
+    private final PriorityQueue<Timeout> timeouts = new PriorityQueue<>();
+
+    private final ByteBuffer readBuffer;
+
+    private final Consumer<Throwable> exceptionHandler;
+
+    private volatile boolean isRunning = true;
+
+    /**
+     * The number of clients using the shared loop. Guarded by {@link #SHARED_LOCK}.
+     */
+    private int referenceCount;
+
+    /**
+     * Constructs an event loop. The loop thread is not started until {@link #start()} is called.
+     *
+     * @param threadName the name of the loop thread
+     * @param readBufferSize the size of the shared read buffer (see {@link #getReadBuffer()})
+     * @param exceptionHandler the handler for unexpected exceptions thrown on the loop
+     *
+     * @throws IOException if the selector can't be opened
+     */
+    EventLoop(String threadName, int readBufferSize, Consumer<Throwable> exceptionHandler) throws IOException {
+        this.selector = Selector.open();
+        this.thread = new Thread(this::run, threadName);
+        this.thread.setDaemon(true);
+        this.readBuffer = ByteBuffer.allocate(readBufferSize);
+        this.exceptionHandler = Objects.requireNonNull(exceptionHandler);
+    }
+
+    /**
+     * Gets the loop shared by the clients, starting it if no client is using it. Every call must be paired with a call
+     * to {@link #release()}.
+     *
+     * @return the shared event loop
+     */
+    static EventLoop acquireShared() {
+        synchronized (SHARED_LOCK) {
+            if (sharedEventLoop == null || !sharedEventLoop.isRunning) {
+                try {
+                    sharedEventLoop = new EventLoop(SHARED_THREAD_NAME, AbstractRadiusClient.MAX_PACKET_SIZE,
+                            EventLoop::reportUncaughtException);
+                }
+                catch (IOException e) {
+                    throw new RuntimeException("Unable to open the client event loop", e);
+                }
+
+                sharedEventLoop.start();
+            }
+
+            sharedEventLoop.referenceCount++;
+
+            return sharedEventLoop;
+        }
+    }
+
+    /**
+     * Releases a loop acquired with {@link #acquireShared()}. The loop is closed once no client is using it.
+     */
+    void release() {
+        synchronized (SHARED_LOCK) {
+            if (--referenceCount > 0) {
+                return;
+            }
+
+            if (sharedEventLoop == this) {
+                sharedEventLoop = null;
+            }
+        }
+
+        close();
+    }
+
+    /**
+     * Starts the loop thread.
+     */
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Checks whether the current thread is the loop thread.
+     *
+     * @return true if called on the loop thread
+     */
+    boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Checks whether the loop is running. Once the loop stops, tasks can't be executed or scheduled anymore.
+     *
+     * @return true if the loop is running
+     */
+    boolean isRunning() {
+        return isRunning;
+    }
+
+    /**
+     * Runs a task on the loop thread. Tasks executed on the loop thread always run, even while the loop is stopping.
+     *
+     * @param task the task to run
+     *
+     * @throws IllegalStateException if the loop has stopped
+     */
+    void execute(Runnable task) {
+        tasks.add(task);
+
+        if (Thread.currentThread() == thread) {
+            // The remaining tasks run before the loop thread exits
+            return;
+        }
+
+        if (!isRunning && tasks.remove(task)) {
+            throw new IllegalStateException("Client event loop is closed");
+        }
+
+        selector.wakeup();
+    }
+
+    /**
+     * Schedules a task to run on the loop thread once a delay has passed. Must be called on the loop thread.
+     *
+     * @param task the task to run
+     * @param delayNanos the delay in nanoseconds
+     *
+     * @return the timeout, which can be cancelled before it expires
+     *
+     * @throws IllegalStateException if the loop has stopped
+     */
+    Timeout schedule(Runnable task, long delayNanos) {
+        if (!isRunning) {
+            throw new IllegalStateException("Client event loop is closed");
+        }
+
+        Timeout timeout = new Timeout(task, System.nanoTime() + Math.max(0, delayNanos));
+
+        timeouts.add(timeout);
+
+        return timeout;
+    }
+
+    /**
+     * Registers a channel with the loop. Must be called on the loop thread.
+     *
+     * @param channel the non-blocking channel to register
+     * @param interestOps the initial interest set
+     * @param handler the handler for the channel's ready operations
+     *
+     * @return the selection key
+     *
+     * @throws ClosedChannelException if the channel is closed
+     */
+    SelectionKey register(SelectableChannel channel, int interestOps, Handler handler) throws ClosedChannelException {
+        return channel.register(selector, interestOps, handler);
+    }
+
+    /**
+     * Returns the read buffer shared by all the channels of the loop. The buffer may only be used on the loop thread,
+     * and its contents don't survive past the handler invocation that filled it.
+     *
+     * @return the shared read buffer
+     */
+    ByteBuffer getReadBuffer() {
+        return readBuffer;
+    }
+
+    /**
+     * Reports an exception that can't be propagated to a caller (e.g., an exception thrown by a user callback) to the
+     * exception handler of the loop.
+     *
+     * @param throwable the exception
+     */
+    void handleException(Throwable throwable) {
+        try {
+            exceptionHandler.accept(throwable);
+        }
+        catch (Exception ignored) {
+            // Ignored
+        }
+    }
+
+    /**
+     * Stops the loop, closes the handlers of all registered channels and waits for the loop thread to exit (unless
+     * called on the loop thread).
+     */
+    void close() {
+        isRunning = false;
+
+        selector.wakeup();
+
+        if (Thread.currentThread() == thread) {
+            return;
+        }
+
+        boolean isInterrupted = false;
+
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            }
+            catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (isRunning) {
+                long delayNanos = runTimeouts();
+
+                if (!tasks.isEmpty()) {
+                    // Tasks queued by the loop thread itself don't wake up the selector
+                    selector.selectNow();
+                }
+                else if (delayNanos < 0) {
+                    selector.select();
+                }
+                else {
+                    // Round up so that the loop doesn't wake up before the timeout expires
+                    selector.select(Math.max(1, (delayNanos + 999_999) / 1_000_000));
+                }
+
+                runTasks();
+
+                Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+
+                while (iterator.hasNext()) {
+                    SelectionKey key = iterator.next();
+                    iterator.remove();
+
+                    if (key.isValid()) {
+                        handleSelection(key);
+                    }
+                }
+            }
+        }
+        catch (Throwable e) {
+            // The selector can't be used anymore, so the handlers are closed below
+            if (isRunning) {
+                handleException(e);
+            }
+        }
+        finally {
+            isRunning = false;
+
+            // Closing a handler may register a new channel
+            for (SelectionKey key : new ArrayList<>(selector.keys())) {
+                closeHandler(key);
+            }
+
+            try {
+                selector.close();
+            }
+            catch (IOException ignored) {
+                // Ignored
+            }
+
+            timeouts.clear();
+
+            // Run the remaining tasks so that they can observe the closed loop
+            runTasks();
+        }
+    }
+
+    private void handleSelection(SelectionKey key) {
+        try {
+            ((Handler) key.attachment()).handleSelection(key);
+        }
+        catch (Throwable e) {
+            handleException(e);
+
+            // The state of the handler is unknown, so close it rather than leave its requests waiting
+            closeHandler(key);
+        }
+    }
+
+    private void closeHandler(SelectionKey key) {
+        key.cancel();
+
+        try {
+            ((Handler) key.attachment()).close();
+        }
+        catch (Throwable e) {
+            handleException(e);
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            }
+            catch (Throwable e) {
+                // A failing task must not stop the loop
+                handleException(e);
+            }
+        }
+    }
+
+    /**
+     * Runs the expired timeouts.
+     *
+     * @return the delay in nanoseconds until the next timeout expires or -1 if there is no timeout
+     */
+    private long runTimeouts() {
+        Timeout timeout;
+
+        while ((timeout = timeouts.peek()) != null) {
+            if (timeout.isCancelled) {
+                timeouts.poll();
+
+                continue;
+            }
+
+            long delayNanos = timeout.deadlineNanos - System.nanoTime();
+
+            if (delayNanos > 0) {
+                return delayNanos;
+            }
+
+            timeouts.poll();
+
+            try {
+                timeout.task.run();
+            }
+            catch (Throwable e) {
+                // A failing timeout must not stop the loop
+                handleException(e);
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Reports an exception to the uncaught exception handler of the current thread, without terminating the thread.
+     *
+     * @param throwable the exception
+     */
+    private static void reportUncaughtException(Throwable throwable) {
+        Thread currentThread = Thread.currentThread();
+
+        currentThread.getUncaughtExceptionHandler().uncaughtException(currentThread, throwable);
+    }
+
+    /**
+     * Handler for the ready operations of a registered channel.
+     */
+    interface Handler {
+
+        /**
+         * Handles the ready operations of the channel. Runs on the loop thread and must not block. Implementations
+         * handle their own I/O errors (e.g., by closing the channel).
+         *
+         * @param key the selection key of the channel
+         */
+        void handleSelection(SelectionKey key);
+
+        /**
+         * Closes the channel. Called by the loop when it shuts down.
+         */
+        void close();
+
+    }
+
+    /**
+     * A task scheduled with {@link #schedule(Runnable, long)}. Only used on the loop thread.
+     */
+    static final class Timeout implements Comparable<Timeout> {
+
+        private final Runnable task;
+
+        private final long deadlineNanos;
+
+        private boolean isCancelled;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Cancels the timeout. Does nothing if the timeout already expired.
+         */
+        void cancel() {
+            isCancelled = true;
+        }
+
+        @Override
+        public int compareTo(Timeout other) {
+            // Compare the difference since nanoTime values may overflow
+            return Long.signum(deadlineNanos - other.deadlineNanos);
+        }
+
+    }
+
+}
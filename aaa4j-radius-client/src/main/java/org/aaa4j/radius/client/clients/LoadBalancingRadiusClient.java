@@ -0,0 +1,1105 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.client.clients;
+
+import org.aaa4j.radius.client.RadiusClient;
+import org.aaa4j.radius.client.RadiusClientException;
+import org.aaa4j.radius.core.attribute.attributes.MessageAuthenticator;
+import org.aaa4j.radius.core.attribute.attributes.State;
+import org.aaa4j.radius.core.packet.Packet;
+import org.aaa4j.radius.core.packet.PacketCodecException;
+import org.aaa4j.radius.core.packet.packets.AccessRequest;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A client spreading the requests over several servers, each reached using its own client (e.g., a
+ * {@link UdpRadiusClient}, {@link TcpRadiusClient} or {@link TlsRadiusClient}). Create an instance using
+ * {@link Builder}.
+ *
+ * <p>
+ * Each request is sent to a server picked according to the {@link BalancingMode}. If the server doesn't respond, the
+ * request fails over to another server that hasn't been tried yet. A server that fails to respond to a number of
+ * consecutive requests is marked dead (RFC 5080, section 2.2.1) and no longer gets requests, so that the following
+ * requests don't wait for it to time out. Dead servers are probed periodically (with a Status-Server packet by default,
+ * see RFC 5997) and get requests again once they respond. If every server is dead, the requests are still sent to the
+ * dead servers.
+ * </p>
+ *
+ * <p>
+ * A request continuing a multi-round exchange (e.g., EAP) carries the State attribute of the server's previous
+ * response, which only that server understands. Such a request is sent to the server that sent the State attribute, and
+ * only fails over to another server if that server is dead (see {@link Builder#stateAffinityTimeout(Duration)}).
+ * </p>
+ *
+ * <p>
+ * Optionally, slow requests are hedged (see {@link Builder#hedgePercentile(double)}): a request that gets no response
+ * within a percentile of the recent latencies is also sent to another server, and the first response is used. A hedge
+ * budget bounds the extra load.
+ * </p>
+ *
+ * <p>
+ * The client owns the clients it wraps: closing the client closes them.
+ * </p>
+ */
+public final class LoadBalancingRadiusClient implements RadiusClient {
+
+    private static final int STATUS_SERVER_CODE = 12;
+
+    private static final int DEFAULT_DEAD_THRESHOLD = 3;
+
+    private static final Duration DEFAULT_PROBE_INTERVAL = Duration.ofSeconds(30);
+
+    private static final double DEFAULT_HEDGE_BUDGET = 0.05;
+
+    private static final Duration DEFAULT_STATE_AFFINITY_TIMEOUT = Duration.ofSeconds(60);
+
+    /**
+     * The maximum number of State attributes remembered, so that clients that never continue their exchanges don't
+     * use up the memory.
+     */
+    private static final int MAX_STATE_AFFINITIES = 65536;
+
+    /**
+     * The maximum number of hedges that can be sent in a burst.
+     */
+    private static final double MAX_HEDGE_TOKENS = 10;
+
+    private final List<Server> servers;
+
+    private final BalancingMode balancingMode;
+
+    private final int deadThreshold;
+
+    private final Duration probeInterval;
+
+    private final Packet probePacket;
+
+    /**
+     * The latencies used to compute the hedging delay or null if hedging is disabled.
+     */
+    private final LatencyTracker latencyTracker;
+
+    private final double hedgeBudget;
+
+    private final long stateAffinityTimeoutNanos;
+
+    /**
+     * The servers that sent the State attributes of recent responses, in the order the responses were received.
+     * Guarded by {@link #lock}.
+     */
+    private final Map<ByteBuffer, StateAffinity> stateAffinities = new LinkedHashMap<>();
+
+    /**
+     * The event loop running the probe timers.
+     */
+    private final EventLoop eventLoop;
+
+    /**
+     * Guards the state of the servers.
+     */
+    private final Lock lock = new ReentrantLock();
+
+    private final Lock closeLock = new ReentrantLock();
+
+    /**
+     * The index of the server to consider first, so that servers with the same load get requests in turn. Guarded by
+     * {@link #lock}.
+     */
+    private int nextServerIndex;
+
+    /**
+     * The number of hedges that can be sent, replenished by the requests sent according to the hedge budget. Guarded
+     * by {@link #lock}.
+     */
+    private double hedgeTokens = MAX_HEDGE_TOKENS;
+
+    private volatile boolean isClosed = false;
+
+    private LoadBalancingRadiusClient(Builder builder) {
+        if (builder.clients.isEmpty()) {
+            throw new IllegalArgumentException("At least one server is required");
+        }
+
+        List<Server> servers = new ArrayList<>(builder.clients.size());
+
+        for (int i = 0; i < builder.clients.size(); i++) {
+            servers.add(new Server(builder.clients.get(i), builder.weights.get(i)));
+        }
+
+        this.servers = Collections.unmodifiableList(servers);
+        this.balancingMode = builder.balancingMode == null ? BalancingMode.LEAST_OUTSTANDING : builder.balancingMode;
+        this.deadThreshold = builder.deadThreshold == null ? DEFAULT_DEAD_THRESHOLD : builder.deadThreshold;
+        this.probeInterval = builder.probeInterval == null ? DEFAULT_PROBE_INTERVAL : builder.probeInterval;
+        this.probePacket = builder.probePacket == null
+                ? new Packet(STATUS_SERVER_CODE, Collections.singletonList(new MessageAuthenticator()))
+                : builder.probePacket;
+
+        this.latencyTracker = builder.hedgePercentile == null ? null : new LatencyTracker(builder.hedgePercentile);
+        this.hedgeBudget = builder.hedgeBudget == null ? DEFAULT_HEDGE_BUDGET : builder.hedgeBudget;
+        this.stateAffinityTimeoutNanos = builder.stateAffinityTimeout == null
+                ? DEFAULT_STATE_AFFINITY_TIMEOUT.toNanos()
+                : builder.stateAffinityTimeout.toNanos();
+
+        if (deadThreshold < 1) {
+            throw new IllegalArgumentException("The dead threshold must be at least 1");
+        }
+
+        if (builder.hedgePercentile != null && (builder.hedgePercentile <= 0 || builder.hedgePercentile >= 1)) {
+            throw new IllegalArgumentException("The hedge percentile must be between 0 and 1");
+        }
+
+        if (hedgeBudget <= 0 || hedgeBudget > 1) {
+            throw new IllegalArgumentException("The hedge budget must be greater than 0 and at most 1");
+        }
+
+        this.eventLoop = EventLoop.acquireShared();
+    }
+
+    /**
+     * Creates a new builder for {@link LoadBalancingRadiusClient}.
+     *
+     * @return a new builder
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    public Packet send(Packet requestPacket) throws RadiusClientException {
+        if (eventLoop.inEventLoop()) {
+            throw new IllegalStateException("Blocking send is not allowed on the client event loop thread");
+        }
+
+        return AbstractRadiusClient.await(sendAsync(requestPacket));
+    }
+
+    @Override
+    public CompletableFuture<Packet> sendAsync(Packet requestPacket) {
+        Objects.requireNonNull(requestPacket);
+
+        if (isClosed) {
+            throw new IllegalStateException("Client has already been closed");
+        }
+
+        Exchange exchange = new Exchange(requestPacket);
+
+        exchange.sendNext(false);
+
+        if (latencyTracker != null && servers.size() > 1 && isHedgeable(requestPacket)) {
+            long hedgeDelayNanos = latencyTracker.getPercentileNanos();
+
+            replenishHedgeTokens();
+
+            if (hedgeDelayNanos >= 0 && !exchange.future.isDone()) {
+                schedule(exchange::hedge, hedgeDelayNanos);
+            }
+        }
+
+        return exchange.future;
+    }
+
+    @Override
+    public void close() {
+        // Block and wait for other calls to close to finish
+        closeLock.lock();
+
+        try {
+            if (isClosed) {
+                return;
+            }
+
+            isClosed = true;
+
+            for (Server server : servers) {
+                server.client.close();
+            }
+
+            eventLoop.release();
+        }
+        finally {
+            closeLock.unlock();
+        }
+    }
+
+    /**
+     * Picks the server to send a request to.
+     *
+     * @param triedServers the servers the request was already sent to
+     * @param isDeadAllowed whether to fall back to the dead servers if every server is dead
+     * @param affinityServer the server the request must be sent to unless it is dead or null if there is none
+     *
+     * @return the server or null if there is no server left to try
+     */
+    private Server selectServer(List<Server> triedServers, boolean isDeadAllowed, Server affinityServer) {
+        lock.lock();
+
+        try {
+            if (affinityServer != null && !affinityServer.isDead && !triedServers.contains(affinityServer)) {
+                affinityServer.outstandingCount++;
+
+                return affinityServer;
+            }
+
+            boolean hasLiveServer = false;
+
+            for (Server server : servers) {
+                if (!server.isDead) {
+                    hasLiveServer = true;
+
+                    break;
+                }
+            }
+
+            List<Server> candidates = new ArrayList<>(servers.size());
+
+            for (int i = 0; i < servers.size(); i++) {
+                Server server = servers.get((nextServerIndex + i) % servers.size());
+
+                // Only fall back to the dead servers if every server is dead
+                if (!triedServers.contains(server) && (!server.isDead || (!hasLiveServer && isDeadAllowed))) {
+                    candidates.add(server);
+                }
+            }
+
+            if (candidates.isEmpty()) {
+                return null;
+            }
+
+            nextServerIndex = (nextServerIndex + 1) % servers.size();
+
+            Server selectedServer = balancingMode == BalancingMode.LEAST_OUTSTANDING
+                    ? selectLeastOutstanding(candidates)
+                    : selectWeightedRoundRobin(candidates);
+
+            selectedServer.outstandingCount++;
+
+            return selectedServer;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private static Server selectLeastOutstanding(List<Server> candidates) {
+        Server selectedServer = candidates.get(0);
+
+        for (Server server : candidates) {
+            // Compare the number of outstanding requests per unit of weight
+            if ((long) server.outstandingCount * selectedServer.weight
+                    < (long) selectedServer.outstandingCount * server.weight)
+            {
+                selectedServer = server;
+            }
+        }
+
+        return selectedServer;
+    }
+
+    private static Server selectWeightedRoundRobin(List<Server> candidates) {
+        // Smooth weighted round-robin, which interleaves the servers instead of sending bursts to the heaviest ones
+        Server selectedServer = null;
+
+        int totalWeight = 0;
+
+        for (Server server : candidates) {
+            server.currentWeight += server.weight;
+            totalWeight += server.weight;
+
+            if (selectedServer == null || server.currentWeight > selectedServer.currentWeight) {
+                selectedServer = server;
+            }
+        }
+
+        selectedServer.currentWeight -= totalWeight;
+
+        return selectedServer;
+    }
+
+    /**
+     * Remembers the server that sent the State attribute of a response, so that the request continuing the exchange is
+     * sent to the same server.
+     *
+     * @param server the server that sent the response
+     * @param responsePacket the response packet
+     */
+    private void recordStateAffinity(Server server, Packet responsePacket) {
+        Optional<State> stateAttribute = responsePacket.getAttribute(State.class);
+
+        if (!stateAttribute.isPresent()) {
+            return;
+        }
+
+        ByteBuffer state = ByteBuffer.wrap(stateAttribute.get().getData().getValue().clone());
+
+        long nowNanos = System.nanoTime();
+
+        lock.lock();
+
+        try {
+            // Keep the most recent response last, so that the oldest affinities are evicted first
+            stateAffinities.remove(state);
+            stateAffinities.put(state, new StateAffinity(server, nowNanos + stateAffinityTimeoutNanos));
+
+            Iterator<StateAffinity> iterator = stateAffinities.values().iterator();
+
+            while (iterator.hasNext()) {
+                StateAffinity stateAffinity = iterator.next();
+
+                if (stateAffinities.size() <= MAX_STATE_AFFINITIES && stateAffinity.expiryNanos - nowNanos > 0) {
+                    break;
+                }
+
+                iterator.remove();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the server that sent the State attribute of a request packet.
+     *
+     * @param requestPacket the request packet
+     *
+     * @return the server or null if the request packet has no State attribute or its server is unknown
+     */
+    private Server getStateAffinity(Packet requestPacket) {
+        Optional<State> stateAttribute = requestPacket.getAttribute(State.class);
+
+        if (!stateAttribute.isPresent()) {
+            return null;
+        }
+
+        ByteBuffer state = ByteBuffer.wrap(stateAttribute.get().getData().getValue());
+
+        lock.lock();
+
+        try {
+            StateAffinity stateAffinity = stateAffinities.get(state);
+
+            if (stateAffinity == null || stateAffinity.expiryNanos - System.nanoTime() <= 0) {
+                return null;
+            }
+
+            return stateAffinity.server;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether a request failure is due to the server (e.g., a timeout or an I/O error), as opposed to the
+     * request packet itself.
+     *
+     * @param throwable the failure
+     *
+     * @return true if the failure counts against the server
+     */
+    private static boolean isServerFailure(Throwable throwable) {
+        return throwable instanceof RadiusClientException && !(throwable.getCause() instanceof PacketCodecException);
+    }
+
+    /**
+     * Checks whether a request packet may be hedged, i.e., sent to a second server while waiting for the response of
+     * the first. Only Access-Request packets that don't continue a multi-round exchange (e.g., EAP) with a server are
+     * hedged. Accounting-Request packets in particular are never hedged, since a server would record them twice.
+     *
+     * @param requestPacket the request packet
+     *
+     * @return true if the request packet may be hedged
+     */
+    private static boolean isHedgeable(Packet requestPacket) {
+        return requestPacket.getCode() == AccessRequest.CODE && !requestPacket.getAttribute(State.class).isPresent();
+    }
+
+    private void replenishHedgeTokens() {
+        lock.lock();
+
+        try {
+            hedgeTokens = Math.min(MAX_HEDGE_TOKENS, hedgeTokens + hedgeBudget);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean tryAcquireHedgeToken() {
+        lock.lock();
+
+        try {
+            if (hedgeTokens < 1) {
+                return false;
+            }
+
+            hedgeTokens--;
+
+            return true;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseHedgeToken() {
+        lock.lock();
+
+        try {
+            hedgeTokens = Math.min(MAX_HEDGE_TOKENS, hedgeTokens + 1);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void scheduleProbe(Server server) {
+        schedule(() -> probe(server), probeInterval.toNanos());
+    }
+
+    /**
+     * Schedules a task on the event loop from any thread. The task is dropped if the event loop is closed.
+     *
+     * @param task the task to run
+     * @param delayNanos the delay in nanoseconds
+     */
+    private void schedule(Runnable task, long delayNanos) {
+        try {
+            eventLoop.execute(() -> {
+                if (eventLoop.isRunning()) {
+                    eventLoop.schedule(task, delayNanos);
+                }
+            });
+        }
+        catch (IllegalStateException ignored) {
+            // The event loop is closed
+        }
+    }
+
+    private void probe(Server server) {
+        if (!server.continueProbing()) {
+            return;
+        }
+
+        CompletableFuture<Packet> probeFuture;
+
+        try {
+            probeFuture = server.client.sendAsync(probePacket);
+        }
+        catch (IllegalStateException e) {
+            // The client is closed
+            server.stopProbing();
+
+            return;
+        }
+
+        probeFuture.whenComplete((responsePacket, throwable) -> {
+            if (throwable == null) {
+                // Any valid response shows that the server is alive
+                server.handleSuccess();
+            }
+
+            if (server.continueProbing()) {
+                scheduleProbe(server);
+            }
+        });
+    }
+
+    /**
+     * The balancing modes.
+     */
+    public enum BalancingMode {
+
+        /**
+         * Sends each request to the server with the fewest outstanding requests relative to its weight.
+         */
+        LEAST_OUTSTANDING,
+
+        /**
+         * Sends the requests to the servers in turn, in proportion to their weight.
+         */
+        WEIGHTED_ROUND_ROBIN
+
+    }
+
+    /**
+     * A server and its state.
+     */
+    private final class Server {
+
+        private final RadiusClient client;
+
+        private final int weight;
+
+        /**
+         * The number of requests sent to the server waiting for a response. Guarded by {@link #lock}.
+         */
+        private int outstandingCount;
+
+        /**
+         * The number of consecutive requests the server didn't respond to. Guarded by {@link #lock}.
+         */
+        private int consecutiveFailureCount;
+
+        /**
+         * The smooth weighted round-robin state. Guarded by {@link #lock}.
+         */
+        private int currentWeight;
+
+        /**
+         * Whether a probe of the server is scheduled or waiting for a response. Guarded by {@link #lock}.
+         */
+        private boolean isProbing;
+
+        private volatile boolean isDead;
+
+        private Server(RadiusClient client, int weight) {
+            this.client = client;
+            this.weight = weight;
+        }
+
+        private void release() {
+            lock.lock();
+
+            try {
+                outstandingCount--;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        private void handleSuccess() {
+            lock.lock();
+
+            try {
+                consecutiveFailureCount = 0;
+                isDead = false;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        private void handleFailure() {
+            boolean isProbeNeeded = false;
+
+            lock.lock();
+
+            try {
+                consecutiveFailureCount++;
+
+                if (!isDead && consecutiveFailureCount >= deadThreshold) {
+                    isDead = true;
+
+                    // A server that was revived by a request while probed is still probed
+                    if (!isProbing) {
+                        isProbing = true;
+                        isProbeNeeded = true;
+                    }
+                }
+            }
+            finally {
+                lock.unlock();
+            }
+
+            if (isProbeNeeded) {
+                scheduleProbe(this);
+            }
+        }
+
+        /**
+         * Checks whether the server is still probed, which ends the probing once the server is alive again.
+         *
+         * @return true if the server should be probed
+         */
+        private boolean continueProbing() {
+            lock.lock();
+
+            try {
+                if (isClosed || !isDead) {
+                    isProbing = false;
+                }
+
+                return isProbing;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        private void stopProbing() {
+            lock.lock();
+
+            try {
+                isProbing = false;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+    }
+
+    /**
+     * The server that sent a State attribute.
+     */
+    private static final class StateAffinity {
+
+        private final Server server;
+
+        private final long expiryNanos;
+
+        private StateAffinity(Server server, long expiryNanos) {
+            this.server = server;
+            this.expiryNanos = expiryNanos;
+        }
+
+    }
+
+    /**
+     * A request packet and its attempts on the servers.
+     */
+    private final class Exchange {
+
+        private final Packet requestPacket;
+
+        /**
+         * The server that sent the State attribute of the request packet or null if there is none.
+         */
+        private final Server affinityServer;
+
+        private final CompletableFuture<Packet> future = new CompletableFuture<>();
+
+        private final long startNanos = System.nanoTime();
+
+        /**
+         * The servers the request was sent to. Guarded by the exchange.
+         */
+        private final List<Server> triedServers = new ArrayList<>();
+
+        /**
+         * The futures of the attempts, which are cancelled once the request completes. Guarded by the exchange.
+         */
+        private final List<CompletableFuture<Packet>> attemptFutures = new ArrayList<>();
+
+        /**
+         * The number of attempts waiting for a response. Guarded by the exchange.
+         */
+        private int pendingAttemptCount;
+
+        /**
+         * The failure of the last attempt, which is reported if no server responds. Guarded by the exchange.
+         */
+        private Throwable lastThrowable;
+
+        private Exchange(Packet requestPacket) {
+            this.requestPacket = requestPacket;
+            this.affinityServer = getStateAffinity(requestPacket);
+
+            future.whenComplete((responsePacket, throwable) -> {
+                List<CompletableFuture<Packet>> attemptFutures;
+
+                synchronized (this) {
+                    attemptFutures = new ArrayList<>(this.attemptFutures);
+                }
+
+                // Stop waiting for the other responses (e.g., to a hedged request) or for the response at all when the
+                // caller cancels the future
+                for (CompletableFuture<Packet> attemptFuture : attemptFutures) {
+                    attemptFuture.cancel(false);
+                }
+            });
+        }
+
+        /**
+         * Sends the request to the next server.
+         *
+         * @param isHedge whether the request is a hedge, which is only sent to a live server and doesn't fail the
+         *                request if no server is available
+         *
+         * @return true if the request was sent
+         */
+        private boolean sendNext(boolean isHedge) {
+            while (true) {
+                Server server;
+
+                synchronized (this) {
+                    if (future.isDone()) {
+                        return false;
+                    }
+
+                    server = selectServer(triedServers, !isHedge, affinityServer);
+
+                    if (server == null) {
+                        if (isHedge || pendingAttemptCount > 0) {
+                            return false;
+                        }
+                    }
+                    else {
+                        triedServers.add(server);
+                        pendingAttemptCount++;
+                    }
+                }
+
+                if (server == null) {
+                    Throwable lastThrowable;
+
+                    synchronized (this) {
+                        lastThrowable = this.lastThrowable;
+                    }
+
+                    future.completeExceptionally(lastThrowable == null
+                            ? new RadiusClientException("No server available")
+                            : lastThrowable);
+
+                    return false;
+                }
+
+                CompletableFuture<Packet> attemptFuture;
+
+                try {
+                    attemptFuture = server.client.sendAsync(requestPacket);
+                }
+                catch (IllegalStateException e) {
+                    // The client is closed
+                    server.release();
+
+                    synchronized (this) {
+                        pendingAttemptCount--;
+                        lastThrowable = new RadiusClientException("Client closed");
+                    }
+
+                    continue;
+                }
+
+                synchronized (this) {
+                    attemptFutures.add(attemptFuture);
+                }
+
+                if (future.isDone()) {
+                    attemptFuture.cancel(false);
+                }
+
+                attemptFuture.whenComplete((responsePacket, throwable) -> handleAttempt(server, responsePacket,
+                        throwable));
+
+                return true;
+            }
+        }
+
+        private void hedge() {
+            if (future.isDone() || !tryAcquireHedgeToken()) {
+                return;
+            }
+
+            if (!sendNext(true)) {
+                releaseHedgeToken();
+            }
+        }
+
+        private void handleAttempt(Server server, Packet responsePacket, Throwable throwable) {
+            server.release();
+
+            int pendingAttemptCount;
+
+            synchronized (this) {
+                pendingAttemptCount = --this.pendingAttemptCount;
+            }
+
+            if (throwable == null) {
+                server.handleSuccess();
+
+                recordStateAffinity(server, responsePacket);
+
+                if (future.complete(responsePacket) && latencyTracker != null) {
+                    // When a hedge answers first, the time is a lower bound of the latency of the first attempt, which
+                    // is above the hedging percentile anyway
+                    latencyTracker.add(System.nanoTime() - startNanos);
+                }
+
+                return;
+            }
+
+            if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                throwable = throwable.getCause();
+            }
+
+            if (!isServerFailure(throwable)) {
+                // Cancelled, or a problem with the request packet that another server can't solve
+                future.completeExceptionally(throwable);
+
+                return;
+            }
+
+            server.handleFailure();
+
+            if (server == affinityServer && !server.isDead) {
+                // Another server wouldn't know the State attribute of the request
+                future.completeExceptionally(throwable);
+
+                return;
+            }
+
+            synchronized (this) {
+                lastThrowable = throwable;
+            }
+
+            if (pendingAttemptCount == 0) {
+                // Fail over, unless another attempt (i.e., a hedge) may still get a response
+                sendNext(false);
+            }
+        }
+
+    }
+
+    /**
+     * The latencies of the recent requests, used to compute the hedging delay.
+     */
+    private static final class LatencyTracker {
+
+        private static final int SAMPLE_COUNT = 256;
+
+        /**
+         * The number of new samples after which the hedging delay is computed again.
+         */
+        private static final int UPDATE_INTERVAL = 32;
+
+        private final double percentile;
+
+        private final long[] latencies = new long[SAMPLE_COUNT];
+
+        private int size;
+
+        private int nextIndex;
+
+        private int addedCount;
+
+        /**
+         * The latency percentile or -1 until there are enough samples.
+         */
+        private volatile long percentileNanos = -1;
+
+        private LatencyTracker(double percentile) {
+            this.percentile = percentile;
+        }
+
+        private synchronized void add(long latencyNanos) {
+            latencies[nextIndex] = latencyNanos;
+            nextIndex = (nextIndex + 1) % SAMPLE_COUNT;
+            size = Math.min(size + 1, SAMPLE_COUNT);
+
+            if (++addedCount % UPDATE_INTERVAL != 0) {
+                return;
+            }
+
+            long[] sortedLatencies = Arrays.copyOf(latencies, size);
+
+            Arrays.sort(sortedLatencies);
+
+            percentileNanos = sortedLatencies[Math.min(size - 1, (int) (percentile * size))];
+        }
+
+        private long getPercentileNanos() {
+            return percentileNanos;
+        }
+
+    }
+
+    /**
+     * Builder for {@link LoadBalancingRadiusClient}.
+     */
+    public final static class Builder {
+
+        private final List<RadiusClient> clients = new ArrayList<>();
+
+        private final List<Integer> weights = new ArrayList<>();
+
+        private BalancingMode balancingMode;
+
+        private Integer deadThreshold;
+
+        private Duration probeInterval;
+
+        private Packet probePacket;
+
+        private Double hedgePercentile;
+
+        private Double hedgeBudget;
+
+        private Duration stateAffinityTimeout;
+
+        /**
+         * Adds a server with a weight of 1. At least one server is required.
+         *
+         * @param client the client sending the requests to the server
+         *
+         * @return this builder
+         */
+        public Builder server(RadiusClient client) {
+            return server(client, 1);
+        }
+
+        /**
+         * Adds a server. At least one server is required.
+         *
+         * @param client the client sending the requests to the server
+         * @param weight the weight of the server relative to the other servers (a server with a weight of 2 gets twice
+         *               as many requests as a server with a weight of 1)
+         *
+         * @return this builder
+         */
+        public Builder server(RadiusClient client, int weight) {
+            if (weight < 1) {
+                throw new IllegalArgumentException("Weight must be at least 1");
+            }
+
+            clients.add(Objects.requireNonNull(client));
+            weights.add(weight);
+
+            return this;
+        }
+
+        /**
+         * Sets the {@link BalancingMode} to use. Optional. When not set, {@link BalancingMode#LEAST_OUTSTANDING} is
+         * used.
+         *
+         * @param balancingMode the balancing mode
+         *
+         * @return this builder
+         */
+        public Builder balancingMode(BalancingMode balancingMode) {
+            this.balancingMode = balancingMode;
+
+            return this;
+        }
+
+        /**
+         * Sets the number of consecutive requests a server fails to respond to before it is marked dead. Optional.
+         * When not set, a server is marked dead after 3 consecutive failures.
+         *
+         * @param deadThreshold the number of consecutive failures
+         *
+         * @return this builder
+         */
+        public Builder deadThreshold(int deadThreshold) {
+            this.deadThreshold = deadThreshold;
+
+            return this;
+        }
+
+        /**
+         * Sets the interval between the probes of a dead server. Optional. When not set, dead servers are probed every
+         * 30 seconds.
+         *
+         * @param probeInterval the probe interval
+         *
+         * @return this builder
+         */
+        public Builder probeInterval(Duration probeInterval) {
+            this.probeInterval = probeInterval;
+
+            return this;
+        }
+
+        /**
+         * Sets the request packet probing dead servers. A server is alive again once it sends any valid response to
+         * the probe. Optional. When not set, a Status-Server packet (RFC 5997) is used.
+         *
+         * @param probePacket the probe request packet
+         *
+         * @return this builder
+         */
+        public Builder probePacket(Packet probePacket) {
+            this.probePacket = probePacket;
+
+            return this;
+        }
+
+        /**
+         * Enables hedging: when a request gets no response within the given percentile of the recent request
+         * latencies, the request is also sent to another live server, and the first response is used. Optional. When
+         * not set, requests are only sent to another server once a server fails to respond. Only Access-Request
+         * packets without a State attribute are hedged; Accounting-Request packets are never hedged.
+         *
+         * @param hedgePercentile the percentile of the latencies after which a request is hedged (e.g., 0.95)
+         *
+         * @return this builder
+         */
+        public Builder hedgePercentile(double hedgePercentile) {
+            this.hedgePercentile = hedgePercentile;
+
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of hedges relative to the number of hedgeable requests, which bounds the extra load
+         * caused by hedging. Optional. When not set, at most 5% of the requests are hedged (in addition to a burst of
+         * 10 hedges).
+         *
+         * @param hedgeBudget the ratio of hedges to requests (e.g., 0.05)
+         *
+         * @return this builder
+         */
+        public Builder hedgeBudget(double hedgeBudget) {
+            this.hedgeBudget = hedgeBudget;
+
+            return this;
+        }
+
+        /**
+         * Sets how long the server that sent a State attribute (e.g., in an Access-Challenge) is remembered, so that
+         * the request continuing the exchange with that State attribute is sent to the same server. Optional. When not
+         * set, the server is remembered for 60 seconds.
+         *
+         * @param stateAffinityTimeout the duration the server of a State attribute is remembered
+         *
+         * @return this builder
+         */
+        public Builder stateAffinityTimeout(Duration stateAffinityTimeout) {
+            this.stateAffinityTimeout = stateAffinityTimeout;
+
+            return this;
+        }
+
+        /**
+         * Returns a new {@link LoadBalancingRadiusClient} built using the builder's options.
+         *
+         * @return a new {@link LoadBalancingRadiusClient}
+         */
+        public LoadBalancingRadiusClient build() {
+            return new LoadBalancingRadiusClient(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.client.clients;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The requests in flight over a socket or a connection, indexed by their packet identifier. Identifiers are allocated
+ * in a round-robin fashion, so that an identifier isn't reused right after its request completed and a late response
+ * to the previous request can be told apart. Only used on the event loop thread.
+ *
+ * @param <T> the request type
+ */
+final class RequestTable<T> {
+
+    static final int CAPACITY = 256;
+
+    private final Object[] requests = new Object[CAPACITY];
+
+    private int size;
+
+    private int nextId;
+
+    /**
+     * Allocates an identifier to a request.
+     *
+     * @param request the request
+     *
+     * @return the identifier or -1 if every identifier is in use
+     */
+    int allocate(T request) {
+        if (size == CAPACITY) {
+            return -1;
+        }
+
+        while (requests[nextId] != null) {
+            nextId = (nextId + 1) & 0xff;
+        }
+
+        int id = nextId;
+
+        requests[id] = request;
+        size++;
+        nextId = (id + 1) & 0xff;
+
+        return id;
+    }
+
+    /**
+     * Gets the request with the given identifier.
+     *
+     * @param id the identifier
+     *
+     * @return the request or null if the identifier isn't in use
+     */
+    @SuppressWarnings("unchecked")
+    T get(int id) {
+        return (T) requests[id];
+    }
+
+    /**
+     * Frees the identifier of a request.
+     *
+     * @param id the identifier
+     */
+    void remove(int id) {
+        if (requests[id] != null) {
+            requests[id] = null;
+            size--;
+        }
+    }
+
+    /**
+     * Frees every identifier.
+     *
+     * @return the requests that were in flight
+     */
+    List<T> removeAll() {
+        List<T> removedRequests = new ArrayList<>(size);
+
+        for (int id = 0; id < CAPACITY; id++) {
+            T request = get(id);
+
+            if (request != null) {
+                removedRequests.add(request);
+                requests[id] = null;
+            }
+        }
+
+        size = 0;
+
+        return removedRequests;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == CAPACITY;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+}
@@ -0,0 +1,609 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.client.clients;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSession;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.aaa4j.radius.client.clients.AbstractRadiusClient.MAX_PACKET_SIZE;
+
+/**
+ * A non-blocking RADIUS/TCP (RFC 6613) or RADIUS/TLS (RFC 6614) connection to a server, served by an
+ * {@link EventLoop}. The connection writes the queued request packets and splits the received bytes into response
+ * packets. With an {@link SSLEngine}, the bytes are encrypted and decrypted by the engine, and the handshake's delegated
+ * tasks (e.g., certificate validation) run on an executor so that they don't hold up the other connections of the
+ * loop. All methods must be called on the loop thread.
+ */
+final class StreamConnection implements EventLoop.Handler {
+
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
+    private final EventLoop eventLoop;
+
+    private final InetSocketAddress address;
+
+    private final SSLEngine sslEngine;
+
+    private final Listener listener;
+
+    private final Executor delegatedTaskExecutor;
+
+    /**
+     * The request packets waiting to be written (or encrypted).
+     */
+    private final Queue<ByteBuffer> writeQueue = new ArrayDeque<>();
+
+    /**
+     * The bytes of incomplete response packets. Kept ready for writing.
+     */
+    private final ByteBuffer applicationBuffer;
+
+    /**
+     * The encrypted bytes of incomplete TLS records. Kept ready for writing. Only used with TLS.
+     */
+    private final ByteBuffer networkInBuffer;
+
+    /**
+     * The encrypted bytes waiting to be written. Kept ready for reading. Only used with TLS.
+     */
+    private final ByteBuffer networkOutBuffer;
+
+    private SocketChannel channel;
+
+    private SelectionKey selectionKey;
+
+    private boolean isChannelConnected;
+
+    private boolean isConnected;
+
+    private boolean isClosed;
+
+    /**
+     * Whether the connection is processing its buffers. Packets written by the listener in the meantime are only
+     * queued, since the buffers are in use.
+     */
+    private boolean isProcessing;
+
+    /**
+     * Whether the TLS engine's delegated tasks are running on the executor. The connection doesn't make progress until
+     * they complete.
+     */
+    private boolean isWaitingForTasks;
+
+    /**
+     * Constructs a connection. The connection isn't opened until {@link #connect()} is called.
+     *
+     * @param eventLoop the event loop serving the connection
+     * @param address the server address
+     * @param sslEngine the client mode TLS engine or null to use plain TCP
+     * @param listener the listener for the connection's events
+     * @param delegatedTaskExecutor the executor running the TLS engine's delegated tasks
+     */
+    StreamConnection(EventLoop eventLoop, InetSocketAddress address, SSLEngine sslEngine, Listener listener,
+                     Executor delegatedTaskExecutor)
+    {
+        this.eventLoop = eventLoop;
+        this.address = address;
+        this.sslEngine = sslEngine;
+        this.listener = listener;
+        this.delegatedTaskExecutor = delegatedTaskExecutor;
+
+        if (sslEngine == null) {
+            // Room for several pipelined response packets per read
+            this.applicationBuffer = ByteBuffer.allocate(4 * MAX_PACKET_SIZE);
+            this.networkInBuffer = null;
+            this.networkOutBuffer = null;
+        }
+        else {
+            // The decrypted bytes also need room for an incomplete packet left over from a previous record
+            SSLSession sslSession = sslEngine.getSession();
+
+            this.applicationBuffer = ByteBuffer.allocate(sslSession.getApplicationBufferSize() + MAX_PACKET_SIZE);
+            this.networkInBuffer = ByteBuffer.allocate(sslSession.getPacketBufferSize());
+            this.networkOutBuffer = ByteBuffer.allocate(sslSession.getPacketBufferSize());
+            this.networkOutBuffer.flip();
+        }
+    }
+
+    /**
+     * Opens the connection. The listener is notified once the connection is established (and the TLS handshake is
+     * complete) or once it fails.
+     */
+    void connect() {
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+            if (channel.connect(address)) {
+                selectionKey = eventLoop.register(channel, SelectionKey.OP_READ, this);
+
+                handleChannelConnect();
+                process();
+            }
+            else {
+                selectionKey = eventLoop.register(channel, SelectionKey.OP_CONNECT, this);
+            }
+        }
+        catch (Exception e) {
+            close(e);
+        }
+    }
+
+    /**
+     * Queues a request packet for writing. Packets written before the connection is established are sent once it is.
+     *
+     * @param packetBytes the request packet bytes
+     */
+    void write(byte[] packetBytes) {
+        if (isClosed) {
+            return;
+        }
+
+        writeQueue.add(ByteBuffer.wrap(packetBytes));
+
+        if (isProcessing) {
+            // The packet is written once the current processing completes
+            return;
+        }
+
+        try {
+            process();
+        }
+        catch (Exception e) {
+            close(e);
+        }
+    }
+
+    /**
+     * Checks whether the connection is established and the TLS handshake (if any) is complete.
+     *
+     * @return true if the connection is established
+     */
+    boolean isConnected() {
+        return isConnected && !isClosed;
+    }
+
+    /**
+     * Checks whether the connection is closed.
+     *
+     * @return true if the connection is closed
+     */
+    boolean isClosed() {
+        return isClosed;
+    }
+
+    @Override
+    public void handleSelection(SelectionKey key) {
+        try {
+            if (!isChannelConnected) {
+                if (!key.isConnectable() || !channel.finishConnect()) {
+                    return;
+                }
+
+                handleChannelConnect();
+            }
+
+            if (sslEngine == null && key.isReadable()) {
+                isProcessing = true;
+
+                try {
+                    read();
+                }
+                finally {
+                    isProcessing = false;
+                }
+            }
+
+            process();
+        }
+        catch (Exception e) {
+            close(e);
+        }
+    }
+
+    /**
+     * Closes the connection. The listener is notified with a null cause.
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+
+        if (sslEngine != null && isChannelConnected) {
+            // Try to send a close_notify without waiting for the socket to be writable
+            try {
+                sslEngine.closeOutbound();
+
+                networkOutBuffer.clear();
+                sslEngine.wrap(EMPTY_BUFFER, networkOutBuffer);
+                networkOutBuffer.flip();
+
+                channel.write(networkOutBuffer);
+            }
+            catch (IOException ignored) {
+                // Ignored
+            }
+        }
+
+        close(null);
+    }
+
+    private void close(Exception cause) {
+        if (isClosed) {
+            return;
+        }
+
+        isClosed = true;
+
+        if (channel != null) {
+            try {
+                channel.close();
+            }
+            catch (IOException ignored) {
+                // Ignored
+            }
+        }
+
+        writeQueue.clear();
+
+        listener.handleClose(this, cause);
+    }
+
+    private void handleChannelConnect() throws SSLException {
+        isChannelConnected = true;
+
+        if (sslEngine != null) {
+            // The connection is established once the handshake is complete
+            sslEngine.beginHandshake();
+
+            return;
+        }
+
+        isConnected = true;
+
+        listener.handleConnect(this);
+    }
+
+    private void process() throws IOException {
+        if (isClosed || !isChannelConnected) {
+            return;
+        }
+
+        boolean hasPendingWrites;
+
+        isProcessing = true;
+
+        try {
+            hasPendingWrites = sslEngine == null ? processPlain() : processTls();
+        }
+        finally {
+            isProcessing = false;
+        }
+
+        if (!isClosed) {
+            // Stop reading while waiting for the delegated tasks
+            int interestOps = hasPendingWrites
+                    ? SelectionKey.OP_READ | SelectionKey.OP_WRITE
+                    : isWaitingForTasks ? 0 : SelectionKey.OP_READ;
+
+            if (selectionKey.interestOps() != interestOps) {
+                selectionKey.interestOps(interestOps);
+            }
+        }
+    }
+
+    /**
+     * Writes the queued packets.
+     *
+     * @return true if some packets couldn't be written until the socket is writable
+     */
+    private boolean processPlain() throws IOException {
+        ByteBuffer buffer;
+
+        while ((buffer = writeQueue.peek()) != null) {
+            channel.write(buffer);
+
+            if (buffer.hasRemaining()) {
+                // Wait until the socket is writable
+                return true;
+            }
+
+            writeQueue.poll();
+        }
+
+        return false;
+    }
+
+    private void read() throws IOException {
+        int bytesRead = channel.read(applicationBuffer);
+
+        if (bytesRead == -1) {
+            throw new EOFException("Connection closed by server");
+        }
+
+        if (bytesRead > 0) {
+            handleApplicationBytes();
+        }
+    }
+
+    /**
+     * Performs the TLS handshake, encrypts and writes the queued packets, and decrypts the received records as far as
+     * possible without blocking.
+     *
+     * @return true if some encrypted bytes couldn't be written until the socket is writable
+     */
+    private boolean processTls() throws IOException {
+        while (!isClosed) {
+            if (networkOutBuffer.hasRemaining()) {
+                channel.write(networkOutBuffer);
+
+                if (networkOutBuffer.hasRemaining()) {
+                    // Wait until the socket is writable
+                    return true;
+                }
+            }
+
+            if (isWaitingForTasks) {
+                // Processing resumes once the delegated tasks complete
+                return false;
+            }
+
+            switch (sslEngine.getHandshakeStatus()) {
+                case NEED_TASK:
+                    runDelegatedTasks();
+
+                    break;
+                case NEED_WRAP:
+                    wrap(EMPTY_BUFFER);
+
+                    break;
+                case NEED_UNWRAP:
+                    if (!unwrap()) {
+                        return false;
+                    }
+
+                    break;
+                default:
+                    if (!isConnected) {
+                        // The handshake is complete
+                        isConnected = true;
+
+                        listener.handleConnect(this);
+
+                        break;
+                    }
+
+                    ByteBuffer buffer = writeQueue.peek();
+
+                    if (buffer != null) {
+                        wrap(buffer);
+
+                        if (!buffer.hasRemaining()) {
+                            writeQueue.poll();
+                        }
+                    }
+                    else if (!unwrap()) {
+                        return false;
+                    }
+            }
+        }
+
+        return false;
+    }
+
+    private void runDelegatedTasks() {
+        isWaitingForTasks = true;
+
+        try {
+            delegatedTaskExecutor.execute(() -> {
+                Exception exception = null;
+
+                try {
+                    Runnable task;
+
+                    while ((task = sslEngine.getDelegatedTask()) != null) {
+                        task.run();
+                    }
+                }
+                catch (RuntimeException e) {
+                    exception = e;
+                }
+
+                Exception tasksException = exception;
+
+                try {
+                    eventLoop.execute(() -> resume(tasksException));
+                }
+                catch (IllegalStateException ignored) {
+                    // The event loop is closed, and it closed the connection when it stopped
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            // The executor has been shut down, so run the tasks on the loop thread
+            Runnable task;
+
+            while ((task = sslEngine.getDelegatedTask()) != null) {
+                task.run();
+            }
+
+            isWaitingForTasks = false;
+        }
+    }
+
+    /**
+     * Continues after the delegated tasks completed. Runs on the loop thread.
+     *
+     * @param tasksException the exception thrown by the delegated tasks or null if they succeeded
+     */
+    private void resume(Exception tasksException) {
+        isWaitingForTasks = false;
+
+        if (tasksException != null) {
+            close(tasksException);
+
+            return;
+        }
+
+        try {
+            process();
+        }
+        catch (Exception e) {
+            close(e);
+        }
+    }
+
+    /**
+     * Decrypts the next TLS record, reading more bytes from the network when needed.
+     *
+     * @return false if no progress can be made until more bytes arrive
+     */
+    private boolean unwrap() throws IOException {
+        networkInBuffer.flip();
+
+        SSLEngineResult result;
+
+        try {
+            result = sslEngine.unwrap(networkInBuffer, applicationBuffer);
+        }
+        finally {
+            networkInBuffer.compact();
+        }
+
+        switch (result.getStatus()) {
+            case OK:
+                if (result.bytesProduced() > 0) {
+                    handleApplicationBytes();
+                }
+
+                return true;
+            case BUFFER_UNDERFLOW:
+                // We need to read more bytes to get a full TLS record
+                int bytesRead = channel.read(networkInBuffer);
+
+                if (bytesRead == -1) {
+                    throw new EOFException("Connection closed by server");
+                }
+
+                return bytesRead > 0;
+            case CLOSED:
+                // The server sent a close_notify
+                throw new EOFException("Connection closed by server");
+            default:
+                throw new SSLException("Unexpected unwrap result: " + result.getStatus());
+        }
+    }
+
+    /**
+     * Encrypts the source bytes into a TLS record. The record is written by {@link #processTls()}.
+     *
+     * @param sourceBuffer the bytes to encrypt
+     */
+    private void wrap(ByteBuffer sourceBuffer) throws IOException {
+        networkOutBuffer.clear();
+
+        SSLEngineResult result;
+
+        try {
+            result = sslEngine.wrap(sourceBuffer, networkOutBuffer);
+        }
+        finally {
+            networkOutBuffer.flip();
+        }
+
+        if (result.getStatus() != SSLEngineResult.Status.OK) {
+            throw new SSLException("Unexpected wrap result: " + result.getStatus());
+        }
+    }
+
+    private void handleApplicationBytes() throws IOException {
+        applicationBuffer.flip();
+
+        try {
+            while (!isClosed && applicationBuffer.remaining() >= 4) {
+                // We have enough bytes to get the packet length, so let's see if we can get a packet
+                int offset = applicationBuffer.position();
+                int packetLength = applicationBuffer.getShort(offset + 2) & 0xffff;
+
+                if (packetLength < 20 || packetLength > MAX_PACKET_SIZE) {
+                    // The packet is going to be an invalid length, so the connection can't be used anymore
+                    throw new IOException("Unexpected response packet");
+                }
+
+                if (applicationBuffer.remaining() < packetLength) {
+                    // We need more bytes to get a full packet
+                    break;
+                }
+
+                applicationBuffer.position(offset + packetLength);
+
+                listener.handlePacket(this, applicationBuffer, offset, packetLength);
+            }
+        }
+        finally {
+            applicationBuffer.compact();
+        }
+    }
+
+    /**
+     * Listener for the events of a connection. Runs on the loop thread.
+     */
+    interface Listener {
+
+        /**
+         * Handles the connection being established (and the TLS handshake being complete).
+         *
+         * @param connection the connection
+         */
+        void handleConnect(StreamConnection connection);
+
+        /**
+         * Handles a received response packet. The buffer may only be used until this method returns.
+         *
+         * @param connection the connection
+         * @param buffer the buffer holding the packet
+         * @param offset the index of the first byte of the packet in the buffer
+         * @param length the length of the packet
+         */
+        void handlePacket(StreamConnection connection, ByteBuffer buffer, int offset, int length);
+
+        /**
+         * Handles the connection being closed. Called once per connection.
+         *
+         * @param connection the connection
+         * @param cause the error that closed the connection or null if the connection was closed by the client
+         */
+        void handleClose(StreamConnection connection, Exception cause);
+
+    }
+
+}
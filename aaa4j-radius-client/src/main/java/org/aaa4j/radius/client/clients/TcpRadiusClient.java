@@ -16,33 +16,28 @@
 
 package org.aaa4j.radius.client.clients;
 
-import org.aaa4j.radius.client.RadiusClientException;
 import org.aaa4j.radius.core.dictionary.Dictionary;
-import org.aaa4j.radius.core.packet.Packet;
-import org.aaa4j.radius.core.packet.PacketCodecException;
 
-import java.io.IOException;
-import java.io.InputStream;
+import javax.net.ssl.SSLEngine;
 import java.net.InetSocketAddress;
-import java.net.Socket;
 import java.time.Duration;
-import java.time.Instant;
+import java.util.concurrent.Executor;
 
 /**
  * A client using TCP as the underlying transport layer. Create an instance using {@link Builder}.
  *
- * @implNote The client currently creates a new TCP connection for each packet sent
+ * <p>
+ * The client keeps persistent connections to the server and pipelines the requests over them, matching the responses
+ * to the requests by packet identifier (RFC 6613). A connection the server stops responding over is replaced by a new
+ * one, and connections without requests in flight are closed after an idle timeout.
+ * </p>
  */
-public final class TcpRadiusClient extends AbstractRadiusClient {
-
-    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
-
-    private final Duration timeout;
+public final class TcpRadiusClient extends AbstractStreamRadiusClient {
 
     private TcpRadiusClient(Builder builder) {
-        super(builder);
+        super(builder, null);
 
-        this.timeout = builder.timeout == null ? DEFAULT_TIMEOUT : builder.timeout;
+        openPrewarmedConnections();
     }
 
     /**
@@ -55,89 +50,16 @@ public final class TcpRadiusClient extends AbstractRadiusClient {
     }
 
     @Override
-    public Packet doSend(Packet requestPacket) throws RadiusClientException {
-        try {
-            byte[] authenticatorBytes = new byte[16];
-            randomProvider.nextBytes(authenticatorBytes);
-
-            byte[] outBytes = packetCodec.encodeRequest(requestPacket, secret, authenticatorBytes);
-
-            Instant startInstant = Instant.now();
-
-            try (Socket clientSocket = new Socket()) {
-                // Block until connection is established
-                clientSocket.connect(address, remainingTimeout(startInstant));
-
-                // Block until the packet is sent
-                clientSocket.setSoTimeout(remainingTimeout(startInstant));
-                clientSocket.getOutputStream().write(outBytes);
-                clientSocket.getOutputStream().flush();
-
-                InputStream inputStream = clientSocket.getInputStream();
-                byte[] inBuffer = new byte[MAX_PACKET_SIZE];
-                int position = 0;
-
-                while (true) {
-                    // Block and wait for more bytes
-                    clientSocket.setSoTimeout(remainingTimeout(startInstant));
-                    int bytesRead = inputStream.read(inBuffer, position, inBuffer.length - position);
-
-                    if (bytesRead == -1) {
-                        clientSocket.close();
-
-                        throw new RadiusClientException("No response from server");
-                    }
-
-                    position += bytesRead;
-
-                    if (position >= 4) {
-                        // We have enough bytes to get the packet length, so let's see if we can get a packet
-                        int packetLength = (short) ((inBuffer[2] << 8) | (inBuffer[3] & 0xff));
-
-                        if (packetLength < 20 || packetLength > MAX_PACKET_SIZE) {
-                            // The packet is going to be an invalid length, so close the connection
-                            clientSocket.close();
-
-                            throw new RadiusClientException("Unexpected response packet");
-                        }
-
-                        if (position >= packetLength) {
-                            // We have enough bytes for a full packet
-                            byte[] responsePacketBytes = new byte[packetLength];
-                            System.arraycopy(inBuffer, 0, responsePacketBytes, 0, packetLength);
-
-                            clientSocket.close();
-
-                            return packetCodec.decodeResponse(responsePacketBytes, secret, authenticatorBytes);
-                        }
-                    }
-                }
-            }
-            catch (IOException e) {
-                throw new RadiusClientException(e);
-            }
-        }
-        catch (PacketCodecException e) {
-            throw new RadiusClientException(e);
-        }
-    }
-
-    @Override
-    public void doClose() {
-        // Nothing to do
-    }
-
-    private int remainingTimeout(Instant startInstant) {
-        long elapsedMillis = Duration.between(startInstant, Instant.now()).toMillis();
-        return Math.toIntExact(Math.max(1, timeout.toMillis() - elapsedMillis));
+    SSLEngine createSslEngine() {
+        return null;
     }
 
     /**
      * Builder for {@link TcpRadiusClient}s.
      */
-    public final static class Builder extends AbstractRadiusClient.Builder<TcpRadiusClient, TcpRadiusClient.Builder> {
-
-        private Duration timeout;
+    public final static class Builder
+            extends AbstractStreamRadiusClient.Builder<TcpRadiusClient, TcpRadiusClient.Builder>
+    {
 
         /**
          * {@inheritDoc}
@@ -161,17 +83,38 @@ public final class TcpRadiusClient extends AbstractRadiusClient {
         }
 
         /**
-         * Sets the timeout to wait for receiving a response to a request. Optional. When not set, a default timeout of
-         * 5 seconds is used.
-         *
-         * @param timeout the response timeout
-         *
-         * @return this builder
+         * {@inheritDoc}
+         */
+        public Builder executor(Executor executor) {
+            return super.executor(executor);
+        }
+
+        /**
+         * {@inheritDoc}
          */
         public Builder timeout(Duration timeout) {
-            this.timeout = timeout;
+            return super.timeout(timeout);
+        }
 
-            return this;
+        /**
+         * {@inheritDoc}
+         */
+        public Builder maxConnections(int maxConnections) {
+            return super.maxConnections(maxConnections);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Builder minConnections(int minConnections) {
+            return super.minConnections(minConnections);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Builder idleTimeout(Duration idleTimeout) {
+            return super.idleTimeout(idleTimeout);
         }
 
         /**
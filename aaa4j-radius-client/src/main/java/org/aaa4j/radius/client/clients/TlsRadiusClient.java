@@ -16,37 +16,38 @@
 
 package org.aaa4j.radius.client.clients;
 
-import org.aaa4j.radius.client.RadiusClientException;
 import org.aaa4j.radius.core.dictionary.Dictionary;
-import org.aaa4j.radius.core.packet.Packet;
-import org.aaa4j.radius.core.packet.PacketCodecException;
 
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLParameters;
-import javax.net.ssl.SSLSocket;
-import javax.net.ssl.SSLSocketFactory;
-import java.io.IOException;
-import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
-import java.time.Instant;
+import java.util.concurrent.Executor;
 
 /**
- * A client using TCP as the underlying transport layer. Create an instance using {@link Builder}.
+ * A client using TLS over TCP as the underlying transport layer. Create an instance using {@link Builder}.
  *
- * @implNote The client currently creates a new TCP connection and TLS session for each packet sent
+ * <p>
+ * The client keeps persistent TLS connections to the server and pipelines the requests over them, matching the
+ * responses to the requests by packet identifier (RFC 6614). A connection the server stops responding over is replaced
+ * by a new one, and connections without requests in flight are closed after an idle timeout.
+ * </p>
+ *
+ * <p>
+ * New connections resume the TLS sessions cached by the {@link SSLContext} (using session identifiers or session
+ * tickets, depending on the protocol version), which saves the full handshake when reconnecting to the server.
+ * Connections can also be opened ahead of the requests (see {@link Builder#minConnections(int)}), so that requests
+ * don't wait for a handshake at all.
+ * </p>
  */
-public class TlsRadiusClient extends AbstractRadiusClient {
+public class TlsRadiusClient extends AbstractStreamRadiusClient {
 
     private static final byte[] DEFAULT_SECRET = "radsec".getBytes(StandardCharsets.UTF_8);
 
-    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
-
-    private final Duration timeout;
-
     private final SSLContext sslContext;
 
     private final SSLParameters sslParameters;
@@ -54,8 +55,6 @@ public class TlsRadiusClient extends AbstractRadiusClient {
     private TlsRadiusClient(Builder builder) {
         super(builder, DEFAULT_SECRET);
 
-        this.timeout = builder.timeout == null ? DEFAULT_TIMEOUT : builder.timeout;
-
         try {
             if (builder.sslContext != null) {
                 this.sslContext = builder.sslContext;
@@ -72,6 +71,8 @@ public class TlsRadiusClient extends AbstractRadiusClient {
         this.sslParameters = builder.sslParameters == null
                 ? sslContext.getDefaultSSLParameters()
                 : builder.sslParameters;
+
+        openPrewarmedConnections();
     }
 
     /**
@@ -84,96 +85,21 @@ public class TlsRadiusClient extends AbstractRadiusClient {
     }
 
     @Override
-    public Packet doSend(Packet requestPacket) throws RadiusClientException {
-        try {
-            byte[] authenticatorBytes = new byte[16];
-            randomProvider.nextBytes(authenticatorBytes);
-
-            byte[] outBytes = packetCodec.encodeRequest(requestPacket, secret, authenticatorBytes);
-
-            Instant startInstant = Instant.now();
-
-            SSLSocketFactory sslSocketFactory = sslContext.getSocketFactory();
-
-            try (SSLSocket clientSocket = (SSLSocket) sslSocketFactory.createSocket()) {
-                // Block until connection is established
-                clientSocket.connect(address, remainingTimeout(startInstant));
-                clientSocket.setSSLParameters(sslParameters);
-
-                // Block until the TLS handshake completes
-                clientSocket.setSoTimeout(remainingTimeout(startInstant));
-                clientSocket.startHandshake();
-
-                // Block until the packet is sent
-                clientSocket.setSoTimeout(remainingTimeout(startInstant));
-                clientSocket.getOutputStream().write(outBytes);
-                clientSocket.getOutputStream().flush();
-
-                InputStream inputStream = clientSocket.getInputStream();
-                byte[] inBuffer = new byte[MAX_PACKET_SIZE];
-                int position = 0;
-
-                while (true) {
-                    // Block and wait for more bytes
-                    clientSocket.setSoTimeout(remainingTimeout(startInstant));
-                    int bytesRead = inputStream.read(inBuffer, position, inBuffer.length - position);
-
-                    if (bytesRead == -1) {
-                        clientSocket.close();
-
-                        throw new RadiusClientException("No response from server");
-                    }
-
-                    position += bytesRead;
-
-                    if (position >= 4) {
-                        // We have enough bytes to get the packet length, so let's see if we can get a packet
-                        int packetLength = (short) ((inBuffer[2] << 8) | (inBuffer[3] & 0xff));
-
-                        if (packetLength < 20 || packetLength > MAX_PACKET_SIZE) {
-                            // The packet is going to be an invalid length, so close the connection
-                            clientSocket.close();
-
-                            throw new RadiusClientException("Unexpected response packet");
-                        }
-
-                        if (position >= packetLength) {
-                            // We have enough bytes for a full packet
-                            byte[] responsePacketBytes = new byte[packetLength];
-                            System.arraycopy(inBuffer, 0, responsePacketBytes, 0, packetLength);
-
-                            clientSocket.close();
-
-                            return packetCodec.decodeResponse(responsePacketBytes, secret, authenticatorBytes);
-                        }
-                    }
-                }
-            }
-            catch (IOException e) {
-                throw new RadiusClientException(e);
-            }
-        }
-        catch (PacketCodecException e) {
-            throw new RadiusClientException(e);
-        }
-    }
-
-    @Override
-    public void doClose() {
-        // Nothing to do
-    }
+    SSLEngine createSslEngine() {
+        // Creating the engine with the peer's host and port lets the context's client session cache resume its session
+        SSLEngine sslEngine = sslContext.createSSLEngine(address.getHostString(), address.getPort());
+        sslEngine.setUseClientMode(true);
+        sslEngine.setSSLParameters(sslParameters);
 
-    private int remainingTimeout(Instant startInstant) {
-        long elapsedMillis = Duration.between(startInstant, Instant.now()).toMillis();
-        return Math.toIntExact(Math.max(1, timeout.toMillis() - elapsedMillis));
+        return sslEngine;
     }
 
     /**
      * Builder for {@link TlsRadiusClient}s.
      */
-    public final static class Builder extends AbstractRadiusClient.Builder<TlsRadiusClient, TlsRadiusClient.Builder> {
-
-        private Duration timeout;
+    public final static class Builder
+            extends AbstractStreamRadiusClient.Builder<TlsRadiusClient, TlsRadiusClient.Builder>
+    {
 
         private SSLContext sslContext;
 
@@ -205,21 +131,44 @@ public class TlsRadiusClient extends AbstractRadiusClient {
         }
 
         /**
-         * Sets the timeout to wait for receiving a response to a request. Optional. When not set, a default timeout of
-         * 5 seconds is used.
-         *
-         * @param timeout the response timeout
-         *
-         * @return this builder
+         * {@inheritDoc}
+         */
+        public Builder executor(Executor executor) {
+            return super.executor(executor);
+        }
+
+        /**
+         * {@inheritDoc}
          */
         public Builder timeout(Duration timeout) {
-            this.timeout = timeout;
+            return super.timeout(timeout);
+        }
 
-            return this;
+        /**
+         * {@inheritDoc}
+         */
+        public Builder maxConnections(int maxConnections) {
+            return super.maxConnections(maxConnections);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Builder minConnections(int minConnections) {
+            return super.minConnections(minConnections);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Builder idleTimeout(Duration idleTimeout) {
+            return super.idleTimeout(idleTimeout);
         }
 
         /**
-         * Sets the {@link SSLContext} to use for the TLS connection.
+         * Sets the {@link SSLContext} to use for the TLS connection. Optional. When not set, a default context is
+         * created for the client. The context's client session cache (see {@link SSLContext#getClientSessionContext()})
+         * holds the sessions resumed by new connections.
          *
          * @param sslContext the SSL context to use
          *
@@ -24,31 +24,56 @@ import org.aaa4j.radius.core.packet.Packet;
 import org.aaa4j.radius.core.packet.PacketCodecException;
 
 import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
 import java.net.InetSocketAddress;
-import java.net.SocketTimeoutException;
+import java.net.PortUnreachableException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
 import java.time.Duration;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * A client using UDP as the underlying transport layer. Create an instance using {@link Builder}.
  *
- * @implNote The client does not currently reuse sockets.
+ * <p>
+ * The client sends its requests over a shared socket, and matches the responses to the requests in flight by their
+ * packet identifier and authenticator. Each socket has 256 identifiers, so the client opens more sockets while the
+ * identifiers of the open sockets are all in use, and closes them once they have been idle for a while (see
+ * {@link Builder#idleTimeout(Duration)}). Keeping the sockets open for a while avoids reopening them during bursts, and
+ * lets late responses to completed requests reach an open socket instead of causing ICMP port unreachable errors.
+ * </p>
  */
 public final class UdpRadiusClient extends AbstractRadiusClient {
 
     private static final RetransmissionStrategy DEFAULT_RETRANSMISSION_STRATEGY
             = new IntervalRetransmissionStrategy(3, Duration.ofSeconds(5));
 
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * The maximum number of datagrams read from a socket before the other channels of the event loop are served.
+     */
+    private static final int MAX_READS_PER_SELECTION = 64;
+
     private final RetransmissionStrategy retransmissionStrategy;
 
+    private final Duration idleTimeout;
+
+    /**
+     * The open sockets. The first socket stays open until the client is closed. Only used on the event loop thread.
+     */
+    private final List<UdpSocket> sockets = new ArrayList<>();
+
     private UdpRadiusClient(Builder builder) {
         super(builder);
 
         this.retransmissionStrategy = builder.retransmissionStrategy == null
                 ? DEFAULT_RETRANSMISSION_STRATEGY
                 : builder.retransmissionStrategy;
+        this.idleTimeout = builder.idleTimeout == null ? DEFAULT_IDLE_TIMEOUT : builder.idleTimeout;
     }
 
     /**
@@ -61,58 +86,382 @@ public final class UdpRadiusClient extends AbstractRadiusClient {
     }
 
     @Override
-    public Packet doSend(Packet requestPacket) throws RadiusClientException {
-        DatagramSocket datagramSocket = null;
+    void doSendAsync(Packet requestPacket, CompletableFuture<Packet> responseFuture) {
+        eventLoop.execute(new Request(requestPacket, responseFuture)::start);
+    }
 
-        try {
-            byte[] authenticatorBytes = new byte[16];
-            randomProvider.nextBytes(authenticatorBytes);
+    @Override
+    public void doClose() {
+        eventLoop.execute(() -> {
+            for (UdpSocket socket : new ArrayList<>(sockets)) {
+                socket.close();
+            }
+        });
+    }
 
-            byte[] outBytes = packetCodec.encodeRequest(requestPacket, secret, authenticatorBytes);
+    /**
+     * Gets an open socket with a free identifier, opening a new socket when the identifiers of every open socket are in
+     * use.
+     *
+     * @return a socket with a free identifier
+     *
+     * @throws IOException if a new socket can't be opened
+     */
+    private UdpSocket getAvailableSocket() throws IOException {
+        for (UdpSocket socket : sockets) {
+            if (!socket.requests.isFull()) {
+                return socket;
+            }
+        }
 
-            DatagramPacket outDatagramPacket = new DatagramPacket(outBytes, outBytes.length, address);
+        UdpSocket socket = new UdpSocket();
 
-            datagramSocket = new DatagramSocket();
+        sockets.add(socket);
 
-            int maxAttempts = retransmissionStrategy.getMaxAttempts();
+        return socket;
+    }
 
-            for (int attempt = 0; attempt < maxAttempts; attempt++) {
-                Duration timeoutDuration = retransmissionStrategy.timeoutForAttempt(attempt);
-                datagramSocket.setSoTimeout((int) Math.min(timeoutDuration.toMillis(), Integer.MAX_VALUE));
+    /**
+     * A socket connected to the server that multiplexes up to 256 requests in flight by their packet identifier. Only
+     * used on the event loop thread.
+     */
+    private final class UdpSocket implements EventLoop.Handler {
 
-                datagramSocket.send(outDatagramPacket);
+        private final DatagramChannel channel;
 
-                byte[] inBuffer = new byte[MAX_PACKET_SIZE];
-                DatagramPacket inDatagramPacket = new DatagramPacket(inBuffer, inBuffer.length);
+        private final RequestTable<Request> requests = new RequestTable<>();
+
+        /**
+         * The time the last request in flight completed.
+         */
+        private long idleSinceNanos;
+
+        private boolean isIdleCheckScheduled;
+
+        private boolean isClosed;
+
+        private UdpSocket() throws IOException {
+            this.channel = DatagramChannel.open();
+
+            try {
+                channel.configureBlocking(false);
+
+                // Only receive datagrams from the server
+                channel.connect(address);
+
+                eventLoop.register(channel, SelectionKey.OP_READ, this);
+            }
+            catch (IOException | RuntimeException e) {
+                channel.close();
+
+                throw e;
+            }
+        }
+
+        @Override
+        public void handleSelection(SelectionKey key) {
+            ByteBuffer inBuffer = eventLoop.getReadBuffer();
+
+            // Read the datagrams that arrived since the last selection, but let the other channels make progress too
+            for (int i = 0; i < MAX_READS_PER_SELECTION; i++) {
+                inBuffer.clear();
+
+                int length;
 
                 try {
-                    // Block until we receive the response or until we time out
-                    datagramSocket.receive(inDatagramPacket);
+                    length = channel.read(inBuffer);
+                }
+                catch (PortUnreachableException ignored) {
+                    // The server may not be listening yet, so keep retransmitting until the requests time out
+                    continue;
+                }
+                catch (IOException e) {
+                    // The socket can't be used anymore, so fail its requests right away
+                    fail(new RadiusClientException(e));
 
-                    byte[] inBytes = Arrays.copyOfRange(inDatagramPacket.getData(), 0, inDatagramPacket.getLength());
+                    return;
+                }
+
+                if (length <= 0) {
+                    return;
+                }
 
-                    return packetCodec.decodeResponse(inBytes, secret, authenticatorBytes);
+                if (length < 20) {
+                    // Silently discard packets that are too short to hold a header
+                    continue;
                 }
-                catch (SocketTimeoutException ignored) {
-                    // Continue for loop
+
+                Request request = requests.get(inBuffer.get(1) & 0xff);
+
+                if (request != null) {
+                    request.handleResponse(inBuffer, length);
                 }
             }
+        }
+
+        /**
+         * Frees the identifier of a completed request. Surplus sockets are closed once they have been idle for the idle
+         * timeout.
+         *
+         * @param packetId the packet identifier
+         */
+        private void release(int packetId) {
+            requests.remove(packetId);
+
+            if (!isClosed && requests.isEmpty() && sockets.get(0) != this) {
+                idleSinceNanos = System.nanoTime();
+
+                scheduleIdleCheck(idleTimeout.toNanos());
+            }
+        }
+
+        private void scheduleIdleCheck(long delayNanos) {
+            // A single check per socket, instead of a timeout per request, to close the idle socket
+            if (!isIdleCheckScheduled) {
+                isIdleCheckScheduled = true;
+
+                eventLoop.schedule(this::checkIdle, delayNanos);
+            }
+        }
+
+        private void checkIdle() {
+            isIdleCheckScheduled = false;
+
+            if (isClosed || !requests.isEmpty() || sockets.get(0) == this) {
+                return;
+            }
+
+            long remainingNanos = idleSinceNanos + idleTimeout.toNanos() - System.nanoTime();
+
+            if (remainingNanos > 0) {
+                scheduleIdleCheck(remainingNanos);
+            }
+            else {
+                closeChannel();
+            }
+        }
+
+        private void fail(RadiusClientException exception) {
+            closeChannel();
 
-            throw new RadiusClientException("Timeout waiting for response");
+            for (Request request : requests.removeAll()) {
+                request.fail(exception);
+            }
         }
-        catch (PacketCodecException | IOException e) {
-            throw new RadiusClientException(e);
+
+        @Override
+        public void close() {
+            fail(new RadiusClientException("Client closed"));
         }
-        finally {
-            if (datagramSocket != null) {
-                datagramSocket.close();
+
+        private void closeChannel() {
+            isClosed = true;
+
+            sockets.remove(this);
+
+            try {
+                channel.close();
+            }
+            catch (IOException ignored) {
+                // Ignored
             }
         }
+
     }
 
-    @Override
-    public void doClose() {
-        // Nothing to do
+    /**
+     * The transmissions of a request packet. Only used on the event loop thread.
+     */
+    private final class Request {
+
+        private final Packet requestPacket;
+
+        private final CompletableFuture<Packet> responseFuture;
+
+        private final byte[] authenticatorBytes = new byte[16];
+
+        private byte[] outBytes;
+
+        private UdpSocket socket;
+
+        private int packetId = -1;
+
+        private EventLoop.Timeout timeout;
+
+        private Duration timeoutDuration;
+
+        private int attempt;
+
+        /**
+         * The time of the first transmission, to measure the round-trip time.
+         */
+        private long transmitNanos;
+
+        /**
+         * The error of the last invalid response, which is reported if there is no valid response.
+         */
+        private Exception invalidResponseException;
+
+        private Request(Packet requestPacket, CompletableFuture<Packet> responseFuture) {
+            this.requestPacket = requestPacket;
+            this.responseFuture = responseFuture;
+        }
+
+        private void start() {
+            if (responseFuture.isDone()) {
+                return;
+            }
+
+            try {
+                socket = getAvailableSocket();
+            }
+            catch (IOException | RuntimeException e) {
+                // Also thrown when the event loop is closed
+                responseFuture.completeExceptionally(new RadiusClientException(e));
+
+                return;
+            }
+
+            packetId = socket.requests.allocate(this);
+
+            try {
+                randomProvider.nextBytes(authenticatorBytes);
+
+                // The retransmissions use the same identifier and authenticator
+                outBytes = encodeRequest(requestPacket, packetId, authenticatorBytes);
+            }
+            catch (PacketCodecException e) {
+                fail(new RadiusClientException(e));
+
+                return;
+            }
+
+            // Free the identifier right away when the caller gives up
+            responseFuture.whenComplete((responsePacket, throwable) -> {
+                if (responseFuture.isCancelled()) {
+                    eventLoop.execute(this::release);
+                }
+            });
+
+            transmitNanos = System.nanoTime();
+
+            transmit();
+        }
+
+        private void transmit() {
+            try {
+                // A datagram that doesn't fit in the socket send buffer is dropped, like a datagram lost in transit
+                socket.channel.write(ByteBuffer.wrap(outBytes));
+            }
+            catch (PortUnreachableException ignored) {
+                // The server may not be listening yet, so keep retransmitting until the request times out
+            }
+            catch (IOException e) {
+                fail(new RadiusClientException(e));
+
+                return;
+            }
+
+            try {
+                timeoutDuration = retransmissionStrategy.timeoutForAttempt(address, attempt);
+                timeout = eventLoop.schedule(this::handleTimeout, timeoutDuration.toNanos());
+            }
+            catch (RuntimeException e) {
+                // The retransmission strategy failed or the event loop is closed
+                fail(new RadiusClientException(e));
+            }
+        }
+
+        private void handleTimeout() {
+            timeout = null;
+
+            if (responseFuture.isDone()) {
+                release();
+
+                return;
+            }
+
+            int maxAttempts;
+
+            try {
+                retransmissionStrategy.handleTimeout(address, timeoutDuration);
+
+                maxAttempts = retransmissionStrategy.getMaxAttempts();
+            }
+            catch (RuntimeException e) {
+                fail(new RadiusClientException(e));
+
+                return;
+            }
+
+            attempt++;
+
+            if (attempt >= maxAttempts) {
+                RadiusClientException exception = new RadiusClientException("Timeout waiting for response");
+
+                if (invalidResponseException != null) {
+                    exception.addSuppressed(invalidResponseException);
+                }
+
+                fail(exception);
+
+                return;
+            }
+
+            transmit();
+        }
+
+        private void handleResponse(ByteBuffer inBuffer, int length) {
+            Packet responsePacket;
+
+            try {
+                // Decode the response directly from the receive buffer
+                responsePacket = packetCodec.decodeResponse(inBuffer, 0, length, secret, authenticatorBytes);
+            }
+            catch (PacketCodecException e) {
+                // Silently discard invalid responses (e.g., a late response to a previous request with this identifier)
+                invalidResponseException = e;
+
+                return;
+            }
+
+            if (attempt == 0) {
+                // The response to a retransmitted request may answer any of the transmissions, so only measure the
+                // round-trip time of requests that weren't retransmitted
+                Duration roundTripTime = Duration.ofNanos(System.nanoTime() - transmitNanos);
+
+                try {
+                    retransmissionStrategy.handleRoundTripTime(address, roundTripTime);
+                }
+                catch (RuntimeException e) {
+                    // The response is still valid
+                    eventLoop.handleException(e);
+                }
+            }
+
+            release();
+
+            responseFuture.complete(responsePacket);
+        }
+
+        private void fail(RadiusClientException exception) {
+            release();
+
+            responseFuture.completeExceptionally(exception);
+        }
+
+        private void release() {
+            if (timeout != null) {
+                timeout.cancel();
+                timeout = null;
+            }
+
+            if (packetId != -1) {
+                socket.release(packetId);
+                packetId = -1;
+            }
+        }
+
     }
 
     /**
@@ -122,6 +471,8 @@ public final class UdpRadiusClient extends AbstractRadiusClient {
 
         RetransmissionStrategy retransmissionStrategy;
 
+        Duration idleTimeout;
+
         /**
          * {@inheritDoc}
          */
@@ -143,9 +494,18 @@ public final class UdpRadiusClient extends AbstractRadiusClient {
             return super.dictionary(dictionary);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        public Builder executor(Executor executor) {
+            return super.executor(executor);
+        }
+
         /**
          * Sets the {@link RetransmissionStrategy} to use. Optional. When not set, a default retransmission strategy
-         * will be used that will attempt a maximum of three attempts at a 5-second interval.
+         * will be used that will attempt a maximum of three attempts at a 5-second interval. The client reports the
+         * measured round-trip times and timeouts to the strategy, so that an adaptive strategy (e.g.,
+         * {@link org.aaa4j.radius.client.AdaptiveRetransmissionStrategy}) can adjust its timeouts to the server.
          *
          * @param retransmissionStrategy the retransmission strategy to use
          * 
@@ -157,6 +517,21 @@ public final class UdpRadiusClient extends AbstractRadiusClient {
             return this;
         }
 
+        /**
+         * Sets the duration after which a surplus socket without requests in flight is closed. Surplus sockets are
+         * opened while the identifiers of the open sockets are all in use; the first socket stays open until the client
+         * is closed. Optional. When not set, idle surplus sockets are closed after 30 seconds.
+         *
+         * @param idleTimeout the idle timeout
+         *
+         * @return this builder
+         */
+        public Builder idleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+
+            return this;
+        }
+
         /**
          * Returns a new {@link UdpRadiusClient} built using the builder's options.
          *
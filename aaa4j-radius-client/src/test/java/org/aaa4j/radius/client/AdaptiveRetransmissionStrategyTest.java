@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("AdaptiveRetransmissionStrategy")
+class AdaptiveRetransmissionStrategyTest {
+
+    private static final InetSocketAddress ADDRESS = InetSocketAddress.createUnresolved("radius.example.com", 1812);
+
+    @Test
+    @DisplayName("The timeouts of the attempts of a request double from the measured timeout")
+    void timeoutSequence() {
+        AdaptiveRetransmissionStrategy retransmissionStrategy = new AdaptiveRetransmissionStrategy(5);
+
+        for (int i = 0; i < 10; i++) {
+            retransmissionStrategy.handleRoundTripTime(ADDRESS, Duration.ofMillis(2));
+        }
+
+        // The measured timeout is below the minimum timeout of 20 ms
+        long expectedMillis = 20;
+
+        for (int attempt = 0; attempt < 5; attempt++) {
+            Duration timeout = retransmissionStrategy.timeoutForAttempt(ADDRESS, attempt);
+
+            assertInRange(timeout, expectedMillis, attempt);
+
+            retransmissionStrategy.handleTimeout(ADDRESS, timeout);
+
+            expectedMillis = expectedMillis * 2;
+        }
+    }
+
+    @Test
+    @DisplayName("A timeout backs off the next request until a round-trip time is measured")
+    void timeoutBacksOffNextRequest() {
+        AdaptiveRetransmissionStrategy retransmissionStrategy = new AdaptiveRetransmissionStrategy(5);
+
+        retransmissionStrategy.handleRoundTripTime(ADDRESS, Duration.ofMillis(50));
+
+        // SRTT + 4 * RTTVAR = 50 + 4 * 25
+        Duration timeout = retransmissionStrategy.timeoutForAttempt(ADDRESS, 0);
+
+        assertInRange(timeout, 150, 0);
+
+        retransmissionStrategy.handleTimeout(ADDRESS, timeout);
+
+        assertInRange(retransmissionStrategy.timeoutForAttempt(ADDRESS, 0), 300, 1);
+        assertInRange(retransmissionStrategy.timeoutForAttempt(ADDRESS, 1), 300, 1);
+
+        retransmissionStrategy.handleRoundTripTime(ADDRESS, Duration.ofMillis(50));
+
+        // SRTT = 50, RTTVAR = 3/4 * 25
+        assertInRange(retransmissionStrategy.timeoutForAttempt(ADDRESS, 0), 125, 0);
+    }
+
+    /**
+     * Asserts that a timeout is the expected timeout with the jitter of +/-10% applied, allowing for the jitter of the
+     * previous timeouts that were backed off.
+     */
+    private static void assertInRange(Duration timeout, long expectedMillis, int backOffCount) {
+        double minMillis = expectedMillis * Math.pow(0.9, backOffCount + 1);
+        double maxMillis = expectedMillis * Math.pow(1.1, backOffCount + 1);
+        double timeoutMillis = timeout.toNanos() / 1_000_000.0;
+
+        assertTrue(timeoutMillis >= minMillis && timeoutMillis <= maxMillis,
+                "Timeout of " + timeoutMillis + " ms not in range [" + minMillis + ", " + maxMillis + "] ms");
+    }
+
+}
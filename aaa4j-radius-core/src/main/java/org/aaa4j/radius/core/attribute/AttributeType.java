@@ -23,11 +23,57 @@ import java.util.Objects;
  * Attribute type in the "dotted number" notation. The attribute type is the unique numeric attribute identifier. An
  * attribute type with a single type component indicates that the attribute is a top-level attribute. An attribute type
  * with more than one type components indicates that the attribute is encapsulated within other attributes.
+ *
+ * <p>
+ * Attribute types of up to four components (e.g., type, vendor identifier, vendor type and TLV type) are packed into a
+ * single long when the components fit, and longer attribute types fall back to an array of components. The top-level
+ * attribute types and the types of the attributes defined by dictionaries are interned, so {@link #of(int)} and
+ * {@link #with(int)} return the shared instances for them instead of allocating new ones.
+ * </p>
  */
 public final class AttributeType {
 
+    private static final int MAX_PACKED_LENGTH = 4;
+
+    /**
+     * The number of bits of each packed type component: 8 bits for the top-level type, 24 bits for the second component
+     * (which fits a vendor identifier), and 16 bits each for the third and fourth components.
+     */
+    private static final int[] PACKED_BITS = { 8, 24, 16, 16 };
+
+    private static final int[] PACKED_SHIFTS = { 56, 32, 16, 0 };
+
+    private static final int MAX_INTERNED_TYPES = 65536;
+
+    private static final AttributeType[] TOP_LEVEL_TYPES = new AttributeType[256];
+
+    private static final Object INTERN_LOCK = new Object();
+
+    /**
+     * The interned attribute types of more than one component in an open-addressed hash table, which can be read
+     * without locking. Slots are only ever filled, and the table is replaced when it grows.
+     */
+    private static volatile AttributeType[] internedTypes = new AttributeType[1024];
+
+    private static int internedTypeCount = 0;
+
+    static {
+        for (int i = 0; i < TOP_LEVEL_TYPES.length; i++) {
+            TOP_LEVEL_TYPES[i] = new AttributeType(i);
+        }
+    }
+
+    private final int length;
+
+    private final long packedTypes;
+
+    /**
+     * The type components if they can't be packed, otherwise null.
+     */
     private final int[] types;
 
+    private final int hashCode;
+
     /**
      * Constructs an attribute type from the given type components.
      *
@@ -35,15 +81,27 @@ public final class AttributeType {
      */
     public AttributeType(int... types) {
         Objects.requireNonNull(types);
-        this.types = Arrays.copyOf(types, types.length);
 
-        if (this.types.length == 0) {
+        if (types.length == 0) {
             throw new IllegalArgumentException("At least one type is required");
         }
 
-        if (this.types[0] < 0 || this.types[0] > 255) {
+        if (types[0] < 0 || types[0] > 255) {
             throw new IllegalArgumentException("First type in attribute type must be in range [0, 255]");
         }
+
+        this.length = types.length;
+
+        if (isPackable(types, 0, types.length, 0)) {
+            this.packedTypes = pack(0L, types, 0, types.length, 0);
+            this.types = null;
+        }
+        else {
+            this.packedTypes = 0L;
+            this.types = Arrays.copyOf(types, types.length);
+        }
+
+        this.hashCode = hashCode(1, types, 0, types.length);
     }
 
     /**
@@ -55,9 +113,116 @@ public final class AttributeType {
     public AttributeType(AttributeType init, int last) {
         Objects.requireNonNull(init);
 
-        types = new int[init.types.length + 1];
-        System.arraycopy(init.types, 0, types, 0, init.types.length);
-        types[types.length - 1] = last;
+        this.length = init.length + 1;
+
+        if (init.types == null && isPackable(last, init.length)) {
+            this.packedTypes = init.packedTypes | ((long) last << PACKED_SHIFTS[init.length]);
+            this.types = null;
+        }
+        else {
+            this.packedTypes = 0L;
+            this.types = Arrays.copyOf(init.toArray(), length);
+            this.types[length - 1] = last;
+        }
+
+        this.hashCode = 31 * init.hashCode + last;
+    }
+
+    private AttributeType(int length, long packedTypes, int[] types, int hashCode) {
+        this.length = length;
+        this.packedTypes = packedTypes;
+        this.types = types;
+        this.hashCode = hashCode;
+    }
+
+    /**
+     * Returns the top-level attribute type with the given type component. The instances are shared.
+     *
+     * @param type the type component (integer in range [0, 255])
+     *
+     * @return the top-level attribute type
+     */
+    public static AttributeType of(int type) {
+        if (type < 0 || type > 255) {
+            throw new IllegalArgumentException("First type in attribute type must be in range [0, 255]");
+        }
+
+        return TOP_LEVEL_TYPES[type];
+    }
+
+    /**
+     * Returns the attribute type with the given type components. The interned instance is returned if there is one,
+     * otherwise a new attribute type is constructed.
+     *
+     * @param types the type components
+     *
+     * @return the attribute type
+     */
+    public static AttributeType of(int... types) {
+        Objects.requireNonNull(types);
+
+        if (types.length == 1) {
+            return of(types[0]);
+        }
+
+        AttributeType attributeType = types.length > 0 ? lookup(0L, 0, 1, types) : null;
+
+        return attributeType != null ? attributeType : new AttributeType(types);
+    }
+
+    /**
+     * Interns the given attribute type so that {@link #of(int...)} and {@link #with(int...)} return the interned
+     * instance for equal attribute types. Dictionaries intern the types of the attributes they define. Only the attribute
+     * types that can be packed are interned, up to a fixed number of them.
+     *
+     * @param type the attribute type to intern
+     *
+     * @return the interned instance equal to the attribute type, or the attribute type itself if it can't be interned
+     */
+    public static AttributeType intern(AttributeType type) {
+        if (type.length == 1) {
+            return TOP_LEVEL_TYPES[type.head()];
+        }
+
+        if (type.types != null) {
+            return type;
+        }
+
+        synchronized (INTERN_LOCK) {
+            AttributeType[] table = internedTypes;
+            int index = indexOf(table, type.length, type.packedTypes, type.hashCode);
+
+            if (table[index] != null) {
+                return table[index];
+            }
+
+            if (internedTypeCount >= MAX_INTERNED_TYPES) {
+                return type;
+            }
+
+            if ((internedTypeCount + 1) * 2 > table.length) {
+                // Keeps the table at most half full
+                AttributeType[] newTable = new AttributeType[table.length * 2];
+
+                for (AttributeType internedType : table) {
+                    if (internedType != null) {
+                        newTable[indexOf(newTable, internedType.length, internedType.packedTypes,
+                                internedType.hashCode)] = internedType;
+                    }
+                }
+
+                newTable[indexOf(newTable, type.length, type.packedTypes, type.hashCode)] = type;
+
+                internedTypes = newTable;
+            }
+            else {
+                table[index] = type;
+            }
+
+            internedTypeCount++;
+
+            return type;
+        }
     }
 
     /**
@@ -66,7 +231,7 @@ public final class AttributeType {
      * @return the first component of the attribute type
      */
     public int head() {
-        return types[0];
+        return get(0);
     }
 
     /**
@@ -75,7 +240,7 @@ public final class AttributeType {
      * @return the last component of the attribute type
      */
     public int last() {
-        return types[types.length - 1];
+        return get(length - 1);
     }
 
     /**
@@ -85,11 +250,11 @@ public final class AttributeType {
      * @return the type at the given position
      */
     public int at(int position) {
-        if (position < 0 || position >= types.length) {
-            throw new IllegalArgumentException(String.format("Position must be in range [0, %d]", (types.length - 1)));
+        if (position < 0 || position >= length) {
+            throw new IllegalArgumentException(String.format("Position must be in range [0, %d]", (length - 1)));
         }
 
-        return types[position];
+        return get(position);
     }
 
     /**
@@ -98,28 +263,151 @@ public final class AttributeType {
      * @return the number of components in this attribute type
      */
     public int length() {
-        return types.length;
+        return length;
+    }
+
+    /**
+     * Returns an attribute type by appending the provided type component to this attribute type. The interned instance
+     * is returned if there is one.
+     *
+     * @param type the attribute type to append
+     * @return an attribute type
+     */
+    public AttributeType with(int type) {
+        if (this.types == null && isPackable(type, length)) {
+            long packedTypes = this.packedTypes | ((long) type << PACKED_SHIFTS[length]);
+            int hashCode = 31 * this.hashCode + type;
+
+            AttributeType attributeType = lookup(length + 1, packedTypes, hashCode);
+
+            return attributeType != null ? attributeType : new AttributeType(length + 1, packedTypes, null, hashCode);
+        }
+
+        return new AttributeType(this, type);
     }
 
     /**
-     * Returns a new attribute type by appending the provided type components to this attribute type.
+     * Returns an attribute type by appending the provided type components to this attribute type. The interned
+     * instance is returned if there is one.
      *
      * @param types the attribute types to append
-     * @return a new attribute type
+     * @return an attribute type
      */
     public AttributeType with(int... types) {
         Objects.requireNonNull(types);
 
-        int[] combinedTypes = new int[this.types.length + types.length];
-        System.arraycopy(this.types, 0, combinedTypes, 0, this.types.length);
-        System.arraycopy(types, 0, combinedTypes, this.types.length, types.length);
+        if (types.length == 1) {
+            return with(types[0]);
+        }
+
+        if (this.types == null) {
+            AttributeType attributeType = lookup(this.packedTypes, length, this.hashCode, types);
+
+            if (attributeType != null) {
+                return attributeType;
+            }
+        }
+
+        int[] combinedTypes = new int[length + types.length];
+        System.arraycopy(toArray(), 0, combinedTypes, 0, length);
+        System.arraycopy(types, 0, combinedTypes, length, types.length);
 
         return new AttributeType(combinedTypes);
     }
 
+    private int get(int position) {
+        if (types != null) {
+            return types[position];
+        }
+
+        return (int) ((packedTypes >>> PACKED_SHIFTS[position]) & ((1L << PACKED_BITS[position]) - 1));
+    }
+
+    private int[] toArray() {
+        if (types != null) {
+            return types;
+        }
+
+        int[] unpackedTypes = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            unpackedTypes[i] = get(i);
+        }
+
+        return unpackedTypes;
+    }
+
+    /**
+     * Looks up the interned attribute type made of the packed components followed by the given components.
+     */
+    private static AttributeType lookup(long packedTypes, int length, int hashCode, int[] types) {
+        if (!isPackable(types, 0, types.length, length)) {
+            return null;
+        }
+
+        return lookup(length + types.length, pack(packedTypes, types, 0, types.length, length),
+                hashCode(hashCode, types, 0, types.length));
+    }
+
+    private static AttributeType lookup(int length, long packedTypes, int hashCode) {
+        AttributeType[] table = internedTypes;
+
+        return table[indexOf(table, length, packedTypes, hashCode)];
+    }
+
+    /**
+     * Returns the index of the slot holding the given attribute type, or of the empty slot where it belongs.
+     */
+    private static int indexOf(AttributeType[] table, int length, long packedTypes, int hashCode) {
+        int mask = table.length - 1;
+        int index = (hashCode ^ (hashCode >>> 16)) & mask;
+
+        while (true) {
+            AttributeType attributeType = table[index];
+
+            if (attributeType == null
+                    || (attributeType.packedTypes == packedTypes && attributeType.length == length))
+            {
+                return index;
+            }
+
+            index = (index + 1) & mask;
+        }
+    }
+
+    private static boolean isPackable(int type, int position) {
+        return position < MAX_PACKED_LENGTH && type >= 0 && type < (1 << PACKED_BITS[position]);
+    }
+
+    private static boolean isPackable(int[] types, int from, int to, int position) {
+        for (int i = from; i < to; i++, position++) {
+            if (!isPackable(types[i], position)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static long pack(long packedTypes, int[] types, int from, int to, int position) {
+        for (int i = from; i < to; i++, position++) {
+            packedTypes = packedTypes | ((long) types[i] << PACKED_SHIFTS[position]);
+        }
+
+        return packedTypes;
+    }
+
+    private static int hashCode(int hashCode, int[] types, int from, int to) {
+        for (int i = from; i < to; i++) {
+            hashCode = 31 * hashCode + types[i];
+        }
+
+        return hashCode;
+    }
+
     @Override
     public int hashCode() {
-        return Arrays.hashCode(types);
+        return hashCode;
     }
 
     @Override
@@ -134,7 +422,10 @@ public final class AttributeType {
 
         AttributeType that = (AttributeType) obj;
 
-        return Arrays.equals(types, that.types);
+        return hashCode == that.hashCode
+                && length == that.length
+                && packedTypes == that.packedTypes
+                && Arrays.equals(types, that.types);
     }
 
 }
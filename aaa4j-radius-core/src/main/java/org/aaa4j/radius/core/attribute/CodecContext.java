@@ -18,6 +18,7 @@ package org.aaa4j.radius.core.attribute;
 
 import org.aaa4j.radius.core.dictionary.Dictionary;
 import org.aaa4j.radius.core.util.RandomProvider;
+import org.aaa4j.radius.core.util.SecretDigests;
 
 import java.util.Objects;
 
@@ -35,6 +36,8 @@ public final class CodecContext {
 
     private final RandomProvider randomProvider;
 
+    private SecretDigests secretDigests;
+
     /**
      * Constructs a codec context given the provided data.
      *
@@ -51,6 +54,22 @@ public final class CodecContext {
         this.randomProvider = Objects.requireNonNull(randomProvider);
     }
 
+    /**
+     * Constructs a codec context given the provided data and the digests for the secret.
+     *
+     * @param dictionary the dictionary used in encoding and decoding
+     * @param secret the RADIUS shared secret bytes to use
+     * @param requestAuthenticator the request authenticator bytes
+     * @param randomProvider the random provider to use for random number generation
+     * @param secretDigests the digests for the secret
+     */
+    public CodecContext(Dictionary dictionary, byte[] secret, byte[] requestAuthenticator,
+            RandomProvider randomProvider, SecretDigests secretDigests) {
+        this(dictionary, secret, requestAuthenticator, randomProvider);
+
+        this.secretDigests = Objects.requireNonNull(secretDigests);
+    }
+
     /**
      * Returns the dictionary used in encoding and decoding.
      *
@@ -69,6 +88,19 @@ public final class CodecContext {
         return secret;
     }
 
+    /**
+     * Returns the digests for the context secret. When the digests weren't provided, they're computed on first use.
+     *
+     * @return the secret digests
+     */
+    public SecretDigests getSecretDigests() {
+        if (secretDigests == null) {
+            secretDigests = SecretDigests.of(secret);
+        }
+
+        return secretDigests;
+    }
+
     /**
      * Returns the context request authenticator.
      *
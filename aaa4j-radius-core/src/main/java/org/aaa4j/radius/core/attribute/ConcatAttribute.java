@@ -34,7 +34,7 @@ public class ConcatAttribute extends Attribute<ConcatData> {
      * @param concatData the concat data
      */
     public ConcatAttribute(int type, ConcatData concatData) {
-        super(new AttributeType(type), concatData);
+        super(AttributeType.of(type), concatData);
     }
 
     /**
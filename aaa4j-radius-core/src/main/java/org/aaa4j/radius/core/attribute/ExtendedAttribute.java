@@ -37,7 +37,7 @@ public class ExtendedAttribute<D extends Data> extends Attribute<D> {
      * @param data the attribute data
      */
     public ExtendedAttribute(int type, int extendedType, D data) {
-        super(new AttributeType(type, extendedType), data);
+        super(AttributeType.of(type, extendedType), data);
 
         if (extendedType < 0 || extendedType > 255) {
             throw new IllegalArgumentException("Extended type must be in range [0, 255]");
@@ -92,7 +92,7 @@ public class ExtendedAttribute<D extends Data> extends Attribute<D> {
             int extendedType = attribute.getData().getExtendedType();
             byte[] extData = attribute.getData().getExtData();
 
-            D data = dataCodec.decode(codecContext, new AttributeType(attribute.getType(), extendedType), extData);
+            D data = dataCodec.decode(codecContext, attribute.getType().with(extendedType), extData);
 
             if (data == null) {
                 attributeStack.addFirst(attribute);
@@ -41,7 +41,7 @@ public class LongExtendedAttribute<D extends Data> extends Attribute<D> {
      * @param data the attribute data
      */
     public LongExtendedAttribute(int type, int extendedType, D data) {
-        super(new AttributeType(type, extendedType), data);
+        super(AttributeType.of(type, extendedType), data);
 
         if (extendedType < 0 || extendedType > 255) {
             throw new IllegalArgumentException("Extended type must be in range [0, 255]");
@@ -142,7 +142,7 @@ public class LongExtendedAttribute<D extends Data> extends Attribute<D> {
                 position += extDataFragment.length;
             }
 
-            D data = dataCodec.decode(codecContext, new AttributeType(type, extendedType), extData);
+            D data = dataCodec.decode(codecContext, type.with(extendedType), extData);
 
             if (data == null) {
                 // We couldn't decode the long-extended fragments so place the fragment attributes back on the stack
@@ -34,7 +34,7 @@ public final class RawAttribute extends Attribute<StringData> {
      * @param data the attribute data
      */
     public RawAttribute(int type, byte[] data) {
-        super(new AttributeType(type), new StringData(data));
+        super(AttributeType.of(type), new StringData(data));
 
         if (data.length > 253) {
             throw new IllegalArgumentException("Data length must be in range [0, 253]");
@@ -33,7 +33,7 @@ public class StandardAttribute<D extends Data> extends Attribute<D> {
      * @param data the attribute data
      */
     public StandardAttribute(int type, D data) {
-        super(new AttributeType(type), data);
+        super(AttributeType.of(type), data);
 
         if (data.length() > 253) {
             throw new IllegalArgumentException("Data length must be in range [0, 253]");
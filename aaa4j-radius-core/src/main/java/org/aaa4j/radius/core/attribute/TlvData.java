@@ -145,7 +145,7 @@ public final class TlvData extends Data {
                 byte[] tlvData = new byte[tlvLength - 2];
                 System.arraycopy(bytes, position + 2, tlvData, 0, tlvLength - 2);
 
-                AttributeType tlvAttributeType = new AttributeType(parentAttributeType, tlvType);
+                AttributeType tlvAttributeType = parentAttributeType.with(tlvType);
 
                 TlvDefinition tlvDefinition = codecContext.getDictionary().getTlvDefinition(tlvAttributeType);
 
@@ -186,7 +186,7 @@ public final class TlvData extends Data {
                 bytes[position] = (byte) tlvType;
                 bytes[position + 1] = (byte) tlvLength;
 
-                AttributeType tlvAttributeType = new AttributeType(parentAttributeType, tlvType);
+                AttributeType tlvAttributeType = parentAttributeType.with(tlvType);
 
                 TlvDefinition tlvDefinition = codecContext.getDictionary().getTlvDefinition(tlvAttributeType);
 
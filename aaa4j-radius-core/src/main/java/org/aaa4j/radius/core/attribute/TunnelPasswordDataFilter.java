@@ -16,8 +16,9 @@
 
 package org.aaa4j.radius.core.attribute;
 
+import org.aaa4j.radius.core.util.SecretDigests;
+
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 
 /**
@@ -49,9 +50,9 @@ public class TunnelPasswordDataFilter implements DataFilter {
 
         System.arraycopy(data, 2, ciphertext, 0, data.length - 2);
 
-        MessageDigest md5 = getMd5Instance();
+        SecretDigests secretDigests = codecContext.getSecretDigests();
 
-        md5.update(codecContext.getSecret());
+        MessageDigest md5 = secretDigests.newSecretMd5();
         md5.update(codecContext.getRequestAuthenticator());
         md5.update(salt);
 
@@ -59,8 +60,8 @@ public class TunnelPasswordDataFilter implements DataFilter {
 
         for (int i = 0; i < ciphertext.length; i += 16) {
             if (i != 0) {
-                md5.update(codecContext.getSecret());
-                md5.update(Arrays.copyOfRange(ciphertext, i - 16, i));
+                md5 = secretDigests.newSecretMd5();
+                md5.update(ciphertext, i - 16, 16);
                 b = md5.digest();
             }
 
@@ -94,9 +95,9 @@ public class TunnelPasswordDataFilter implements DataFilter {
         paddedLengthAndPassword[0] = (byte) (data.length & 0xff);
         System.arraycopy(data, 0, paddedLengthAndPassword, 1, data.length);
 
-        MessageDigest md5 = getMd5Instance();
+        SecretDigests secretDigests = codecContext.getSecretDigests();
 
-        md5.update(codecContext.getSecret());
+        MessageDigest md5 = secretDigests.newSecretMd5();
         md5.update(codecContext.getRequestAuthenticator());
         md5.update(salt);
 
@@ -104,8 +105,8 @@ public class TunnelPasswordDataFilter implements DataFilter {
 
         for (int i = 0; i < paddedLengthAndPassword.length; i += 16) {
             if (i != 0) {
-                md5.update(codecContext.getSecret());
-                md5.update(Arrays.copyOfRange(ciphertext, i - 16, i));
+                md5 = secretDigests.newSecretMd5();
+                md5.update(ciphertext, i - 16, 16);
                 b = md5.digest();
             }
 
@@ -122,14 +123,4 @@ public class TunnelPasswordDataFilter implements DataFilter {
         return encoded;
     }
 
-    private static MessageDigest getMd5Instance() {
-        try {
-            return MessageDigest.getInstance("MD5");
-        }
-        catch (NoSuchAlgorithmException e) {
-            // Shouldn't happen since every JRE Is required to support MD5
-            throw new AssertionError(e);
-        }
-    }
-
 }
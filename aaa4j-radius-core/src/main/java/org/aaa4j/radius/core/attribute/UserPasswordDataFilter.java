@@ -16,8 +16,9 @@
 
 package org.aaa4j.radius.core.attribute;
 
+import org.aaa4j.radius.core.util.SecretDigests;
+
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 
 /**
@@ -29,19 +30,19 @@ public class UserPasswordDataFilter implements DataFilter {
 
     @Override
     public byte[] decode(CodecContext codecContext, byte[] data) {
-        MessageDigest md5 = getMd5Instance();
+        SecretDigests secretDigests = codecContext.getSecretDigests();
 
         byte[] paddedPassword = new byte[data.length];
 
-        md5.update(codecContext.getSecret());
+        MessageDigest md5 = secretDigests.newSecretMd5();
         md5.update(codecContext.getRequestAuthenticator());
 
         byte[] b = md5.digest();
 
         for (int i = 0; i < data.length; i += 16) {
             if (i != 0) {
-                md5.update(codecContext.getSecret());
-                md5.update(Arrays.copyOfRange(data, i - 16, i));
+                md5 = secretDigests.newSecretMd5();
+                md5.update(data, i - 16, 16);
                 b = md5.digest();
             }
 
@@ -73,22 +74,22 @@ public class UserPasswordDataFilter implements DataFilter {
             throw new IllegalArgumentException("Password length must be in range [0, 128]");
         }
 
-        MessageDigest md5 = getMd5Instance();
+        SecretDigests secretDigests = codecContext.getSecretDigests();
 
         byte[] paddedPassword = new byte[data.length - ((data.length - 1) % 16) + 15];
         System.arraycopy(data, 0, paddedPassword, 0, data.length);
 
         byte[] hiddenPassword = new byte[paddedPassword.length];
 
-        md5.update(codecContext.getSecret());
+        MessageDigest md5 = secretDigests.newSecretMd5();
         md5.update(codecContext.getRequestAuthenticator());
 
         byte[] b = md5.digest();
 
         for (int i = 0; i < paddedPassword.length; i += 16) {
             if (i != 0) {
-                md5.update(codecContext.getSecret());
-                md5.update(Arrays.copyOfRange(hiddenPassword, i - 16, i));
+                md5 = secretDigests.newSecretMd5();
+                md5.update(hiddenPassword, i - 16, 16);
                 b = md5.digest();
             }
 
@@ -100,14 +101,4 @@ public class UserPasswordDataFilter implements DataFilter {
         return hiddenPassword;
     }
 
-    private static MessageDigest getMd5Instance() {
-        try {
-            return MessageDigest.getInstance("MD5");
-        }
-        catch (NoSuchAlgorithmException e) {
-            // Shouldn't happen since every JRE Is required to support MD5
-            throw new AssertionError(e);
-        }
-    }
-
 }
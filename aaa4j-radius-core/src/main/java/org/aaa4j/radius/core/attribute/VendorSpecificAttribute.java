@@ -42,7 +42,7 @@ public class VendorSpecificAttribute<D extends Data> extends Attribute<D> {
      * @param data the attribute data
      */
     public VendorSpecificAttribute(int type, int vendorId, int vendorType, D data) {
-        super(new AttributeType(type, vendorId, vendorType), data);
+        super(AttributeType.of(type, vendorId, vendorType), data);
 
         if (vendorId < 0 || vendorId > 16777215) {
             throw new IllegalArgumentException("Vendor identifier must be in range [0, 16777215]");
@@ -114,7 +114,7 @@ public class VendorSpecificAttribute<D extends Data> extends Attribute<D> {
             byte[] vsaData = attribute.getData().getVsaData();
 
             D data = dataCodec.decode(codecContext,
-                    new AttributeType(attribute.getType(), vendorId).with(vendorType), vsaData);
+                    attribute.getType().with(vendorId, vendorType), vsaData);
 
             if (data == null) {
                 attributeStack.addFirst(attribute);
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class AcctAuthentic extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(45);
+    public static final AttributeType TYPE = AttributeType.of(45);
 
     public static final String NAME = "Acct-Authentic";
 
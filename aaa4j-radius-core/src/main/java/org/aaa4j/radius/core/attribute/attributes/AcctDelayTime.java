@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class AcctDelayTime extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(41);
+    public static final AttributeType TYPE = AttributeType.of(41);
 
     public static final String NAME = "Acct-Delay-Time";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class AcctInputGigawords extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(52);
+    public static final AttributeType TYPE = AttributeType.of(52);
 
     public static final String NAME = "Acct-Input-Gigawords";
 
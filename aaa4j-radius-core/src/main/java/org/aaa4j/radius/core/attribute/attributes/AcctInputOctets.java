@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class AcctInputOctets extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(42);
+    public static final AttributeType TYPE = AttributeType.of(42);
 
     public static final String NAME = "Acct-Input-Octets";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class AcctInputPackets extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(47);
+    public static final AttributeType TYPE = AttributeType.of(47);
 
     public static final String NAME = "Acct-Input-Packets";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class AcctInterimInterval extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(85);
+    public static final AttributeType TYPE = AttributeType.of(85);
 
     public static final String NAME = "Acct-Interim-Interval";
 
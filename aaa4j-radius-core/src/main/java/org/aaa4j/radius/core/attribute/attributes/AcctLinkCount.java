@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class AcctLinkCount extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(51);
+    public static final AttributeType TYPE = AttributeType.of(51);
 
     public static final String NAME = "Acct-Link-Count";
 
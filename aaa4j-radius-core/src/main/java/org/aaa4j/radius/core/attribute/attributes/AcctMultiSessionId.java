@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class AcctMultiSessionId extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(50);
+    public static final AttributeType TYPE = AttributeType.of(50);
 
     public static final String NAME = "Acct-Multi-Session-Id";
 
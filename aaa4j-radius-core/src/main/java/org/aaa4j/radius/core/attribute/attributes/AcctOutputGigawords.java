@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class AcctOutputGigawords extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(53);
+    public static final AttributeType TYPE = AttributeType.of(53);
 
     public static final String NAME = "Acct-Output-Gigawords";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class AcctOutputOctets extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(43);
+    public static final AttributeType TYPE = AttributeType.of(43);
 
     public static final String NAME = "Acct-Output-Octets";
 
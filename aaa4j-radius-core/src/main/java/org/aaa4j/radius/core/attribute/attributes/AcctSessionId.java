@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class AcctSessionId extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(44);
+    public static final AttributeType TYPE = AttributeType.of(44);
 
     public static final String NAME = "Acct-Session-Id";
 
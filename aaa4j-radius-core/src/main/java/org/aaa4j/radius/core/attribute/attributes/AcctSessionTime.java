@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class AcctSessionTime extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(46);
+    public static final AttributeType TYPE = AttributeType.of(46);
 
     public static final String NAME = "Acct-Session-Time";
 
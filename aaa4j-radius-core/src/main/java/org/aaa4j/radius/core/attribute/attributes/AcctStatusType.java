@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class AcctStatusType extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(40);
+    public static final AttributeType TYPE = AttributeType.of(40);
 
     public static final String NAME = "Acct-Status-Type";
 
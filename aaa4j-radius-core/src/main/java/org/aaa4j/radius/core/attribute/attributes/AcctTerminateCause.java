@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class AcctTerminateCause extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(49);
+    public static final AttributeType TYPE = AttributeType.of(49);
 
     public static final String NAME = "Acct-Terminate-Cause";
 
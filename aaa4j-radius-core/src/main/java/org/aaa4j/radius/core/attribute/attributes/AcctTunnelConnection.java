@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class AcctTunnelConnection extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(68);
+    public static final AttributeType TYPE = AttributeType.of(68);
 
     public static final String NAME = "Acct-Tunnel-Connection";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class AcctTunnelPacketsLost extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(86);
+    public static final AttributeType TYPE = AttributeType.of(86);
 
     public static final String NAME = "Acct-Tunnel-Packets-Lost";
 
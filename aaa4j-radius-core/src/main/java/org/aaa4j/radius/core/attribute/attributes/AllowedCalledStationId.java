@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class AllowedCalledStationId extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(174);
+    public static final AttributeType TYPE = AttributeType.of(174);
 
     public static final String NAME = "Allowed-Called-Station-Id";
 
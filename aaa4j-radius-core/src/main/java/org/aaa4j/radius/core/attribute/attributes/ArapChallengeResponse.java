@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class ArapChallengeResponse extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(84);
+    public static final AttributeType TYPE = AttributeType.of(84);
 
     public static final String NAME = "ARAP-Challenge-Response";
 
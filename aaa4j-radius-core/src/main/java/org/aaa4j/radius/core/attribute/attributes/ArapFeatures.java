@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class ArapFeatures extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(71);
+    public static final AttributeType TYPE = AttributeType.of(71);
 
     public static final String NAME = "ARAP-Features";
 
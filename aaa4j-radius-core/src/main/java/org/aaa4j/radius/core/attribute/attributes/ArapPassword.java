@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class ArapPassword extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(70);
+    public static final AttributeType TYPE = AttributeType.of(70);
 
     public static final String NAME = "ARAP-Password";
 
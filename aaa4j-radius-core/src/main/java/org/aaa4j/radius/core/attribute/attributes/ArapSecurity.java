@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class ArapSecurity extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(73);
+    public static final AttributeType TYPE = AttributeType.of(73);
 
     public static final String NAME = "ARAP-Security";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class ArapSecurityData extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(74);
+    public static final AttributeType TYPE = AttributeType.of(74);
 
     public static final String NAME = "ARAP-Security-Data";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class ArapZoneAccess extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(72);
+    public static final AttributeType TYPE = AttributeType.of(72);
 
     public static final String NAME = "ARAP-Zone-Access";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class BasicLocationPolicyRules extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(129);
+    public static final AttributeType TYPE = AttributeType.of(129);
 
     public static final String NAME = "Basic-Location-Policy-Rules";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class CallbackId extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(20);
+    public static final AttributeType TYPE = AttributeType.of(20);
 
     public static final String NAME = "Callback-Id";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class CalledStationId extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(30);
+    public static final AttributeType TYPE = AttributeType.of(30);
 
     public static final String NAME = "Called-Station-Id";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class CallingStationId extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(31);
+    public static final AttributeType TYPE = AttributeType.of(31);
 
     public static final String NAME = "Calling-Station-Id";
 
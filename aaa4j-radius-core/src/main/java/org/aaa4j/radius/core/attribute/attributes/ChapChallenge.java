@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class ChapChallenge extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(60);
+    public static final AttributeType TYPE = AttributeType.of(60);
 
     public static final String NAME = "CHAP-Challenge";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class ChapPassword extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(3);
+    public static final AttributeType TYPE = AttributeType.of(3);
 
     public static final String NAME = "CHAP-Password";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class Class extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(25);
+    public static final AttributeType TYPE = AttributeType.of(25);
 
     public static final String NAME = "Class";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class ConfigurationToken extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(78);
+    public static final AttributeType TYPE = AttributeType.of(78);
 
     public static final String NAME = "Configuration-Token";
 
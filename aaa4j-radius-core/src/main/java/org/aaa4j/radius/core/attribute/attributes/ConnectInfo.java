@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class ConnectInfo extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(77);
+    public static final AttributeType TYPE = AttributeType.of(77);
 
     public static final String NAME = "Connect-Info";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class Cui extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(89);
+    public static final AttributeType TYPE = AttributeType.of(89);
 
     public static final String NAME = "CUI";
 
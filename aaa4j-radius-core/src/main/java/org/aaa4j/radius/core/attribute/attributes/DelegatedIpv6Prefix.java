@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class DelegatedIpv6Prefix extends StandardAttribute<Ipv6PrefixData> {
 
-    public static final AttributeType TYPE = new AttributeType(123);
+    public static final AttributeType TYPE = AttributeType.of(123);
 
     public static final String NAME = "Delegated-IPv6-Prefix";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class DelegatedIpv6PrefixPool extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(171);
+    public static final AttributeType TYPE = AttributeType.of(171);
 
     public static final String NAME = "Delegated-IPv6-Prefix-Pool";
 
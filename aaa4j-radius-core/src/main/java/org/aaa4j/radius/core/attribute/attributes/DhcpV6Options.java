@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class DhcpV6Options extends LongExtendedAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(245, 3);
+    public static final AttributeType TYPE = AttributeType.of(245, 3);
 
     public static final String NAME = "DHCPv6-Options";
 
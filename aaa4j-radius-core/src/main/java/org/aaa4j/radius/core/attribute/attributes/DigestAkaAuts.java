@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class DigestAkaAuts extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(118);
+    public static final AttributeType TYPE = AttributeType.of(118);
 
     public static final String NAME = "Digest-AKA-Auts";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class DigestAuthParam extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(117);
+    public static final AttributeType TYPE = AttributeType.of(117);
 
     public static final String NAME = "Digest-Auth-Param";
 
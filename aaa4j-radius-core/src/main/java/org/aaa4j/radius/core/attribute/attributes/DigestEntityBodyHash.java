@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class DigestEntityBodyHash extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(112);
+    public static final AttributeType TYPE = AttributeType.of(112);
 
     public static final String NAME = "Digest-Entity-Body-Hash";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class DigestHa1 extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(121);
+    public static final AttributeType TYPE = AttributeType.of(121);
 
     public static final String NAME = "Digest-HA1";
 
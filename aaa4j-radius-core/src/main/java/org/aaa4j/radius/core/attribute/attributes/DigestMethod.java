@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class DigestMethod extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(108);
+    public static final AttributeType TYPE = AttributeType.of(108);
 
     public static final String NAME = "Digest-Method";
 
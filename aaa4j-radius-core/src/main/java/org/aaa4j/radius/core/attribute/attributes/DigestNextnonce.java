@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class DigestNextnonce extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(107);
+    public static final AttributeType TYPE = AttributeType.of(107);
 
     public static final String NAME = "Digest-Nextnonce";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class DigestNonceCount extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(114);
+    public static final AttributeType TYPE = AttributeType.of(114);
 
     public static final String NAME = "Digest-Nonce-Count";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class DigestQop extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(110);
+    public static final AttributeType TYPE = AttributeType.of(110);
 
     public static final String NAME = "Digest-Qop";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class DigestResponse extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(103);
+    public static final AttributeType TYPE = AttributeType.of(103);
 
     public static final String NAME = "Digest-Response";
 
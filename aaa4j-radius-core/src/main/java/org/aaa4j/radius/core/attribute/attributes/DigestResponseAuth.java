@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class DigestResponseAuth extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(106);
+    public static final AttributeType TYPE = AttributeType.of(106);
 
     public static final String NAME = "Digest-Response-Auth";
 
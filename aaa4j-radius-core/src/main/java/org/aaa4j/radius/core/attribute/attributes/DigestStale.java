@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class DigestStale extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(120);
+    public static final AttributeType TYPE = AttributeType.of(120);
 
     public static final String NAME = "Digest-Stale";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class DigestUri extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(109);
+    public static final AttributeType TYPE = AttributeType.of(109);
 
     public static final String NAME = "Digest-URI";
 
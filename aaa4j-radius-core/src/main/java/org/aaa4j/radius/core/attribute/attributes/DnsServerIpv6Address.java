@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class DnsServerIpv6Address extends StandardAttribute<Ipv6AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(169);
+    public static final AttributeType TYPE = AttributeType.of(169);
 
     public static final String NAME = "DNS-Server-IPv6-Address";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class DsLiteTunnelName extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(144);
+    public static final AttributeType TYPE = AttributeType.of(144);
 
     public static final String NAME = "DS-Lite-Tunnel-Name";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class EapKeyName extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(102);
+    public static final AttributeType TYPE = AttributeType.of(102);
 
     public static final String NAME = "EAP-Key-Name";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class EapLowerLayer extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(163);
+    public static final AttributeType TYPE = AttributeType.of(163);
 
     public static final String NAME = "EAP-Lower-Layer";
 
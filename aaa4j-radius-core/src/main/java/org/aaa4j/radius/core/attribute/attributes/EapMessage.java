@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.ConcatData;
  */
 public final class EapMessage extends ConcatAttribute {
 
-    public static final AttributeType TYPE = new AttributeType(79);
+    public static final AttributeType TYPE = AttributeType.of(79);
 
     public static final String NAME = "EAP-Message";
 
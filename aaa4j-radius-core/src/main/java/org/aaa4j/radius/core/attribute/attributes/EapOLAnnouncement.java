@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.ConcatData;
  */
 public final class EapOLAnnouncement extends ConcatAttribute {
 
-    public static final AttributeType TYPE = new AttributeType(180);
+    public static final AttributeType TYPE = AttributeType.of(180);
 
     public static final String NAME = "EAPoL-Announcement";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class EapPeerId extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(175);
+    public static final AttributeType TYPE = AttributeType.of(175);
 
     public static final String NAME = "EAP-Peer-Id";
 
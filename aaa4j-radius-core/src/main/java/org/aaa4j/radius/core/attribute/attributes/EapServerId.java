@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class EapServerId extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(176);
+    public static final AttributeType TYPE = AttributeType.of(176);
 
     public static final String NAME = "EAP-Server-Id";
 
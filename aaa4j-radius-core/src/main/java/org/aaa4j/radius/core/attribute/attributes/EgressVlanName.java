@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class EgressVlanName extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(58);
+    public static final AttributeType TYPE = AttributeType.of(58);
 
     public static final String NAME = "Egress-VLAN-Name";
 
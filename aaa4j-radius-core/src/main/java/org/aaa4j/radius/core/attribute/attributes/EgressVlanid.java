@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class EgressVlanid extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(56);
+    public static final AttributeType TYPE = AttributeType.of(56);
 
     public static final String NAME = "Egress-VLANID";
 
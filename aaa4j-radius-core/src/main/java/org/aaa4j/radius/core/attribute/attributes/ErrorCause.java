@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class ErrorCause extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(101);
+    public static final AttributeType TYPE = AttributeType.of(101);
 
     public static final String NAME = "Error-Cause";
 
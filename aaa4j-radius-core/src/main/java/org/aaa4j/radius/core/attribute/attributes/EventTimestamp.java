@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TimeData;
  */
 public final class EventTimestamp extends StandardAttribute<TimeData> {
 
-    public static final AttributeType TYPE = new AttributeType(55);
+    public static final AttributeType TYPE = AttributeType.of(55);
 
     public static final String NAME = "Event-Timestamp";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class ExtendedAttribute1 extends StandardAttribute<ExtendedData> {
 
-    public static final AttributeType TYPE = new AttributeType(241);
+    public static final AttributeType TYPE = AttributeType.of(241);
 
     public static final String NAME = "Extended-Attribute-1";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class ExtendedAttribute5 extends StandardAttribute<LongExtendedData> {
 
-    public static final AttributeType TYPE = new AttributeType(245);
+    public static final AttributeType TYPE = AttributeType.of(245);
 
     public static final String NAME = "Extended-Attribute-5";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class ExtendedAttribute6 extends StandardAttribute<LongExtendedData> {
 
-    public static final AttributeType TYPE = new AttributeType(246);
+    public static final AttributeType TYPE = AttributeType.of(246);
 
     public static final String NAME = "Extended-Attribute-6";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class ExtendedLocationPolicyRules extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(130);
+    public static final AttributeType TYPE = AttributeType.of(130);
 
     public static final String NAME = "Extended-Location-Policy-Rules";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.ExtendedAttribute;
  */
 public final class ExtendedVendorSpecific2 extends ExtendedAttribute<EvsData> {
 
-    public static final AttributeType TYPE = new AttributeType(242, 26);
+    public static final AttributeType TYPE = AttributeType.of(242, 26);
 
     public static final String NAME = "Extended-Vendor-Specific-2";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.LongExtendedAttribute;
  */
 public final class ExtendedVendorSpecific6 extends LongExtendedAttribute<EvsData> {
 
-    public static final AttributeType TYPE = new AttributeType(246, 26);
+    public static final AttributeType TYPE = AttributeType.of(246, 26);
 
     public static final String NAME = "Extended-Vendor-Specific-6";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class FilterId extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(11);
+    public static final AttributeType TYPE = AttributeType.of(11);
 
     public static final String NAME = "Filter-Id";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.IntegerData;
  */
 public final class FragStatus extends ExtendedAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(241, 1);
+    public static final AttributeType TYPE = AttributeType.of(241, 1);
 
     public static final String NAME = "Frag-Status";
 
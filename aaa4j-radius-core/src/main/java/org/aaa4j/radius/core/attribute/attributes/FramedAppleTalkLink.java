@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class FramedAppleTalkLink extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(37);
+    public static final AttributeType TYPE = AttributeType.of(37);
 
     public static final String NAME = "Framed-AppleTalk-Link";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class FramedAppleTalkNetwork extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(38);
+    public static final AttributeType TYPE = AttributeType.of(38);
 
     public static final String NAME = "Framed-AppleTalk-Network";
 
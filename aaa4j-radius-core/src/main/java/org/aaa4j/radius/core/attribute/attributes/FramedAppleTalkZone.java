@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class FramedAppleTalkZone extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(39);
+    public static final AttributeType TYPE = AttributeType.of(39);
 
     public static final String NAME = "Framed-AppleTalk-Zone";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class FramedInterfaceId extends StandardAttribute<IfidData> {
 
-    public static final AttributeType TYPE = new AttributeType(96);
+    public static final AttributeType TYPE = AttributeType.of(96);
 
     public static final String NAME = "Framed-Interface-Id";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class FramedIpAddress extends StandardAttribute<Ipv4AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(8);
+    public static final AttributeType TYPE = AttributeType.of(8);
 
     public static final String NAME = "Framed-IP-Address";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class FramedIpNetmask extends StandardAttribute<Ipv4AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(9);
+    public static final AttributeType TYPE = AttributeType.of(9);
 
     public static final String NAME = "Framed-IP-Netmask";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class FramedIpv6Address extends StandardAttribute<Ipv6AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(168);
+    public static final AttributeType TYPE = AttributeType.of(168);
 
     public static final String NAME = "Framed-IPv6-Address";
 
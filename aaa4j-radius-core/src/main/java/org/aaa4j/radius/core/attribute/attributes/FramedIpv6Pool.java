@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class FramedIpv6Pool extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(100);
+    public static final AttributeType TYPE = AttributeType.of(100);
 
     public static final String NAME = "Framed-IPv6-Pool";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class FramedIpv6Prefix extends StandardAttribute<Ipv6PrefixData> {
 
-    public static final AttributeType TYPE = new AttributeType(97);
+    public static final AttributeType TYPE = AttributeType.of(97);
 
     public static final String NAME = "Framed-IPv6-Prefix";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class FramedIpv6Route extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(99);
+    public static final AttributeType TYPE = AttributeType.of(99);
 
     public static final String NAME = "Framed-IPv6-Route";
 
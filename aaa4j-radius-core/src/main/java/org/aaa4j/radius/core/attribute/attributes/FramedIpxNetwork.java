@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class FramedIpxNetwork extends StandardAttribute<Ipv4AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(23);
+    public static final AttributeType TYPE = AttributeType.of(23);
 
     public static final String NAME = "Framed-IPX-Network";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class FramedMtu extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(12);
+    public static final AttributeType TYPE = AttributeType.of(12);
 
     public static final String NAME = "Framed-MTU";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class FramedProtocol extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(7);
+    public static final AttributeType TYPE = AttributeType.of(7);
 
     public static final String NAME = "Framed-Protocol";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class FramedRouting extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(10);
+    public static final AttributeType TYPE = AttributeType.of(10);
 
     public static final String NAME = "Framed-Routing";
 
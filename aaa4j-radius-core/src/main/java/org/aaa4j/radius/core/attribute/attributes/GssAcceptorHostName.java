@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class GssAcceptorHostName extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(165);
+    public static final AttributeType TYPE = AttributeType.of(165);
 
     public static final String NAME = "GSS-Acceptor-Host-Name";
 
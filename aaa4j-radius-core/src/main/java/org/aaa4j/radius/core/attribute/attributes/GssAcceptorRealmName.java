@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class GssAcceptorRealmName extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(167);
+    public static final AttributeType TYPE = AttributeType.of(167);
 
     public static final String NAME = "GSS-Acceptor-Realm-Name";
 
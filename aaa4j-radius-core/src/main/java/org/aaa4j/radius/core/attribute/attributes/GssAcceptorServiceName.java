@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class GssAcceptorServiceName extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(164);
+    public static final AttributeType TYPE = AttributeType.of(164);
 
     public static final String NAME = "GSS-Acceptor-Service-Name";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class GssAcceptorServiceSpecifics extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(166);
+    public static final AttributeType TYPE = AttributeType.of(166);
 
     public static final String NAME = "GSS-Acceptor-Service-Specifics";
 
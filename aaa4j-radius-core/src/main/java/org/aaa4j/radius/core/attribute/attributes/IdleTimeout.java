@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class IdleTimeout extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(28);
+    public static final AttributeType TYPE = AttributeType.of(28);
 
     public static final String NAME = "Idle-Timeout";
 
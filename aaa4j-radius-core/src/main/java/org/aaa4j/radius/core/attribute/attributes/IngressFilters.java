@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class IngressFilters extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(57);
+    public static final AttributeType TYPE = AttributeType.of(57);
 
     public static final String NAME = "Ingress-Filters";
 
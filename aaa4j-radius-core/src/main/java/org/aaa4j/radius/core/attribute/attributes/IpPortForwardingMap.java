@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TlvData;
  */
 public final class IpPortForwardingMap extends ExtendedAttribute<TlvData> {
 
-    public static final AttributeType TYPE = new AttributeType(241, 7);
+    public static final AttributeType TYPE = AttributeType.of(241, 7);
 
     public static final String NAME = "IP-Port-Forwarding-Map";
 
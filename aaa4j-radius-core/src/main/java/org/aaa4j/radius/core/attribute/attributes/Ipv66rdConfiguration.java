@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TlvData;
  */
 public final class Ipv66rdConfiguration extends StandardAttribute<TlvData> {
 
-    public static final AttributeType TYPE = new AttributeType(173);
+    public static final AttributeType TYPE = AttributeType.of(173);
 
     public static final String NAME = "IPv6-6rd-Configuration";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class LocationCapable extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(131);
+    public static final AttributeType TYPE = AttributeType.of(131);
 
     public static final String NAME = "Location-Capable";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class LocationData extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(128);
+    public static final AttributeType TYPE = AttributeType.of(128);
 
     public static final String NAME = "Location-Data";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class LocationInformation extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(127);
+    public static final AttributeType TYPE = AttributeType.of(127);
 
     public static final String NAME = "Location-Information";
 
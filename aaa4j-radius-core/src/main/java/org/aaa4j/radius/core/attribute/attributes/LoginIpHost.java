@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class LoginIpHost extends StandardAttribute<Ipv4AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(14);
+    public static final AttributeType TYPE = AttributeType.of(14);
 
     public static final String NAME = "Login-IP-Host";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class LoginIpv6Host extends StandardAttribute<Ipv6AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(98);
+    public static final AttributeType TYPE = AttributeType.of(98);
 
     public static final String NAME = "Login-IPv6-Host";
 
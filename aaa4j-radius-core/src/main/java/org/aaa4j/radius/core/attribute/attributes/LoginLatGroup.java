@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class LoginLatGroup extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(36);
+    public static final AttributeType TYPE = AttributeType.of(36);
 
     public static final String NAME = "Login-LAT-Group";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class LoginLatNode extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(35);
+    public static final AttributeType TYPE = AttributeType.of(35);
 
     public static final String NAME = "Login-LAT-Node";
 
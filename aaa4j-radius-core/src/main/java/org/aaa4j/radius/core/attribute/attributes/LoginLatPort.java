@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class LoginLatPort extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(63);
+    public static final AttributeType TYPE = AttributeType.of(63);
 
     public static final String NAME = "Login-LAT-Port";
 
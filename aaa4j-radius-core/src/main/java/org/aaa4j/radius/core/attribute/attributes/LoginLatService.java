@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class LoginLatService extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(34);
+    public static final AttributeType TYPE = AttributeType.of(34);
 
     public static final String NAME = "Login-LAT-Service";
 
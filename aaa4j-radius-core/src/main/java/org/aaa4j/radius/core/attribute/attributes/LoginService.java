@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class LoginService extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(15);
+    public static final AttributeType TYPE = AttributeType.of(15);
 
     public static final String NAME = "Login-Service";
 
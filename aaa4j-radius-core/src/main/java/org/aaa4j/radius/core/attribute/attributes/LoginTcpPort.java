@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class LoginTcpPort extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(16);
+    public static final AttributeType TYPE = AttributeType.of(16);
 
     public static final String NAME = "Login-TCP-Port";
 
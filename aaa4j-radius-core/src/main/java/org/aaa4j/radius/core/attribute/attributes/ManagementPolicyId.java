@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class ManagementPolicyId extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(135);
+    public static final AttributeType TYPE = AttributeType.of(135);
 
     public static final String NAME = "Management-Policy-Id";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class ManagementPrivilegeLevel extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(136);
+    public static final AttributeType TYPE = AttributeType.of(136);
 
     public static final String NAME = "Management-Privilege-Level";
 
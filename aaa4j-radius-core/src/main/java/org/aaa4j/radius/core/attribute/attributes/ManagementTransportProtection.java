@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class ManagementTransportProtection extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(134);
+    public static final AttributeType TYPE = AttributeType.of(134);
 
     public static final String NAME = "Management-Transport-Protection";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class MessageAuthenticator extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(80);
+    public static final AttributeType TYPE = AttributeType.of(80);
 
     public static final String NAME = "Message-Authenticator";
 
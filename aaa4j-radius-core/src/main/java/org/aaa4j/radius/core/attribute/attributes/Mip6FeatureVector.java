@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class Mip6FeatureVector extends StandardAttribute<Integer64Data> {
 
-    public static final AttributeType TYPE = new AttributeType(124);
+    public static final AttributeType TYPE = AttributeType.of(124);
 
     public static final String NAME = "MIP6-Feature-Vector";
 
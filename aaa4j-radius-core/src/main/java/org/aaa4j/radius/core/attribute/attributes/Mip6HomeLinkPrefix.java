@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class Mip6HomeLinkPrefix extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(125);
+    public static final AttributeType TYPE = AttributeType.of(125);
 
     public static final String NAME = "MIP6-Home-Link-Prefix";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class MobileNodeIdentifier extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(145);
+    public static final AttributeType TYPE = AttributeType.of(145);
 
     public static final String NAME = "Mobile-Node-Identifier";
 
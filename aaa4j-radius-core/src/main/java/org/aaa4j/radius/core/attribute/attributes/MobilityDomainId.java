@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class MobilityDomainId extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(177);
+    public static final AttributeType TYPE = AttributeType.of(177);
 
     public static final String NAME = "Mobility-Domain-Id";
 
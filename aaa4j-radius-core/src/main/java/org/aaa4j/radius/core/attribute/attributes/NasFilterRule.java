@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class NasFilterRule extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(92);
+    public static final AttributeType TYPE = AttributeType.of(92);
 
     public static final String NAME = "NAS-Filter-Rule";
 
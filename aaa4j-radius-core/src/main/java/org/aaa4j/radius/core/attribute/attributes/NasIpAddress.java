@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class NasIpAddress extends StandardAttribute<Ipv4AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(4);
+    public static final AttributeType TYPE = AttributeType.of(4);
 
     public static final String NAME = "NAS-IP-Address";
 
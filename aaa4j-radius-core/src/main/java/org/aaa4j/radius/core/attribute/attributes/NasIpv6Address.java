@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class NasIpv6Address extends StandardAttribute<Ipv6AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(95);
+    public static final AttributeType TYPE = AttributeType.of(95);
 
     public static final String NAME = "NAS-IPv6-Address";
 
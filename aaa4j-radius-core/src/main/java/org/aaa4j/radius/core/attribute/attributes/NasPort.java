@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class NasPort extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(5);
+    public static final AttributeType TYPE = AttributeType.of(5);
 
     public static final String NAME = "NAS-Port";
 
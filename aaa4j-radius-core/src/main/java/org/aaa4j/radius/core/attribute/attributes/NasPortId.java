@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class NasPortId extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(87);
+    public static final AttributeType TYPE = AttributeType.of(87);
 
     public static final String NAME = "NAS-Port-Id";
 
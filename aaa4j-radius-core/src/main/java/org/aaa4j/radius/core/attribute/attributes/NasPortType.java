@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class NasPortType extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(61);
+    public static final AttributeType TYPE = AttributeType.of(61);
 
     public static final String NAME = "NAS-Port-Type";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class NetworkIdName extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(179);
+    public static final AttributeType TYPE = AttributeType.of(179);
 
     public static final String NAME = "Network-Id-Name";
 
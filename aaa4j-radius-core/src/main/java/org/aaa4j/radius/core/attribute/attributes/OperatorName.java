@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class OperatorName extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(126);
+    public static final AttributeType TYPE = AttributeType.of(126);
 
     public static final String NAME = "Operator-Name";
 
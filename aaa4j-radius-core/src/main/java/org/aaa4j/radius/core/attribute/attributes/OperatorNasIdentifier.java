@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class OperatorNasIdentifier extends ExtendedAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(241, 8);
+    public static final AttributeType TYPE = AttributeType.of(241, 8);
 
     public static final String NAME = "Operator-NAS-Identifier";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class OriginatingLineInfo extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(94);
+    public static final AttributeType TYPE = AttributeType.of(94);
 
     public static final String NAME = "Originating-Line-Info";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class PasswordRetry extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(75);
+    public static final AttributeType TYPE = AttributeType.of(75);
 
     public static final String NAME = "Password-Retry";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class PkmAuthKey extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(143);
+    public static final AttributeType TYPE = AttributeType.of(143);
 
     public static final String NAME = "PKM-Auth-Key";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.ConcatData;
  */
 public final class PkmCaCert extends ConcatAttribute {
 
-    public static final AttributeType TYPE = new AttributeType(138);
+    public static final AttributeType TYPE = AttributeType.of(138);
 
     public static final String NAME = "PKM-CA-Cert";
 
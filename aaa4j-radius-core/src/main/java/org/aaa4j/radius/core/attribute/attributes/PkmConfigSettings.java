@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class PkmConfigSettings extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(139);
+    public static final AttributeType TYPE = AttributeType.of(139);
 
     public static final String NAME = "PKM-Config-Settings";
 
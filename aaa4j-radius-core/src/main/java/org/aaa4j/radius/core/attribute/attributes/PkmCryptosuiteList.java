@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class PkmCryptosuiteList extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(140);
+    public static final AttributeType TYPE = AttributeType.of(140);
 
     public static final String NAME = "PKM-Cryptosuite-List";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class PkmSaDescriptor extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(142);
+    public static final AttributeType TYPE = AttributeType.of(142);
 
     public static final String NAME = "PKM-SA-Descriptor";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class PkmSaid extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(141);
+    public static final AttributeType TYPE = AttributeType.of(141);
 
     public static final String NAME = "PKM-SAID";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.ConcatData;
  */
 public final class PkmSsCert extends ConcatAttribute {
 
-    public static final AttributeType TYPE = new AttributeType(137);
+    public static final AttributeType TYPE = AttributeType.of(137);
 
     public static final String NAME = "PKM-SS-Cert";
 
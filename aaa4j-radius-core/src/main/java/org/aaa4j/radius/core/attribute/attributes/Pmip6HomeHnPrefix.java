@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class Pmip6HomeHnPrefix extends StandardAttribute<Ipv6PrefixData> {
 
-    public static final AttributeType TYPE = new AttributeType(151);
+    public static final AttributeType TYPE = AttributeType.of(151);
 
     public static final String NAME = "PMIP6-Home-HN-Prefix";
 
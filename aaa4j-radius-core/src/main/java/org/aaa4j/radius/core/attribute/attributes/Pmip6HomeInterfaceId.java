@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class Pmip6HomeInterfaceId extends StandardAttribute<IfidData> {
 
-    public static final AttributeType TYPE = new AttributeType(153);
+    public static final AttributeType TYPE = AttributeType.of(153);
 
     public static final String NAME = "PMIP6-Home-Interface-ID";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class Pmip6HomeIpv4Gateway extends StandardAttribute<Ipv4AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(161);
+    public static final AttributeType TYPE = AttributeType.of(161);
 
     public static final String NAME = "PMIP6-Home-IPv4-Gateway";
 
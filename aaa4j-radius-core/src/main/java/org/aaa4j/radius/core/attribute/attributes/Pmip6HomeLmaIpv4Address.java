@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class Pmip6HomeLmaIpv4Address extends StandardAttribute<Ipv4AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(149);
+    public static final AttributeType TYPE = AttributeType.of(149);
 
     public static final String NAME = "PMIP6-Home-LMA-IPv4-Address";
 
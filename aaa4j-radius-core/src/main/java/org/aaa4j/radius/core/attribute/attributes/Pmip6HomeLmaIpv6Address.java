@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class Pmip6HomeLmaIpv6Address extends StandardAttribute<Ipv6AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(147);
+    public static final AttributeType TYPE = AttributeType.of(147);
 
     public static final String NAME = "PMIP6-Home-LMA-IPv6-Address";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class Pmip6VisitedDhcp4ServerAddress extends StandardAttribute<Ipv4AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(158);
+    public static final AttributeType TYPE = AttributeType.of(158);
 
     public static final String NAME = "PMIP6-Visited-DHCP4-Server-Address";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class Pmip6VisitedDhcp6ServerAddress extends StandardAttribute<Ipv6AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(160);
+    public static final AttributeType TYPE = AttributeType.of(160);
 
     public static final String NAME = "PMIP6-Visited-DHCP6-Server-Address";
 
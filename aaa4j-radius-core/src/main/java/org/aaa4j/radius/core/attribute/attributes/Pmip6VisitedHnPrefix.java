@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class Pmip6VisitedHnPrefix extends StandardAttribute<Ipv6PrefixData> {
 
-    public static final AttributeType TYPE = new AttributeType(152);
+    public static final AttributeType TYPE = AttributeType.of(152);
 
     public static final String NAME = "PMIP6-Visited-HN-Prefix";
 
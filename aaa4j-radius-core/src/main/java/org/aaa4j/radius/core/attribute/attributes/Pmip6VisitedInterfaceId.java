@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class Pmip6VisitedInterfaceId extends StandardAttribute<IfidData> {
 
-    public static final AttributeType TYPE = new AttributeType(154);
+    public static final AttributeType TYPE = AttributeType.of(154);
 
     public static final String NAME = "PMIP6-Visited-Interface-ID";
 
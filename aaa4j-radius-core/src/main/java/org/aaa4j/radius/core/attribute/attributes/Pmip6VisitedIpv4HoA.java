@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class Pmip6VisitedIpv4HoA extends StandardAttribute<Ipv4PrefixData> {
 
-    public static final AttributeType TYPE = new AttributeType(156);
+    public static final AttributeType TYPE = AttributeType.of(156);
 
     public static final String NAME = "PMIP6-Visited-IPv4-HoA";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class Pmip6VisitedLmaIpv4Address extends StandardAttribute<Ipv4AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(150);
+    public static final AttributeType TYPE = AttributeType.of(150);
 
     public static final String NAME = "PMIP6-Visited-LMA-IPv4-Address";
 
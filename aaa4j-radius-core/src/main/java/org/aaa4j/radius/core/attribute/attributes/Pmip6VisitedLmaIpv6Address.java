@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class Pmip6VisitedLmaIpv6Address extends StandardAttribute<Ipv6AddrData> {
 
-    public static final AttributeType TYPE = new AttributeType(148);
+    public static final AttributeType TYPE = AttributeType.of(148);
 
     public static final String NAME = "PMIP6-Visited-LMA-IPv6-Address";
 
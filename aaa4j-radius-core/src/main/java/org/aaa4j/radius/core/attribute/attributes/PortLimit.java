@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class PortLimit extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(62);
+    public static final AttributeType TYPE = AttributeType.of(62);
 
     public static final String NAME = "Port-Limit";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class PreauthTimeout extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(178);
+    public static final AttributeType TYPE = AttributeType.of(178);
 
     public static final String NAME = "Preauth-Timeout";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class Prompt extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(76);
+    public static final AttributeType TYPE = AttributeType.of(76);
 
     public static final String NAME = "Prompt";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class ProxyState extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(33);
+    public static final AttributeType TYPE = AttributeType.of(33);
 
     public static final String NAME = "Proxy-State";
 
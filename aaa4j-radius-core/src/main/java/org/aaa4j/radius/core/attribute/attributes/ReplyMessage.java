@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class ReplyMessage extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(18);
+    public static final AttributeType TYPE = AttributeType.of(18);
 
     public static final String NAME = "Reply-Message";
 
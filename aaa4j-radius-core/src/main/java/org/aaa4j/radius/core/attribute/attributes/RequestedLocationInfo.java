@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class RequestedLocationInfo extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(132);
+    public static final AttributeType TYPE = AttributeType.of(132);
 
     public static final String NAME = "Requested-Location-Info";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class RouteIpv6Information extends StandardAttribute<Ipv6PrefixData> {
 
-    public static final AttributeType TYPE = new AttributeType(170);
+    public static final AttributeType TYPE = AttributeType.of(170);
 
     public static final String NAME = "Route-IPv6-Information";
 
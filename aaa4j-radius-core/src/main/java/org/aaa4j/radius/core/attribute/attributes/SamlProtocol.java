@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class SamlProtocol extends LongExtendedAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(245, 2);
+    public static final AttributeType TYPE = AttributeType.of(245, 2);
 
     public static final String NAME = "SAML-Protocol";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class ServiceSelection extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(146);
+    public static final AttributeType TYPE = AttributeType.of(146);
 
     public static final String NAME = "Service-Selection";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class ServiceType extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(6);
+    public static final AttributeType TYPE = AttributeType.of(6);
 
     public static final String NAME = "Service-Type";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class SessionTimeout extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(27);
+    public static final AttributeType TYPE = AttributeType.of(27);
 
     public static final String NAME = "Session-Timeout";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class SipAor extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(122);
+    public static final AttributeType TYPE = AttributeType.of(122);
 
     public static final String NAME = "SIP-AOR";
 
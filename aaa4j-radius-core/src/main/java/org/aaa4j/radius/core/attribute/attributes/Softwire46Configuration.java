@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TlvData;
  */
 public final class Softwire46Configuration extends ExtendedAttribute<TlvData> {
 
-    public static final AttributeType TYPE = new AttributeType(241, 9);
+    public static final AttributeType TYPE = AttributeType.of(241, 9);
 
     public static final String NAME = "Softwire46-Configuration";
 
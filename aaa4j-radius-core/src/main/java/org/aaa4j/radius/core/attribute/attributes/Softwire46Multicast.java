@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TlvData;
  */
 public final class Softwire46Multicast extends ExtendedAttribute<TlvData> {
 
-    public static final AttributeType TYPE = new AttributeType(241, 11);
+    public static final AttributeType TYPE = AttributeType.of(241, 11);
 
     public static final String NAME = "Softwire46-Multicast";
 
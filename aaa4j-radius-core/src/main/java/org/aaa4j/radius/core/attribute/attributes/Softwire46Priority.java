@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TlvData;
  */
 public final class Softwire46Priority extends ExtendedAttribute<TlvData> {
 
-    public static final AttributeType TYPE = new AttributeType(241, 10);
+    public static final AttributeType TYPE = AttributeType.of(241, 10);
 
     public static final String NAME = "Softwire46-Priority";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class StatefulIpv6AddressPool extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(172);
+    public static final AttributeType TYPE = AttributeType.of(172);
 
     public static final String NAME = "Stateful-IPv6-Address-Pool";
 
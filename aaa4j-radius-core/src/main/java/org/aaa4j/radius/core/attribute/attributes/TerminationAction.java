@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class TerminationAction extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(29);
+    public static final AttributeType TYPE = AttributeType.of(29);
 
     public static final String NAME = "Termination-Action";
 
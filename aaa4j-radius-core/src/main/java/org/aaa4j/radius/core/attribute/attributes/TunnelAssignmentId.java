@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class TunnelAssignmentId extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(82);
+    public static final AttributeType TYPE = AttributeType.of(82);
 
     public static final String NAME = "Tunnel-Assignment-ID";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class TunnelClientAuthId extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(90);
+    public static final AttributeType TYPE = AttributeType.of(90);
 
     public static final String NAME = "Tunnel-Client-Auth-ID";
 
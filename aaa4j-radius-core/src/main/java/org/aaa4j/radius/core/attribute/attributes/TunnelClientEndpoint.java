@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class TunnelClientEndpoint extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(66);
+    public static final AttributeType TYPE = AttributeType.of(66);
 
     public static final String NAME = "Tunnel-Client-Endpoint";
 
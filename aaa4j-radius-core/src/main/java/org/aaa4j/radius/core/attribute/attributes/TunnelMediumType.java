@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class TunnelMediumType extends StandardAttribute<EnumData> {
 
-    public static final AttributeType TYPE = new AttributeType(65);
+    public static final AttributeType TYPE = AttributeType.of(65);
 
     public static final String NAME = "Tunnel-Medium-Type";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TaggedStringData;
  */
 public final class TunnelPassword extends StandardAttribute<TaggedStringData> {
 
-    public static final AttributeType TYPE = new AttributeType(69);
+    public static final AttributeType TYPE = AttributeType.of(69);
 
     public static final String NAME = "Tunnel-Password";
 
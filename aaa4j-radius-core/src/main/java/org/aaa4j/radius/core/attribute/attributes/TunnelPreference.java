@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class TunnelPreference extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(83);
+    public static final AttributeType TYPE = AttributeType.of(83);
 
     public static final String NAME = "Tunnel-Preference";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class TunnelPrivateGroupId extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(81);
+    public static final AttributeType TYPE = AttributeType.of(81);
 
     public static final String NAME = "Tunnel-Private-Group-ID";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class TunnelServerAuthId extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(91);
+    public static final AttributeType TYPE = AttributeType.of(91);
 
     public static final String NAME = "Tunnel-Server-Auth-ID";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class TunnelServerEndpoint extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(67);
+    public static final AttributeType TYPE = AttributeType.of(67);
 
     public static final String NAME = "Tunnel-Server-Endpoint";
 
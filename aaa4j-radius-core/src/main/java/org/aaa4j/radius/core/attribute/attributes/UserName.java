@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class UserName extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(1);
+    public static final AttributeType TYPE = AttributeType.of(1);
 
     public static final String NAME = "User-Name";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class UserPassword extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(2);
+    public static final AttributeType TYPE = AttributeType.of(2);
 
     public static final String NAME = "User-Password";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class UserPriorityTable extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(59);
+    public static final AttributeType TYPE = AttributeType.of(59);
 
     public static final String NAME = "User-Priority-Table";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.VsaData;
  */
 public final class VendorSpecific extends StandardAttribute<VsaData> {
 
-    public static final AttributeType TYPE = new AttributeType(26);
+    public static final AttributeType TYPE = AttributeType.of(26);
 
     public static final String NAME = "Vendor-Specific";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class WlanAkmSuite extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(188);
+    public static final AttributeType TYPE = AttributeType.of(188);
 
     public static final String NAME = "WLAN-AKM-Suite";
 
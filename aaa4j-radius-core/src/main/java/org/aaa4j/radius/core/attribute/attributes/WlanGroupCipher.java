@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class WlanGroupCipher extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(187);
+    public static final AttributeType TYPE = AttributeType.of(187);
 
     public static final String NAME = "WLAN-Group-Cipher";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class WlanGroupMgmtCipher extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(189);
+    public static final AttributeType TYPE = AttributeType.of(189);
 
     public static final String NAME = "WLAN-Group-Mgmt-Cipher";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class WlanHessid extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(181);
+    public static final AttributeType TYPE = AttributeType.of(181);
 
     public static final String NAME = "WLAN-HESSID";
 
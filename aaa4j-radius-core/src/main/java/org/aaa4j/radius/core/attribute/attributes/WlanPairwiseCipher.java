@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class WlanPairwiseCipher extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(186);
+    public static final AttributeType TYPE = AttributeType.of(186);
 
     public static final String NAME = "WLAN-Pairwise-Cipher";
 
@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class WlanReasonCode extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(185);
+    public static final AttributeType TYPE = AttributeType.of(185);
 
     public static final String NAME = "WLAN-Reason-Code";
 
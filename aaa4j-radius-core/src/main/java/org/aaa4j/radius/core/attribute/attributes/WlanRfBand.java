@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class WlanRfBand extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(190);
+    public static final AttributeType TYPE = AttributeType.of(190);
 
     public static final String NAME = "WLAN-RF-Band";
 
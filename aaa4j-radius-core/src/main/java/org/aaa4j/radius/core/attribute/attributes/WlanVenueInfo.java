@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StandardAttribute;
  */
 public final class WlanVenueInfo extends StandardAttribute<IntegerData> {
 
-    public static final AttributeType TYPE = new AttributeType(182);
+    public static final AttributeType TYPE = AttributeType.of(182);
 
     public static final String NAME = "WLAN-Venue-Info";
 
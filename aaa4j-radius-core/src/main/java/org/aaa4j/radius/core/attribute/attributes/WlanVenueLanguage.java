@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.StringData;
  */
 public final class WlanVenueLanguage extends StandardAttribute<StringData> {
 
-    public static final AttributeType TYPE = new AttributeType(183);
+    public static final AttributeType TYPE = AttributeType.of(183);
 
     public static final String NAME = "WLAN-Venue-Language";
 
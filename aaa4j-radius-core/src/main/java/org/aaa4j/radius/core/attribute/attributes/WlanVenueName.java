@@ -25,7 +25,7 @@ import org.aaa4j.radius.core.attribute.TextData;
  */
 public final class WlanVenueName extends StandardAttribute<TextData> {
 
-    public static final AttributeType TYPE = new AttributeType(184);
+    public static final AttributeType TYPE = AttributeType.of(184);
 
     public static final String NAME = "WLAN-Venue-Name";
 
@@ -43,6 +43,8 @@ public final class AttributeDefinition <A extends Attribute<D>, D extends Data>
 
     private final AttributeFactory<D> attributeFactory;
 
+    private final boolean isAttributeClassExact;
+
     /**
      * Constructs an attribute definition from the given definition parameters.
      *
@@ -56,12 +58,35 @@ public final class AttributeDefinition <A extends Attribute<D>, D extends Data>
     public AttributeDefinition(AttributeType type, String name,
             Class<A> attributeClass, Class<D> dataClass, AttributeCodec attributeCodec,
             AttributeFactory<D> attributeFactory) {
-        this.type = Objects.requireNonNull(type);
+        this.type = AttributeType.intern(Objects.requireNonNull(type));
         this.name = Objects.requireNonNull(name);
         this.attributeClass = Objects.requireNonNull(attributeClass);
         this.dataClass = Objects.requireNonNull(dataClass);
         this.attributeCodec = Objects.requireNonNull(attributeCodec);
         this.attributeFactory = Objects.requireNonNull(attributeFactory);
+        this.isAttributeClassExact = false;
+    }
+
+    private AttributeDefinition(AttributeDefinition<A, D> attributeDefinition, boolean isAttributeClassExact) {
+        this.type = attributeDefinition.type;
+        this.name = attributeDefinition.name;
+        this.attributeClass = attributeDefinition.attributeClass;
+        this.dataClass = attributeDefinition.dataClass;
+        this.attributeCodec = attributeDefinition.attributeCodec;
+        this.attributeFactory = attributeDefinition.attributeFactory;
+        this.isAttributeClassExact = isAttributeClassExact;
+    }
+
+    /**
+     * Returns a copy of this attribute definition declaring that the attribute codec decodes attributes of exactly the
+     * attribute class (not of a subclass or of any other class). Only the dictionaries whose codecs are known to
+     * create instances of the attribute class should declare it, as attributes may then be looked up by class without
+     * decoding the attributes of other classes.
+     *
+     * @return the attribute definition with an exact attribute class
+     */
+    public AttributeDefinition<A, D> withExactAttributeClass() {
+        return new AttributeDefinition<>(this, true);
     }
 
     /**
@@ -91,6 +116,16 @@ public final class AttributeDefinition <A extends Attribute<D>, D extends Data>
         return attributeClass;
     }
 
+    /**
+     * Gets whether the attribute codec decodes attributes of exactly the attribute class (see
+     * {@link #withExactAttributeClass()}).
+     *
+     * @return true if the attribute class is exact
+     */
+    public boolean isAttributeClassExact() {
+        return isAttributeClassExact;
+    }
+
     /**
      * Gets the attribute data class.
      *
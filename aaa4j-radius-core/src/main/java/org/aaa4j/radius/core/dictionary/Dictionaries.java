@@ -20,6 +20,11 @@ import org.aaa4j.radius.core.attribute.AttributeType;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 /**
  * Utilities for {@link Dictionary}. See {@link #of(Dictionary...)} to retrieve a compound dictionary.
@@ -34,6 +39,14 @@ public final class Dictionaries {
      * Returns a dictionary that combines the provided dictionaries. If the dictionaries have overlapping definitions,
      * the dictionaries provided first in the list take precedence.
      *
+     * <p>
+     * The packet and top-level attribute definitions are resolved when the dictionary is created, as are the
+     * vendor-specific attribute definitions when all the dictionaries know their vendors (see
+     * {@link Dictionary#getVendorIds()}). The other attribute and TLV definitions are resolved on first use and then
+     * cached, including a bounded number of lookups that didn't find a definition. The provided dictionaries must therefore not change their definitions afterwards
+     * (e.g., use a {@link ReloadableDictionary} of the compound dictionary rather than combine reloadable dictionaries).
+     * </p>
+     *
      * @param dictionaries dictionaries
      *
      * @return a dictionary that uses all the provided dictionaries for definition lookups
@@ -44,32 +57,96 @@ public final class Dictionaries {
 
     private static class CompoundDictionary implements Dictionary {
 
-        List<Dictionary> dictionaries;
+        private final List<Dictionary> dictionaries;
+
+        private final PacketDefinition[] packetDefinitions = new PacketDefinition[256];
+
+        private final AttributeDefinition<?, ?>[] topLevelAttributeDefinitions = new AttributeDefinition<?, ?>[256];
+
+        /**
+         * The sorted identifiers of the vendors of all the dictionaries (null if a dictionary doesn't know its vendors).
+         */
+        private final int[] vendorIds;
+
+        /**
+         * The definitions of the vendor-specific attributes with a vendor type in range [0, 255], indexed like
+         * {@link #vendorIds} and then by vendor type (null if a dictionary doesn't know its vendors).
+         */
+        private final AttributeDefinition<?, ?>[][] vendorAttributeDefinitions;
+
+        private final LookupCache<AttributeType, AttributeDefinition<?, ?>> attributeDefinitionCache;
+
+        private final LookupCache<AttributeType, TlvDefinition> tlvDefinitionCache;
 
         private CompoundDictionary(List<Dictionary> dictionaries) {
             this.dictionaries = dictionaries;
+
+            for (int i = 0; i < 256; i++) {
+                int type = i;
+
+                packetDefinitions[i] = find(dictionary -> dictionary.getPacketDefinition(type));
+                topLevelAttributeDefinitions[i] = find(dictionary -> dictionary.getAttributeDefinition(type));
+            }
+
+            this.vendorIds = findVendorIds();
+
+            if (vendorIds != null) {
+                this.vendorAttributeDefinitions = new AttributeDefinition<?, ?>[vendorIds.length][];
+
+                for (int i = 0; i < vendorIds.length; i++) {
+                    int vendorId = vendorIds[i];
+
+                    vendorAttributeDefinitions[i] = new AttributeDefinition<?, ?>[256];
+
+                    for (int j = 0; j < 256; j++) {
+                        int vendorType = j;
+
+                        vendorAttributeDefinitions[i][j] = find(dictionary ->
+                                dictionary.getVendorAttributeDefinition(vendorId, vendorType));
+                    }
+                }
+            }
+            else {
+                this.vendorAttributeDefinitions = null;
+            }
+
+            this.attributeDefinitionCache = new LookupCache<>(type ->
+                    find(dictionary -> dictionary.getAttributeDefinition(type)));
+            this.tlvDefinitionCache = new LookupCache<>(type ->
+                    find(dictionary -> dictionary.getTlvDefinition(type)));
         }
 
-        @Override
-        public PacketDefinition getPacketDefinition(int code) {
+        /**
+         * Returns the sorted identifiers of the vendors of all the dictionaries or null if a dictionary doesn't know its
+         * vendors.
+         */
+        private int[] findVendorIds() {
+            Set<Integer> vendorIdSet = new TreeSet<>();
+
             for (Dictionary dictionary : dictionaries) {
-                PacketDefinition packetDefinition = dictionary.getPacketDefinition(code);
+                int[] dictionaryVendorIds = dictionary.getVendorIds();
 
-                if (packetDefinition != null) {
-                    return packetDefinition;
+                if (dictionaryVendorIds == null) {
+                    return null;
+                }
+
+                for (int vendorId : dictionaryVendorIds) {
+                    vendorIdSet.add(vendorId);
                 }
             }
 
-            return null;
+            return vendorIdSet.stream().mapToInt(Integer::intValue).toArray();
         }
 
-        @Override
-        public AttributeDefinition<?, ?> getAttributeDefinition(AttributeType type) {
+        /**
+         * Returns the first definition found in the dictionaries.
+         */
+        private <T> T find(Function<Dictionary, T> lookup) {
             for (Dictionary dictionary : dictionaries) {
-                AttributeDefinition<?, ?> attributeDefinition = dictionary.getAttributeDefinition(type);
+                T definition = lookup.apply(dictionary);
 
-                if (attributeDefinition != null) {
-                    return attributeDefinition;
+                if (definition != null) {
+                    return definition;
                 }
             }
 
@@ -77,42 +154,111 @@ public final class Dictionaries {
         }
 
         @Override
-        public AttributeDefinition<?, ?> getAttributeDefinition(String name) {
-            for (Dictionary dictionary : dictionaries) {
-                AttributeDefinition<?, ?> attributeDefinition = dictionary.getAttributeDefinition(name);
+        public PacketDefinition getPacketDefinition(int code) {
+            if (code < 0 || code > 255) {
+                return null;
+            }
 
-                if (attributeDefinition != null) {
-                    return attributeDefinition;
-                }
+            return packetDefinitions[code];
+        }
+
+        @Override
+        public AttributeDefinition<?, ?> getAttributeDefinition(AttributeType type) {
+            if (type.length() == 1) {
+                return topLevelAttributeDefinitions[type.head()];
             }
 
-            return null;
+            return attributeDefinitionCache.get(type);
         }
 
         @Override
-        public Integer getNumericAttributeValue(AttributeType type, String name) {
-            for (Dictionary dictionary : dictionaries) {
-                Integer numericAttributeValue = dictionary.getNumericAttributeValue(type, name);
+        public AttributeDefinition<?, ?> getAttributeDefinition(int type) {
+            if (type < 0 || type > 255) {
+                return null;
+            }
 
-                if (numericAttributeValue != null) {
-                    return numericAttributeValue;
-                }
+            return topLevelAttributeDefinitions[type];
+        }
+
+        @Override
+        public AttributeDefinition<?, ?> getVendorAttributeDefinition(int vendorId, int vendorType) {
+            if (vendorIds == null || vendorType < 0 || vendorType > 255) {
+                return Dictionary.super.getVendorAttributeDefinition(vendorId, vendorType);
             }
 
-            return null;
+            int index = Arrays.binarySearch(vendorIds, vendorId);
+
+            if (index < 0) {
+                return null;
+            }
+
+            return vendorAttributeDefinitions[index][vendorType];
+        }
+
+        @Override
+        public int[] getVendorIds() {
+            return vendorIds == null ? null : vendorIds.clone();
+        }
+
+        @Override
+        public AttributeDefinition<?, ?> getAttributeDefinition(String name) {
+            return find(dictionary -> dictionary.getAttributeDefinition(name));
+        }
+
+        @Override
+        public Integer getNumericAttributeValue(AttributeType type, String name) {
+            return find(dictionary -> dictionary.getNumericAttributeValue(type, name));
         }
 
         @Override
         public TlvDefinition getTlvDefinition(AttributeType type) {
-            for (Dictionary dictionary : dictionaries) {
-                TlvDefinition tlvDefinition = dictionary.getTlvDefinition(type);
+            return tlvDefinitionCache.get(type);
+        }
+
+    }
+
+    /**
+     * Caches the results of a lookup. The found values are all kept since there's a finite number of definitions, while
+     * the keys that weren't found are only kept up to a maximum number to stay bounded with arbitrary received types.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     */
+    private static final class LookupCache<K, V> {
+
+        private static final int MAX_CACHED_MISSES = 4096;
+
+        private final ConcurrentMap<K, V> values = new ConcurrentHashMap<>();
+
+        private final Set<K> misses = ConcurrentHashMap.newKeySet();
 
-                if (tlvDefinition != null) {
-                    return tlvDefinition;
+        private final Function<K, V> lookup;
+
+        private LookupCache(Function<K, V> lookup) {
+            this.lookup = lookup;
+        }
+
+        private V get(K key) {
+            V value = values.get(key);
+
+            if (value != null || misses.contains(key)) {
+                return value;
+            }
+
+            value = lookup.apply(key);
+
+            if (value != null) {
+                values.put(key, value);
+            }
+            else {
+                if (misses.size() >= MAX_CACHED_MISSES) {
+                    misses.clear();
                 }
+
+                misses.add(key);
             }
 
-            return null;
+            return value;
         }
 
     }
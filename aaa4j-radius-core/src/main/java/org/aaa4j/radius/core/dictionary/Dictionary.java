@@ -17,6 +17,7 @@
 package org.aaa4j.radius.core.dictionary;
 
 import org.aaa4j.radius.core.attribute.AttributeType;
+import org.aaa4j.radius.core.attribute.attributes.VendorSpecific;
 
 /**
  * A dictionary provides definitions for packets and attributes. A definition ({@link PacketDefinition},
@@ -43,6 +44,45 @@ public interface Dictionary {
      */
     AttributeDefinition<?, ?> getAttributeDefinition(AttributeType type);
 
+    /**
+     * Gets an attribute definition for a given top-level attribute type. This method is called for every received
+     * attribute, so implementations should override it with a lookup that doesn't require an {@link AttributeType}
+     * (e.g., an array indexed by the type).
+     *
+     * @param type a top-level attribute type (integer in range [0, 255])
+     *
+     * @return the attribute definition or null if there's no definition for the attribute type
+     */
+    default AttributeDefinition<?, ?> getAttributeDefinition(int type) {
+        return getAttributeDefinition(AttributeType.of(type));
+    }
+
+    /**
+     * Gets an attribute definition for a given vendor-specific attribute (i.e., the attribute type
+     * 26.vendorId.vendorType). This method is called for every received vendor-specific attribute, so implementations
+     * should override it with a lookup that doesn't require an {@link AttributeType} (e.g., an array per vendor indexed
+     * by the vendor type).
+     *
+     * @param vendorId the vendor identifier
+     * @param vendorType the vendor type
+     *
+     * @return the attribute definition or null if there's no definition for the vendor-specific attribute
+     */
+    default AttributeDefinition<?, ?> getVendorAttributeDefinition(int vendorId, int vendorType) {
+        return getAttributeDefinition(VendorSpecific.TYPE.with(vendorId, vendorType));
+    }
+
+    /**
+     * Gets the identifiers of the vendors that this dictionary has vendor-specific attribute definitions for. Knowing
+     * the vendors lets dictionaries combining other dictionaries (see {@link Dictionaries#of(Dictionary...)}) index
+     * the vendor-specific attribute definitions up front.
+     *
+     * @return the vendor identifiers or null if they aren't known (e.g., when the definitions are loaded on demand)
+     */
+    default int[] getVendorIds() {
+        return null;
+    }
+
     /**
      * Gets an attribute definition for a given attribute name. The name is case-insensitive.
      *
@@ -72,4 +112,15 @@ public interface Dictionary {
      */
     TlvDefinition getTlvDefinition(AttributeType type);
 
+    /**
+     * Gets a snapshot of this dictionary whose definitions don't change. Packet codecs use a single snapshot for all
+     * the lookups of a packet, so dictionaries whose definitions can change while in use (e.g.,
+     * {@link ReloadableDictionary}) return the dictionary currently in use. Other dictionaries return themselves.
+     *
+     * @return the dictionary snapshot
+     */
+    default Dictionary snapshot() {
+        return this;
+    }
+
 }
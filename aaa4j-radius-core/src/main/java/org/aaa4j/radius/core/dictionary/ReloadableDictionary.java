@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.core.dictionary;
+
+import org.aaa4j.radius.core.attribute.AttributeType;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * A dictionary whose definitions can be replaced while it's in use, e.g., to add a vendor dictionary to a running
+ * server without restarting it. The dictionary in use is swapped atomically and lookups read it without locking.
+ * Packet codecs use a {@link #snapshot()} of the dictionary for each packet, so a packet that is being encoded or
+ * decoded while the dictionary is swapped only uses the definitions of one of the dictionaries.
+ *
+ * <p>
+ * Compound dictionaries ({@link Dictionaries#of(Dictionary...)}) cache the definitions of the dictionaries they
+ * combine, so a reloadable dictionary should not be combined into a compound dictionary. Instead, the reloadable
+ * dictionary should use a compound dictionary and the whole compound dictionary should be replaced.
+ * </p>
+ */
+public final class ReloadableDictionary implements Dictionary {
+
+    private volatile Dictionary dictionary;
+
+    /**
+     * The number of times the dictionary was replaced or a reload started. A reload only replaces the dictionary if no
+     * other replacement happened since it started, so a slow reload can't replace the result of a later one.
+     */
+    private long generation;
+
+    /**
+     * Constructs a reloadable dictionary.
+     *
+     * @param dictionary the initial dictionary
+     */
+    public ReloadableDictionary(Dictionary dictionary) {
+        this.dictionary = Objects.requireNonNull(dictionary);
+    }
+
+    /**
+     * Gets the dictionary in use.
+     *
+     * @return the dictionary in use
+     */
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Replaces the dictionary in use. Reloads that started before are discarded.
+     *
+     * @param dictionary the new dictionary
+     */
+    public synchronized void setDictionary(Dictionary dictionary) {
+        Objects.requireNonNull(dictionary);
+
+        generation++;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Builds a new dictionary in the background and replaces the dictionary in use once it's built. The current
+     * dictionary stays in use while the new dictionary is built, and isn't replaced if building the new dictionary
+     * fails or if the dictionary is replaced again in the meantime (by {@link #setDictionary(Dictionary)} or a later
+     * reload).
+     *
+     * @param dictionarySupplier the supplier that builds the new dictionary
+     * @param executor the executor to build the new dictionary with
+     *
+     * @return a future completed with the new dictionary once it's in use
+     */
+    public CompletableFuture<Dictionary> reload(Supplier<? extends Dictionary> dictionarySupplier,
+                                                Executor executor)
+    {
+        Objects.requireNonNull(dictionarySupplier);
+        Objects.requireNonNull(executor);
+
+        long reloadGeneration;
+
+        synchronized (this) {
+            reloadGeneration = ++generation;
+        }
+
+        return CompletableFuture.supplyAsync(dictionarySupplier, executor).thenApply(newDictionary -> {
+            Objects.requireNonNull(newDictionary);
+
+            synchronized (this) {
+                if (generation != reloadGeneration) {
+                    throw new IllegalStateException("The dictionary was replaced while reloading");
+                }
+
+                this.dictionary = newDictionary;
+            }
+
+            return newDictionary;
+        });
+    }
+
+    @Override
+    public Dictionary snapshot() {
+        return dictionary.snapshot();
+    }
+
+    @Override
+    public PacketDefinition getPacketDefinition(int code) {
+        return dictionary.getPacketDefinition(code);
+    }
+
+    @Override
+    public AttributeDefinition<?, ?> getAttributeDefinition(AttributeType type) {
+        return dictionary.getAttributeDefinition(type);
+    }
+
+    @Override
+    public AttributeDefinition<?, ?> getAttributeDefinition(int type) {
+        return dictionary.getAttributeDefinition(type);
+    }
+
+    @Override
+    public AttributeDefinition<?, ?> getVendorAttributeDefinition(int vendorId, int vendorType) {
+        return dictionary.getVendorAttributeDefinition(vendorId, vendorType);
+    }
+
+    @Override
+    public AttributeDefinition<?, ?> getAttributeDefinition(String name) {
+        return dictionary.getAttributeDefinition(name);
+    }
+
+    @Override
+    public Integer getNumericAttributeValue(AttributeType type, String name) {
+        return dictionary.getNumericAttributeValue(type, name);
+    }
+
+    @Override
+    public TlvDefinition getTlvDefinition(AttributeType type) {
+        return dictionary.getTlvDefinition(type);
+    }
+
+}
@@ -37,7 +37,7 @@ public class TlvDefinition {
      * @param dataCodec the attribute codec used to encode and decode the attribute
      */
     public TlvDefinition(AttributeType type, String name, DataCodec<?> dataCodec) {
-        this.type = Objects.requireNonNull(type);
+        this.type = AttributeType.intern(Objects.requireNonNull(type));
         this.name = Objects.requireNonNull(name);
         this.dataCodec = Objects.requireNonNull(dataCodec);
     }
@@ -281,6 +281,11 @@ public final class StandardDictionary implements Dictionary {
 
     static private final Map<AttributeType, AttributeDefinition<?, ?>> typeAttributeDefinitionsMap = new HashMap<>();
 
+    /**
+     * The definitions of the top-level attributes indexed by type, which are also in the type map.
+     */
+    static private final AttributeDefinition<?, ?>[] topLevelAttributeDefinitions = new AttributeDefinition<?, ?>[256];
+
     static private final Map<String, AttributeDefinition<?, ?>> nameAttributeDefinitionsMap = new HashMap<>();
 
     static private final Map<AttributeType, Map<String, Integer>> numericAttributeValueMap = new HashMap<>();
@@ -2659,6 +2664,10 @@ public final class StandardDictionary implements Dictionary {
                                 (type, extendedType, data) -> new ExtendedVendorSpecific6(data)),
                         ExtendedVendorSpecific6::new));
 
+        // The codecs create instances of the declared attribute classes
+        typeAttributeDefinitionsMap.replaceAll((attributeType, attributeDefinition) ->
+                attributeDefinition.withExactAttributeClass());
+
         typeAttributeDefinitionsMap.forEach((attributeType, attributeDefinition) ->
                 nameAttributeDefinitionsMap.put(attributeDefinition.getName().toLowerCase(Locale.ROOT),
                         attributeDefinition));
@@ -3024,10 +3033,20 @@ public final class StandardDictionary implements Dictionary {
                         new AttributeType(241, 11, 21),
                         "U-Prefix64",
                         Ipv6PrefixData.Codec.INSTANCE));
+
+        for (Map.Entry<AttributeType, AttributeDefinition<?, ?>> entry : typeAttributeDefinitionsMap.entrySet()) {
+            if (entry.getKey().length() == 1) {
+                topLevelAttributeDefinitions[entry.getKey().head()] = entry.getValue();
+            }
+        }
     }
 
     @Override
     public PacketDefinition getPacketDefinition(int code) {
+        if (code < 0 || code > 255) {
+            return null;
+        }
+
         return packetDefinitions[code];
     }
 
@@ -3038,6 +3057,26 @@ public final class StandardDictionary implements Dictionary {
         return typeAttributeDefinitionsMap.getOrDefault(type, null);
     }
 
+    @Override
+    public AttributeDefinition<?, ?> getAttributeDefinition(int type) {
+        if (type < 0 || type > 255) {
+            return null;
+        }
+
+        return topLevelAttributeDefinitions[type];
+    }
+
+    @Override
+    public AttributeDefinition<?, ?> getVendorAttributeDefinition(int vendorId, int vendorType) {
+        // There are no vendor-specific attributes in the standard dictionary
+        return null;
+    }
+
+    @Override
+    public int[] getVendorIds() {
+        return new int[0];
+    }
+
     @Override
     public AttributeDefinition<?, ?> getAttributeDefinition(String name) {
         Objects.requireNonNull(name);
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.core.packet;
+
+import org.aaa4j.radius.core.attribute.Attribute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of the attributes of a received packet by attribute class. The attributes are grouped by their exact class
+ * into arrays when the index is created, so looking up an exact class (the common case) scans the few distinct classes
+ * of the packet and returns the group without copying it. The attributes of the other classes looked up (e.g., a
+ * supertype such as {@link org.aaa4j.radius.core.attribute.StandardAttribute} matching several exact classes, or any
+ * class of a lazily decoded attribute list) are kept in a side map, so they're only collected once. The attribute list
+ * must not be modified once indexed.
+ */
+final class AttributeIndex {
+
+    private final List<Attribute<?>> attributes;
+
+    /**
+     * The distinct exact classes of the attributes in order of first occurrence (null for a lazily decoded attribute
+     * list, whose attributes are only decoded when looked up).
+     */
+    private final Class<?>[] exactClasses;
+
+    /**
+     * The unmodifiable lists of the attributes of each exact class, indexed like {@link #exactClasses}.
+     */
+    private final List<?>[] exactClassAttributes;
+
+    /**
+     * The attributes of the other classes looked up. The map is never modified but replaced by a copy with the added
+     * class, so lookups don't lock.
+     */
+    private volatile Map<Class<?>, List<Attribute<?>>> classAttributesMap = Collections.emptyMap();
+
+    AttributeIndex(List<Attribute<?>> attributes) {
+        this.attributes = attributes;
+
+        if (attributes instanceof LazyAttributeList) {
+            this.exactClasses = null;
+            this.exactClassAttributes = null;
+
+            return;
+        }
+
+        int size = attributes.size();
+        Class<?>[] classes = new Class<?>[size];
+        int[] classIndexes = new int[size];
+        int[] classSizes = new int[size];
+        int classCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            Class<?> attributeClass = attributes.get(i).getClass();
+            int classIndex = 0;
+
+            while (classIndex < classCount && classes[classIndex] != attributeClass) {
+                classIndex++;
+            }
+
+            if (classIndex == classCount) {
+                classes[classCount++] = attributeClass;
+            }
+
+            classIndexes[i] = classIndex;
+            classSizes[classIndex]++;
+        }
+
+        Attribute<?>[][] classAttributes = new Attribute<?>[classCount][];
+
+        for (int i = 0; i < size; i++) {
+            int classIndex = classIndexes[i];
+
+            if (classAttributes[classIndex] == null) {
+                classAttributes[classIndex] = new Attribute<?>[classSizes[classIndex]];
+            }
+
+            Attribute<?>[] array = classAttributes[classIndex];
+
+            // The class size is counted down to the number of attributes of the class left to add
+            array[array.length - classSizes[classIndex]--] = attributes.get(i);
+        }
+
+        this.exactClasses = classCount == size ? classes : Arrays.copyOf(classes, classCount);
+        this.exactClassAttributes = new List<?>[classCount];
+
+        for (int i = 0; i < classCount; i++) {
+            exactClassAttributes[i] = classAttributes[i].length == 1
+                    ? Collections.singletonList(classAttributes[i][0])
+                    : Collections.unmodifiableList(Arrays.asList(classAttributes[i]));
+        }
+    }
+
+    /**
+     * Gets all the attributes of a specific attribute class.
+     *
+     * @param aClass attribute type class
+     * @param <A> attribute type for {@code aClass} parameter
+     *
+     * @return unmodifiable list of attributes of the given class
+     */
+    <A extends Attribute<?>> List<A> getAttributes(Class<A> aClass) {
+        List<?> classAttributes = null;
+
+        if (exactClasses != null) {
+            for (int i = 0; i < exactClasses.length; i++) {
+                if (exactClasses[i] == aClass) {
+                    classAttributes = exactClassAttributes[i];
+                    break;
+                }
+            }
+        }
+
+        if (classAttributes == null) {
+            classAttributes = classAttributesMap.get(aClass);
+        }
+
+        if (classAttributes == null) {
+            classAttributes = findAttributes(aClass);
+        }
+
+        // The list only contains instances of the class
+        @SuppressWarnings("unchecked")
+        List<A> castedAttributes = (List<A>) classAttributes;
+
+        return castedAttributes;
+    }
+
+    private List<?> findAttributes(Class<?> aClass) {
+        if (exactClasses == null) {
+            // Only decodes the attributes that may be of the class
+            @SuppressWarnings("unchecked")
+            Class<Attribute<?>> attributeClass = (Class<Attribute<?>>) aClass;
+
+            return putClassAttributes(aClass,
+                    Collections.unmodifiableList(((LazyAttributeList) attributes).getAttributes(attributeClass)));
+        }
+
+        List<?> matchingAttributes = null;
+        int matchingClassCount = 0;
+
+        for (int i = 0; i < exactClasses.length; i++) {
+            if (aClass.isAssignableFrom(exactClasses[i])) {
+                matchingAttributes = exactClassAttributes[i];
+                matchingClassCount++;
+            }
+        }
+
+        if (matchingClassCount == 0) {
+            return Collections.emptyList();
+        }
+
+        if (matchingClassCount == 1) {
+            return matchingAttributes;
+        }
+
+        // Attributes of several classes match, so they're collected again to keep the attribute order
+        List<Attribute<?>> orderedAttributes = new ArrayList<>();
+
+        for (Attribute<?> attribute : attributes) {
+            if (aClass.isInstance(attribute)) {
+                orderedAttributes.add(attribute);
+            }
+        }
+
+        return putClassAttributes(aClass, Collections.unmodifiableList(orderedAttributes));
+    }
+
+    private List<Attribute<?>> putClassAttributes(Class<?> aClass, List<Attribute<?>> classAttributes) {
+        // Concurrent lookups may replace each other's map, which only loses an entry to collect again
+        Map<Class<?>, List<Attribute<?>>> map = new HashMap<>(classAttributesMap);
+        map.put(aClass, classAttributes);
+
+        classAttributesMap = map;
+
+        return classAttributes;
+    }
+
+}
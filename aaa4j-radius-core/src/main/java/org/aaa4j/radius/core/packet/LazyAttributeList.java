@@ -0,0 +1,175 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.core.packet;
+
+import org.aaa4j.radius.core.attribute.Attribute;
+import org.aaa4j.radius.core.attribute.ContainerData;
+import org.aaa4j.radius.core.attribute.RawAttribute;
+import org.aaa4j.radius.core.dictionary.AttributeDefinition;
+import org.aaa4j.radius.core.dictionary.Dictionary;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A list of received attributes that are decoded on demand. The raw attributes are split into runs of consecutive
+ * attributes of the same type, which is the unit that the attribute codecs decode (e.g., the fragments of a long
+ * extended attribute). Looking up attributes by class only decodes the runs that may contain an attribute of that
+ * class, while any other access to the list decodes all the attributes.
+ * <p>
+ * The attribute class declared by an attribute definition is only trusted to skip a run when the definition declares
+ * that its attribute class is exact (see {@link AttributeDefinition#isAttributeClassExact()}). The runs of any other
+ * definitions are always decoded.
+ */
+final class LazyAttributeList extends AbstractList<Attribute<?>> {
+
+    private final Function<List<RawAttribute>, List<Attribute<?>>> decoder;
+
+    private final List<Run> runs;
+
+    private List<Attribute<?>> attributes;
+
+    /**
+     * Constructs a lazy attribute list.
+     *
+     * @param dictionary the dictionary used to decode the attributes
+     * @param rawAttributes the received raw attributes
+     * @param decoder decodes a run of raw attributes
+     */
+    LazyAttributeList(Dictionary dictionary, List<RawAttribute> rawAttributes,
+                      Function<List<RawAttribute>, List<Attribute<?>>> decoder)
+    {
+        this.decoder = decoder;
+        this.runs = new ArrayList<>();
+
+        int runStart = 0;
+
+        for (int i = 1; i <= rawAttributes.size(); i++) {
+            if (i == rawAttributes.size()
+                    || !rawAttributes.get(i).getType().equals(rawAttributes.get(runStart).getType()))
+            {
+                RawAttribute firstRawAttribute = rawAttributes.get(runStart);
+
+                runs.add(new Run(dictionary.getAttributeDefinition(firstRawAttribute.getType().head()),
+                        rawAttributes.subList(runStart, i)));
+
+                runStart = i;
+            }
+        }
+    }
+
+    /**
+     * Gets all the attributes of a specific attribute class, decoding only the attributes that may be of that class.
+     *
+     * @param aClass attribute type class
+     * @param <A> attribute type for {@code aClass} parameter
+     *
+     * @return list of attributes of the given class
+     */
+    synchronized <A extends Attribute<?>> List<A> getAttributes(Class<A> aClass) {
+        List<A> matchingAttributes = new ArrayList<>();
+
+        for (Run run : runs) {
+            if (!run.mayContain(aClass)) {
+                continue;
+            }
+
+            for (Attribute<?> attribute : run.getAttributes()) {
+                if (aClass.isInstance(attribute)) {
+                    matchingAttributes.add(aClass.cast(attribute));
+                }
+            }
+        }
+
+        return matchingAttributes;
+    }
+
+    @Override
+    public Attribute<?> get(int index) {
+        return getDecodedAttributes().get(index);
+    }
+
+    @Override
+    public int size() {
+        return getDecodedAttributes().size();
+    }
+
+    private synchronized List<Attribute<?>> getDecodedAttributes() {
+        if (attributes == null) {
+            List<Attribute<?>> decodedAttributes = new ArrayList<>();
+
+            for (Run run : runs) {
+                decodedAttributes.addAll(run.getAttributes());
+            }
+
+            attributes = decodedAttributes;
+        }
+
+        return attributes;
+    }
+
+    private final class Run {
+
+        private final AttributeDefinition<?, ?> attributeDefinition;
+
+        private List<RawAttribute> rawAttributes;
+
+        private List<Attribute<?>> attributes;
+
+        private Run(AttributeDefinition<?, ?> attributeDefinition, List<RawAttribute> rawAttributes) {
+            this.attributeDefinition = attributeDefinition;
+            this.rawAttributes = rawAttributes;
+        }
+
+        private boolean mayContain(Class<?> aClass) {
+            if (attributes != null || aClass.isAssignableFrom(RawAttribute.class)) {
+                // Decoded runs are cheap to scan, and attributes that fail to decode are left as raw attributes
+                return true;
+            }
+
+            if (attributeDefinition == null) {
+                // Attributes unknown to the dictionary are left as raw attributes
+                return false;
+            }
+
+            if (ContainerData.class.isAssignableFrom(attributeDefinition.getDataClass())) {
+                // Containers (e.g., vendor-specific attributes) decode to attributes of their contained types
+                return true;
+            }
+
+            if (!attributeDefinition.isAttributeClassExact()) {
+                // The declared attribute class isn't known to match the decoded attributes
+                return true;
+            }
+
+            return aClass.isAssignableFrom(attributeDefinition.getAttributeClass());
+        }
+
+        private List<Attribute<?>> getAttributes() {
+            if (attributes == null) {
+                attributes = decoder.apply(rawAttributes);
+                rawAttributes = null;
+            }
+
+            return attributes;
+        }
+
+    }
+
+}
@@ -36,6 +36,11 @@ public class Packet {
 
     private final ReceivedFields receivedFields;
 
+    /**
+     * The index used to look up the attributes of received packets by class. Created on the first lookup.
+     */
+    private volatile AttributeIndex attributeIndex;
+
     /**
      * Constructs a packet with no attributes.
      *
@@ -62,7 +67,8 @@ public class Packet {
     }
 
     /**
-     * Constructs a packet with attributes and received fields from an incoming packet.
+     * Constructs a packet with attributes and received fields from an incoming packet. The attributes of a received
+     * packet are indexed for lookups by class, so the list must not be modified afterwards.
      *
      * @param code (integer in range [0, 255])
      * @param attributes list of attributes
@@ -105,6 +111,12 @@ public class Packet {
      * @return optional with the first attribute of the specified class (or empty optional)
      */
     public <A extends Attribute<?>> Optional<A> getAttribute(Class<A> aClass) {
+        if (receivedFields != null) {
+            List<A> classAttributes = getAttributeIndex().getAttributes(aClass);
+
+            return classAttributes.isEmpty() ? Optional.empty() : Optional.of(classAttributes.get(0));
+        }
+
         return attributes.stream()
                 .filter(aClass::isInstance)
                 .findFirst()
@@ -117,15 +129,31 @@ public class Packet {
      * @param aClass attribute type class
      * @param <A> attribute type for {@code aClass} parameter
      * 
-     * @return list of attributes of the given class
+     * @return list of attributes of the given class (unmodifiable for a received packet)
      */
     public <A extends Attribute<?>> List<A> getAttributes(Class<A> aClass) {
+        if (receivedFields != null) {
+            return getAttributeIndex().getAttributes(aClass);
+        }
+
         return attributes.stream()
                 .filter(aClass::isInstance)
                 .map(aClass::cast)
                 .collect(Collectors.toList());
     }
 
+    private AttributeIndex getAttributeIndex() {
+        AttributeIndex attributeIndex = this.attributeIndex;
+
+        if (attributeIndex == null) {
+            // Creating the index twice from concurrent threads is harmless
+            attributeIndex = new AttributeIndex(attributes);
+            this.attributeIndex = attributeIndex;
+        }
+
+        return attributeIndex;
+    }
+
     /**
      * Gets the received fields.
      *
@@ -21,17 +21,20 @@ import org.aaa4j.radius.core.attribute.AttributeType;
 import org.aaa4j.radius.core.attribute.CodecContext;
 import org.aaa4j.radius.core.attribute.ContainerData;
 import org.aaa4j.radius.core.attribute.RawAttribute;
+import org.aaa4j.radius.core.attribute.VsaData;
+import org.aaa4j.radius.core.attribute.attributes.VendorSpecific;
 import org.aaa4j.radius.core.dictionary.AttributeDefinition;
 import org.aaa4j.radius.core.dictionary.Dictionary;
 import org.aaa4j.radius.core.dictionary.PacketDefinition;
 import org.aaa4j.radius.core.util.RandomProvider;
+import org.aaa4j.radius.core.util.SecretDigests;
 import org.aaa4j.radius.core.util.SecureRandomProvider;
 
 import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.security.InvalidKeyException;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -49,12 +52,20 @@ public final class PacketCodec {
 
     private static final int MESSAGE_AUTHENTICATOR_TYPE = 80;
 
+    private static final byte[] ZERO_AUTHENTICATOR = new byte[16];
+
+    private static final int MAX_CACHED_SECRETS = 256;
+
     private final Dictionary dictionary;
 
     private final PacketIdGenerator packetIdGenerator;
 
     private final RandomProvider randomProvider;
 
+    private final boolean isLazyAttributeDecoding;
+
+    private final SecretDigests.Cache secretDigestsCache = new SecretDigests.Cache(MAX_CACHED_SECRETS);
+
     /**
      * Constructs a packet codec with the given dictionary.
      *
@@ -82,29 +93,32 @@ public final class PacketCodec {
      * @param packetIdGenerator the packet identifier generator to use
      */
     public PacketCodec(Dictionary dictionary, RandomProvider randomProvider, PacketIdGenerator packetIdGenerator) {
+        this(dictionary, randomProvider, packetIdGenerator, false);
+    }
+
+    /**
+     * Constructs a packet codec with the given dictionary, random provider, and packet identifier generator, and with
+     * lazy attribute decoding enabled or disabled.
+     *
+     * <p>
+     * With lazy attribute decoding, the packets are still verified (authenticator, Message-Authenticator and attribute
+     * lengths) when they are decoded, but the attributes of decoded packets are only decoded when they are accessed.
+     * {@link Packet#getAttribute(Class)} and {@link Packet#getAttributes(Class)} only decode the attributes that may be
+     * of the requested class, while {@link Packet#getAttributes()} decodes all the attributes.
+     * </p>
+     *
+     * @param dictionary the dictionary to use
+     * @param randomProvider the random provider to use
+     * @param packetIdGenerator the packet identifier generator to use
+     * @param isLazyAttributeDecoding whether the attributes of decoded packets are decoded on demand
+     */
+    public PacketCodec(Dictionary dictionary, RandomProvider randomProvider, PacketIdGenerator packetIdGenerator,
+                       boolean isLazyAttributeDecoding)
+    {
         this.dictionary = Objects.requireNonNull(dictionary);
         this.randomProvider = Objects.requireNonNull(randomProvider);
         this.packetIdGenerator = Objects.requireNonNull(packetIdGenerator);
-    }
-
-    private static MessageDigest getMd5Instance() {
-        try {
-            return MessageDigest.getInstance("MD5");
-        }
-        catch (NoSuchAlgorithmException e) {
-            // Shouldn't happen since every JRE Is required to support MD5
-            throw new AssertionError(e);
-        }
-    }
-
-    private static Mac getHmacMd5Instance() {
-        try {
-            return Mac.getInstance("HmacMD5");
-        }
-        catch (NoSuchAlgorithmException e) {
-            // Shouldn't happen since every JRE Is required to support HmacMD5
-            throw new AssertionError(e);
-        }
+        this.isLazyAttributeDecoding = isLazyAttributeDecoding;
     }
 
     /**
@@ -121,6 +135,92 @@ public final class PacketCodec {
      */
     public byte[] encodeRequest(Packet request, byte[] secret, byte[] requestAuthenticator)
             throws PacketCodecException {
+        CodecContext codecContext = newRequestCodecContext(request, secret, requestAuthenticator);
+        List<RawAttribute> rawAttributes = encodeAttributes(codecContext, request.getAttributes());
+
+        byte[] bytes = new byte[getPacketLength(rawAttributes)];
+
+        writeRequest(request.getCode(), rawAttributes, codecContext, ByteBuffer.wrap(bytes));
+
+        return bytes;
+    }
+
+    /**
+     * Encodes a request packet into a buffer. The packet is written at the buffer's position, which is advanced by the
+     * length of the packet. The buffer may be a heap or a direct buffer. The attributes are written to the buffer as
+     * they're encoded, without building the packet in an intermediate array, but the attribute codecs still produce
+     * the data of each attribute as a byte array.
+     *
+     * @param request the request packet to encode
+     * @param secret the shared secret
+     * @param requestAuthenticator the request authenticator (must be 16 bytes in length); populated by this method for
+     *                             Accounting-Request packets
+     * @param buffer the buffer to write the encoded request packet to
+     *
+     * @return the length of the encoded request packet
+     *
+     * @throws PacketCodecException if there's a problem encoding the packet
+     * @throws BufferOverflowException if the packet doesn't fit in the buffer's remaining bytes (the buffer's position
+     *                                 is left unchanged, but the bytes after it may have been overwritten)
+     */
+    public int encodeRequest(Packet request, byte[] secret, byte[] requestAuthenticator, ByteBuffer buffer)
+            throws PacketCodecException {
+        CodecContext codecContext = newRequestCodecContext(request, secret, requestAuthenticator);
+
+        return writeRequest(request.getCode(), request.getAttributes(), codecContext, buffer);
+    }
+
+    /**
+     * Encodes a response packet into bytes.
+     *
+     * @param response the response packet to encode
+     * @param secret the shared secret
+     * @param requestId the request identifier
+     * @param requestAuthenticator the request authenticator
+     *
+     * @return byte array of the encoded response packet
+     *
+     * @throws PacketCodecException if there's a problem encoding the packet
+     */
+    public byte[] encodeResponse(Packet response, byte[] secret, int requestId, byte[] requestAuthenticator)
+            throws PacketCodecException {
+        CodecContext codecContext = newResponseCodecContext(secret, requestAuthenticator);
+        List<RawAttribute> rawAttributes = encodeAttributes(codecContext, response.getAttributes());
+
+        byte[] bytes = new byte[getPacketLength(rawAttributes)];
+
+        writeResponse(response.getCode(), rawAttributes, codecContext, requestId, ByteBuffer.wrap(bytes));
+
+        return bytes;
+    }
+
+    /**
+     * Encodes a response packet into a buffer. The packet is written at the buffer's position, which is advanced by the
+     * length of the packet. The buffer may be a heap or a direct buffer. The attributes are written to the buffer as
+     * they're encoded, without building the packet in an intermediate array, but the attribute codecs still produce
+     * the data of each attribute as a byte array.
+     *
+     * @param response the response packet to encode
+     * @param secret the shared secret
+     * @param requestId the request identifier
+     * @param requestAuthenticator the request authenticator
+     * @param buffer the buffer to write the encoded response packet to
+     *
+     * @return the length of the encoded response packet
+     *
+     * @throws PacketCodecException if there's a problem encoding the packet
+     * @throws BufferOverflowException if the packet doesn't fit in the buffer's remaining bytes (the buffer's position
+     *                                 is left unchanged, but the bytes after it may have been overwritten)
+     */
+    public int encodeResponse(Packet response, byte[] secret, int requestId, byte[] requestAuthenticator,
+                              ByteBuffer buffer)
+            throws PacketCodecException {
+        CodecContext codecContext = newResponseCodecContext(secret, requestAuthenticator);
+
+        return writeResponse(response.getCode(), response.getAttributes(), codecContext, requestId, buffer);
+    }
+
+    private CodecContext newRequestCodecContext(Packet request, byte[] secret, byte[] requestAuthenticator) {
         if (requestAuthenticator.length != 16) {
             throw new IllegalArgumentException("requestAuthenticator length must be 16");
         }
@@ -129,165 +229,205 @@ public final class PacketCodec {
             Arrays.fill(requestAuthenticator, (byte) 0x00);
         }
 
-        CodecContext codecContext = new CodecContext(dictionary, secret, requestAuthenticator, randomProvider);
+        return newCodecContext(secret, requestAuthenticator);
+    }
 
-        List<RawAttribute> rawAttributes = encodeAttributes(codecContext, request.getAttributes());
+    private CodecContext newResponseCodecContext(byte[] secret, byte[] requestAuthenticator) {
+        if (requestAuthenticator.length != 16) {
+            throw new IllegalArgumentException("requestAuthenticator length must be 16");
+        }
 
-        int attributesLength = 0;
+        return newCodecContext(secret, requestAuthenticator);
+    }
 
-        for (RawAttribute rawAttribute : rawAttributes) {
-            attributesLength = attributesLength + 2 + rawAttribute.getData().length();
-        }
+    private CodecContext newCodecContext(byte[] secret, byte[] authenticator) {
+        return new CodecContext(dictionary.snapshot(), secret, authenticator, randomProvider,
+                secretDigestsCache.get(secret));
+    }
+
+    private int writeRequest(int code, List<? extends Attribute<?>> attributes, CodecContext codecContext,
+                             ByteBuffer buffer)
+            throws PacketCodecException {
+        byte[] requestAuthenticator = codecContext.getRequestAuthenticator();
 
-        int packetLength = 20 + attributesLength;
+        int offset = buffer.position();
 
-        byte[] bytes = new byte[packetLength];
+        int messageAuthenticatorPosition = putBody(buffer, attributes, codecContext);
+        int packetLength = buffer.position() - offset;
 
         int identifier = packetIdGenerator.nextId();
 
-        bytes[0] = (byte) (request.getCode() & 0xff);
-        bytes[1] = (byte) (identifier & 0xff);
-        bytes[2] = (byte) ((packetLength & 0xff00) >>> 8);
-        bytes[3] = (byte) (packetLength & 0xff);
+        buffer.position(offset);
+        putHeader(buffer, code, identifier, packetLength);
+        buffer.put(requestAuthenticator);
+        buffer.position(offset + packetLength);
 
-        System.arraycopy(requestAuthenticator, 0, bytes, 4, requestAuthenticator.length);
+        if (messageAuthenticatorPosition != -1) {
+            Mac hmacMd5;
 
-        int position = 20;
+            try {
+                hmacMd5 = codecContext.getSecretDigests().newHmacMd5();
+            }
+            catch (InvalidKeyException e) {
+                throw new PacketCodecException(e);
+            }
 
-        int messageAuthenticatorPosition = -1;
+            update(hmacMd5, buffer, offset, offset + packetLength);
+            byte[] messageAuthenticator = hmacMd5.doFinal();
 
-        for (RawAttribute rawAttribute : rawAttributes) {
-            byte[] attrData = rawAttribute.getData().getValue();
+            putBytes(buffer, offset + messageAuthenticatorPosition + 2, messageAuthenticator);
+        }
 
-            bytes[position] = (byte) (rawAttribute.getType().head() & 0xff);
-            bytes[position + 1] = (byte) ((byte) (attrData.length + 2) & 0xff);
+        if (code == ACCOUNTING_REQUEST_CODE) {
+            MessageDigest md5 = SecretDigests.getMd5();
+            update(md5, buffer, offset, offset + packetLength);
+            md5.update(codecContext.getSecret());
+            byte[] accountingRequestAuthenticator = md5.digest();
 
-            System.arraycopy(attrData, 0, bytes, position + 2, attrData.length);
+            putBytes(buffer, offset + 4, accountingRequestAuthenticator);
+            System.arraycopy(accountingRequestAuthenticator, 0, requestAuthenticator, 0, 16);
+        }
 
-            if (rawAttribute.getType().head() == MESSAGE_AUTHENTICATOR_TYPE && attrData.length == 16) {
-                messageAuthenticatorPosition = position;
-            }
+        return packetLength;
+    }
 
-            position = position + 2 + attrData.length;
-        }
+    private static int writeResponse(int code, List<? extends Attribute<?>> attributes, CodecContext codecContext,
+                                     int requestId, ByteBuffer buffer)
+            throws PacketCodecException {
+        int offset = buffer.position();
 
-        if (messageAuthenticatorPosition != -1) {
-            Arrays.fill(bytes, messageAuthenticatorPosition + 2, messageAuthenticatorPosition + 16, (byte) 0x00);
+        int messageAuthenticatorPosition = putBody(buffer, attributes, codecContext);
+        int packetLength = buffer.position() - offset;
 
-            Mac hmacMd5 = getHmacMd5Instance();
+        buffer.position(offset);
+        putHeader(buffer, code, requestId, packetLength);
+
+        // Temporary place the request authenticator into the response authenticator spot
+        buffer.put(codecContext.getRequestAuthenticator());
+        buffer.position(offset + packetLength);
+
+        if (messageAuthenticatorPosition != -1) {
+            Mac hmacMd5;
 
             try {
-                hmacMd5.init(new SecretKeySpec(secret, "HmacMD5"));
+                hmacMd5 = codecContext.getSecretDigests().newHmacMd5();
             }
             catch (InvalidKeyException e) {
                 throw new PacketCodecException(e);
             }
 
-            hmacMd5.update(bytes);
+            update(hmacMd5, buffer, offset, offset + packetLength);
             byte[] messageAuthenticator = hmacMd5.doFinal();
 
-            System.arraycopy(messageAuthenticator, 0, bytes, messageAuthenticatorPosition + 2, 16);
+            putBytes(buffer, offset + messageAuthenticatorPosition + 2, messageAuthenticator);
         }
 
-        if (request.getCode() == ACCOUNTING_REQUEST_CODE) {
-            MessageDigest md5 = getMd5Instance();
-            md5.update(bytes);
-            md5.update(secret);
-            byte[] accountingRequestAuthenticator = md5.digest();
+        // Calculate the response authenticator
+        MessageDigest md5 = SecretDigests.getMd5();
+        update(md5, buffer, offset, offset + packetLength);
+        md5.update(codecContext.getSecret());
+        byte[] responseAuthenticator = md5.digest();
 
-            System.arraycopy(accountingRequestAuthenticator, 0, bytes, 4, 16);
-            System.arraycopy(accountingRequestAuthenticator, 0, requestAuthenticator, 0, 16);
-        }
+        putBytes(buffer, offset + 4, responseAuthenticator);
 
-        return bytes;
+        return packetLength;
     }
 
     /**
-     * Encodes a response packet into bytes.
+     * Encodes the attributes after the header, which is skipped, at the buffer's position. The buffer's position is
+     * advanced to the end of the packet, or restored if the packet can't be encoded.
      *
-     * @param response the response packet to encode
-     * @param secret the shared secret
-     * @param requestId the request identifier
-     * @param requestAuthenticator the request authenticator
-     *
-     * @return byte array of the encoded response packet
-     *
-     * @throws PacketCodecException if there's a problem encoding the packet
+     * @return the position of the Message-Authenticator attribute relative to the start of the packet, or -1 if there
+     *         is none
      */
-    public byte[] encodeResponse(Packet response, byte[] secret, int requestId, byte[] requestAuthenticator)
-            throws PacketCodecException {
-        if (requestAuthenticator.length != 16) {
-            throw new IllegalArgumentException("requestAuthenticator length must be 16");
-        }
+    private static int putBody(ByteBuffer buffer, List<? extends Attribute<?>> attributes, CodecContext codecContext)
+            throws PacketCodecException
+    {
+        int offset = buffer.position();
 
-        CodecContext codecContext = new CodecContext(dictionary, secret, requestAuthenticator, randomProvider);
+        try {
+            if (buffer.remaining() < 20) {
+                throw new BufferOverflowException();
+            }
 
-        List<RawAttribute> rawAttributes = encodeAttributes(codecContext, response.getAttributes());
+            buffer.position(offset + 20);
+
+            return putAttributes(buffer, offset, attributes, codecContext);
+        }
+        catch (PacketCodecException | RuntimeException e) {
+            buffer.position(offset);
+
+            throw e;
+        }
+    }
 
+    private static int getPacketLength(List<RawAttribute> rawAttributes) {
         int attributesLength = 0;
 
         for (RawAttribute rawAttribute : rawAttributes) {
             attributesLength = attributesLength + 2 + rawAttribute.getData().length();
         }
 
-        int packetLength = 20 + attributesLength;
-
-        byte[] bytes = new byte[packetLength];
-
-        bytes[0] = (byte) (response.getCode() & 0xff);
-        bytes[1] = (byte) (requestId & 0xff);
-        bytes[2] = (byte) ((packetLength & 0xff00) >>> 8);
-        bytes[3] = (byte) (packetLength & 0xff);
+        return 20 + attributesLength;
+    }
 
-        int position = 20;
+    private static void putHeader(ByteBuffer buffer, int code, int identifier, int packetLength) {
+        buffer.put((byte) (code & 0xff));
+        buffer.put((byte) (identifier & 0xff));
+        buffer.put((byte) ((packetLength & 0xff00) >>> 8));
+        buffer.put((byte) (packetLength & 0xff));
+    }
 
+    /**
+     * Encodes the attributes at the buffer's position, writing each raw attribute as soon as it's produced by the
+     * attribute codecs. A Message-Authenticator attribute is written with a zeroed value.
+     *
+     * @return the position of the Message-Authenticator attribute relative to the start of the packet, or -1 if there
+     *         is none
+     */
+    private static int putAttributes(ByteBuffer buffer, int offset, List<? extends Attribute<?>> attributes,
+                                     CodecContext codecContext)
+            throws PacketCodecException
+    {
         int messageAuthenticatorPosition = -1;
 
-        for (RawAttribute rawAttribute : rawAttributes) {
-            byte[] attrData = rawAttribute.getData().getValue();
+        Deque<Attribute<?>> attributeStack = new ArrayDeque<>(attributes);
 
-            bytes[position] = (byte) (rawAttribute.getType().head() & 0xff);
-            bytes[position + 1] = (byte) ((byte) (attrData.length + 2) & 0xff);
+        while (attributeStack.size() > 0) {
+            Attribute<?> nextAttribute = attributeStack.peekFirst();
 
-            System.arraycopy(attrData, 0, bytes, position + 2, attrData.length);
+            if (nextAttribute instanceof RawAttribute) {
+                RawAttribute rawAttribute = (RawAttribute) attributeStack.removeFirst();
+                byte[] attrData = rawAttribute.getData().getValue();
 
-            if (rawAttribute.getType().head() == MESSAGE_AUTHENTICATOR_TYPE && attrData.length == 16) {
-                messageAuthenticatorPosition = position;
-            }
+                if (buffer.remaining() < 2 + attrData.length) {
+                    throw new BufferOverflowException();
+                }
 
-            position = position + 2 + attrData.length;
-        }
+                boolean isMessageAuthenticator =
+                        rawAttribute.getType().head() == MESSAGE_AUTHENTICATOR_TYPE && attrData.length == 16;
 
-        // Temporary place the request authenticator into the response authenticator spot
-        System.arraycopy(requestAuthenticator, 0, bytes, 4, 16);
+                if (isMessageAuthenticator) {
+                    messageAuthenticatorPosition = buffer.position() - offset;
+                }
 
-        if (messageAuthenticatorPosition != -1) {
-            Arrays.fill(bytes, messageAuthenticatorPosition + 2, messageAuthenticatorPosition + 18, (byte) 0x00);
+                buffer.put((byte) (rawAttribute.getType().head() & 0xff));
+                buffer.put((byte) ((attrData.length + 2) & 0xff));
 
-            Mac hmacMd5 = getHmacMd5Instance();
+                if (isMessageAuthenticator) {
+                    buffer.put(ZERO_AUTHENTICATOR);
+                }
+                else {
+                    buffer.put(attrData);
+                }
 
-            try {
-                hmacMd5.init(new SecretKeySpec(secret, "HmacMD5"));
-            }
-            catch (InvalidKeyException e) {
-                throw new PacketCodecException(e);
+                continue;
             }
 
-            hmacMd5.update(bytes);
-            byte[] messageAuthenticator = hmacMd5.doFinal();
-
-            System.arraycopy(messageAuthenticator, 0, bytes, messageAuthenticatorPosition + 2, 16);
+            encodeAttribute(codecContext, attributeStack);
         }
 
-        // Calculate the response authenticator
-        MessageDigest md5 = getMd5Instance();
-        md5.update(bytes);
-        md5.update(secret);
-        byte[] responseAuthenticator = md5.digest();
-
-        System.arraycopy(responseAuthenticator, 0, bytes, 4, 16);
-
-        return bytes;
+        return messageAuthenticatorPosition;
     }
 
     /**
@@ -301,27 +441,40 @@ public final class PacketCodec {
      * @throws PacketCodecException if the packet is malformed or there's a problem decoding the request packet
      */
     public Packet decodeRequest(byte[] bytes, byte[] secret) throws PacketCodecException {
-        if (bytes.length < 20) {
-            throw new PacketCodecException("Invalid packet length: " + bytes.length);
-        }
-
-        int length = ((bytes[2] & 0xff) << 8) | (bytes[3] & 0xff);
+        return decodeRequest(ByteBuffer.wrap(bytes), 0, bytes.length, secret);
+    }
 
-        if (bytes.length != length) {
-            throw new PacketCodecException("Packet length " + length + " doesn't match actual length " + bytes.length);
-        }
+    /**
+     * Decodes a request packet from a region of a buffer into a {@link Packet} object. The buffer may be a heap or a
+     * direct buffer. The packet is verified without copying it, and only the attributes are copied out of the buffer.
+     * The buffer's position and limit are not modified, and the buffer may be reused once this method returns.
+     *
+     * @param buffer the buffer containing the encoded request packet
+     * @param offset the index of the first byte of the packet in the buffer
+     * @param length the length of the packet
+     * @param secret the shared secret
+     *
+     * @return a packet object
+     *
+     * @throws PacketCodecException if the packet is malformed or there's a problem decoding the request packet
+     */
+    public Packet decodeRequest(ByteBuffer buffer, int offset, int length, byte[] secret)
+            throws PacketCodecException
+    {
+        checkRegion(buffer, offset, length);
 
-        int code = bytes[0] & 0xff;
-        int identifier = bytes[1] & 0xff;
+        int code = buffer.get(offset) & 0xff;
+        int identifier = buffer.get(offset + 1) & 0xff;
 
         byte[] authenticatorBytes = new byte[16];
-        System.arraycopy(bytes, 4, authenticatorBytes, 0, 16);
+        getBytes(buffer, offset + 4, authenticatorBytes);
 
         if (code == ACCOUNTING_REQUEST_CODE) {
-            Arrays.fill(bytes, 4, 4 + 16, (byte) 0x00);
-
-            MessageDigest md5 = getMd5Instance();
-            md5.update(bytes);
+            // The authenticator is calculated with the authenticator field zeroed
+            MessageDigest md5 = SecretDigests.getMd5();
+            update(md5, buffer, offset, offset + 4);
+            md5.update(ZERO_AUTHENTICATOR);
+            update(md5, buffer, offset + 20, offset + length);
             md5.update(secret);
             byte[] calculatedAccountingRequestAuthenticator = md5.digest();
 
@@ -330,73 +483,25 @@ public final class PacketCodec {
             }
         }
 
-        CodecContext codecContext = new CodecContext(dictionary, secret, authenticatorBytes, randomProvider);
-
-        List<RawAttribute> rawAttributes = new ArrayList<>();
-
-        int position = 20;
-
-        int messageAuthenticatorPosition = -1;
-        byte[] messageAuthenticator = null;
-
-        while (position < length) {
-            if (position + 2 > length) {
-                throw new PacketCodecException("Malformed attribute at position " + position);
-            }
-
-            int attrType = bytes[position] & 0xff;
-            int attrLength = bytes[position + 1] & 0xff;
-
-            if (attrLength < 2) {
-                throw new PacketCodecException("Malformed attribute at position " + position);
-            }
-
-            if (position + attrLength > length) {
-                throw new PacketCodecException("Malformed attribute at position " + position);
-            }
-
-            byte[] attrData = new byte[attrLength - 2];
-
-            System.arraycopy(bytes, position + 2, attrData, 0, attrData.length);
+        int[] attributePositions = indexAttributes(buffer, offset, length);
 
-            RawAttribute rawAttribute = new RawAttribute(attrType, attrData);
-            rawAttributes.add(rawAttribute);
-
-            if (attrType == MESSAGE_AUTHENTICATOR_TYPE && attrData.length == 16) {
-                messageAuthenticatorPosition = position;
-                messageAuthenticator = attrData;
-            }
-
-            position = position + attrLength;
-        }
+        int messageAuthenticatorPosition = findMessageAuthenticator(buffer, offset, attributePositions);
 
         if (messageAuthenticatorPosition != -1) {
-            byte[] messageAuthenticatorWorkingBytes = Arrays.copyOf(bytes, bytes.length);
-            Arrays.fill(messageAuthenticatorWorkingBytes, messageAuthenticatorPosition + 2,
-                    messageAuthenticatorPosition + 18, (byte) 0x00);
-
-            Mac hmacMd5 = getHmacMd5Instance();
-
-            try {
-                hmacMd5.init(new SecretKeySpec(secret, "HmacMD5"));
-            }
-            catch (InvalidKeyException e) {
-                throw new RuntimeException(e);
-            }
-
-            hmacMd5.update(messageAuthenticatorWorkingBytes);
-            byte[] calculatedMessageAuthenticator = hmacMd5.doFinal();
-
-            if (!Arrays.equals(messageAuthenticator, calculatedMessageAuthenticator)) {
-                throw new PacketCodecException("Packet contains an invalid message authenticator");
-            }
+            // The message authenticator of an Accounting-Request is calculated with the authenticator zeroed
+            checkMessageAuthenticator(buffer, offset, length, secretDigestsCache.get(secret),
+                    code == ACCOUNTING_REQUEST_CODE ? ZERO_AUTHENTICATOR : authenticatorBytes,
+                    messageAuthenticatorPosition);
         }
 
-        List<Attribute<?>> attributes = decodeAttributes(codecContext, rawAttributes);
+        CodecContext codecContext = newCodecContext(secret, authenticatorBytes);
+
+        List<Attribute<?>> attributes = decodeAttributes(codecContext,
+                getRawAttributes(buffer, offset, attributePositions), isLazyAttributeDecoding);
 
         Packet.ReceivedFields receivedFields = new Packet.ReceivedFields(identifier, authenticatorBytes);
 
-        PacketDefinition packetDefinition = dictionary.getPacketDefinition(code);
+        PacketDefinition packetDefinition = codecContext.getDictionary().getPacketDefinition(code);
 
         if (packetDefinition != null) {
             return packetDefinition.getFactory().build(code, attributes, receivedFields);
@@ -417,28 +522,41 @@ public final class PacketCodec {
      * @throws PacketCodecException if the packet is malformed or there's a problem decoding the request packet
      */
     public Packet decodeResponse(byte[] bytes, byte[] secret, byte[] requestAuthenticator) throws PacketCodecException {
-        if (bytes.length < 20) {
-            throw new PacketCodecException("Invalid packet length: " + bytes.length);
-        }
-
-        int length = ((bytes[2] & 0xff) << 8) | (bytes[3] & 0xff);
+        return decodeResponse(ByteBuffer.wrap(bytes), 0, bytes.length, secret, requestAuthenticator);
+    }
 
-        if (bytes.length != length) {
-            throw new PacketCodecException("Packet length " + length + " doesn't match actual length " + bytes.length);
-        }
+    /**
+     * Decodes a response packet from a region of a buffer into a {@link Packet} object. The buffer may be a heap or a
+     * direct buffer. The packet is verified without copying it, and only the attributes are copied out of the buffer.
+     * The buffer's position and limit are not modified, and the buffer may be reused once this method returns.
+     *
+     * @param buffer the buffer containing the encoded response packet
+     * @param offset the index of the first byte of the packet in the buffer
+     * @param length the length of the packet
+     * @param secret the shared secret
+     * @param requestAuthenticator the request authenticator
+     *
+     * @return a packet object
+     *
+     * @throws PacketCodecException if the packet is malformed or there's a problem decoding the response packet
+     */
+    public Packet decodeResponse(ByteBuffer buffer, int offset, int length, byte[] secret,
+                                 byte[] requestAuthenticator)
+            throws PacketCodecException
+    {
+        checkRegion(buffer, offset, length);
 
-        int code = bytes[0] & 0xff;
-        int identifier = bytes[1] & 0xff;
+        int code = buffer.get(offset) & 0xff;
+        int identifier = buffer.get(offset + 1) & 0xff;
 
         byte[] authenticatorBytes = new byte[16];
-        System.arraycopy(bytes, 4, authenticatorBytes, 0, 16);
-
-        byte[] authenticatorWorkingBytes = Arrays.copyOf(bytes, bytes.length);
-
-        System.arraycopy(requestAuthenticator, 0, authenticatorWorkingBytes, 4, 16);
+        getBytes(buffer, offset + 4, authenticatorBytes);
 
-        MessageDigest md5 = getMd5Instance();
-        md5.update(authenticatorWorkingBytes);
+        // The response authenticator is calculated with the request authenticator in place of the authenticator
+        MessageDigest md5 = SecretDigests.getMd5();
+        update(md5, buffer, offset, offset + 4);
+        md5.update(requestAuthenticator);
+        update(md5, buffer, offset + 20, offset + length);
         md5.update(secret);
         byte[] calculatedAuthenticatorBytes = md5.digest();
 
@@ -446,22 +564,72 @@ public final class PacketCodec {
             throw new PacketCodecException("Invalid response packet authenticator");
         }
 
-        CodecContext codecContext = new CodecContext(dictionary, secret, requestAuthenticator, randomProvider);
+        int[] attributePositions = indexAttributes(buffer, offset, length);
 
-        List<RawAttribute> rawAttributes = new ArrayList<>();
+        int messageAuthenticatorPosition = findMessageAuthenticator(buffer, offset, attributePositions);
 
-        int position = 20;
+        if (messageAuthenticatorPosition != -1) {
+            checkMessageAuthenticator(buffer, offset, length, secretDigestsCache.get(secret), requestAuthenticator,
+                    messageAuthenticatorPosition);
+        }
 
-        int messageAuthenticatorPosition = -1;
-        byte[] messageAuthenticator = null;
+        CodecContext codecContext = newCodecContext(secret, requestAuthenticator);
+
+        List<Attribute<?>> attributes = decodeAttributes(codecContext,
+                getRawAttributes(buffer, offset, attributePositions), isLazyAttributeDecoding);
+
+        Packet.ReceivedFields receivedFields = new Packet.ReceivedFields(identifier, authenticatorBytes);
+
+        PacketDefinition packetDefinition = codecContext.getDictionary().getPacketDefinition(code);
+
+        if (packetDefinition != null) {
+            return packetDefinition.getFactory().build(code, attributes, receivedFields);
+        }
+
+        return new Packet(code, attributes, receivedFields);
+    }
+
+    private static void checkRegion(ByteBuffer buffer, int offset, int length) throws PacketCodecException {
+        if (offset < 0 || length < 0 || offset + length > buffer.limit()) {
+            throw new IndexOutOfBoundsException("Invalid packet region: offset " + offset + ", length " + length);
+        }
+
+        if (length < 20) {
+            throw new PacketCodecException("Invalid packet length: " + length);
+        }
+
+        int packetLength = ((buffer.get(offset + 2) & 0xff) << 8) | (buffer.get(offset + 3) & 0xff);
+
+        if (packetLength != length) {
+            throw new PacketCodecException("Packet length " + packetLength + " doesn't match actual length "
+                    + length);
+        }
+    }
+
+    /**
+     * Validates the attributes of a packet and returns their positions, without copying any attribute data.
+     *
+     * @param buffer the buffer containing the packet
+     * @param offset the index of the packet in the buffer
+     * @param length the length of the packet
+     *
+     * @return the positions of the attributes relative to the start of the packet
+     *
+     * @throws PacketCodecException if an attribute is malformed
+     */
+    private static int[] indexAttributes(ByteBuffer buffer, int offset, int length) throws PacketCodecException {
+        // Every attribute is at least 2 bytes long
+        int[] attributePositions = new int[(length - 20) / 2];
+        int attributeCount = 0;
+
+        int position = 20;
 
         while (position < length) {
             if (position + 2 > length) {
                 throw new PacketCodecException("Malformed attribute at position " + position);
             }
 
-            int attrType = bytes[position] & 0xff;
-            int attrLength = bytes[position + 1] & 0xff;
+            int attrLength = buffer.get(offset + position + 1) & 0xff;
 
             if (attrLength < 2) {
                 throw new PacketCodecException("Malformed attribute at position " + position);
@@ -471,60 +639,128 @@ public final class PacketCodec {
                 throw new PacketCodecException("Malformed attribute at position " + position);
             }
 
-            byte[] attrData = new byte[attrLength - 2];
-            System.arraycopy(bytes, position + 2, attrData, 0, attrData.length);
+            attributePositions[attributeCount++] = position;
 
-            RawAttribute rawAttribute = new RawAttribute(attrType, attrData);
-            rawAttributes.add(rawAttribute);
+            position = position + attrLength;
+        }
+
+        return Arrays.copyOf(attributePositions, attributeCount);
+    }
+
+    private static int findMessageAuthenticator(ByteBuffer buffer, int offset, int[] attributePositions) {
+        int messageAuthenticatorPosition = -1;
 
-            if (attrType == MESSAGE_AUTHENTICATOR_TYPE && attrData.length == 16) {
+        for (int position : attributePositions) {
+            if ((buffer.get(offset + position) & 0xff) == MESSAGE_AUTHENTICATOR_TYPE
+                    && (buffer.get(offset + position + 1) & 0xff) == 18)
+            {
                 messageAuthenticatorPosition = position;
-                messageAuthenticator = attrData;
             }
+        }
 
-            position = position + attrLength;
+        return messageAuthenticatorPosition;
+    }
+
+    /**
+     * Checks the message authenticator by feeding the packet to the HMAC in segments, substituting the authenticator
+     * field and zeroing the message authenticator value.
+     */
+    private static void checkMessageAuthenticator(ByteBuffer buffer, int offset, int length,
+                                                  SecretDigests secretDigests, byte[] authenticator,
+                                                  int messageAuthenticatorPosition)
+            throws PacketCodecException
+    {
+        Mac hmacMd5;
+
+        try {
+            hmacMd5 = secretDigests.newHmacMd5();
+        }
+        catch (InvalidKeyException e) {
+            throw new RuntimeException(e);
         }
 
-        if (messageAuthenticatorPosition != -1) {
-            byte[] messageAuthenticatorWorkingBytes = Arrays.copyOf(bytes, bytes.length);
-            System.arraycopy(requestAuthenticator, 0, messageAuthenticatorWorkingBytes, 4, 16);
+        update(hmacMd5, buffer, offset, offset + 4);
+        hmacMd5.update(authenticator);
+        update(hmacMd5, buffer, offset + 20, offset + messageAuthenticatorPosition + 2);
+        hmacMd5.update(ZERO_AUTHENTICATOR);
+        update(hmacMd5, buffer, offset + messageAuthenticatorPosition + 18, offset + length);
+        byte[] calculatedMessageAuthenticator = hmacMd5.doFinal();
 
-            Arrays.fill(messageAuthenticatorWorkingBytes, messageAuthenticatorPosition + 2,
-                    messageAuthenticatorPosition + 18, (byte) 0x00);
+        byte[] messageAuthenticator = new byte[16];
+        getBytes(buffer, offset + messageAuthenticatorPosition + 2, messageAuthenticator);
 
-            Mac hmacMd5 = getHmacMd5Instance();
+        if (!Arrays.equals(messageAuthenticator, calculatedMessageAuthenticator)) {
+            throw new PacketCodecException("Packet contains an invalid message authenticator");
+        }
+    }
 
-            try {
-                hmacMd5.init(new SecretKeySpec(secret, "HmacMD5"));
-            }
-            catch (InvalidKeyException e) {
-                throw new RuntimeException(e);
-            }
+    private static List<RawAttribute> getRawAttributes(ByteBuffer buffer, int offset, int[] attributePositions) {
+        List<RawAttribute> rawAttributes = new ArrayList<>(attributePositions.length);
 
-            hmacMd5.update(messageAuthenticatorWorkingBytes);
-            byte[] calculatedMessageAuthenticator = hmacMd5.doFinal();
+        for (int position : attributePositions) {
+            int attrType = buffer.get(offset + position) & 0xff;
+            int attrLength = buffer.get(offset + position + 1) & 0xff;
 
-            if (!Arrays.equals(messageAuthenticator, calculatedMessageAuthenticator)) {
-                throw new PacketCodecException("Packet contains an invalid message authenticator");
-            }
+            byte[] attrData = new byte[attrLength - 2];
+            getBytes(buffer, offset + position + 2, attrData);
+
+            rawAttributes.add(new RawAttribute(attrType, attrData));
         }
 
-        List<Attribute<?>> attributes = decodeAttributes(codecContext, rawAttributes);
+        return rawAttributes;
+    }
 
-        Packet.ReceivedFields receivedFields = new Packet.ReceivedFields(identifier, authenticatorBytes);
+    private static void getBytes(ByteBuffer buffer, int index, byte[] destination) {
+        if (buffer.hasArray()) {
+            System.arraycopy(buffer.array(), buffer.arrayOffset() + index, destination, 0, destination.length);
+        }
+        else {
+            ByteBuffer duplicate = buffer.duplicate();
+            duplicate.position(index);
+            duplicate.get(destination);
+        }
+    }
 
-        PacketDefinition packetDefinition = dictionary.getPacketDefinition(code);
+    private static void putBytes(ByteBuffer buffer, int index, byte[] source) {
+        if (buffer.hasArray()) {
+            System.arraycopy(source, 0, buffer.array(), buffer.arrayOffset() + index, source.length);
+        }
+        else {
+            ByteBuffer duplicate = buffer.duplicate();
+            duplicate.position(index);
+            duplicate.put(source);
+        }
+    }
 
-        if (packetDefinition != null) {
-            return packetDefinition.getFactory().build(code, attributes, receivedFields);
+    private static void update(MessageDigest messageDigest, ByteBuffer buffer, int from, int to) {
+        if (buffer.hasArray()) {
+            messageDigest.update(buffer.array(), buffer.arrayOffset() + from, to - from);
+        }
+        else {
+            messageDigest.update(slice(buffer, from, to));
         }
+    }
 
-        return new Packet(code, attributes, receivedFields);
+    private static void update(Mac mac, ByteBuffer buffer, int from, int to) {
+        if (buffer.hasArray()) {
+            mac.update(buffer.array(), buffer.arrayOffset() + from, to - from);
+        }
+        else {
+            mac.update(slice(buffer, from, to));
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int from, int to) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.limit(to);
+        duplicate.position(from);
+
+        return duplicate;
     }
 
     private List<RawAttribute> encodeAttributes(CodecContext codecContext, List<Attribute<?>> attributes)
             throws PacketCodecException {
-        List<RawAttribute> rawAttributes = new ArrayList<>();
+        List<RawAttribute> rawAttributes = new ArrayList<>(attributes.size());
 
         Deque<Attribute<?>> attributeStack = new ArrayDeque<>(attributes);
 
@@ -537,27 +773,47 @@ public final class PacketCodec {
                 continue;
             }
 
-            AttributeDefinition<?, ?> attributeDefinition = dictionary.getAttributeDefinition(nextAttribute.getType());
+            encodeAttribute(codecContext, attributeStack);
+        }
 
-            if (attributeDefinition == null) {
-                throw new PacketCodecException("Unable to encode attribute with identifier " + nextAttribute.getType());
-            }
+        return rawAttributes;
+    }
 
-            attributeDefinition.getAttributeCodec().encode(codecContext, attributeStack);
+    /**
+     * Encodes the attribute at the top of the stack, which the attribute codec replaces with raw attributes.
+     */
+    private static void encodeAttribute(CodecContext codecContext, Deque<Attribute<?>> attributeStack)
+            throws PacketCodecException
+    {
+        Attribute<?> nextAttribute = attributeStack.peekFirst();
+
+        AttributeDefinition<?, ?> attributeDefinition =
+                codecContext.getDictionary().getAttributeDefinition(nextAttribute.getType());
+
+        if (attributeDefinition == null) {
+            throw new PacketCodecException("Unable to encode attribute with identifier " + nextAttribute.getType());
         }
 
-        return rawAttributes;
+        attributeDefinition.getAttributeCodec().encode(codecContext, attributeStack);
     }
 
-    private List<Attribute<?>> decodeAttributes(CodecContext codecContext, List<RawAttribute> rawAttributes) {
+    private List<Attribute<?>> decodeAttributes(CodecContext codecContext, List<RawAttribute> rawAttributes,
+                                                boolean isLazy)
+    {
+        if (isLazy) {
+            return new LazyAttributeList(codecContext.getDictionary(), rawAttributes,
+                    rawAttributesRun -> decodeAttributes(codecContext, rawAttributesRun, false));
+        }
+
+        Dictionary dictionary = codecContext.getDictionary();
         Deque<Attribute<?>> attributeStack = new ArrayDeque<>(rawAttributes);
         List<Attribute<?>> attributes = new ArrayList<>();
 
         while (attributeStack.size() > 0) {
             RawAttribute rawAttribute = (RawAttribute) attributeStack.peekFirst();
-            AttributeType nextType = rawAttribute.getType();
 
-            AttributeDefinition<?, ?> attributeDefinition = dictionary.getAttributeDefinition(nextType);
+            AttributeDefinition<?, ?> attributeDefinition =
+                    dictionary.getAttributeDefinition(rawAttribute.getType().head());
 
             if (attributeDefinition != null) {
                 attributeDefinition.getAttributeCodec().decode(codecContext, attributeStack);
@@ -579,10 +835,8 @@ public final class PacketCodec {
             }
 
             if (nextAttribute.getData() instanceof ContainerData) {
-                ContainerData containerData = (ContainerData) nextAttribute.getData();
-                AttributeType nextType = nextAttribute.getType().with(containerData.getContainedType());
-
-                AttributeDefinition<?, ?> attributeDefinition = dictionary.getAttributeDefinition(nextType);
+                AttributeDefinition<?, ?> attributeDefinition =
+                        getContainedAttributeDefinition(dictionary, nextAttribute);
 
                 if (attributeDefinition != null) {
                     int numComplete = attributeDefinition.getAttributeCodec().decode(codecContext, attributeStack);
@@ -601,4 +855,20 @@ public final class PacketCodec {
         return attributes;
     }
 
+    private static AttributeDefinition<?, ?> getContainedAttributeDefinition(Dictionary dictionary,
+                                                                      Attribute<?> containerAttribute)
+    {
+        AttributeType type = containerAttribute.getType();
+
+        if (containerAttribute.getData() instanceof VsaData && type.equals(VendorSpecific.TYPE)) {
+            VsaData vsaData = (VsaData) containerAttribute.getData();
+
+            return dictionary.getVendorAttributeDefinition(vsaData.getVendorId(), vsaData.getVendorType());
+        }
+
+        ContainerData containerData = (ContainerData) containerAttribute.getData();
+
+        return dictionary.getAttributeDefinition(type.with(containerData.getContainedType()));
+    }
+
 }
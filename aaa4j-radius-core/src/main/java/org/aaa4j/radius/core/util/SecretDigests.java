@@ -0,0 +1,324 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.core.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Provides the MD5 and HMAC-MD5 instances used for a RADIUS shared secret without looking up the algorithms and
+ * processing the secret for every packet.
+ *
+ * <p>
+ * The MD5 state after digesting the secret and the HMAC-MD5 state after processing the secret as the key (the inner and
+ * outer pads) are computed once and then cloned for each use, so an instance should be kept for as long as its secret
+ * is used (e.g., in a {@link Cache} owned by a packet codec). Plain MD5 instances are kept per thread.
+ * </p>
+ */
+public final class SecretDigests {
+
+    private static final ThreadLocal<MessageDigest> THREAD_LOCAL_MD5 =
+            ThreadLocal.withInitial(SecretDigests::newMd5Instance);
+
+    private final byte[] secret;
+
+    private final MessageDigest secretMd5;
+
+    private volatile Mac hmacMd5;
+
+    private SecretDigests(byte[] secret) {
+        this.secret = secret;
+
+        this.secretMd5 = newMd5Instance();
+        this.secretMd5.update(secret);
+    }
+
+    /**
+     * Returns new digests for the given secret.
+     *
+     * @param secret the shared secret
+     *
+     * @return the digests for the secret
+     */
+    public static SecretDigests of(byte[] secret) {
+        return new SecretDigests(secret.clone());
+    }
+
+    /**
+     * Returns this thread's MD5 instance, reset and ready for use. The instance must not be shared with other threads
+     * or used after another call to this method on the same thread.
+     *
+     * @return an MD5 message digest
+     */
+    public static MessageDigest getMd5() {
+        MessageDigest md5 = THREAD_LOCAL_MD5.get();
+        md5.reset();
+
+        return md5;
+    }
+
+    /**
+     * Returns a new MD5 instance that has already digested the secret.
+     *
+     * @return an MD5 message digest owned by the caller
+     */
+    public MessageDigest newSecretMd5() {
+        try {
+            return (MessageDigest) secretMd5.clone();
+        }
+        catch (CloneNotSupportedException e) {
+            MessageDigest md5 = newMd5Instance();
+            md5.update(secret);
+
+            return md5;
+        }
+    }
+
+    /**
+     * Returns a new HMAC-MD5 instance initialized with the secret as the key.
+     *
+     * @return an HMAC-MD5 instance owned by the caller
+     *
+     * @throws InvalidKeyException if the secret can't be used as an HMAC-MD5 key
+     */
+    public Mac newHmacMd5() throws InvalidKeyException {
+        Mac hmacMd5 = this.hmacMd5;
+
+        if (hmacMd5 == null) {
+            hmacMd5 = newHmacMd5Instance();
+            hmacMd5.init(newSecretKeySpec(secret));
+
+            this.hmacMd5 = hmacMd5;
+        }
+
+        try {
+            return (Mac) hmacMd5.clone();
+        }
+        catch (CloneNotSupportedException e) {
+            Mac newHmacMd5 = newHmacMd5Instance();
+            newHmacMd5.init(newSecretKeySpec(secret));
+
+            return newHmacMd5;
+        }
+    }
+
+    private static SecretKeySpec newSecretKeySpec(byte[] secret) throws InvalidKeyException {
+        try {
+            return new SecretKeySpec(secret, "HmacMD5");
+        }
+        catch (IllegalArgumentException e) {
+            // Thrown for an empty secret
+            throw new InvalidKeyException(e);
+        }
+    }
+
+    private static MessageDigest newMd5Instance() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        }
+        catch (NoSuchAlgorithmException e) {
+            // Shouldn't happen since every JRE Is required to support MD5
+            throw new AssertionError(e);
+        }
+    }
+
+    private static Mac newHmacMd5Instance() {
+        try {
+            return Mac.getInstance("HmacMD5");
+        }
+        catch (NoSuchAlgorithmException e) {
+            // Shouldn't happen since every JRE Is required to support HmacMD5
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * A bounded cache of the digests of the most recently used secrets. The cache is meant to be owned by the user of
+     * the secrets (e.g., a packet codec), so that the secrets aren't kept once it is discarded.
+     *
+     * <p>
+     * Looking up a secret doesn't lock, and the secret that was looked up last is checked first without hashing it,
+     * since most users only use one secret at a time. When the cache is full, a secret that hasn't been used since the
+     * previous eviction is evicted, which approximates evicting the least recently used secret.
+     * </p>
+     */
+    public static final class Cache {
+
+        private final int maxSize;
+
+        private final ConcurrentMap<SecretKey, Entry> entries = new ConcurrentHashMap<>();
+
+        private final Lock evictionLock = new ReentrantLock();
+
+        private volatile Entry lastEntry;
+
+        /**
+         * Constructs a cache holding the digests of at most the given number of secrets.
+         *
+         * @param maxSize the maximum number of secrets
+         */
+        public Cache(int maxSize) {
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("The maximum size must be at least 1");
+            }
+
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * Returns the digests for the given secret, computing them if the secret isn't in the cache.
+         *
+         * @param secret the shared secret
+         *
+         * @return the digests for the secret
+         */
+        public SecretDigests get(byte[] secret) {
+            Entry entry = lastEntry;
+
+            if (entry != null && Arrays.equals(entry.secretDigests.secret, secret)) {
+                entry.markUsed();
+
+                return entry.secretDigests;
+            }
+
+            entry = entries.get(new SecretKey(secret));
+
+            if (entry != null) {
+                entry.markUsed();
+            }
+            else {
+                entry = put(secret);
+            }
+
+            lastEntry = entry;
+
+            return entry.secretDigests;
+        }
+
+        private Entry put(byte[] secret) {
+            // The digests are computed without locking, so concurrent misses of a secret may compute them more than
+            // once but only the first entry is kept
+            Entry newEntry = new Entry(SecretDigests.of(secret));
+            Entry entry = entries.putIfAbsent(new SecretKey(newEntry.secretDigests.secret), newEntry);
+
+            if (entry != null) {
+                return entry;
+            }
+
+            if (entries.size() > maxSize) {
+                evict(newEntry);
+            }
+
+            return newEntry;
+        }
+
+        private void evict(Entry newEntry) {
+            evictionLock.lock();
+
+            try {
+                // The first pass clears the marks of the used entries, so the second pass finds an entry to evict
+                // unless the entries are used concurrently
+                for (int pass = 0; pass < 2 && entries.size() > maxSize; pass++) {
+                    Iterator<Map.Entry<SecretKey, Entry>> iterator = entries.entrySet().iterator();
+
+                    while (iterator.hasNext() && entries.size() > maxSize) {
+                        Entry entry = iterator.next().getValue();
+
+                        if (entry == newEntry) {
+                            continue;
+                        }
+
+                        if (entry.isUsed) {
+                            entry.isUsed = false;
+                        }
+                        else {
+                            iterator.remove();
+                        }
+                    }
+                }
+            }
+            finally {
+                evictionLock.unlock();
+            }
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final SecretDigests secretDigests;
+
+        /**
+         * Whether the secret has been used since it was put in the cache or since the last eviction.
+         */
+        private volatile boolean isUsed;
+
+        private Entry(SecretDigests secretDigests) {
+            this.secretDigests = secretDigests;
+        }
+
+        private void markUsed() {
+            // Only written when not already set to avoid writing to a shared cache line on every use
+            if (!isUsed) {
+                isUsed = true;
+            }
+        }
+
+    }
+
+    private static final class SecretKey {
+
+        private final byte[] secret;
+
+        private final int hashCode;
+
+        private SecretKey(byte[] secret) {
+            this.secret = secret;
+            this.hashCode = Arrays.hashCode(secret);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            return Arrays.equals(secret, ((SecretKey) obj).secret);
+        }
+
+    }
+
+}
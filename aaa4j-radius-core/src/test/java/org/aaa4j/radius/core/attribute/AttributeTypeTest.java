@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.core.attribute;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("AttributeType")
+class AttributeTypeTest {
+
+    @Test
+    @DisplayName("Packed attribute types have the expected components")
+    void packedComponents() {
+        AttributeType attributeType = new AttributeType(26, 16777215, 65535, 7);
+
+        assertEquals(4, attributeType.length());
+        assertEquals(26, attributeType.head());
+        assertEquals(16777215, attributeType.at(1));
+        assertEquals(65535, attributeType.at(2));
+        assertEquals(7, attributeType.last());
+    }
+
+    @Test
+    @DisplayName("Attribute types that can't be packed have the expected components")
+    void unpackedComponents() {
+        AttributeType attributeType = new AttributeType(241, 9, 1, 4, 10);
+
+        assertEquals(5, attributeType.length());
+        assertEquals(241, attributeType.head());
+        assertEquals(4, attributeType.at(3));
+        assertEquals(10, attributeType.last());
+
+        AttributeType negativeAttributeType = new AttributeType(173, -3);
+
+        assertEquals(-3, negativeAttributeType.last());
+        assertThrows(IllegalArgumentException.class, () -> attributeType.at(5));
+    }
+
+    @Test
+    @DisplayName("Attribute types built in different ways are equal")
+    void testEqualityEquals() {
+        AttributeType a = new AttributeType(26, 9, 1);
+        AttributeType b = new AttributeType(new AttributeType(26, 9), 1);
+        AttributeType c = AttributeType.of(26).with(9, 1);
+        AttributeType d = AttributeType.of(26).with(9).with(1);
+
+        assertEquals(a, b);
+        assertEquals(a, c);
+        assertEquals(a, d);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(a.hashCode(), c.hashCode());
+        assertEquals(a.hashCode(), d.hashCode());
+
+        AttributeType e = new AttributeType(241, 9, 1, 4, 10);
+        AttributeType f = new AttributeType(241, 9, 1, 4).with(10);
+
+        assertEquals(e, f);
+        assertEquals(e.hashCode(), f.hashCode());
+    }
+
+    @Test
+    @DisplayName("Attribute types with different components are not equal")
+    void testEqualityNotEquals() {
+        assertFalse(new AttributeType(26, 9, 1).equals(new AttributeType(26, 9, 2)));
+        assertFalse(new AttributeType(26, 9).equals(new AttributeType(26, 9, 0)));
+        assertFalse(new AttributeType(1).equals(new AttributeType(1, 0)));
+    }
+
+    @Test
+    @DisplayName("Top-level and interned attribute types are shared")
+    void interning() {
+        assertSame(AttributeType.of(1), AttributeType.of(new int[] { 1 }));
+        assertSame(AttributeType.of(1), AttributeType.intern(new AttributeType(1)));
+
+        AttributeType interned = AttributeType.intern(new AttributeType(241, 201, 3));
+
+        assertSame(interned, AttributeType.intern(new AttributeType(241, 201, 3)));
+        assertSame(interned, AttributeType.of(241, 201, 3));
+        assertSame(interned, AttributeType.of(241).with(201, 3));
+        assertSame(interned, AttributeType.of(241).with(201).with(3));
+        assertTrue(interned.equals(new AttributeType(241, 201, 3)));
+    }
+
+    @Test
+    @DisplayName("Top-level attribute types out of range throw an exception")
+    void topLevelOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> AttributeType.of(256));
+        assertThrows(IllegalArgumentException.class, () -> AttributeType.of(-1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new AttributeType(256, 1));
+    }
+
+}
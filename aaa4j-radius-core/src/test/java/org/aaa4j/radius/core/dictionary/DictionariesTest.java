@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.core.dictionary;
+
+import org.aaa4j.radius.core.attribute.AttributeType;
+import org.aaa4j.radius.core.attribute.attributes.UserName;
+import org.aaa4j.radius.core.dictionary.dictionaries.StandardDictionary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Dictionaries")
+class DictionariesTest {
+
+    private static final Dictionary STANDARD_DICTIONARY = new StandardDictionary();
+
+    private static final AttributeType VENDOR_TYPE = new AttributeType(26, 9, 1);
+
+    private static final AttributeType UNKNOWN_VENDOR_TYPE = new AttributeType(26, 9, 2);
+
+    @Test
+    @DisplayName("Definitions of the dictionaries provided first take precedence")
+    void precedence() {
+        // Any definitions will do to tell the dictionaries apart
+        AttributeDefinition<?, ?> firstDefinition = STANDARD_DICTIONARY.getAttributeDefinition(1);
+        AttributeDefinition<?, ?> secondDefinition = STANDARD_DICTIONARY.getAttributeDefinition(2);
+
+        Dictionary firstDictionary = mock(Dictionary.class);
+        when(firstDictionary.getAttributeDefinition(VENDOR_TYPE)).then(invocation -> firstDefinition);
+
+        Dictionary secondDictionary = mock(Dictionary.class);
+        when(secondDictionary.getAttributeDefinition(VENDOR_TYPE)).then(invocation -> secondDefinition);
+
+        Dictionary dictionary = Dictionaries.of(STANDARD_DICTIONARY, firstDictionary, secondDictionary);
+
+        assertSame(firstDefinition, dictionary.getAttributeDefinition(VENDOR_TYPE));
+        assertSame(firstDefinition, dictionary.getVendorAttributeDefinition(9, 1));
+        assertEquals(UserName.class, dictionary.getAttributeDefinition(1).getAttributeClass());
+        assertEquals(UserName.class, dictionary.getAttributeDefinition(UserName.TYPE).getAttributeClass());
+        assertEquals(UserName.class, dictionary.getAttributeDefinition("user-name").getAttributeClass());
+        assertEquals(1, dictionary.getPacketDefinition(1).getCode());
+    }
+
+    @Test
+    @DisplayName("Definitions found and not found are cached")
+    void caching() {
+        AttributeDefinition<?, ?> vendorDefinition = STANDARD_DICTIONARY.getAttributeDefinition(1);
+
+        Dictionary firstDictionary = mock(Dictionary.class);
+        Dictionary secondDictionary = mock(Dictionary.class);
+        when(secondDictionary.getAttributeDefinition(VENDOR_TYPE)).then(invocation -> vendorDefinition);
+
+        Dictionary dictionary = Dictionaries.of(firstDictionary, secondDictionary);
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(vendorDefinition, dictionary.getAttributeDefinition(VENDOR_TYPE));
+            assertNull(dictionary.getAttributeDefinition(UNKNOWN_VENDOR_TYPE));
+            assertNull(dictionary.getTlvDefinition(UNKNOWN_VENDOR_TYPE));
+        }
+
+        verify(firstDictionary, times(1)).getAttributeDefinition(VENDOR_TYPE);
+        verify(secondDictionary, times(1)).getAttributeDefinition(VENDOR_TYPE);
+        verify(secondDictionary, times(1)).getAttributeDefinition(UNKNOWN_VENDOR_TYPE);
+        verify(secondDictionary, times(1)).getTlvDefinition(any());
+    }
+
+    @Test
+    @DisplayName("Vendor-specific attribute definitions are indexed when the dictionaries know their vendors")
+    void vendorIndex() {
+        AttributeDefinition<?, ?> firstDefinition = STANDARD_DICTIONARY.getAttributeDefinition(1);
+        AttributeDefinition<?, ?> secondDefinition = STANDARD_DICTIONARY.getAttributeDefinition(2);
+
+        Dictionary firstDictionary = mock(Dictionary.class);
+        when(firstDictionary.getVendorIds()).thenReturn(new int[] {9});
+        when(firstDictionary.getVendorAttributeDefinition(9, 1)).then(invocation -> firstDefinition);
+
+        Dictionary secondDictionary = mock(Dictionary.class);
+        when(secondDictionary.getVendorIds()).thenReturn(new int[] {311, 9});
+        when(secondDictionary.getVendorAttributeDefinition(9, 1)).then(invocation -> secondDefinition);
+        when(secondDictionary.getVendorAttributeDefinition(311, 1)).then(invocation -> secondDefinition);
+
+        Dictionary dictionary = Dictionaries.of(STANDARD_DICTIONARY, firstDictionary, secondDictionary);
+
+        assertArrayEquals(new int[] {9, 311}, dictionary.getVendorIds());
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(firstDefinition, dictionary.getVendorAttributeDefinition(9, 1));
+            assertSame(secondDefinition, dictionary.getVendorAttributeDefinition(311, 1));
+            assertNull(dictionary.getVendorAttributeDefinition(9, 2));
+            assertNull(dictionary.getVendorAttributeDefinition(5, 1));
+        }
+
+        verify(secondDictionary, never()).getVendorAttributeDefinition(9, 1);
+        verify(secondDictionary, times(1)).getVendorAttributeDefinition(311, 1);
+        verify(secondDictionary, never()).getAttributeDefinition(any(AttributeType.class));
+    }
+
+    @Test
+    @DisplayName("Definitions looked up by numbers out of range are not found")
+    void outOfRange() {
+        Dictionary dictionary = Dictionaries.of(STANDARD_DICTIONARY, mock(Dictionary.class));
+
+        assertNull(dictionary.getPacketDefinition(-1));
+        assertNull(dictionary.getPacketDefinition(256));
+        assertNull(dictionary.getAttributeDefinition(-1));
+        assertNull(dictionary.getAttributeDefinition(256));
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.core.dictionary;
+
+import org.aaa4j.radius.core.attribute.attributes.UserName;
+import org.aaa4j.radius.core.dictionary.dictionaries.StandardDictionary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("ReloadableDictionary")
+class ReloadableDictionaryTest {
+
+    private static final Dictionary STANDARD_DICTIONARY = new StandardDictionary();
+
+    @Test
+    @DisplayName("Lookups use the dictionary in use")
+    void setDictionary() {
+        ReloadableDictionary dictionary = new ReloadableDictionary(mock(Dictionary.class));
+
+        assertNull(dictionary.getAttributeDefinition(1));
+        assertNull(dictionary.getAttributeDefinition("user-name"));
+
+        dictionary.setDictionary(STANDARD_DICTIONARY);
+
+        assertEquals(UserName.class, dictionary.getAttributeDefinition(1).getAttributeClass());
+        assertEquals(UserName.class, dictionary.getAttributeDefinition(UserName.TYPE).getAttributeClass());
+        assertEquals(UserName.class, dictionary.getAttributeDefinition("user-name").getAttributeClass());
+        assertSame(STANDARD_DICTIONARY, dictionary.snapshot());
+    }
+
+    @Test
+    @DisplayName("A reload replaces the dictionary once the new dictionary is built")
+    void reload() {
+        Dictionary initialDictionary = mock(Dictionary.class);
+        ReloadableDictionary dictionary = new ReloadableDictionary(initialDictionary);
+        List<Runnable> tasks = new ArrayList<>();
+
+        CompletableFuture<Dictionary> future = dictionary.reload(() -> STANDARD_DICTIONARY, tasks::add);
+
+        assertSame(initialDictionary, dictionary.getDictionary());
+
+        tasks.forEach(Runnable::run);
+
+        assertSame(STANDARD_DICTIONARY, future.join());
+        assertSame(STANDARD_DICTIONARY, dictionary.snapshot());
+    }
+
+    @Test
+    @DisplayName("A failed reload keeps the dictionary in use")
+    void failedReload() {
+        ReloadableDictionary dictionary = new ReloadableDictionary(STANDARD_DICTIONARY);
+
+        CompletableFuture<Dictionary> future = dictionary.reload(() -> {
+            throw new IllegalArgumentException("Invalid dictionary");
+        }, Runnable::run);
+
+        assertTrue(future.isCompletedExceptionally());
+        assertSame(STANDARD_DICTIONARY, dictionary.snapshot());
+    }
+
+    @Test
+    @DisplayName("A reload doesn't replace a dictionary set after it started")
+    void outdatedReload() {
+        ReloadableDictionary dictionary = new ReloadableDictionary(mock(Dictionary.class));
+        List<Runnable> tasks = new ArrayList<>();
+
+        CompletableFuture<Dictionary> future = dictionary.reload(() -> mock(Dictionary.class), tasks::add);
+
+        dictionary.setDictionary(STANDARD_DICTIONARY);
+        tasks.forEach(Runnable::run);
+
+        assertTrue(future.isCompletedExceptionally());
+        assertSame(STANDARD_DICTIONARY, dictionary.snapshot());
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.core.dictionary.dictionaries;
+
+import org.aaa4j.radius.core.attribute.AttributeType;
+import org.aaa4j.radius.core.attribute.attributes.UserName;
+import org.aaa4j.radius.core.dictionary.Dictionary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("StandardDictionary")
+class StandardDictionaryTest {
+
+    @Test
+    @DisplayName("Top-level attribute definitions looked up by type number match those looked up by attribute type")
+    void getTopLevelAttributeDefinition() {
+        Dictionary dictionary = new StandardDictionary();
+
+        for (int type = 0; type < 256; type++) {
+            assertSame(dictionary.getAttributeDefinition(new AttributeType(type)),
+                    dictionary.getAttributeDefinition(type));
+        }
+
+        assertEquals(UserName.class, dictionary.getAttributeDefinition(1).getAttributeClass());
+    }
+
+    @Test
+    @DisplayName("Definitions looked up by numbers out of range are not found")
+    void outOfRange() {
+        Dictionary dictionary = new StandardDictionary();
+
+        assertNull(dictionary.getPacketDefinition(-1));
+        assertNull(dictionary.getPacketDefinition(256));
+        assertNull(dictionary.getAttributeDefinition(-1));
+        assertNull(dictionary.getAttributeDefinition(256));
+    }
+
+    @Test
+    @DisplayName("Vendor-specific attribute definitions are not in the standard dictionary")
+    void getVendorAttributeDefinition() {
+        Dictionary dictionary = new StandardDictionary();
+
+        assertNull(dictionary.getVendorAttributeDefinition(9, 1));
+        assertNull(dictionary.getAttributeDefinition(new AttributeType(26, 9, 1)));
+    }
+
+}
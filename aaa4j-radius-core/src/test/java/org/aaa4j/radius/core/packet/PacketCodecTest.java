@@ -16,12 +16,19 @@
 
 package org.aaa4j.radius.core.packet;
 
+import org.aaa4j.radius.core.attribute.AttributeCodec;
 import org.aaa4j.radius.core.attribute.AttributeType;
 import org.aaa4j.radius.core.attribute.RawAttribute;
+import org.aaa4j.radius.core.attribute.TextData;
+import org.aaa4j.radius.core.attribute.attributes.NasIdentifier;
+import org.aaa4j.radius.core.attribute.attributes.ReplyMessage;
+import org.aaa4j.radius.core.attribute.attributes.UserName;
 import org.aaa4j.radius.core.dictionary.AttributeDefinition;
 import org.aaa4j.radius.core.dictionary.Dictionary;
 import org.aaa4j.radius.core.dictionary.PacketDefinition;
 import org.aaa4j.radius.core.dictionary.TlvDefinition;
+import org.aaa4j.radius.core.dictionary.dictionaries.StandardDictionary;
+import org.aaa4j.radius.core.packet.packets.AccessRequest;
 import org.aaa4j.radius.core.util.RandomProvider;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +36,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 
 import static java.nio.charset.StandardCharsets.US_ASCII;
@@ -36,9 +46,15 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.aaa4j.radius.core.Utils.fromHex;
 import static org.aaa4j.radius.core.Utils.toHex;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @DisplayName("PacketCodec")
@@ -211,6 +227,19 @@ class PacketCodecTest {
                     requestPacket.getAttributes().get(2));
         }
 
+        @Test
+        @DisplayName("Decoding Accounting-Request packet doesn't modify the packet bytes")
+        void decodeRequestDoesNotModifyBytes() throws PacketCodecException {
+            byte[] encoded = fromHex("042a00295129abcd7a107c329bee6866d2887782200753534944312806000000" +
+                    "012c08616263313233");
+
+            packetCodec.decodeRequest(encoded, "abc123".getBytes(US_ASCII));
+
+            assertEquals("042a00295129abcd7a107c329bee6866d2887782200753534944312806000000" +
+                            "012c08616263313233",
+                    toHex(encoded));
+        }
+
         @Test
         @DisplayName("Accounting-Request packet with invalid request authenticator throws codec exception")
         void decodeRequestWithInvalidRequestAuthenticatorThrows() throws PacketCodecException {
@@ -468,4 +497,390 @@ class PacketCodecTest {
 
     }
 
+    @Nested
+    @DisplayName("Buffer decoding")
+    class BufferDecoding {
+
+        @Test
+        @DisplayName("Request packet in a region of a heap buffer is decoded successfully")
+        void decodeRequestFromHeapBuffer() throws PacketCodecException {
+            ByteBuffer buffer = ByteBuffer.wrap(fromHex("ffffff012a0038f58c0714b19ce47b2e4976e62dd7d6fc01066a646f6520" +
+                    "0c303061316232633364345012dd82a2f526c29b98961566bb6b284e0dffff"));
+
+            Packet requestPacket = packetCodec.decodeRequest(buffer, 3, 56, "abc123".getBytes(US_ASCII));
+
+            assertEquals(1, requestPacket.getCode());
+            assertEquals(42, requestPacket.getReceivedFields().getIdentifier());
+            assertEquals(3, requestPacket.getAttributes().size());
+            assertEquals(new RawAttribute(1, "jdoe".getBytes(UTF_8)),
+                    requestPacket.getAttributes().get(0));
+            assertEquals(new RawAttribute(80, fromHex("dd82a2f526c29b98961566bb6b284e0d")),
+                    requestPacket.getAttributes().get(2));
+            assertEquals(0, buffer.position());
+        }
+
+        @Test
+        @DisplayName("Accounting-Request packet in a direct buffer is decoded successfully")
+        void decodeAccountingRequestFromDirectBuffer() throws PacketCodecException {
+            byte[] encoded = fromHex("042a00295129abcd7a107c329bee6866d2887782200753534944312806000000" +
+                    "012c08616263313233");
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(100);
+            buffer.position(10);
+            buffer.put(encoded);
+
+            Packet requestPacket = packetCodec.decodeRequest(buffer, 10, encoded.length,
+                    "abc123".getBytes(US_ASCII));
+
+            assertEquals(4, requestPacket.getCode());
+            assertEquals("5129abcd7a107c329bee6866d2887782",
+                    toHex(requestPacket.getReceivedFields().getAuthenticator()));
+            assertEquals(new RawAttribute(44, fromHex("616263313233")),
+                    requestPacket.getAttributes().get(2));
+        }
+
+        @Test
+        @DisplayName("Response packet with a message authenticator in a direct buffer is decoded successfully")
+        void decodeResponseFromDirectBuffer() throws PacketCodecException {
+            byte[] encoded = fromHex("022a003539bbf61c668c400d60fb501ce792cc620b0f41646d696e6973747261746f72" +
+                    "50123e5fb5763904507ab322e0121088aadf");
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(encoded.length);
+            buffer.put(encoded);
+            buffer.flip();
+
+            Packet responsePacket = packetCodec.decodeResponse(buffer, 0, encoded.length,
+                    "abc123".getBytes(US_ASCII), fromHex("f58c0714b19ce47b2e4976e62dd7d6fc"));
+
+            assertEquals(2, responsePacket.getAttributes().size());
+            assertEquals(new RawAttribute(80, fromHex("3e5fb5763904507ab322e0121088aadf")),
+                    responsePacket.getAttributes().get(1));
+        }
+
+        @Test
+        @DisplayName("Decoding request packet in a direct buffer with invalid message authenticator throws codec "
+                + "exception")
+        void decodeRequestFromDirectBufferWithInvalidMessageAuthenticatorThrows() {
+            byte[] encoded = fromHex("012a0038f58c0714b19ce47b2e4976e62dd7d6fc01066a646f65200c30306131623263336434" +
+                    "5012dd82a2f526c29b98961566bb6b284e0d");
+
+            // Mangle the message authenticator
+            encoded[40] = 0x00;
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(encoded.length);
+            buffer.put(encoded);
+
+            assertThrows(PacketCodecException.class, () -> {
+                packetCodec.decodeRequest(buffer, 0, encoded.length, "abc123".getBytes(US_ASCII));
+            });
+        }
+
+        @Test
+        @DisplayName("Decoding request packet with length different from the region length throws codec exception")
+        void requestPacketLengthMismatchThrows() {
+            ByteBuffer buffer = ByteBuffer.wrap(fromHex("012a0026f58c0714b19ce47b2e4976e62dd7d6fc01066a646f65200c" +
+                    "30306131623263336434ffff"));
+
+            assertThrows(PacketCodecException.class, () -> {
+                packetCodec.decodeRequest(buffer, 0, 40, "abc123".getBytes(US_ASCII));
+            });
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Buffer encoding")
+    class BufferEncoding {
+
+        @Test
+        @DisplayName("Request packet with a message authenticator is encoded into a heap buffer successfully")
+        void encodeRequestIntoHeapBuffer() throws PacketCodecException {
+            when(mockedPacketIdGenerator.nextId()).thenReturn(42);
+
+            Packet requestPacket = new Packet(1, List.of(
+                    new RawAttribute(1, "jdoe".getBytes(UTF_8)),
+                    new RawAttribute(32, "00a1b2c3d4".getBytes(UTF_8)),
+                    new RawAttribute(80, new byte[16])));
+
+            ByteBuffer buffer = ByteBuffer.allocate(100);
+            buffer.position(3);
+
+            int length = packetCodec.encodeRequest(requestPacket, "abc123".getBytes(US_ASCII),
+                    fromHex("f58c0714b19ce47b2e4976e62dd7d6fc"), buffer);
+
+            assertEquals(56, length);
+            assertEquals(59, buffer.position());
+            assertEquals("012a0038f58c0714b19ce47b2e4976e62dd7d6fc01066a646f65200c30306131623263336434" +
+                    "5012dd82a2f526c29b98961566bb6b284e0d",
+                    toHex(Arrays.copyOfRange(buffer.array(), 3, 59)));
+        }
+
+        @Test
+        @DisplayName("Accounting-Request packet is encoded into a direct buffer successfully")
+        void encodeAccountingRequestIntoDirectBuffer() throws PacketCodecException {
+            when(mockedPacketIdGenerator.nextId()).thenReturn(42);
+
+            Packet requestPacket = new Packet(4, List.of(
+                    new RawAttribute(32, fromHex("5353494431")),
+                    new RawAttribute(40, fromHex("00000001")),
+                    new RawAttribute(44, fromHex("616263313233"))));
+
+            byte[] accountingRequestAuthenticator = new byte[16];
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(100);
+
+            int length = packetCodec.encodeRequest(requestPacket, "abc123".getBytes(US_ASCII),
+                    accountingRequestAuthenticator, buffer);
+
+            buffer.flip();
+
+            byte[] actual = new byte[buffer.remaining()];
+            buffer.get(actual);
+
+            assertEquals(41, length);
+            assertEquals("042a00295129abcd7a107c329bee6866d2887782200753534944312806000000" +
+                            "012c08616263313233",
+                    toHex(actual));
+            assertEquals("5129abcd7a107c329bee6866d2887782",
+                    toHex(accountingRequestAuthenticator));
+        }
+
+        @Test
+        @DisplayName("Response packet with a message authenticator is encoded into a direct buffer successfully")
+        void encodeResponseIntoDirectBuffer() throws PacketCodecException {
+            Packet responsePacket = new Packet(2, List.of(
+                    new RawAttribute(11, "Administrator".getBytes(UTF_8)),
+                    new RawAttribute(80, new byte[16])));
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(100);
+
+            int length = packetCodec.encodeResponse(responsePacket, "abc123".getBytes(US_ASCII), 42,
+                    fromHex("f58c0714b19ce47b2e4976e62dd7d6fc"), buffer);
+
+            buffer.flip();
+
+            byte[] actual = new byte[buffer.remaining()];
+            buffer.get(actual);
+
+            assertEquals(53, length);
+            assertEquals("022a003539bbf61c668c400d60fb501ce792cc620b0f41646d696e6973747261746f72" +
+                    "50123e5fb5763904507ab322e0121088aadf",
+                    toHex(actual));
+        }
+
+        @Test
+        @DisplayName("Request packet with dictionary attributes is encoded into a buffer the same as into bytes")
+        void encodeRequestAttributesIntoBuffer() throws PacketCodecException {
+            when(mockedPacketIdGenerator.nextId()).thenReturn(42);
+
+            PacketCodec packetCodec = new PacketCodec(new StandardDictionary(), mockedRandomProvider,
+                    mockedPacketIdGenerator);
+
+            Packet requestPacket = new Packet(1, List.of(
+                    new UserName(new TextData("jdoe")),
+                    new NasIdentifier(new TextData("00a1b2c3d4")),
+                    new RawAttribute(80, new byte[16])));
+
+            byte[] expected = packetCodec.encodeRequest(requestPacket, "abc123".getBytes(US_ASCII),
+                    fromHex("f58c0714b19ce47b2e4976e62dd7d6fc"));
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(100);
+
+            int length = packetCodec.encodeRequest(requestPacket, "abc123".getBytes(US_ASCII),
+                    fromHex("f58c0714b19ce47b2e4976e62dd7d6fc"), buffer);
+
+            buffer.flip();
+
+            byte[] actual = new byte[buffer.remaining()];
+            buffer.get(actual);
+
+            assertEquals(expected.length, length);
+            assertEquals(toHex(expected), toHex(actual));
+        }
+
+        @Test
+        @DisplayName("Encoding response packet into a buffer that is too small throws buffer overflow exception")
+        void encodeResponseIntoSmallBufferThrows() {
+            Packet responsePacket = new Packet(2, List.of(
+                    new RawAttribute(11, "Administrator".getBytes(UTF_8))));
+
+            ByteBuffer buffer = ByteBuffer.allocate(34);
+
+            assertThrows(BufferOverflowException.class, () -> {
+                packetCodec.encodeResponse(responsePacket, "abc123".getBytes(US_ASCII), 42,
+                        fromHex("f58c0714b19ce47b2e4976e62dd7d6fc"), buffer);
+            });
+
+            assertEquals(0, buffer.position());
+        }
+
+    }
+
+
+    @Nested
+    @DisplayName("Lazy attribute decoding")
+    class LazyDecoding {
+
+        @Test
+        @DisplayName("Lazily decoded request attributes are looked up by class")
+        void getAttributeByClass() throws PacketCodecException {
+            PacketCodec lazyPacketCodec = new PacketCodec(new StandardDictionary(), mockedRandomProvider,
+                    mockedPacketIdGenerator, true);
+
+            byte[] encoded = fromHex("012a0026f58c0714b19ce47b2e4976e62dd7d6fc01066a646f65200c30306131623263336434");
+
+            Packet requestPacket = lazyPacketCodec.decodeRequest(encoded, "abc123".getBytes(US_ASCII));
+
+            assertEquals("00a1b2c3d4", requestPacket.getAttribute(NasIdentifier.class).get().getData().getValue());
+            assertEquals("jdoe", requestPacket.getAttribute(UserName.class).get().getData().getValue());
+            assertEquals(1, requestPacket.getAttributes(UserName.class).size());
+            assertFalse(requestPacket.getAttribute(ReplyMessage.class).isPresent());
+            assertEquals(0, requestPacket.getAttributes(RawAttribute.class).size());
+            assertEquals(2, requestPacket.getAttributes().size());
+            assertEquals(UserName.class, requestPacket.getAttributes().get(0).getClass());
+            assertEquals(NasIdentifier.class, requestPacket.getAttributes().get(1).getClass());
+        }
+
+        @Test
+        @DisplayName("Only the attributes that may be of the requested class are decoded")
+        void onlyRequestedAttributesDecoded() throws PacketCodecException {
+            Dictionary standardDictionary = new StandardDictionary();
+
+            AttributeCodec spiedAttributeCodec =
+                    spy(standardDictionary.getAttributeDefinition(NasIdentifier.TYPE).getAttributeCodec());
+
+            AttributeDefinition<NasIdentifier, TextData> nasIdentifierDefinition = new AttributeDefinition<>(
+                    NasIdentifier.TYPE, NasIdentifier.NAME, NasIdentifier.class, TextData.class,
+                    spiedAttributeCodec, NasIdentifier::new).withExactAttributeClass();
+
+            PacketCodec lazyPacketCodec = newLazyPacketCodec(standardDictionary, nasIdentifierDefinition);
+
+            byte[] encoded = fromHex("012a0026f58c0714b19ce47b2e4976e62dd7d6fc01066a646f65200c30306131623263336434");
+
+            Packet requestPacket = lazyPacketCodec.decodeRequest(encoded, "abc123".getBytes(US_ASCII));
+
+            assertEquals("jdoe", requestPacket.getAttribute(UserName.class).get().getData().getValue());
+            verify(spiedAttributeCodec, never()).decode(any(), any());
+
+            assertEquals(NasIdentifier.class, requestPacket.getAttributes().get(1).getClass());
+            verify(spiedAttributeCodec).decode(any(), any());
+        }
+
+        @Test
+        @DisplayName("Attributes of definitions without an exact attribute class are always decoded")
+        void inexactAttributeClassDecoded() throws PacketCodecException {
+            Dictionary standardDictionary = new StandardDictionary();
+
+            AttributeCodec spiedAttributeCodec =
+                    spy(standardDictionary.getAttributeDefinition(NasIdentifier.TYPE).getAttributeCodec());
+
+            AttributeDefinition<NasIdentifier, TextData> nasIdentifierDefinition = new AttributeDefinition<>(
+                    NasIdentifier.TYPE, NasIdentifier.NAME, NasIdentifier.class, TextData.class,
+                    spiedAttributeCodec, NasIdentifier::new);
+
+            PacketCodec lazyPacketCodec = newLazyPacketCodec(standardDictionary, nasIdentifierDefinition);
+
+            byte[] encoded = fromHex("012a0026f58c0714b19ce47b2e4976e62dd7d6fc01066a646f65200c30306131623263336434");
+
+            for (int i = 1; i <= 2; i++) {
+                Packet requestPacket = lazyPacketCodec.decodeRequest(encoded, "abc123".getBytes(US_ASCII));
+
+                assertEquals("jdoe", requestPacket.getAttribute(UserName.class).get().getData().getValue());
+                verify(spiedAttributeCodec, times(i)).decode(any(), any());
+            }
+        }
+
+        @Test
+        @DisplayName("Attributes of definitions with a mismatched attribute class are found")
+        void mismatchedAttributeClassDecoded() throws PacketCodecException {
+            Dictionary standardDictionary = new StandardDictionary();
+
+            // Declares a different attribute class than the attribute class the codec decodes to
+            AttributeDefinition<ReplyMessage, TextData> nasIdentifierDefinition = new AttributeDefinition<>(
+                    NasIdentifier.TYPE, NasIdentifier.NAME, ReplyMessage.class, TextData.class,
+                    standardDictionary.getAttributeDefinition(NasIdentifier.TYPE).getAttributeCodec(),
+                    ReplyMessage::new);
+
+            PacketCodec lazyPacketCodec = newLazyPacketCodec(standardDictionary, nasIdentifierDefinition);
+
+            byte[] encoded = fromHex("012a0026f58c0714b19ce47b2e4976e62dd7d6fc01066a646f65200c30306131623263336434");
+
+            for (int i = 0; i < 2; i++) {
+                Packet requestPacket = lazyPacketCodec.decodeRequest(encoded, "abc123".getBytes(US_ASCII));
+
+                assertFalse(requestPacket.getAttribute(ReplyMessage.class).isPresent());
+                assertEquals("00a1b2c3d4",
+                        requestPacket.getAttribute(NasIdentifier.class).get().getData().getValue());
+            }
+        }
+
+        @Test
+        @DisplayName("Decoding request packet lazily with invalid message authenticator throws codec exception")
+        void invalidMessageAuthenticatorThrows() {
+            PacketCodec lazyPacketCodec = new PacketCodec(new StandardDictionary(), mockedRandomProvider,
+                    mockedPacketIdGenerator, true);
+
+            byte[] encoded = fromHex("012a0038f58c0714b19ce47b2e4976e62dd7d6fc01066a646f65200c30306131623263336434" +
+                    "5012dd82a2f526c29b98961566bb6b284e0d");
+
+            // Mangle the message authenticator
+            encoded[40] = 0x00;
+
+            assertThrows(PacketCodecException.class, () -> {
+                lazyPacketCodec.decodeRequest(encoded, "abc123".getBytes(US_ASCII));
+            });
+        }
+
+        /**
+         * Creates a lazy packet codec with a dictionary that replaces the NAS-Identifier definition of the standard
+         * dictionary.
+         */
+        private PacketCodec newLazyPacketCodec(Dictionary standardDictionary,
+                                               AttributeDefinition<?, ?> nasIdentifierDefinition)
+        {
+            Dictionary dictionary = new EmptyDictionary() {
+                @Override
+                public AttributeDefinition getAttributeDefinition(AttributeType type) {
+                    if (type.equals(NasIdentifier.TYPE)) {
+                        return nasIdentifierDefinition;
+                    }
+
+                    return standardDictionary.getAttributeDefinition(type);
+                }
+            };
+
+            return new PacketCodec(dictionary, mockedRandomProvider, mockedPacketIdGenerator, true);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Dictionary snapshots")
+    class DictionarySnapshots {
+
+        @Test
+        @DisplayName("Packets are decoded with a snapshot of the dictionary")
+        void decodeWithSnapshot() throws PacketCodecException {
+            Dictionary standardDictionary = new StandardDictionary();
+
+            Dictionary dictionary = new EmptyDictionary() {
+                @Override
+                public Dictionary snapshot() {
+                    return standardDictionary;
+                }
+            };
+
+            PacketCodec snapshotPacketCodec = new PacketCodec(dictionary, mockedRandomProvider,
+                    mockedPacketIdGenerator);
+
+            byte[] encoded = fromHex("012a0026f58c0714b19ce47b2e4976e62dd7d6fc01066a646f65200c30306131623263336434");
+
+            Packet requestPacket = snapshotPacketCodec.decodeRequest(encoded, "abc123".getBytes(US_ASCII));
+
+            assertEquals("jdoe", requestPacket.getAttribute(UserName.class).get().getData().getValue());
+            assertEquals(AccessRequest.class, requestPacket.getClass());
+        }
+
+    }
+
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.core.packet;
+
+import org.aaa4j.radius.core.attribute.Attribute;
+import org.aaa4j.radius.core.attribute.RawAttribute;
+import org.aaa4j.radius.core.attribute.StandardAttribute;
+import org.aaa4j.radius.core.attribute.TextData;
+import org.aaa4j.radius.core.attribute.attributes.ReplyMessage;
+import org.aaa4j.radius.core.attribute.attributes.UserName;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Packet")
+class PacketTest {
+
+    private static final Packet.ReceivedFields RECEIVED_FIELDS = new Packet.ReceivedFields(42, new byte[16]);
+
+    @Test
+    @DisplayName("Attributes of a received packet are looked up by class")
+    void getAttributeOfReceivedPacket() {
+        UserName userName = new UserName(new TextData("jdoe"));
+        ReplyMessage replyMessage1 = new ReplyMessage(new TextData("Hello"));
+        ReplyMessage replyMessage2 = new ReplyMessage(new TextData("World"));
+        RawAttribute rawAttribute = new RawAttribute(250, "abc".getBytes(UTF_8));
+
+        Packet packet = new Packet(2, List.of(replyMessage1, userName, rawAttribute, replyMessage2), RECEIVED_FIELDS);
+
+        assertSame(userName, packet.getAttribute(UserName.class).get());
+        assertSame(replyMessage1, packet.getAttribute(ReplyMessage.class).get());
+        assertEquals(List.of(replyMessage1, replyMessage2), packet.getAttributes(ReplyMessage.class));
+        assertEquals(List.of(rawAttribute), packet.getAttributes(RawAttribute.class));
+
+        // Repeated lookups return the same attributes
+        assertSame(userName, packet.getAttribute(UserName.class).get());
+        assertEquals(List.of(replyMessage1, replyMessage2), packet.getAttributes(ReplyMessage.class));
+    }
+
+    @Test
+    @DisplayName("Attributes of a received packet are looked up by supertype in packet order")
+    void getAttributesBySupertype() {
+        UserName userName = new UserName(new TextData("jdoe"));
+        ReplyMessage replyMessage1 = new ReplyMessage(new TextData("Hello"));
+        ReplyMessage replyMessage2 = new ReplyMessage(new TextData("World"));
+        RawAttribute rawAttribute = new RawAttribute(250, "abc".getBytes(UTF_8));
+
+        Packet packet = new Packet(2, List.of(replyMessage1, userName, rawAttribute, replyMessage2), RECEIVED_FIELDS);
+
+        assertEquals(List.of(replyMessage1, userName, replyMessage2), packet.getAttributes(StandardAttribute.class));
+
+        @SuppressWarnings("unchecked")
+        Class<Attribute<?>> attributeClass = (Class<Attribute<?>>) (Class<?>) Attribute.class;
+
+        assertEquals(List.of(replyMessage1, userName, rawAttribute, replyMessage2),
+                packet.getAttributes(attributeClass));
+    }
+
+    @Test
+    @DisplayName("Attributes of a received packet are returned as unmodifiable lists without copying")
+    void getAttributesOfReceivedPacketNotCopied() {
+        UserName userName = new UserName(new TextData("jdoe"));
+        ReplyMessage replyMessage1 = new ReplyMessage(new TextData("Hello"));
+        ReplyMessage replyMessage2 = new ReplyMessage(new TextData("World"));
+
+        Packet packet = new Packet(2, List.of(replyMessage1, userName, replyMessage2), RECEIVED_FIELDS);
+
+        assertSame(packet.getAttributes(ReplyMessage.class), packet.getAttributes(ReplyMessage.class));
+        assertSame(packet.getAttributes(StandardAttribute.class), packet.getAttributes(StandardAttribute.class));
+        assertThrows(UnsupportedOperationException.class, () -> packet.getAttributes(UserName.class).clear());
+        assertThrows(UnsupportedOperationException.class, () -> packet.getAttributes(ReplyMessage.class).clear());
+    }
+
+    @Test
+    @DisplayName("Looking up a missing attribute class of a received packet returns nothing")
+    void getMissingAttributeOfReceivedPacket() {
+        Packet packet = new Packet(2, List.of(new UserName(new TextData("jdoe"))), RECEIVED_FIELDS);
+
+        assertFalse(packet.getAttribute(ReplyMessage.class).isPresent());
+        assertEquals(List.of(), packet.getAttributes(ReplyMessage.class));
+    }
+
+    @Test
+    @DisplayName("Attributes of a packet to be transmitted reflect changes to the attribute list")
+    void getAttributeOfModifiedPacket() {
+        List<Attribute<?>> attributes = new ArrayList<>();
+
+        Packet packet = new Packet(2, attributes);
+
+        assertFalse(packet.getAttribute(UserName.class).isPresent());
+
+        UserName userName = new UserName(new TextData("jdoe"));
+        attributes.add(userName);
+
+        assertSame(userName, packet.getAttribute(UserName.class).get());
+    }
+
+}
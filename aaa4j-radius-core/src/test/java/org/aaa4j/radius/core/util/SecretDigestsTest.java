@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.aaa4j.radius.core.Utils.toHex;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("SecretDigests")
+class SecretDigestsTest {
+
+    @Test
+    @DisplayName("Secret MD5 instances digest the secret followed by the data")
+    void newSecretMd5() {
+        SecretDigests secretDigests = SecretDigests.of("abc123".getBytes(US_ASCII));
+
+        MessageDigest md5 = secretDigests.newSecretMd5();
+        md5.update("hello".getBytes(US_ASCII));
+
+        // The instances are independent of each other
+        MessageDigest otherMd5 = secretDigests.newSecretMd5();
+        otherMd5.update("hello".getBytes(US_ASCII));
+
+        assertEquals("9c9adb127ed9d7b5ae46010f7ebb9026", toHex(md5.digest()));
+        assertEquals("9c9adb127ed9d7b5ae46010f7ebb9026", toHex(otherMd5.digest()));
+    }
+
+    @Test
+    @DisplayName("HMAC-MD5 instances are keyed with the secret")
+    void newHmacMd5() throws InvalidKeyException {
+        SecretDigests secretDigests = SecretDigests.of("abc123".getBytes(US_ASCII));
+
+        Mac hmacMd5 = secretDigests.newHmacMd5();
+        hmacMd5.update("hello".getBytes(US_ASCII));
+
+        Mac otherHmacMd5 = secretDigests.newHmacMd5();
+        otherHmacMd5.update("hello".getBytes(US_ASCII));
+
+        assertEquals("18e21f3d1172141bdb58e14e0203fab9", toHex(hmacMd5.doFinal()));
+        assertEquals("18e21f3d1172141bdb58e14e0203fab9", toHex(otherHmacMd5.doFinal()));
+    }
+
+    @Test
+    @DisplayName("Thread MD5 instance is reset before use")
+    void getMd5() {
+        SecretDigests.getMd5().update("leftover".getBytes(US_ASCII));
+
+        MessageDigest md5 = SecretDigests.getMd5();
+        md5.update("hello".getBytes(US_ASCII));
+
+        assertEquals("5d41402abc4b2a76b9719d911017c592", toHex(md5.digest()));
+    }
+
+    @Test
+    @DisplayName("Digests are cached per secret value")
+    void cachedPerSecret() {
+        SecretDigests.Cache cache = new SecretDigests.Cache(2);
+
+        assertSame(cache.get("abc123".getBytes(US_ASCII)), cache.get("abc123".getBytes(US_ASCII)));
+    }
+
+    @Test
+    @DisplayName("Digests are looked up by the current value of the secret")
+    void lookedUpBySecretValue() {
+        SecretDigests.Cache cache = new SecretDigests.Cache(2);
+
+        byte[] secret = "abc123".getBytes(US_ASCII);
+        SecretDigests secretDigests = cache.get(secret);
+
+        secret[0] = 'x';
+
+        assertNotSame(secretDigests, cache.get(secret));
+        assertSame(secretDigests, cache.get("abc123".getBytes(US_ASCII)));
+    }
+
+    @Test
+    @DisplayName("Digests of the least recently used secret are evicted")
+    void leastRecentlyUsedEvicted() {
+        SecretDigests.Cache cache = new SecretDigests.Cache(2);
+
+        SecretDigests firstSecretDigests = cache.get("first".getBytes(US_ASCII));
+        SecretDigests secondSecretDigests = cache.get("second".getBytes(US_ASCII));
+
+        // Makes the second secret the least recently used
+        cache.get("first".getBytes(US_ASCII));
+        cache.get("third".getBytes(US_ASCII));
+
+        assertSame(firstSecretDigests, cache.get("first".getBytes(US_ASCII)));
+        assertNotSame(secondSecretDigests, cache.get("second".getBytes(US_ASCII)));
+    }
+
+    @Test
+    @DisplayName("Empty secret throws invalid key exception for HMAC-MD5")
+    void emptySecretHmacMd5Throws() {
+        SecretDigests secretDigests = SecretDigests.of(new byte[0]);
+
+        assertThrows(InvalidKeyException.class, secretDigests::newHmacMd5);
+    }
+
+}
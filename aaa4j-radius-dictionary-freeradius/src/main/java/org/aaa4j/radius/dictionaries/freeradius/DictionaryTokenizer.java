@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.dictionaries.freeradius;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits FreeRADIUS dictionary files into the whitespace-separated tokens of each line. The input is read in a single
+ * pass, skipping comments (from '#' to the end of the line) and lines without tokens.
+ */
+final class DictionaryTokenizer {
+
+    private final Reader reader;
+
+    private final char[] buffer = new char[8192];
+
+    private int position;
+
+    private int limit;
+
+    private int lineNumber;
+
+    private final StringBuilder token = new StringBuilder();
+
+    private final List<String> tokens = new ArrayList<>();
+
+    DictionaryTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the tokens of the next line with tokens.
+     *
+     * @return the tokens of the line or null at the end of the input
+     */
+    String[] nextLine() throws IOException {
+        tokens.clear();
+
+        boolean isComment = false;
+
+        while (true) {
+            int c = read();
+
+            if (c == -1 || c == '\n') {
+                lineNumber++;
+                endToken();
+
+                if (!tokens.isEmpty()) {
+                    return tokens.toArray(new String[0]);
+                }
+
+                if (c == -1) {
+                    return null;
+                }
+
+                isComment = false;
+            }
+            else if (isComment) {
+                continue;
+            }
+            else if (c == '#') {
+                endToken();
+                isComment = true;
+            }
+            else if (c <= ' ') {
+                endToken();
+            }
+            else {
+                token.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of the line of the last tokens that were read.
+     *
+     * @return the line number (starting at 1)
+     */
+    int getLineNumber() {
+        return lineNumber;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+
+            if (limit <= 0) {
+                limit = 0;
+
+                return -1;
+            }
+        }
+
+        return buffer[position++];
+    }
+
+    private void endToken() {
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+            token.setLength(0);
+        }
+    }
+
+}
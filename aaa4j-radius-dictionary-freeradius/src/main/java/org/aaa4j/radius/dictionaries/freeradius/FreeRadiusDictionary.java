@@ -42,38 +42,50 @@ import org.aaa4j.radius.core.dictionary.Dictionary;
 import org.aaa4j.radius.core.dictionary.PacketDefinition;
 import org.aaa4j.radius.core.dictionary.TlvDefinition;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * A dictionary using FreeRADIUS dictionary files.
+ * A dictionary using FreeRADIUS dictionary files. The constructors use the dictionary files bundled with this library,
+ * while {@link #load(Path)} and {@link #load(InputStream)} load other dictionary files at runtime (e.g., vendor
+ * dictionaries to combine with the bundled dictionary using
+ * {@link org.aaa4j.radius.core.dictionary.Dictionaries#of(Dictionary...)}).
  */
 public class FreeRadiusDictionary implements Dictionary {
 
-    private static final Map<AttributeType, AttributeDefinition<?, ?>> typeAttributeDefinitionsMap = new HashMap<>();
-
-    private static final Map<String, AttributeDefinition<?, ?>> nameAttributeDefinitionsMap = new HashMap<>();
-
-    private static final Map<AttributeType, Map<String, Integer>> numericAttributeValueMap = new HashMap<>();
-
-    private static final Map<AttributeType, TlvDefinition> tlvDefinitionsMap = new HashMap<>();
-
     private static final String RESOURCE_BASE_PATH = "freeradius-dictionary/";
 
     private static final String ROOT_DICTIONARY_NAME = "dictionary";
 
     private static final String INCLUDE = "$INCLUDE";
 
+    private static final String OPTIONAL_INCLUDE = "$INCLUDE-";
+
     private static final String VENDOR = "VENDOR";
 
     private static final String BEGIN_VENDOR = "BEGIN-VENDOR";
@@ -90,1002 +102,1381 @@ public class FreeRadiusDictionary implements Dictionary {
 
     private static final String FLAGS = "FLAGS";
 
-    private static final Pattern DIGITS_PATTERN = Pattern.compile("^\\d+$");
-
     private static final int VENDOR_SPECIFIC_ATTRIBUTE = 26;
 
     private static final AttributeType VENDOR_SPECIFIC_ATTRIBUTE_TYPE =
             new AttributeType(VENDOR_SPECIFIC_ATTRIBUTE);
 
-    static {
+    /**
+     * The snapshot of the parsed dictionary files that is generated at build time (see {@link SnapshotGenerator}).
+     */
+    static final String SNAPSHOT_NAME = RESOURCE_BASE_PATH + "dictionary.snapshot";
+
+    private static final int SNAPSHOT_MAGIC = 0x46524453;
+
+    /**
+     * The version of the snapshot format. Must be changed along with the format or the {@link DataType} constants.
+     */
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private static final int SNAPSHOT_END_RECORD = 0;
+
+    private static final int SNAPSHOT_ATTRIBUTE_RECORD = 1;
+
+    private static final int SNAPSHOT_VALUE_RECORD = 2;
+
+    /**
+     * The definitions of all the dictionary files (null when lazy loading).
+     */
+    private final Definitions definitions;
+
+    /**
+     * The definitions of the dictionary files loaded on demand (null when not lazy loading).
+     */
+    private final LazyDefinitions lazyDefinitions;
+
+    /**
+     * Constructs a FreeRADIUS dictionary that loads all the dictionary files up front.
+     */
+    public FreeRadiusDictionary() {
+        this(false);
+    }
+
+    /**
+     * Constructs a FreeRADIUS dictionary. When lazy loading, the snapshot of the dictionary files is only split up front
+     * by vendor, and the attribute definitions of a vendor are created the first time one of them is looked up (by type
+     * or by name). Most deployments only use the attributes of a handful of the vendors in the dictionary, so this
+     * avoids creating the definitions of all the other vendors.
+     *
+     * @param isLazyLoading whether to create the vendor definitions on demand
+     */
+    public FreeRadiusDictionary(boolean isLazyLoading) {
+        if (isLazyLoading) {
+            this.definitions = null;
+            this.lazyDefinitions = LazyDefinitionsHolder.LAZY_DEFINITIONS;
+        }
+        else {
+            this.definitions = DefinitionsHolder.DEFINITIONS;
+            this.lazyDefinitions = null;
+        }
+    }
+
+    private FreeRadiusDictionary(Definitions definitions) {
+        this.definitions = definitions;
+        this.lazyDefinitions = null;
+    }
+
+    /**
+     * Loads a dictionary from a FreeRADIUS dictionary file. The files included with {@code $INCLUDE} (or
+     * {@code $INCLUDE-} for optional files) are loaded too, relative to the directory of the including file.
+     *
+     * @param file the dictionary file
+     *
+     * @return the dictionary
+     *
+     * @throws IOException if a dictionary file can't be read or is invalid
+     */
+    public static FreeRadiusDictionary load(Path file) throws IOException {
+        Objects.requireNonNull(file);
+
+        Definitions definitions = new Definitions();
+
+        parseDictionaryFile(file, definitions, new HashMap<>(), new HashSet<>());
+        definitions.index();
+
+        return new FreeRadiusDictionary(definitions);
+    }
+
+    /**
+     * Loads a dictionary from a FreeRADIUS dictionary read from an input stream. The dictionary can't include other
+     * files. The input stream isn't closed.
+     *
+     * @param inputStream the dictionary input stream
+     *
+     * @return the dictionary
+     *
+     * @throws IOException if the dictionary can't be read or is invalid
+     */
+    public static FreeRadiusDictionary load(InputStream inputStream) throws IOException {
+        Objects.requireNonNull(inputStream);
+
+        Definitions definitions = new Definitions();
+
+        parseDictionary("input stream", new InputStreamReader(inputStream, StandardCharsets.UTF_8), definitions,
+                definitions, new HashMap<>(), (includedFile, isOptional) -> {
+                    throw new IOException("Dictionaries loaded from an input stream can't include files: "
+                            + includedFile);
+                });
+        definitions.index();
+
+        return new FreeRadiusDictionary(definitions);
+    }
+
+    /**
+     * Gets the names of the dictionary files included by the root dictionary file, in order.
+     *
+     * @return list of dictionary file names
+     */
+    private static List<String> getIncludedFiles() {
+        try (Reader reader = openDictionaryFile(ROOT_DICTIONARY_NAME)) {
+            DictionaryTokenizer tokenizer = new DictionaryTokenizer(reader);
+            List<String> files = new ArrayList<>();
+
+            for (String[] tokens = tokenizer.nextLine(); tokens != null; tokens = tokenizer.nextLine()) {
+                if (tokens[0].equals(INCLUDE)) {
+                    files.add(tokens[1]);
+                }
+            }
+
+            return files;
+        }
+        catch (IOException e) {
+            throw new RuntimeException("Unable to load FreeRADIUS dictionary", e);
+        }
+    }
+
+    /**
+     * Loads the definitions of all the dictionary files from the snapshot, or parses the dictionary files when there is
+     * no usable snapshot (e.g., when running from sources that weren't built with Maven).
+     *
+     * @return the definitions
+     */
+    private static Definitions loadDefinitions() {
+        InputStream inputStream = FreeRadiusDictionary.class.getClassLoader().getResourceAsStream(SNAPSHOT_NAME);
+
+        if (inputStream != null) {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream, 65536))) {
+                Definitions definitions = readSnapshot(input);
+
+                if (definitions != null) {
+                    return definitions;
+                }
+            }
+            catch (IOException e) {
+                throw new RuntimeException("Unable to load FreeRADIUS dictionary", e);
+            }
+        }
+
+        return parseDictionaryFiles(getIncludedFiles(), true, true);
+    }
+
+    /**
+     * Loads the definitions of the dictionary files on demand from the snapshot, or from a snapshot generated in memory
+     * when there is no usable snapshot.
+     *
+     * @return the lazily loaded definitions
+     */
+    private static LazyDefinitions loadLazyDefinitions() {
         try {
-            List<String> rootFileLines = getDictionaryLines(ROOT_DICTIONARY_NAME);
-
-            for (String rootFileLine : rootFileLines) {
-                String[] rootFileTokens = rootFileLine.split("\\s");
-
-                for (String rootFileToken : rootFileTokens) {
-                    if (rootFileToken.equals(INCLUDE)) {
-                        List<String> lines = getDictionaryLines(rootFileTokens[1]);
-
-                        Integer currentVendorId = null;
-                        String currentVendorName = null;
-
-                        file:
-                        for (String line : lines) {
-                            String[] tokens = line.split("\\s");
-
-                            tokens:
-                            for (int j = 0; j < tokens.length; j++) {
-                                String token = tokens[j];
-
-                                switch (token) {
-                                    case VENDOR: {
-                                        String vendorName = tokens[++j];
-                                        int vendorId = Integer.parseInt(tokens[++j]);
-
-                                        currentVendorId = vendorId;
-                                        currentVendorName = vendorName;
-
-                                        if (tokens.length > j + 1) {
-                                            // Handle format: (e.g., "format=1,1,c")
-                                            String format = tokens[++j];
-                                        }
-                                        break;
-                                    }
-                                    case BEGIN_VENDOR: {
-                                        String vendorName = tokens[++j];
-
-                                        currentVendorName = vendorName;
-
-                                        if (tokens.length > j + 1) {
-                                            // Handle format (e.g.,
-                                            // "parent=.Extended-Attribute-5.Extended-Vendor-Specific-5")
-                                            String format = tokens[++j];
-                                        }
-                                        break;
-                                    }
-                                    case END_VENDOR: {
-                                        String vendorName = tokens[++j];
-
-                                        currentVendorId = null;
-                                        currentVendorName = null;
-                                        break;
-                                    }
-                                    case ATTRIBUTE: {
-                                        if (currentVendorId == null) {
-                                            // It's a standard attribute
-                                            String attributeName = tokens[++j];
-                                            String attributeId = tokens[++j];
-                                            String typeLiteral = tokens[++j];
-
-                                            if (!DIGITS_PATTERN.asPredicate().test(attributeId)) {
-                                                // Only consider non-nested attributes
-                                                break tokens;
-                                            }
-
-                                            boolean hasTag = false;
-                                            boolean usesUserPasswordEncryption = false;
-                                            boolean usesTunnelPasswordEncryption = false;
-
-                                            if (tokens.length > j + 1) {
-                                                String modifiers = tokens[++j];
-
-                                                hasTag = modifiers.contains("has_tag");
-                                                usesUserPasswordEncryption = modifiers.contains("encrypt=1");
-                                                usesTunnelPasswordEncryption = modifiers.contains("encrypt=2");
-                                            }
-
-                                            boolean usesEncryption = usesUserPasswordEncryption
-                                                    || usesTunnelPasswordEncryption;
-
-                                            int intAttributeId = Integer.parseInt(attributeId);
-
-                                            AttributeType attributeType = new AttributeType(intAttributeId);
-                                            String fullName = String.format("%s", attributeName);
-
-                                            switch (typeFromString(typeLiteral, hasTag, usesEncryption)) {
-                                                case CONCAT:
-                                                    break;
-                                                case ENUM: {
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    EnumData.class,
-                                                                    new StandardAttribute.Codec<>(
-                                                                            EnumData.Codec.INSTANCE,
-                                                                            StandardAttribute::new),
-                                                                    (EnumData data) ->
-                                                                            new StandardAttribute<>(intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case EVS:
-                                                    break;
-                                                case EXTENDED:
-                                                    break;
-                                                case IFID: {
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    IfidData.class,
-                                                                    new StandardAttribute.Codec<>(
-                                                                            IfidData.Codec.INSTANCE,
-                                                                            StandardAttribute::new),
-                                                                    (IfidData data) ->
-                                                                            new StandardAttribute<>(intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case INTEGER_64: {
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    Integer64Data.class,
-                                                                    new StandardAttribute.Codec<>(
-                                                                            Integer64Data.Codec.INSTANCE,
-                                                                            StandardAttribute::new),
-                                                                    (Integer64Data data) ->
-                                                                            new StandardAttribute<>(intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case INTEGER: {
-                                                    DataCodec<IntegerData> dataCodec = IntegerData.Codec.INSTANCE;
-
-                                                    if (usesTunnelPasswordEncryption) {
-                                                        dataCodec = new IntegerData.Codec(TunnelPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    IntegerData.class,
-                                                                    new StandardAttribute.Codec<>(
-                                                                            dataCodec,
-                                                                            StandardAttribute::new),
-                                                                    (IntegerData data) ->
-                                                                            new StandardAttribute<>(intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case IPV4_ADDR: {
-                                                    DataCodec<Ipv4AddrData> dataCodec = Ipv4AddrData.Codec.INSTANCE;
-
-                                                    if (usesTunnelPasswordEncryption) {
-                                                        dataCodec = new Ipv4AddrData.Codec(TunnelPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    Ipv4AddrData.class,
-                                                                    new StandardAttribute.Codec<>(
-                                                                            dataCodec,
-                                                                            StandardAttribute::new),
-                                                                    (Ipv4AddrData data) ->
-                                                                            new StandardAttribute<>(intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case IPV4_PREFIX: {
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    Ipv4PrefixData.class,
-                                                                    new StandardAttribute.Codec<>(
-                                                                            Ipv4PrefixData.Codec.INSTANCE,
-                                                                            StandardAttribute::new),
-                                                                    (Ipv4PrefixData data) ->
-                                                                            new StandardAttribute<>(intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case IPV6_ADDR: {
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    Ipv6AddrData.class,
-                                                                    new StandardAttribute.Codec<>(
-                                                                            Ipv6AddrData.Codec.INSTANCE,
-                                                                            StandardAttribute::new),
-                                                                    (Ipv6AddrData data) ->
-                                                                            new StandardAttribute<>(intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case IPV6_PREFIX: {
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    Ipv6PrefixData.class,
-                                                                    new StandardAttribute.Codec<>(
-                                                                            Ipv6PrefixData.Codec.INSTANCE,
-                                                                            StandardAttribute::new),
-                                                                    (Ipv6PrefixData data) ->
-                                                                            new StandardAttribute<>(intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case LONG_EXTENDED:
-                                                    break;
-                                                case OPTIONAL_TAGGED_STRING: {
-
-                                                }
-                                                break;
-                                                case OPTIONAL_TAGGED_TEXT: {
-
-                                                }
-                                                break;
-                                                case STRING: {
-                                                    DataCodec<StringData> dataCodec = StringData.Codec.INSTANCE;
-
-                                                    if (usesUserPasswordEncryption) {
-                                                        dataCodec = new StringData.Codec(UserPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    if (usesTunnelPasswordEncryption) {
-                                                        dataCodec = new StringData.Codec(TunnelPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    StringData.class,
-                                                                    new StandardAttribute.Codec<>(
-                                                                            dataCodec,
-                                                                            StandardAttribute::new),
-                                                                    (StringData data) ->
-                                                                            new StandardAttribute<>(intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case TAGGED_INTEGER: {
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    TaggedIntegerData.class,
-                                                                    new StandardAttribute.Codec<>(
-                                                                            TaggedIntegerData.Codec.INSTANCE,
-                                                                            StandardAttribute::new),
-                                                                    (TaggedIntegerData data) ->
-                                                                            new StandardAttribute<>(intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case TAGGED_STRING: {
-                                                    DataCodec<TaggedStringData> dataCodec = TaggedStringData.Codec.INSTANCE;
-
-                                                    if (usesUserPasswordEncryption) {
-                                                        dataCodec = new TaggedStringData.Codec(UserPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    if (usesTunnelPasswordEncryption) {
-                                                        dataCodec = new TaggedStringData.Codec(TunnelPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    TaggedStringData.class,
-                                                                    new StandardAttribute.Codec<>(
-                                                                            dataCodec,
-                                                                            StandardAttribute::new),
-                                                                    (TaggedStringData data) ->
-                                                                            new StandardAttribute<>(intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case TAGGED_TEXT: {
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    TaggedTextData.class,
-                                                                    new StandardAttribute.Codec<>(
-                                                                            TaggedTextData.Codec.INSTANCE,
-                                                                            StandardAttribute::new),
-                                                                    (TaggedTextData data) ->
-                                                                            new StandardAttribute<>(intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case TEXT: {
-                                                    DataCodec<TextData> dataCodec = TextData.Codec.INSTANCE;
-
-                                                    if (usesUserPasswordEncryption) {
-                                                        dataCodec = new TextData.Codec(UserPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    if (usesTunnelPasswordEncryption) {
-                                                        dataCodec = new TextData.Codec(TunnelPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    TextData.class,
-                                                                    new StandardAttribute.Codec<>(
-                                                                            dataCodec,
-                                                                            StandardAttribute::new),
-                                                                    (TextData data) ->
-                                                                            new StandardAttribute<>(intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case TIME:
-                                                    break;
-                                                case TLV:
-                                                    break;
-                                                case UNKNOWN:
-                                                    break;
-                                                case VSA:
-                                                    break;
-                                            }
-                                        }
-                                        else {
-                                            // It's a vendor-specific attribute
-                                            String attributeName = tokens[++j];
-                                            String attributeId = tokens[++j];
-                                            String typeLiteral = tokens[++j];
-
-                                            boolean hasTag = false;
-                                            boolean usesUserPasswordEncryption = false;
-                                            boolean usesTunnelPasswordEncryption = false;
-
-                                            if (tokens.length > j + 1) {
-                                                String modifiers = tokens[++j];
-
-                                                hasTag = modifiers.contains("has_tag");
-                                                usesUserPasswordEncryption = modifiers.contains("encrypt=1");
-                                                usesTunnelPasswordEncryption = modifiers.contains("encrypt=2");
-                                            }
-
-                                            boolean usesEncryption = usesUserPasswordEncryption
-                                                    || usesTunnelPasswordEncryption;
-
-                                            if (!DIGITS_PATTERN.asPredicate().test(attributeId)) {
-                                                // Only consider non-nested attributes
-                                                break tokens;
-                                            }
-
-                                            int intAttributeId = Integer.parseInt(attributeId);
-
-                                            AttributeType attributeType = new AttributeType(VENDOR_SPECIFIC_ATTRIBUTE,
-                                                    currentVendorId, intAttributeId);
-                                            String fullName = String.format("%s-%s", currentVendorName, attributeName);
-                                            final Integer finalVendorId = currentVendorId;
-
-                                            switch (typeFromString(typeLiteral, hasTag, usesEncryption)) {
-                                                case CONCAT:
-                                                    break;
-                                                case ENUM: {
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    EnumData.class,
-                                                                    new VendorSpecificAttribute.Codec<>(
-                                                                            EnumData.Codec.INSTANCE,
-                                                                            (type, vendorId, vendorType, data) ->
-                                                                                    new VendorSpecificAttribute<>(
-                                                                                            VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                            vendorId,
-                                                                                            vendorType, data)),
-                                                                    (EnumData data) ->
-                                                                            new VendorSpecificAttribute<>(
-                                                                                    VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                    finalVendorId,
-                                                                                    intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case EVS:
-                                                    break;
-                                                case EXTENDED:
-                                                    break;
-                                                case IFID: {
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    IfidData.class,
-                                                                    new VendorSpecificAttribute.Codec<>(
-                                                                            IfidData.Codec.INSTANCE,
-                                                                            (type, vendorId, vendorType, data) ->
-                                                                                    new VendorSpecificAttribute<>(
-                                                                                            VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                            vendorId,
-                                                                                            vendorType, data)),
-                                                                    (IfidData data) ->
-                                                                            new VendorSpecificAttribute<>(
-                                                                                    VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                    finalVendorId,
-                                                                                    intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case INTEGER_64: {
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    Integer64Data.class,
-                                                                    new VendorSpecificAttribute.Codec<>(
-                                                                            Integer64Data.Codec.INSTANCE,
-                                                                            (type, vendorId, vendorType, data) ->
-                                                                                    new VendorSpecificAttribute<>(
-                                                                                            VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                            vendorId,
-                                                                                            vendorType, data)),
-                                                                    (Integer64Data data) ->
-                                                                            new VendorSpecificAttribute<>(
-                                                                                    VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                    finalVendorId,
-                                                                                    intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case INTEGER: {
-                                                    DataCodec<IntegerData> dataCodec = IntegerData.Codec.INSTANCE;
-
-                                                    if (usesTunnelPasswordEncryption) {
-                                                        dataCodec = new IntegerData.Codec(TunnelPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    IntegerData.class,
-                                                                    new VendorSpecificAttribute.Codec<>(
-                                                                            dataCodec,
-                                                                            (type, vendorId, vendorType, data) ->
-                                                                                    new VendorSpecificAttribute<>(
-                                                                                            VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                            vendorId,
-                                                                                            vendorType, data)),
-                                                                    (IntegerData data) ->
-                                                                            new VendorSpecificAttribute<>(
-                                                                                    VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                    finalVendorId,
-                                                                                    intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case IPV4_ADDR: {
-                                                    DataCodec<Ipv4AddrData> dataCodec = Ipv4AddrData.Codec.INSTANCE;
-
-                                                    if (usesTunnelPasswordEncryption) {
-                                                        dataCodec = new Ipv4AddrData.Codec(TunnelPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    Ipv4AddrData.class,
-                                                                    new VendorSpecificAttribute.Codec<>(
-                                                                            dataCodec,
-                                                                            (type, vendorId, vendorType, data) ->
-                                                                                    new VendorSpecificAttribute<>(
-                                                                                            VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                            vendorId,
-                                                                                            vendorType, data)),
-                                                                    (Ipv4AddrData data) ->
-                                                                            new VendorSpecificAttribute<>(
-                                                                                    VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                    finalVendorId,
-                                                                                    intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case IPV4_PREFIX: {
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    Ipv4PrefixData.class,
-                                                                    new VendorSpecificAttribute.Codec<>(
-                                                                            Ipv4PrefixData.Codec.INSTANCE,
-                                                                            (type, vendorId, vendorType, data) ->
-                                                                                    new VendorSpecificAttribute<>(
-                                                                                            VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                            vendorId,
-                                                                                            vendorType, data)),
-                                                                    (Ipv4PrefixData data) ->
-                                                                            new VendorSpecificAttribute<>(
-                                                                                    VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                    finalVendorId,
-                                                                                    intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case IPV6_ADDR: {
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    Ipv6AddrData.class,
-                                                                    new VendorSpecificAttribute.Codec<>(
-                                                                            Ipv6AddrData.Codec.INSTANCE,
-                                                                            (type, vendorId, vendorType, data) ->
-                                                                                    new VendorSpecificAttribute<>(
-                                                                                            VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                            vendorId,
-                                                                                            vendorType, data)),
-                                                                    (Ipv6AddrData data) ->
-                                                                            new VendorSpecificAttribute<>(
-                                                                                    VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                    finalVendorId,
-                                                                                    intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case IPV6_PREFIX: {
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    Ipv6PrefixData.class,
-                                                                    new VendorSpecificAttribute.Codec<>(
-                                                                            Ipv6PrefixData.Codec.INSTANCE,
-                                                                            (type, vendorId, vendorType, data) ->
-                                                                                    new VendorSpecificAttribute<>(
-                                                                                            VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                            vendorId,
-                                                                                            vendorType, data)),
-                                                                    (Ipv6PrefixData data) ->
-                                                                            new VendorSpecificAttribute<>(
-                                                                                    VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                    finalVendorId,
-                                                                                    intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case LONG_EXTENDED:
-                                                    break;
-                                                case OPTIONAL_TAGGED_STRING: {
-                                                    DataCodec<OptionalTaggedStringData> dataCodec = OptionalTaggedStringData.Codec.INSTANCE;
-
-                                                    if (usesUserPasswordEncryption) {
-                                                        dataCodec = new OptionalTaggedStringData.Codec(UserPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    if (usesTunnelPasswordEncryption) {
-                                                        dataCodec = new OptionalTaggedStringData.Codec(TunnelPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    OptionalTaggedStringData.class,
-                                                                    new VendorSpecificAttribute.Codec<>(
-                                                                            dataCodec,
-                                                                            (type, vendorId, vendorType, data) ->
-                                                                                    new VendorSpecificAttribute<>(
-                                                                                            VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                            vendorId,
-                                                                                            vendorType, data)),
-                                                                    (OptionalTaggedStringData data) ->
-                                                                            new VendorSpecificAttribute<>(
-                                                                                    VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                    finalVendorId,
-                                                                                    intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case OPTIONAL_TAGGED_TEXT: {
-                                                    DataCodec<OptionalTaggedTextData> dataCodec = OptionalTaggedTextData.Codec.INSTANCE;
-
-                                                    if (usesUserPasswordEncryption) {
-                                                        dataCodec = new OptionalTaggedTextData.Codec(UserPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    if (usesTunnelPasswordEncryption) {
-                                                        dataCodec = new OptionalTaggedTextData.Codec(TunnelPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    OptionalTaggedTextData.class,
-                                                                    new VendorSpecificAttribute.Codec<>(
-                                                                            dataCodec,
-                                                                            (type, vendorId, vendorType, data) ->
-                                                                                    new VendorSpecificAttribute<>(
-                                                                                            VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                            vendorId,
-                                                                                            vendorType, data)),
-                                                                    (OptionalTaggedTextData data) ->
-                                                                            new VendorSpecificAttribute<>(
-                                                                                    VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                    finalVendorId,
-                                                                                    intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case STRING: {
-                                                    DataCodec<StringData> dataCodec = StringData.Codec.INSTANCE;
-
-                                                    if (usesUserPasswordEncryption) {
-                                                        dataCodec = new StringData.Codec(UserPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    if (usesTunnelPasswordEncryption) {
-                                                        dataCodec = new StringData.Codec(TunnelPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    StringData.class,
-                                                                    new VendorSpecificAttribute.Codec<>(
-                                                                            dataCodec,
-                                                                            (type, vendorId, vendorType, data) ->
-                                                                                    new VendorSpecificAttribute<>(
-                                                                                            VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                            vendorId,
-                                                                                            vendorType, data)),
-                                                                    (StringData data) ->
-                                                                            new VendorSpecificAttribute<>(
-                                                                                    VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                    finalVendorId,
-                                                                                    intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case TAGGED_INTEGER: {
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    TaggedIntegerData.class,
-                                                                    new VendorSpecificAttribute.Codec<>(
-                                                                            TaggedIntegerData.Codec.INSTANCE,
-                                                                            (type, vendorId, vendorType, data) ->
-                                                                                    new VendorSpecificAttribute<>(
-                                                                                            VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                            vendorId,
-                                                                                            vendorType, data)),
-                                                                    (TaggedIntegerData data) ->
-                                                                            new VendorSpecificAttribute<>(
-                                                                                    VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                    finalVendorId,
-                                                                                    intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case TAGGED_STRING: {
-                                                    DataCodec<TaggedStringData> dataCodec = TaggedStringData.Codec.INSTANCE;
-
-                                                    if (usesUserPasswordEncryption) {
-                                                        dataCodec = new TaggedStringData.Codec(UserPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    if (usesTunnelPasswordEncryption) {
-                                                        dataCodec = new TaggedStringData.Codec(TunnelPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    TaggedStringData.class,
-                                                                    new VendorSpecificAttribute.Codec<>(
-                                                                            dataCodec,
-                                                                            (type, vendorId, vendorType, data) ->
-                                                                                    new VendorSpecificAttribute<>(
-                                                                                            VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                            vendorId,
-                                                                                            vendorType, data)),
-                                                                    (TaggedStringData data) ->
-                                                                            new VendorSpecificAttribute<>(
-                                                                                    VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                    finalVendorId,
-                                                                                    intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case TAGGED_TEXT: {
-                                                    DataCodec<TaggedTextData> dataCodec = TaggedTextData.Codec.INSTANCE;
-
-                                                    if (usesUserPasswordEncryption) {
-                                                        dataCodec = new TaggedTextData.Codec(UserPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    if (usesTunnelPasswordEncryption) {
-                                                        dataCodec = new TaggedTextData.Codec(TunnelPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    TextData.class,
-                                                                    new VendorSpecificAttribute.Codec<>(
-                                                                            dataCodec,
-                                                                            (type, vendorId, vendorType, data) ->
-                                                                                    new VendorSpecificAttribute<>(
-                                                                                            VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                            vendorId,
-                                                                                            vendorType, data)),
-                                                                    (TextData data) ->
-                                                                            new VendorSpecificAttribute<>(
-                                                                                    VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                    finalVendorId,
-                                                                                    intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case TEXT: {
-                                                    DataCodec<TextData> dataCodec = TextData.Codec.INSTANCE;
-
-                                                    if (usesUserPasswordEncryption) {
-                                                        dataCodec = new TextData.Codec(UserPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    if (usesTunnelPasswordEncryption) {
-                                                        dataCodec = new TextData.Codec(TunnelPasswordDataFilter.INSTANCE);
-                                                    }
-
-                                                    AttributeDefinition<?, ?> attributeDefinition =
-                                                            new AttributeDefinition<>(
-                                                                    attributeType,
-                                                                    fullName,
-                                                                    VendorSpecificAttribute.class,
-                                                                    TextData.class,
-                                                                    new VendorSpecificAttribute.Codec<>(
-                                                                            dataCodec,
-                                                                            (type, vendorId, vendorType, data) ->
-                                                                                    new VendorSpecificAttribute<>(
-                                                                                            VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                            vendorId,
-                                                                                            vendorType, data)),
-                                                                    (TextData data) ->
-                                                                            new VendorSpecificAttribute<>(
-                                                                                    VENDOR_SPECIFIC_ATTRIBUTE,
-                                                                                    finalVendorId,
-                                                                                    intAttributeId,
-                                                                                    data));
-
-                                                    typeAttributeDefinitionsMap.put(attributeType, attributeDefinition);
-                                                    nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT),
-                                                            attributeDefinition);
-                                                }
-                                                break;
-                                                case TIME:
-                                                    break;
-                                                case TLV:
-                                                    break;
-                                                case UNKNOWN:
-                                                    break;
-                                                case VSA:
-                                                    break;
-                                            }
-                                        }
-                                        break;
-                                    }
-                                    case MEMBER:
-                                        // Ignore MEMBER
-                                        break tokens;
-                                    case VALUE: {
-                                        String attributeName = tokens[++j];
-                                        String valueName = tokens[++j];
-                                        String valueValue = tokens[++j];
-
-                                        String fullName = currentVendorId == null
-                                                ? attributeName
-                                                : String.format("%s-%s", currentVendorName, attributeName);
-
-                                        AttributeDefinition<?, ?> attributeDefinition =
-                                                nameAttributeDefinitionsMap.get(fullName.toLowerCase(Locale.ROOT));
-
-                                        if (attributeDefinition == null) {
-                                            // No attribute found for the value (shouldn't happen if all attributes are
-                                            // parsed first as they should be defined in the dictionary)
-                                            break tokens;
-                                        }
-
-                                        if (!DIGITS_PATTERN.asPredicate().test(valueValue)) {
-                                            // Only consider numeric values
-                                            break tokens;
-                                        }
-
-                                        Map<String, Integer> valuesMap =
-                                                numericAttributeValueMap.computeIfAbsent(
-                                                        attributeDefinition.getIdentifier(), k -> new HashMap<>());
-
-                                        valuesMap.put(valueName.toLowerCase(Locale.ROOT),
-                                                Integer.parseUnsignedInt(valueValue));
-
-                                        break;
-                                    }
-                                    case STRUCT:
-                                        // Ignore STRUCT
-                                        break tokens;
-                                    case FLAGS:
-                                        String flagName = tokens[++j];
-
-                                        if (flagName.equals("internal")) {
-                                            // Disregard the entire file
-                                            break file;
-                                        }
-                                        break;
-                                    default:
-                                        // Ignore unknown tokens
-                                        break;
-                                }
-                            }
-                        }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(1 << 19);
+            InputStream inputStream = FreeRadiusDictionary.class.getClassLoader().getResourceAsStream(SNAPSHOT_NAME);
+
+            if (inputStream != null) {
+                try (InputStream input = inputStream) {
+                    byte[] buffer = new byte[65536];
+
+                    for (int length = input.read(buffer); length != -1; length = input.read(buffer)) {
+                        outputStream.write(buffer, 0, length);
                     }
                 }
             }
+
+            byte[] snapshot = outputStream.toByteArray();
+
+            if (snapshot.length < 8
+                    || !readSnapshotHeader(new DataInputStream(new ByteArrayInputStream(snapshot, 0, 8))))
+            {
+                outputStream.reset();
+                writeSnapshot(outputStream);
+
+                snapshot = outputStream.toByteArray();
+            }
+
+            // The records follow the magic number and the version
+            return LazyDefinitions.read(snapshot, 8);
         }
         catch (IOException e) {
             throw new RuntimeException("Unable to load FreeRADIUS dictionary", e);
         }
+    }
 
-        typeAttributeDefinitionsMap.forEach((attributeType, attributeDefinition) ->
-                nameAttributeDefinitionsMap.put(attributeDefinition.getName().toLowerCase(Locale.ROOT),
-                        attributeDefinition));
+    /**
+     * Reads the definitions from a snapshot. The snapshot records the definitions in the order they were parsed, so
+     * replaying them results in the same definitions without parsing the dictionary files.
+     *
+     * @param input the snapshot input
+     *
+     * @return the definitions or null if the snapshot has a different version
+     */
+    private static Definitions readSnapshot(DataInputStream input) throws IOException {
+        if (!readSnapshotHeader(input)) {
+            return null;
+        }
+
+        return readSnapshotRecords(input);
     }
 
-    public FreeRadiusDictionary() {
+    /**
+     * Reads the header of a snapshot.
+     *
+     * @param input the snapshot input
+     *
+     * @return whether the snapshot has the expected format and version
+     */
+    private static boolean readSnapshotHeader(DataInputStream input) throws IOException {
+        return input.readInt() == SNAPSHOT_MAGIC && input.readInt() == SNAPSHOT_VERSION;
+    }
+
+    /**
+     * Reads the snapshot records up to the end record into new definitions.
+     *
+     * @param input the snapshot input positioned at a record
+     *
+     * @return the definitions
+     */
+    private static Definitions readSnapshotRecords(DataInputStream input) throws IOException {
+        DataType[] dataTypes = DataType.values();
+        Definitions definitions = new Definitions();
+
+        while (true) {
+            int record = input.readUnsignedByte();
+
+            switch (record) {
+                case SNAPSHOT_END_RECORD:
+                    definitions.index();
+
+                    return definitions;
+                case SNAPSHOT_ATTRIBUTE_RECORD: {
+                    boolean isVendor = input.readBoolean();
+                    int vendorId = input.readInt();
+                    int attributeId = input.readInt();
+                    String fullName = input.readUTF();
+                    DataType dataType = dataTypes[input.readUnsignedByte()];
+                    boolean usesUserPasswordEncryption = input.readBoolean();
+                    boolean usesTunnelPasswordEncryption = input.readBoolean();
+
+                    definitions.putAttribute(isVendor ? vendorId : null, attributeId, fullName, dataType,
+                            usesUserPasswordEncryption, usesTunnelPasswordEncryption);
+                    break;
+                }
+                case SNAPSHOT_VALUE_RECORD: {
+                    int[] types = new int[input.readUnsignedByte()];
+
+                    for (int i = 0; i < types.length; i++) {
+                        types[i] = input.readInt();
+                    }
+
+                    String valueName = input.readUTF();
+                    int value = input.readInt();
+
+                    definitions.putNumericAttributeValue(AttributeType.of(types), valueName, value);
+                    break;
+                }
+                default:
+                    throw new IOException("Invalid FreeRADIUS dictionary snapshot record: " + record);
+            }
+        }
+    }
+
+    /**
+     * Writes a snapshot of the definitions parsed from all the dictionary files.
+     *
+     * @param outputStream the snapshot output stream
+     */
+    static void writeSnapshot(OutputStream outputStream) throws IOException {
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+
+        output.writeInt(SNAPSHOT_MAGIC);
+        output.writeInt(SNAPSHOT_VERSION);
+
+        Definitions definitions = new Definitions(output);
+        Map<String, Integer> vendorIds = new HashMap<>();
+
+        for (String file : getIncludedFiles()) {
+            parseDictionaryFile(file, definitions, definitions, vendorIds);
+        }
+
+        output.writeByte(SNAPSHOT_END_RECORD);
+        output.flush();
+    }
+
+    /**
+     * Parses dictionary files into indexed definitions.
+     *
+     * @param files the dictionary file names
+     * @param isStandard whether to parse the standard definitions (i.e., the ones outside of a vendor block)
+     * @param isVendor whether to parse the vendor definitions
+     *
+     * @return the definitions
+     */
+    private static Definitions parseDictionaryFiles(List<String> files, boolean isStandard, boolean isVendor) {
+        Definitions definitions = new Definitions();
+        Map<String, Integer> vendorIds = new HashMap<>();
+
+        try {
+            for (String file : files) {
+                parseDictionaryFile(file, isStandard ? definitions : null, isVendor ? definitions : null, vendorIds);
+            }
+        }
+        catch (IOException e) {
+            throw new RuntimeException("Unable to load FreeRADIUS dictionary", e);
+        }
+
+        definitions.index();
+
+        return definitions;
+    }
+
+    /**
+     * Parses a dictionary file from the classpath. The definitions outside of a vendor block are added to the standard
+     * definitions and the definitions of the vendor of the file are added to the vendor definitions. Either part of the
+     * file is skipped when its definitions are null.
+     *
+     * @param file the dictionary file name
+     * @param standardDefinitions the definitions to add standard definitions to (or null)
+     * @param vendorDefinitions the definitions to add vendor definitions to (or null)
+     * @param vendorIds the identifiers of the vendors declared so far by name
+     */
+    private static void parseDictionaryFile(String file, Definitions standardDefinitions,
+                                            Definitions vendorDefinitions, Map<String, Integer> vendorIds)
+            throws IOException
+    {
+        try (Reader reader = openDictionaryFile(file)) {
+            parseDictionary(file, reader, standardDefinitions, vendorDefinitions, vendorIds, null);
+        }
+    }
+
+    /**
+     * Parses a dictionary file from the file system, including the files it includes.
+     *
+     * @param file the dictionary file
+     * @param definitions the definitions to add the definitions to
+     * @param vendorIds the identifiers of the vendors declared so far by name
+     * @param includingFiles the files being parsed (to detect recursive includes)
+     */
+    private static void parseDictionaryFile(Path file, Definitions definitions, Map<String, Integer> vendorIds,
+                                            Set<Path> includingFiles)
+            throws IOException
+    {
+        Path normalizedFile = file.toAbsolutePath().normalize();
+
+        if (!includingFiles.add(normalizedFile)) {
+            throw new IOException("Recursive $INCLUDE of dictionary file: " + file);
+        }
+
+        IncludeParser includeParser = (includedFile, isOptional) -> {
+            // Relative paths are relative to the directory of the including file
+            Path includedPath = normalizedFile.resolveSibling(includedFile);
+
+            if (isOptional && !Files.exists(includedPath)) {
+                return;
+            }
+
+            parseDictionaryFile(includedPath, definitions, vendorIds, includingFiles);
+        };
+
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+            parseDictionary(file.toString(), reader, definitions, definitions, vendorIds, includeParser);
+        }
+
+        includingFiles.remove(normalizedFile);
+    }
+
+    /**
+     * Parses a dictionary.
+     *
+     * @param name the dictionary name (used in error messages)
+     * @param reader the dictionary reader
+     * @param standardDefinitions the definitions to add standard definitions to (or null)
+     * @param vendorDefinitions the definitions to add vendor definitions to (or null)
+     * @param vendorIds the identifiers of the vendors declared so far by name (including the ones declared by other
+     *                  dictionary files), which the vendors declared by the dictionary are added to
+     * @param includeParser the parser of included files (or null to ignore includes)
+     */
+    private static void parseDictionary(String name, Reader reader, Definitions standardDefinitions,
+                                        Definitions vendorDefinitions, Map<String, Integer> vendorIds,
+                                        IncludeParser includeParser)
+            throws IOException
+    {
+        DictionaryTokenizer tokenizer = new DictionaryTokenizer(reader);
+
+        try {
+            parseDictionary(tokenizer, standardDefinitions, vendorDefinitions, vendorIds, includeParser);
+        }
+        catch (RuntimeException e) {
+            throw new IOException(String.format("Invalid dictionary %s at line %d", name, tokenizer.getLineNumber()),
+                    e);
+        }
+    }
+
+    private static void parseDictionary(DictionaryTokenizer tokenizer, Definitions standardDefinitions,
+                                        Definitions vendorDefinitions, Map<String, Integer> vendorIds,
+                                        IncludeParser includeParser)
+            throws IOException
+    {
+        Integer currentVendorId = null;
+        String currentVendorName = null;
+        boolean isExtendedVendorBlock = false;
+
+        file:
+        for (String[] tokens = tokenizer.nextLine(); tokens != null; tokens = tokenizer.nextLine()) {
+            tokens:
+            for (int j = 0; j < tokens.length; j++) {
+                String token = tokens[j];
+
+                switch (token) {
+                    case INCLUDE:
+                    case OPTIONAL_INCLUDE:
+                        if (includeParser != null) {
+                            includeParser.parse(tokens[++j], token.equals(OPTIONAL_INCLUDE));
+                        }
+                        break tokens;
+                    case VENDOR: {
+                        String vendorName = tokens[++j];
+                        int vendorId = Integer.parseInt(tokens[++j]);
+
+                        vendorIds.put(vendorName, vendorId);
+
+                        currentVendorId = vendorId;
+                        currentVendorName = vendorName;
+
+                        if (tokens.length > j + 1) {
+                            // Handle format: (e.g., "format=1,1,c")
+                            String format = tokens[++j];
+                        }
+                        break;
+                    }
+                    case BEGIN_VENDOR: {
+                        String vendorName = tokens[++j];
+                        Integer vendorId = vendorIds.get(vendorName);
+
+                        if (vendorId == null) {
+                            // The vendor must be declared before its block (possibly in another dictionary file)
+                            throw new IllegalArgumentException("Unknown vendor: " + vendorName);
+                        }
+
+                        currentVendorId = vendorId;
+                        currentVendorName = vendorName;
+
+                        if (tokens.length > j + 1) {
+                            // Handle format (e.g.,
+                            // "parent=.Extended-Attribute-5.Extended-Vendor-Specific-5"). The attributes of the block
+                            // are extended vendor-specific attributes, which aren't supported.
+                            String format = tokens[++j];
+
+                            isExtendedVendorBlock = true;
+                        }
+                        break;
+                    }
+                    case END_VENDOR: {
+                        String vendorName = tokens[++j];
+
+                        currentVendorId = null;
+                        currentVendorName = null;
+                        isExtendedVendorBlock = false;
+                        break;
+                    }
+                    case ATTRIBUTE: {
+                        if (isExtendedVendorBlock) {
+                            // Ignore extended vendor-specific attributes
+                            break tokens;
+                        }
+
+                        Definitions definitions = currentVendorId == null ? standardDefinitions : vendorDefinitions;
+
+                        if (definitions == null) {
+                            // This part of the file isn't being loaded
+                            break tokens;
+                        }
+
+                        if (currentVendorId == null) {
+                            // It's a standard attribute
+                            String attributeName = tokens[++j];
+                            String attributeId = tokens[++j];
+                            String typeLiteral = tokens[++j];
+
+                            if (!isDigits(attributeId)) {
+                                // Only consider non-nested attributes
+                                break tokens;
+                            }
+
+                            boolean hasTag = false;
+                            boolean usesUserPasswordEncryption = false;
+                            boolean usesTunnelPasswordEncryption = false;
+
+                            if (tokens.length > j + 1) {
+                                String modifiers = tokens[++j];
+
+                                hasTag = modifiers.contains("has_tag");
+                                usesUserPasswordEncryption = modifiers.contains("encrypt=1");
+                                usesTunnelPasswordEncryption = modifiers.contains("encrypt=2");
+                            }
+
+                            boolean usesEncryption = usesUserPasswordEncryption
+                                    || usesTunnelPasswordEncryption;
+
+                            int intAttributeId = Integer.parseInt(attributeId);
+
+                            String fullName = String.format("%s", attributeName);
+
+                            definitions.putAttribute(null, intAttributeId, fullName,
+                                    typeFromString(typeLiteral, hasTag, usesEncryption), usesUserPasswordEncryption,
+                                    usesTunnelPasswordEncryption);
+                        }
+                        else {
+                            // It's a vendor-specific attribute
+                            String attributeName = tokens[++j];
+                            String attributeId = tokens[++j];
+                            String typeLiteral = tokens[++j];
+
+                            boolean hasTag = false;
+                            boolean usesUserPasswordEncryption = false;
+                            boolean usesTunnelPasswordEncryption = false;
+
+                            if (tokens.length > j + 1) {
+                                String modifiers = tokens[++j];
+
+                                hasTag = modifiers.contains("has_tag");
+                                usesUserPasswordEncryption = modifiers.contains("encrypt=1");
+                                usesTunnelPasswordEncryption = modifiers.contains("encrypt=2");
+                            }
+
+                            boolean usesEncryption = usesUserPasswordEncryption
+                                    || usesTunnelPasswordEncryption;
+
+                            if (!isDigits(attributeId)) {
+                                // Only consider non-nested attributes
+                                break tokens;
+                            }
+
+                            int intAttributeId = Integer.parseInt(attributeId);
+
+                            String fullName = String.format("%s-%s", currentVendorName, attributeName);
+
+                            definitions.putAttribute(currentVendorId, intAttributeId, fullName,
+                                    typeFromString(typeLiteral, hasTag, usesEncryption), usesUserPasswordEncryption,
+                                    usesTunnelPasswordEncryption);
+                        }
+                        break;
+                    }
+                    case MEMBER:
+                        // Ignore MEMBER
+                        break tokens;
+                    case VALUE: {
+                        if (isExtendedVendorBlock) {
+                            // Ignore the values of extended vendor-specific attributes
+                            break tokens;
+                        }
+
+                        String attributeName = tokens[++j];
+                        String valueName = tokens[++j];
+                        String valueValue = tokens[++j];
+
+                        Definitions definitions = currentVendorId == null ? standardDefinitions : vendorDefinitions;
+
+                        if (definitions == null) {
+                            // This part of the file isn't being loaded
+                            break tokens;
+                        }
+
+                        String fullName = currentVendorId == null
+                                ? attributeName
+                                : String.format("%s-%s", currentVendorName, attributeName);
+
+                        AttributeDefinition<?, ?> attributeDefinition = definitions.getAttributeDefinition(fullName);
+
+                        if (attributeDefinition == null) {
+                            // No attribute found for the value (shouldn't happen if all attributes are
+                            // parsed first as they should be defined in the dictionary)
+                            break tokens;
+                        }
+
+                        if (!isDigits(valueValue)) {
+                            // Only consider numeric values
+                            break tokens;
+                        }
+
+                        definitions.putNumericAttributeValue(attributeDefinition.getIdentifier(), valueName,
+                                Integer.parseUnsignedInt(valueValue));
+
+                        break;
+                    }
+                    case STRUCT:
+                        // Ignore STRUCT
+                        break tokens;
+                    case FLAGS:
+                        String flagName = tokens[++j];
+
+                        if (flagName.equals("internal")) {
+                            // Disregard the entire file
+                            break file;
+                        }
+                        break;
+                    default:
+                        // Ignore unknown tokens
+                        break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the definition of a standard attribute.
+     *
+     * @param attributeId the attribute type
+     * @param fullName the attribute name
+     * @param dataType the data type
+     * @param usesUserPasswordEncryption whether the attribute is encrypted like User-Password
+     * @param usesTunnelPasswordEncryption whether the attribute is encrypted like Tunnel-Password
+     *
+     * @return the attribute definition or null if the data type isn't supported
+     */
+    private static AttributeDefinition<?, ?> createStandardAttributeDefinition(int attributeId, String fullName,
+                                                                               DataType dataType,
+                                                                               boolean usesUserPasswordEncryption,
+                                                                               boolean usesTunnelPasswordEncryption)
+    {
+        AttributeType attributeType = new AttributeType(attributeId);
+
+        switch (dataType) {
+            case CONCAT:
+                break;
+            case ENUM: {
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                StandardAttribute.class,
+                                EnumData.class,
+                                new StandardAttribute.Codec<>(
+                                        EnumData.Codec.INSTANCE,
+                                        StandardAttribute::new),
+                                (EnumData data) ->
+                                        new StandardAttribute<>(attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case EVS:
+                break;
+            case EXTENDED:
+                break;
+            case IFID: {
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                StandardAttribute.class,
+                                IfidData.class,
+                                new StandardAttribute.Codec<>(
+                                        IfidData.Codec.INSTANCE,
+                                        StandardAttribute::new),
+                                (IfidData data) ->
+                                        new StandardAttribute<>(attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case INTEGER_64: {
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                StandardAttribute.class,
+                                Integer64Data.class,
+                                new StandardAttribute.Codec<>(
+                                        Integer64Data.Codec.INSTANCE,
+                                        StandardAttribute::new),
+                                (Integer64Data data) ->
+                                        new StandardAttribute<>(attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case INTEGER: {
+                DataCodec<IntegerData> dataCodec = IntegerData.Codec.INSTANCE;
+
+                if (usesTunnelPasswordEncryption) {
+                    dataCodec = new IntegerData.Codec(TunnelPasswordDataFilter.INSTANCE);
+                }
+
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                StandardAttribute.class,
+                                IntegerData.class,
+                                new StandardAttribute.Codec<>(
+                                        dataCodec,
+                                        StandardAttribute::new),
+                                (IntegerData data) ->
+                                        new StandardAttribute<>(attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case IPV4_ADDR: {
+                DataCodec<Ipv4AddrData> dataCodec = Ipv4AddrData.Codec.INSTANCE;
+
+                if (usesTunnelPasswordEncryption) {
+                    dataCodec = new Ipv4AddrData.Codec(TunnelPasswordDataFilter.INSTANCE);
+                }
+
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                StandardAttribute.class,
+                                Ipv4AddrData.class,
+                                new StandardAttribute.Codec<>(
+                                        dataCodec,
+                                        StandardAttribute::new),
+                                (Ipv4AddrData data) ->
+                                        new StandardAttribute<>(attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case IPV4_PREFIX: {
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                StandardAttribute.class,
+                                Ipv4PrefixData.class,
+                                new StandardAttribute.Codec<>(
+                                        Ipv4PrefixData.Codec.INSTANCE,
+                                        StandardAttribute::new),
+                                (Ipv4PrefixData data) ->
+                                        new StandardAttribute<>(attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case IPV6_ADDR: {
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                StandardAttribute.class,
+                                Ipv6AddrData.class,
+                                new StandardAttribute.Codec<>(
+                                        Ipv6AddrData.Codec.INSTANCE,
+                                        StandardAttribute::new),
+                                (Ipv6AddrData data) ->
+                                        new StandardAttribute<>(attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case IPV6_PREFIX: {
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                StandardAttribute.class,
+                                Ipv6PrefixData.class,
+                                new StandardAttribute.Codec<>(
+                                        Ipv6PrefixData.Codec.INSTANCE,
+                                        StandardAttribute::new),
+                                (Ipv6PrefixData data) ->
+                                        new StandardAttribute<>(attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case LONG_EXTENDED:
+                break;
+            case OPTIONAL_TAGGED_STRING: {
+
+            }
+            break;
+            case OPTIONAL_TAGGED_TEXT: {
+
+            }
+            break;
+            case STRING: {
+                DataCodec<StringData> dataCodec = StringData.Codec.INSTANCE;
+
+                if (usesUserPasswordEncryption) {
+                    dataCodec = new StringData.Codec(UserPasswordDataFilter.INSTANCE);
+                }
+
+                if (usesTunnelPasswordEncryption) {
+                    dataCodec = new StringData.Codec(TunnelPasswordDataFilter.INSTANCE);
+                }
+
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                StandardAttribute.class,
+                                StringData.class,
+                                new StandardAttribute.Codec<>(
+                                        dataCodec,
+                                        StandardAttribute::new),
+                                (StringData data) ->
+                                        new StandardAttribute<>(attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case TAGGED_INTEGER: {
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                StandardAttribute.class,
+                                TaggedIntegerData.class,
+                                new StandardAttribute.Codec<>(
+                                        TaggedIntegerData.Codec.INSTANCE,
+                                        StandardAttribute::new),
+                                (TaggedIntegerData data) ->
+                                        new StandardAttribute<>(attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case TAGGED_STRING: {
+                DataCodec<TaggedStringData> dataCodec = TaggedStringData.Codec.INSTANCE;
+
+                if (usesUserPasswordEncryption) {
+                    dataCodec = new TaggedStringData.Codec(UserPasswordDataFilter.INSTANCE);
+                }
+
+                if (usesTunnelPasswordEncryption) {
+                    dataCodec = new TaggedStringData.Codec(TunnelPasswordDataFilter.INSTANCE);
+                }
+
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                StandardAttribute.class,
+                                TaggedStringData.class,
+                                new StandardAttribute.Codec<>(
+                                        dataCodec,
+                                        StandardAttribute::new),
+                                (TaggedStringData data) ->
+                                        new StandardAttribute<>(attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case TAGGED_TEXT: {
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                StandardAttribute.class,
+                                TaggedTextData.class,
+                                new StandardAttribute.Codec<>(
+                                        TaggedTextData.Codec.INSTANCE,
+                                        StandardAttribute::new),
+                                (TaggedTextData data) ->
+                                        new StandardAttribute<>(attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case TEXT: {
+                DataCodec<TextData> dataCodec = TextData.Codec.INSTANCE;
+
+                if (usesUserPasswordEncryption) {
+                    dataCodec = new TextData.Codec(UserPasswordDataFilter.INSTANCE);
+                }
+
+                if (usesTunnelPasswordEncryption) {
+                    dataCodec = new TextData.Codec(TunnelPasswordDataFilter.INSTANCE);
+                }
+
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                StandardAttribute.class,
+                                TextData.class,
+                                new StandardAttribute.Codec<>(
+                                        dataCodec,
+                                        StandardAttribute::new),
+                                (TextData data) ->
+                                        new StandardAttribute<>(attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case TIME:
+                break;
+            case TLV:
+                break;
+            case UNKNOWN:
+                break;
+            case VSA:
+                break;
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates the definition of a vendor-specific attribute.
+     *
+     * @param attributeVendorId the vendor identifier
+     * @param attributeId the vendor type
+     * @param fullName the attribute name (including the vendor name prefix)
+     * @param dataType the data type
+     * @param usesUserPasswordEncryption whether the attribute is encrypted like User-Password
+     * @param usesTunnelPasswordEncryption whether the attribute is encrypted like Tunnel-Password
+     *
+     * @return the attribute definition or null if the data type isn't supported
+     */
+    private static AttributeDefinition<?, ?> createVendorAttributeDefinition(int attributeVendorId, int attributeId,
+                                                                             String fullName, DataType dataType,
+                                                                             boolean usesUserPasswordEncryption,
+                                                                             boolean usesTunnelPasswordEncryption)
+    {
+        AttributeType attributeType = new AttributeType(VENDOR_SPECIFIC_ATTRIBUTE, attributeVendorId, attributeId);
+
+        switch (dataType) {
+            case CONCAT:
+                break;
+            case ENUM: {
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                VendorSpecificAttribute.class,
+                                EnumData.class,
+                                new VendorSpecificAttribute.Codec<>(
+                                        EnumData.Codec.INSTANCE,
+                                        (type, vendorId, vendorType, data) ->
+                                                new VendorSpecificAttribute<>(
+                                                        VENDOR_SPECIFIC_ATTRIBUTE,
+                                                        vendorId,
+                                                        vendorType, data)),
+                                (EnumData data) ->
+                                        new VendorSpecificAttribute<>(
+                                                VENDOR_SPECIFIC_ATTRIBUTE,
+                                                attributeVendorId,
+                                                attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case EVS:
+                break;
+            case EXTENDED:
+                break;
+            case IFID: {
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                VendorSpecificAttribute.class,
+                                IfidData.class,
+                                new VendorSpecificAttribute.Codec<>(
+                                        IfidData.Codec.INSTANCE,
+                                        (type, vendorId, vendorType, data) ->
+                                                new VendorSpecificAttribute<>(
+                                                        VENDOR_SPECIFIC_ATTRIBUTE,
+                                                        vendorId,
+                                                        vendorType, data)),
+                                (IfidData data) ->
+                                        new VendorSpecificAttribute<>(
+                                                VENDOR_SPECIFIC_ATTRIBUTE,
+                                                attributeVendorId,
+                                                attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case INTEGER_64: {
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                VendorSpecificAttribute.class,
+                                Integer64Data.class,
+                                new VendorSpecificAttribute.Codec<>(
+                                        Integer64Data.Codec.INSTANCE,
+                                        (type, vendorId, vendorType, data) ->
+                                                new VendorSpecificAttribute<>(
+                                                        VENDOR_SPECIFIC_ATTRIBUTE,
+                                                        vendorId,
+                                                        vendorType, data)),
+                                (Integer64Data data) ->
+                                        new VendorSpecificAttribute<>(
+                                                VENDOR_SPECIFIC_ATTRIBUTE,
+                                                attributeVendorId,
+                                                attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case INTEGER: {
+                DataCodec<IntegerData> dataCodec = IntegerData.Codec.INSTANCE;
+
+                if (usesTunnelPasswordEncryption) {
+                    dataCodec = new IntegerData.Codec(TunnelPasswordDataFilter.INSTANCE);
+                }
+
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                VendorSpecificAttribute.class,
+                                IntegerData.class,
+                                new VendorSpecificAttribute.Codec<>(
+                                        dataCodec,
+                                        (type, vendorId, vendorType, data) ->
+                                                new VendorSpecificAttribute<>(
+                                                        VENDOR_SPECIFIC_ATTRIBUTE,
+                                                        vendorId,
+                                                        vendorType, data)),
+                                (IntegerData data) ->
+                                        new VendorSpecificAttribute<>(
+                                                VENDOR_SPECIFIC_ATTRIBUTE,
+                                                attributeVendorId,
+                                                attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case IPV4_ADDR: {
+                DataCodec<Ipv4AddrData> dataCodec = Ipv4AddrData.Codec.INSTANCE;
+
+                if (usesTunnelPasswordEncryption) {
+                    dataCodec = new Ipv4AddrData.Codec(TunnelPasswordDataFilter.INSTANCE);
+                }
+
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                VendorSpecificAttribute.class,
+                                Ipv4AddrData.class,
+                                new VendorSpecificAttribute.Codec<>(
+                                        dataCodec,
+                                        (type, vendorId, vendorType, data) ->
+                                                new VendorSpecificAttribute<>(
+                                                        VENDOR_SPECIFIC_ATTRIBUTE,
+                                                        vendorId,
+                                                        vendorType, data)),
+                                (Ipv4AddrData data) ->
+                                        new VendorSpecificAttribute<>(
+                                                VENDOR_SPECIFIC_ATTRIBUTE,
+                                                attributeVendorId,
+                                                attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case IPV4_PREFIX: {
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                VendorSpecificAttribute.class,
+                                Ipv4PrefixData.class,
+                                new VendorSpecificAttribute.Codec<>(
+                                        Ipv4PrefixData.Codec.INSTANCE,
+                                        (type, vendorId, vendorType, data) ->
+                                                new VendorSpecificAttribute<>(
+                                                        VENDOR_SPECIFIC_ATTRIBUTE,
+                                                        vendorId,
+                                                        vendorType, data)),
+                                (Ipv4PrefixData data) ->
+                                        new VendorSpecificAttribute<>(
+                                                VENDOR_SPECIFIC_ATTRIBUTE,
+                                                attributeVendorId,
+                                                attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case IPV6_ADDR: {
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                VendorSpecificAttribute.class,
+                                Ipv6AddrData.class,
+                                new VendorSpecificAttribute.Codec<>(
+                                        Ipv6AddrData.Codec.INSTANCE,
+                                        (type, vendorId, vendorType, data) ->
+                                                new VendorSpecificAttribute<>(
+                                                        VENDOR_SPECIFIC_ATTRIBUTE,
+                                                        vendorId,
+                                                        vendorType, data)),
+                                (Ipv6AddrData data) ->
+                                        new VendorSpecificAttribute<>(
+                                                VENDOR_SPECIFIC_ATTRIBUTE,
+                                                attributeVendorId,
+                                                attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case IPV6_PREFIX: {
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                VendorSpecificAttribute.class,
+                                Ipv6PrefixData.class,
+                                new VendorSpecificAttribute.Codec<>(
+                                        Ipv6PrefixData.Codec.INSTANCE,
+                                        (type, vendorId, vendorType, data) ->
+                                                new VendorSpecificAttribute<>(
+                                                        VENDOR_SPECIFIC_ATTRIBUTE,
+                                                        vendorId,
+                                                        vendorType, data)),
+                                (Ipv6PrefixData data) ->
+                                        new VendorSpecificAttribute<>(
+                                                VENDOR_SPECIFIC_ATTRIBUTE,
+                                                attributeVendorId,
+                                                attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case LONG_EXTENDED:
+                break;
+            case OPTIONAL_TAGGED_STRING: {
+                DataCodec<OptionalTaggedStringData> dataCodec = OptionalTaggedStringData.Codec.INSTANCE;
+
+                if (usesUserPasswordEncryption) {
+                    dataCodec = new OptionalTaggedStringData.Codec(UserPasswordDataFilter.INSTANCE);
+                }
+
+                if (usesTunnelPasswordEncryption) {
+                    dataCodec = new OptionalTaggedStringData.Codec(TunnelPasswordDataFilter.INSTANCE);
+                }
+
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                VendorSpecificAttribute.class,
+                                OptionalTaggedStringData.class,
+                                new VendorSpecificAttribute.Codec<>(
+                                        dataCodec,
+                                        (type, vendorId, vendorType, data) ->
+                                                new VendorSpecificAttribute<>(
+                                                        VENDOR_SPECIFIC_ATTRIBUTE,
+                                                        vendorId,
+                                                        vendorType, data)),
+                                (OptionalTaggedStringData data) ->
+                                        new VendorSpecificAttribute<>(
+                                                VENDOR_SPECIFIC_ATTRIBUTE,
+                                                attributeVendorId,
+                                                attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case OPTIONAL_TAGGED_TEXT: {
+                DataCodec<OptionalTaggedTextData> dataCodec = OptionalTaggedTextData.Codec.INSTANCE;
+
+                if (usesUserPasswordEncryption) {
+                    dataCodec = new OptionalTaggedTextData.Codec(UserPasswordDataFilter.INSTANCE);
+                }
+
+                if (usesTunnelPasswordEncryption) {
+                    dataCodec = new OptionalTaggedTextData.Codec(TunnelPasswordDataFilter.INSTANCE);
+                }
+
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                VendorSpecificAttribute.class,
+                                OptionalTaggedTextData.class,
+                                new VendorSpecificAttribute.Codec<>(
+                                        dataCodec,
+                                        (type, vendorId, vendorType, data) ->
+                                                new VendorSpecificAttribute<>(
+                                                        VENDOR_SPECIFIC_ATTRIBUTE,
+                                                        vendorId,
+                                                        vendorType, data)),
+                                (OptionalTaggedTextData data) ->
+                                        new VendorSpecificAttribute<>(
+                                                VENDOR_SPECIFIC_ATTRIBUTE,
+                                                attributeVendorId,
+                                                attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case STRING: {
+                DataCodec<StringData> dataCodec = StringData.Codec.INSTANCE;
+
+                if (usesUserPasswordEncryption) {
+                    dataCodec = new StringData.Codec(UserPasswordDataFilter.INSTANCE);
+                }
+
+                if (usesTunnelPasswordEncryption) {
+                    dataCodec = new StringData.Codec(TunnelPasswordDataFilter.INSTANCE);
+                }
+
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                VendorSpecificAttribute.class,
+                                StringData.class,
+                                new VendorSpecificAttribute.Codec<>(
+                                        dataCodec,
+                                        (type, vendorId, vendorType, data) ->
+                                                new VendorSpecificAttribute<>(
+                                                        VENDOR_SPECIFIC_ATTRIBUTE,
+                                                        vendorId,
+                                                        vendorType, data)),
+                                (StringData data) ->
+                                        new VendorSpecificAttribute<>(
+                                                VENDOR_SPECIFIC_ATTRIBUTE,
+                                                attributeVendorId,
+                                                attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case TAGGED_INTEGER: {
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                VendorSpecificAttribute.class,
+                                TaggedIntegerData.class,
+                                new VendorSpecificAttribute.Codec<>(
+                                        TaggedIntegerData.Codec.INSTANCE,
+                                        (type, vendorId, vendorType, data) ->
+                                                new VendorSpecificAttribute<>(
+                                                        VENDOR_SPECIFIC_ATTRIBUTE,
+                                                        vendorId,
+                                                        vendorType, data)),
+                                (TaggedIntegerData data) ->
+                                        new VendorSpecificAttribute<>(
+                                                VENDOR_SPECIFIC_ATTRIBUTE,
+                                                attributeVendorId,
+                                                attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case TAGGED_STRING: {
+                DataCodec<TaggedStringData> dataCodec = TaggedStringData.Codec.INSTANCE;
+
+                if (usesUserPasswordEncryption) {
+                    dataCodec = new TaggedStringData.Codec(UserPasswordDataFilter.INSTANCE);
+                }
+
+                if (usesTunnelPasswordEncryption) {
+                    dataCodec = new TaggedStringData.Codec(TunnelPasswordDataFilter.INSTANCE);
+                }
+
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                VendorSpecificAttribute.class,
+                                TaggedStringData.class,
+                                new VendorSpecificAttribute.Codec<>(
+                                        dataCodec,
+                                        (type, vendorId, vendorType, data) ->
+                                                new VendorSpecificAttribute<>(
+                                                        VENDOR_SPECIFIC_ATTRIBUTE,
+                                                        vendorId,
+                                                        vendorType, data)),
+                                (TaggedStringData data) ->
+                                        new VendorSpecificAttribute<>(
+                                                VENDOR_SPECIFIC_ATTRIBUTE,
+                                                attributeVendorId,
+                                                attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case TAGGED_TEXT: {
+                DataCodec<TaggedTextData> dataCodec = TaggedTextData.Codec.INSTANCE;
+
+                if (usesUserPasswordEncryption) {
+                    dataCodec = new TaggedTextData.Codec(UserPasswordDataFilter.INSTANCE);
+                }
+
+                if (usesTunnelPasswordEncryption) {
+                    dataCodec = new TaggedTextData.Codec(TunnelPasswordDataFilter.INSTANCE);
+                }
+
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                VendorSpecificAttribute.class,
+                                TextData.class,
+                                new VendorSpecificAttribute.Codec<>(
+                                        dataCodec,
+                                        (type, vendorId, vendorType, data) ->
+                                                new VendorSpecificAttribute<>(
+                                                        VENDOR_SPECIFIC_ATTRIBUTE,
+                                                        vendorId,
+                                                        vendorType, data)),
+                                (TextData data) ->
+                                        new VendorSpecificAttribute<>(
+                                                VENDOR_SPECIFIC_ATTRIBUTE,
+                                                attributeVendorId,
+                                                attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case TEXT: {
+                DataCodec<TextData> dataCodec = TextData.Codec.INSTANCE;
+
+                if (usesUserPasswordEncryption) {
+                    dataCodec = new TextData.Codec(UserPasswordDataFilter.INSTANCE);
+                }
+
+                if (usesTunnelPasswordEncryption) {
+                    dataCodec = new TextData.Codec(TunnelPasswordDataFilter.INSTANCE);
+                }
+
+                AttributeDefinition<?, ?> attributeDefinition =
+                        new AttributeDefinition<>(
+                                attributeType,
+                                fullName,
+                                VendorSpecificAttribute.class,
+                                TextData.class,
+                                new VendorSpecificAttribute.Codec<>(
+                                        dataCodec,
+                                        (type, vendorId, vendorType, data) ->
+                                                new VendorSpecificAttribute<>(
+                                                        VENDOR_SPECIFIC_ATTRIBUTE,
+                                                        vendorId,
+                                                        vendorType, data)),
+                                (TextData data) ->
+                                        new VendorSpecificAttribute<>(
+                                                VENDOR_SPECIFIC_ATTRIBUTE,
+                                                attributeVendorId,
+                                                attributeId,
+                                                data));
+
+                return attributeDefinition;
+            }
+            case TIME:
+                break;
+            case TLV:
+                break;
+            case UNKNOWN:
+                break;
+            case VSA:
+                break;
+        }
 
+        return null;
     }
 
-    private static List<String> getDictionaryLines(String file) throws IOException {
+    private static Reader openDictionaryFile(String file) throws IOException {
         String filePath = RESOURCE_BASE_PATH + file;
 
         InputStream inputStream = FreeRadiusDictionary.class.getClassLoader().getResourceAsStream(filePath);
@@ -1094,23 +1485,23 @@ public class FreeRadiusDictionary implements Dictionary {
             throw new FileNotFoundException("Resource file not found: " + filePath);
         }
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            List<String> lines = new ArrayList<>();
+        return new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+    }
 
-            while (reader.ready()) {
-                String line = reader.readLine().trim().replaceAll("\\s+", " ");
+    private static boolean isDigits(String string) {
+        if (string.isEmpty()) {
+            return false;
+        }
 
-                if (line.contains("#")) {
-                    line = line.substring(0, line.indexOf("#")).trim();
-                }
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
 
-                if (line.length() > 0) {
-                    lines.add(line);
-                }
+            if (c < '0' || c > '9') {
+                return false;
             }
-
-            return lines;
         }
+
+        return true;
     }
 
     private static DataType typeFromString(String type, boolean hasTag, boolean hasEncryption) {
@@ -1217,32 +1608,66 @@ public class FreeRadiusDictionary implements Dictionary {
     public AttributeDefinition<?, ?> getAttributeDefinition(AttributeType type) {
         Objects.requireNonNull(type);
 
-        return typeAttributeDefinitionsMap.getOrDefault(type, null);
+        return getDefinitions(type).getAttributeDefinition(type);
     }
 
     @Override
-    public AttributeDefinition<?, ?> getAttributeDefinition(String name) {
-        Objects.requireNonNull(name);
+    public AttributeDefinition<?, ?> getAttributeDefinition(int type) {
+        return getStandardDefinitions().getAttributeDefinition(type);
+    }
 
-        return nameAttributeDefinitionsMap.getOrDefault(name.toLowerCase(Locale.ROOT), null);
+    @Override
+    public AttributeDefinition<?, ?> getVendorAttributeDefinition(int vendorId, int vendorType) {
+        return getVendorDefinitions(vendorId).getVendorAttributeDefinition(vendorId, vendorType);
     }
 
     @Override
-    public Integer getNumericAttributeValue(AttributeType type, String name) {
-        Map<String, Integer> valueMap = numericAttributeValueMap.get(type);
+    public int[] getVendorIds() {
+        // The vendors aren't known up front when lazy loading, so that their definitions are only created when used
+        return definitions != null ? definitions.vendorIds.clone() : null;
+    }
 
-        if (valueMap == null) {
-            return null;
+    @Override
+    public AttributeDefinition<?, ?> getAttributeDefinition(String name) {
+        Objects.requireNonNull(name);
+
+        if (definitions != null) {
+            return definitions.getAttributeDefinition(name);
         }
 
-        return valueMap.getOrDefault(name.toLowerCase(Locale.ROOT), null);
+        return lazyDefinitions.getAttributeDefinition(name);
+    }
+
+    @Override
+    public Integer getNumericAttributeValue(AttributeType type, String name) {
+        return getDefinitions(type).getNumericAttributeValue(type, name);
     }
 
     @Override
     public TlvDefinition getTlvDefinition(AttributeType type) {
         Objects.requireNonNull(type);
 
-        return tlvDefinitionsMap.getOrDefault(type, null);
+        return getDefinitions(type).getTlvDefinition(type);
+    }
+
+    private Definitions getStandardDefinitions() {
+        return definitions != null ? definitions : lazyDefinitions.getStandardDefinitions();
+    }
+
+    private Definitions getVendorDefinitions(int vendorId) {
+        return definitions != null ? definitions : lazyDefinitions.getVendorDefinitions(vendorId);
+    }
+
+    private Definitions getDefinitions(AttributeType type) {
+        if (definitions != null) {
+            return definitions;
+        }
+
+        if (type.length() > 1 && type.head() == VENDOR_SPECIFIC_ATTRIBUTE) {
+            return lazyDefinitions.getVendorDefinitions(type.at(1));
+        }
+
+        return lazyDefinitions.getStandardDefinitions();
     }
 
     private enum DataType {
@@ -1271,4 +1696,387 @@ public class FreeRadiusDictionary implements Dictionary {
         VSA
     }
 
+    /**
+     * The attribute definitions and values parsed from a set of dictionary files. The definitions are only modified
+     * while parsing, before {@link #index()} is called and the definitions are published.
+     */
+    private static final class Definitions {
+
+        private final Map<AttributeType, AttributeDefinition<?, ?>> typeAttributeDefinitionsMap = new HashMap<>();
+
+        private final Map<String, AttributeDefinition<?, ?>> nameAttributeDefinitionsMap = new HashMap<>();
+
+        private final Map<AttributeType, Map<String, Integer>> numericAttributeValueMap = new HashMap<>();
+
+        private final Map<AttributeType, TlvDefinition> tlvDefinitionsMap = new HashMap<>();
+
+        /**
+         * The definitions of the top-level attributes indexed by type.
+         */
+        private final AttributeDefinition<?, ?>[] topLevelAttributeDefinitions = new AttributeDefinition<?, ?>[256];
+
+        /**
+         * The sorted identifiers of the vendors with vendor-specific attributes.
+         */
+        private int[] vendorIds;
+
+        /**
+         * The definitions of the vendor-specific attributes with a vendor type in range [0, 255], indexed like
+         * {@link #vendorIds} and then by vendor type.
+         */
+        private AttributeDefinition<?, ?>[][] vendorAttributeDefinitions;
+
+        /**
+         * The snapshot output that the added definitions are recorded to (null when not writing a snapshot).
+         */
+        private final DataOutputStream snapshotOutput;
+
+        private Definitions() {
+            this(null);
+        }
+
+        private Definitions(DataOutputStream snapshotOutput) {
+            this.snapshotOutput = snapshotOutput;
+        }
+
+        /**
+         * Adds the definition of a standard attribute (when the vendor identifier is null) or of a vendor-specific
+         * attribute. Attributes with unsupported data types are ignored.
+         */
+        private void putAttribute(Integer vendorId, int attributeId, String fullName, DataType dataType,
+                                  boolean usesUserPasswordEncryption, boolean usesTunnelPasswordEncryption)
+                throws IOException
+        {
+            AttributeDefinition<?, ?> attributeDefinition = vendorId == null
+                    ? createStandardAttributeDefinition(attributeId, fullName, dataType, usesUserPasswordEncryption,
+                            usesTunnelPasswordEncryption)
+                    : createVendorAttributeDefinition(vendorId, attributeId, fullName, dataType,
+                            usesUserPasswordEncryption, usesTunnelPasswordEncryption);
+
+            if (attributeDefinition == null) {
+                return;
+            }
+
+            // The codecs create instances of the declared attribute classes
+            attributeDefinition = attributeDefinition.withExactAttributeClass();
+
+            typeAttributeDefinitionsMap.put(attributeDefinition.getIdentifier(), attributeDefinition);
+            nameAttributeDefinitionsMap.put(fullName.toLowerCase(Locale.ROOT), attributeDefinition);
+
+            if (snapshotOutput != null) {
+                snapshotOutput.writeByte(SNAPSHOT_ATTRIBUTE_RECORD);
+                snapshotOutput.writeBoolean(vendorId != null);
+                snapshotOutput.writeInt(vendorId == null ? 0 : vendorId);
+                snapshotOutput.writeInt(attributeId);
+                snapshotOutput.writeUTF(fullName);
+                snapshotOutput.writeByte(dataType.ordinal());
+                snapshotOutput.writeBoolean(usesUserPasswordEncryption);
+                snapshotOutput.writeBoolean(usesTunnelPasswordEncryption);
+            }
+        }
+
+        private void putNumericAttributeValue(AttributeType attributeType, String valueName, int value)
+                throws IOException
+        {
+            Map<String, Integer> valuesMap =
+                    numericAttributeValueMap.computeIfAbsent(attributeType, k -> new HashMap<>());
+
+            valuesMap.put(valueName.toLowerCase(Locale.ROOT), value);
+
+            if (snapshotOutput != null) {
+                snapshotOutput.writeByte(SNAPSHOT_VALUE_RECORD);
+                snapshotOutput.writeByte(attributeType.length());
+
+                for (int i = 0; i < attributeType.length(); i++) {
+                    snapshotOutput.writeInt(attributeType.at(i));
+                }
+
+                snapshotOutput.writeUTF(valueName);
+                snapshotOutput.writeInt(value);
+            }
+        }
+
+        /**
+         * Indexes the definitions once all the dictionary files are parsed. The top-level and vendor-specific
+         * attribute definitions are indexed in arrays for fast lookups while decoding.
+         */
+        private void index() {
+            typeAttributeDefinitionsMap.forEach((attributeType, attributeDefinition) ->
+                    nameAttributeDefinitionsMap.put(attributeDefinition.getName().toLowerCase(Locale.ROOT),
+                            attributeDefinition));
+
+            Map<Integer, AttributeDefinition<?, ?>[]> vendorAttributeDefinitionsMap = new TreeMap<>();
+
+            typeAttributeDefinitionsMap.forEach((attributeType, attributeDefinition) -> {
+                if (attributeType.length() == 1) {
+                    topLevelAttributeDefinitions[attributeType.head()] = attributeDefinition;
+                }
+                else if (attributeType.length() == 3 && attributeType.head() == VENDOR_SPECIFIC_ATTRIBUTE
+                        && attributeType.last() >= 0 && attributeType.last() <= 255)
+                {
+                    vendorAttributeDefinitionsMap.computeIfAbsent(attributeType.at(1),
+                            k -> new AttributeDefinition<?, ?>[256])[attributeType.last()] = attributeDefinition;
+                }
+            });
+
+            vendorIds = new int[vendorAttributeDefinitionsMap.size()];
+            vendorAttributeDefinitions = new AttributeDefinition<?, ?>[vendorAttributeDefinitionsMap.size()][];
+
+            int i = 0;
+
+            for (Map.Entry<Integer, AttributeDefinition<?, ?>[]> entry : vendorAttributeDefinitionsMap.entrySet()) {
+                vendorIds[i] = entry.getKey();
+                vendorAttributeDefinitions[i] = entry.getValue();
+                i++;
+            }
+        }
+
+        private AttributeDefinition<?, ?> getAttributeDefinition(AttributeType type) {
+            return typeAttributeDefinitionsMap.getOrDefault(type, null);
+        }
+
+        private AttributeDefinition<?, ?> getAttributeDefinition(int type) {
+            if (type < 0 || type > 255) {
+                return null;
+            }
+
+            return topLevelAttributeDefinitions[type];
+        }
+
+        private AttributeDefinition<?, ?> getVendorAttributeDefinition(int vendorId, int vendorType) {
+            if (vendorType < 0 || vendorType > 255) {
+                return getAttributeDefinition(VENDOR_SPECIFIC_ATTRIBUTE_TYPE.with(vendorId, vendorType));
+            }
+
+            int index = Arrays.binarySearch(vendorIds, vendorId);
+
+            if (index < 0) {
+                return null;
+            }
+
+            return vendorAttributeDefinitions[index][vendorType];
+        }
+
+        private AttributeDefinition<?, ?> getAttributeDefinition(String name) {
+            return nameAttributeDefinitionsMap.getOrDefault(name.toLowerCase(Locale.ROOT), null);
+        }
+
+        private Integer getNumericAttributeValue(AttributeType type, String name) {
+            Map<String, Integer> valueMap = numericAttributeValueMap.get(type);
+
+            if (valueMap == null) {
+                return null;
+            }
+
+            return valueMap.getOrDefault(name.toLowerCase(Locale.ROOT), null);
+        }
+
+        private TlvDefinition getTlvDefinition(AttributeType type) {
+            return tlvDefinitionsMap.getOrDefault(type, null);
+        }
+
+    }
+
+    /**
+     * The definitions of the dictionary files loaded on demand. The snapshot records are split up front into the records
+     * of the standard definitions and the records of each vendor, without creating the definitions, and the names of
+     * the vendor attributes are indexed. The standard definitions are created from their records on first use and the
+     * definitions of a vendor are created the first time one of its attributes is looked up. Loaded definitions are
+     * never modified, so lookups are thread-safe.
+     */
+    private static final class LazyDefinitions {
+
+        private static final Definitions EMPTY_DEFINITIONS = parseDictionaryFiles(new ArrayList<>(), true, true);
+
+        /**
+         * The snapshot records of the standard definitions (i.e., the ones that aren't vendor-specific).
+         */
+        private final byte[] standardRecords;
+
+        private final Map<Integer, byte[]> vendorRecordsMap;
+
+        /**
+         * The vendor identifiers of the vendor attributes by lowercase attribute name.
+         */
+        private final Map<String, Integer> nameVendorIdMap;
+
+        private final ConcurrentMap<Integer, Definitions> vendorDefinitionsMap = new ConcurrentHashMap<>();
+
+        private volatile Definitions standardDefinitions;
+
+        private LazyDefinitions(byte[] standardRecords, Map<Integer, byte[]> vendorRecordsMap,
+                                Map<String, Integer> nameVendorIdMap)
+        {
+            this.standardRecords = standardRecords;
+            this.vendorRecordsMap = vendorRecordsMap;
+            this.nameVendorIdMap = nameVendorIdMap;
+        }
+
+        /**
+         * Splits the snapshot records up to the end record by vendor. The records are copied as they are, and only the
+         * fields needed to split them and to index the vendor attribute names are decoded. The value records are split
+         * by the vendor of their attribute type, which is how the definitions are looked up.
+         *
+         * @param snapshot the snapshot bytes
+         * @param offset the offset of the first record
+         *
+         * @return the lazily loaded definitions
+         */
+        private static LazyDefinitions read(byte[] snapshot, int offset) throws IOException {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(snapshot, offset, snapshot.length - offset);
+            DataInputStream input = new DataInputStream(inputStream);
+
+            ByteArrayOutputStream standardRecordsOutput = new ByteArrayOutputStream();
+            Map<Integer, ByteArrayOutputStream> vendorRecordsOutputMap = new HashMap<>();
+            Map<String, Integer> nameVendorIdMap = new HashMap<>();
+
+            while (true) {
+                int recordOffset = snapshot.length - inputStream.available();
+                int record = input.readUnsignedByte();
+
+                ByteArrayOutputStream recordsOutput = standardRecordsOutput;
+
+                switch (record) {
+                    case SNAPSHOT_END_RECORD: {
+                        Map<Integer, byte[]> vendorRecordsMap = new HashMap<>();
+
+                        for (Map.Entry<Integer, ByteArrayOutputStream> entry : vendorRecordsOutputMap.entrySet()) {
+                            vendorRecordsMap.put(entry.getKey(), toRecords(entry.getValue()));
+                        }
+
+                        return new LazyDefinitions(toRecords(standardRecordsOutput), vendorRecordsMap,
+                                nameVendorIdMap);
+                    }
+                    case SNAPSHOT_ATTRIBUTE_RECORD: {
+                        boolean isVendor = input.readBoolean();
+                        int vendorId = input.readInt();
+                        input.skipBytes(4);
+
+                        if (isVendor) {
+                            recordsOutput = vendorRecordsOutputMap.computeIfAbsent(vendorId,
+                                    k -> new ByteArrayOutputStream());
+
+                            nameVendorIdMap.put(input.readUTF().toLowerCase(Locale.ROOT), vendorId);
+                        }
+                        else {
+                            input.skipBytes(input.readUnsignedShort());
+                        }
+
+                        // The data type and the encryption flags
+                        input.skipBytes(3);
+                        break;
+                    }
+                    case SNAPSHOT_VALUE_RECORD: {
+                        int[] types = new int[input.readUnsignedByte()];
+
+                        for (int i = 0; i < types.length; i++) {
+                            types[i] = input.readInt();
+                        }
+
+                        if (types.length > 1 && types[0] == VENDOR_SPECIFIC_ATTRIBUTE) {
+                            recordsOutput = vendorRecordsOutputMap.computeIfAbsent(types[1],
+                                    k -> new ByteArrayOutputStream());
+                        }
+
+                        // The value name and the value
+                        input.skipBytes(input.readUnsignedShort() + 4);
+                        break;
+                    }
+                    default:
+                        throw new IOException("Invalid FreeRADIUS dictionary snapshot record: " + record);
+                }
+
+                recordsOutput.write(snapshot, recordOffset, snapshot.length - inputStream.available() - recordOffset);
+            }
+        }
+
+        private static byte[] toRecords(ByteArrayOutputStream recordsOutput) {
+            recordsOutput.write(SNAPSHOT_END_RECORD);
+
+            return recordsOutput.toByteArray();
+        }
+
+        private static Definitions readRecords(byte[] records) {
+            try {
+                return readSnapshotRecords(new DataInputStream(new ByteArrayInputStream(records)));
+            }
+            catch (IOException e) {
+                throw new RuntimeException("Unable to load FreeRADIUS dictionary", e);
+            }
+        }
+
+        private Definitions getStandardDefinitions() {
+            Definitions definitions = standardDefinitions;
+
+            if (definitions == null) {
+                synchronized (this) {
+                    definitions = standardDefinitions;
+
+                    if (definitions == null) {
+                        definitions = readRecords(standardRecords);
+                        standardDefinitions = definitions;
+                    }
+                }
+            }
+
+            return definitions;
+        }
+
+        private Definitions getVendorDefinitions(int vendorId) {
+            Definitions definitions = vendorDefinitionsMap.get(vendorId);
+
+            if (definitions != null) {
+                return definitions;
+            }
+
+            byte[] vendorRecords = vendorRecordsMap.get(vendorId);
+
+            if (vendorRecords == null) {
+                // Unknown vendors aren't kept in the map so that received attributes can't grow it
+                return EMPTY_DEFINITIONS;
+            }
+
+            return vendorDefinitionsMap.computeIfAbsent(vendorId, k -> readRecords(vendorRecords));
+        }
+
+        private AttributeDefinition<?, ?> getAttributeDefinition(String name) {
+            AttributeDefinition<?, ?> attributeDefinition = getStandardDefinitions().getAttributeDefinition(name);
+
+            if (attributeDefinition != null) {
+                return attributeDefinition;
+            }
+
+            Integer vendorId = nameVendorIdMap.get(name.toLowerCase(Locale.ROOT));
+
+            if (vendorId == null) {
+                return null;
+            }
+
+            return getVendorDefinitions(vendorId).getAttributeDefinition(name);
+        }
+
+    }
+
+    /**
+     * Parses the files included by a dictionary file.
+     */
+    private interface IncludeParser {
+
+        void parse(String file, boolean isOptional) throws IOException;
+
+    }
+
+    private static final class DefinitionsHolder {
+
+        private static final Definitions DEFINITIONS = loadDefinitions();
+
+    }
+
+    private static final class LazyDefinitionsHolder {
+
+        private static final LazyDefinitions LAZY_DEFINITIONS = loadLazyDefinitions();
+
+    }
+
+
 }
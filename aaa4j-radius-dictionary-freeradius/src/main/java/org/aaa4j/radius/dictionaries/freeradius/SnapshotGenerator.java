@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.dictionaries.freeradius;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Generates the snapshot of the FreeRADIUS dictionary files that {@link FreeRadiusDictionary} loads instead of parsing
+ * the dictionary files. Run by the build with the classes output directory as the only argument.
+ */
+final class SnapshotGenerator {
+
+    private SnapshotGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: SnapshotGenerator <output directory>");
+        }
+
+        File snapshotFile = new File(args[0], FreeRadiusDictionary.SNAPSHOT_NAME);
+        File snapshotDirectory = snapshotFile.getParentFile();
+
+        if (!snapshotDirectory.isDirectory() && !snapshotDirectory.mkdirs()) {
+            throw new IOException("Unable to create directory: " + snapshotDirectory);
+        }
+
+        try (OutputStream outputStream = new FileOutputStream(snapshotFile)) {
+            FreeRadiusDictionary.writeSnapshot(outputStream);
+        }
+    }
+
+}
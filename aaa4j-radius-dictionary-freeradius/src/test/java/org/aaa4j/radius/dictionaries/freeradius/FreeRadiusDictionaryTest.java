@@ -0,0 +1,188 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.dictionaries.freeradius;
+
+import org.aaa4j.radius.core.attribute.AttributeType;
+import org.aaa4j.radius.core.dictionary.Dictionaries;
+import org.aaa4j.radius.core.dictionary.Dictionary;
+import org.aaa4j.radius.core.dictionary.dictionaries.StandardDictionary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("FreeRadiusDictionary")
+class FreeRadiusDictionaryTest {
+
+    private static final String ACME_DICTIONARY = ""
+            + "VENDOR Acme 9999\n"
+            + "\n"
+            + "BEGIN-VENDOR Acme\n"
+            + "ATTRIBUTE Foo 1 string\n"
+            + "END-VENDOR Acme\n";
+
+    private static final String REOPENED_ACME_DICTIONARY = ACME_DICTIONARY
+            + "\n"
+            + "BEGIN-VENDOR Acme\n"
+            + "ATTRIBUTE Bar 2 integer\n"
+            + "VALUE Bar Enabled 1\n"
+            + "END-VENDOR Acme\n";
+
+    @Nested
+    @DisplayName("Bundled dictionary")
+    class BundledDictionaryTest {
+
+        @Test
+        @DisplayName("Extended vendor-specific attributes don't shadow standard attributes")
+        void extendedVendorSpecificAttributes() {
+            Dictionary[] dictionaries = {new FreeRadiusDictionary(), new FreeRadiusDictionary(true)};
+
+            for (Dictionary dictionary : dictionaries) {
+                assertEquals("User-Name", dictionary.getAttributeDefinition(1).getName());
+                assertEquals("User-Password", dictionary.getAttributeDefinition(2).getName());
+            }
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Loading from an input stream")
+    class InputStreamTest {
+
+        @Test
+        @DisplayName("Attributes of a reopened vendor block are vendor-specific attributes")
+        void reopenedVendorBlock() throws IOException {
+            Dictionary dictionary = FreeRadiusDictionary.load(inputStream(REOPENED_ACME_DICTIONARY));
+
+            assertEquals("Acme-Foo", dictionary.getVendorAttributeDefinition(9999, 1).getName());
+            assertEquals("Acme-Bar", dictionary.getVendorAttributeDefinition(9999, 2).getName());
+            assertEquals(new AttributeType(26, 9999, 2), dictionary.getAttributeDefinition("Acme-Bar").getIdentifier());
+            assertEquals(1, dictionary.getNumericAttributeValue(new AttributeType(26, 9999, 2), "Enabled"));
+            assertNull(dictionary.getAttributeDefinition(2));
+
+            Dictionary combinedDictionary = Dictionaries.of(dictionary, new StandardDictionary());
+
+            assertEquals("User-Password", combinedDictionary.getAttributeDefinition(2).getName());
+        }
+
+        @Test
+        @DisplayName("A vendor block of an undeclared vendor is invalid")
+        void unknownVendor() {
+            String dictionary = ""
+                    + "BEGIN-VENDOR Acme\n"
+                    + "ATTRIBUTE Bar 2 integer\n"
+                    + "END-VENDOR Acme\n";
+
+            assertThrows(IOException.class, () -> FreeRadiusDictionary.load(inputStream(dictionary)));
+        }
+
+        @Test
+        @DisplayName("Attributes of an extended vendor-specific vendor block are ignored")
+        void extendedVendorBlock() throws IOException {
+            String dictionary = ACME_DICTIONARY
+                    + "\n"
+                    + "BEGIN-VENDOR Acme parent=.Extended-Attribute-5.Extended-Vendor-Specific-5\n"
+                    + "ATTRIBUTE Extended 2 integer\n"
+                    + "END-VENDOR Acme\n";
+
+            Dictionary loadedDictionary = FreeRadiusDictionary.load(inputStream(dictionary));
+
+            assertEquals("Acme-Foo", loadedDictionary.getVendorAttributeDefinition(9999, 1).getName());
+            assertNull(loadedDictionary.getAttributeDefinition(2));
+            assertNull(loadedDictionary.getVendorAttributeDefinition(9999, 2));
+            assertNull(loadedDictionary.getAttributeDefinition("Acme-Extended"));
+        }
+
+        private InputStream inputStream(String dictionary) {
+            return new ByteArrayInputStream(dictionary.getBytes(UTF_8));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Loading from a file")
+    class PathTest {
+
+        @TempDir
+        Path directory;
+
+        @Test
+        @DisplayName("Attributes of a reopened vendor block are vendor-specific attributes")
+        void reopenedVendorBlock() throws IOException {
+            Path file = write("dictionary", REOPENED_ACME_DICTIONARY);
+
+            Dictionary dictionary = FreeRadiusDictionary.load(file);
+
+            assertEquals("Acme-Bar", dictionary.getVendorAttributeDefinition(9999, 2).getName());
+            assertNull(dictionary.getAttributeDefinition(2));
+        }
+
+        @Test
+        @DisplayName("Vendors declared by an included file can be used by the including file")
+        void vendorOfIncludedFile() throws IOException {
+            write("dictionary.acme", "VENDOR Acme 9999\n");
+
+            Path file = write("dictionary", ""
+                    + "$INCLUDE dictionary.acme\n"
+                    + "\n"
+                    + "BEGIN-VENDOR Acme\n"
+                    + "ATTRIBUTE Bar 2 integer\n"
+                    + "END-VENDOR Acme\n");
+
+            Dictionary dictionary = FreeRadiusDictionary.load(file);
+
+            assertEquals("Acme-Bar", dictionary.getVendorAttributeDefinition(9999, 2).getName());
+            assertNull(dictionary.getAttributeDefinition(2));
+        }
+
+        @Test
+        @DisplayName("A vendor block of an undeclared vendor is invalid")
+        void unknownVendor() throws IOException {
+            Path file = write("dictionary", ""
+                    + "BEGIN-VENDOR Acme\n"
+                    + "ATTRIBUTE Bar 2 integer\n"
+                    + "END-VENDOR Acme\n");
+
+            assertThrows(IOException.class, () -> FreeRadiusDictionary.load(file));
+        }
+
+        @Test
+        @DisplayName("Recursive includes are invalid")
+        void recursiveInclude() throws IOException {
+            Path file = write("dictionary", "$INCLUDE dictionary\n");
+
+            assertThrows(IOException.class, () -> FreeRadiusDictionary.load(file));
+        }
+
+        private Path write(String fileName, String dictionary) throws IOException {
+            return Files.write(directory.resolve(fileName), dictionary.getBytes(UTF_8));
+        }
+
+    }
+
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.server;
+
+import org.aaa4j.radius.server.DeduplicationCache.Result.State;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An implementation of {@link DeduplicationCache} with a configurable time-to-live value for the cached responses that
+ * can be shared by many threads without contention. Caches all requests using the entire request packet bytes, like
+ * {@link TimedDeduplicationCache}.
+ *
+ * <p>
+ * The cache entries are kept in a concurrent map, so the threads handling different requests don't block each other.
+ * The expired entries are removed in insertion order by whichever thread first notices that the oldest entry has
+ * expired; the other threads skip the expiry instead of waiting for it.
+ * </p>
+ */
+public final class ConcurrentDeduplicationCache implements DeduplicationCache {
+
+    private final ConcurrentMap<CacheKey, CacheValue> cacheMap = new ConcurrentHashMap<>();
+
+    /**
+     * The cache values in insertion order. Values that were replaced or removed from the map stay in the queue until
+     * they expire.
+     */
+    private final Queue<CacheValue> expiryQueue = new ConcurrentLinkedQueue<>();
+
+    private final Lock expiryLock = new ReentrantLock();
+
+    private final long ttlMillis;
+
+    public ConcurrentDeduplicationCache(Duration ttlDuration) {
+        this.ttlMillis = ttlDuration.toMillis();
+    }
+
+    @Override
+    public Result handleRequest(InetSocketAddress clientAddress, byte[] requestPacketBytes) {
+        return handleRequest(new CacheKey(clientAddress, ByteBuffer.wrap(requestPacketBytes)), false);
+    }
+
+    @Override
+    public Result handleRequest(InetSocketAddress clientAddress, ByteBuffer requestPacketBuffer) {
+        // The buffer may be reused once the request is handled (e.g., a pooled buffer), so its bytes are only copied
+        // when the request is added to the cache
+        return handleRequest(new CacheKey(clientAddress, requestPacketBuffer), true);
+    }
+
+    private Result handleRequest(CacheKey cacheKey, boolean isCopyNeeded) {
+        long currentEpochMillis = System.currentTimeMillis();
+
+        removeExpired(currentEpochMillis);
+
+        while (true) {
+            CacheValue cacheValue = cacheMap.get(cacheKey);
+
+            if (cacheValue == null) {
+                CacheValue newCacheValue = new CacheValue(isCopyNeeded ? cacheKey.copy() : cacheKey,
+                        currentEpochMillis);
+
+                cacheValue = cacheMap.putIfAbsent(newCacheValue.cacheKey, newCacheValue);
+
+                if (cacheValue == null) {
+                    // It's a new, unseen request
+                    expiryQueue.add(newCacheValue);
+
+                    return new Result(State.NEW_REQUEST, null);
+                }
+            }
+
+            if (cacheValue.isExpired(currentEpochMillis)) {
+                // The entry hasn't been removed yet, but it has expired so the request is treated as a new one. The key
+                // of the entry already has its own copy of the bytes.
+                CacheValue newCacheValue = new CacheValue(cacheValue.cacheKey, currentEpochMillis);
+
+                if (cacheMap.replace(cacheValue.cacheKey, cacheValue, newCacheValue)) {
+                    expiryQueue.add(newCacheValue);
+
+                    return new Result(State.NEW_REQUEST, null);
+                }
+
+                // Another thread replaced or removed the entry in the meantime
+                continue;
+            }
+
+            byte[] responsePacketBytes = cacheValue.responsePacketBytes;
+
+            if (responsePacketBytes != null) {
+                return new Result(State.CACHED_RESPONSE, responsePacketBytes);
+            }
+            else {
+                return new Result(State.IN_PROGRESS_REQUEST, null);
+            }
+        }
+    }
+
+    @Override
+    public void handleResponse(InetSocketAddress clientAddress, byte[] requestPacketBytes,
+                               byte[] responsePacketBytes)
+    {
+        handleResponse(clientAddress, ByteBuffer.wrap(requestPacketBytes), responsePacketBytes);
+    }
+
+    @Override
+    public void unhandleRequest(InetSocketAddress clientAddress, byte[] requestPacketBytes) {
+        unhandleRequest(clientAddress, ByteBuffer.wrap(requestPacketBytes));
+    }
+
+    @Override
+    public void handleResponse(InetSocketAddress clientAddress, ByteBuffer requestPacketBuffer,
+                               byte[] responsePacketBytes)
+    {
+        // The buffer is only used to look up the entry, so it isn't copied
+        CacheValue cacheValue = cacheMap.get(new CacheKey(clientAddress, requestPacketBuffer));
+
+        if (cacheValue == null) {
+            return;
+        }
+
+        cacheValue.responsePacketBytes = responsePacketBytes;
+    }
+
+    @Override
+    public void unhandleRequest(InetSocketAddress clientAddress, ByteBuffer requestPacketBuffer) {
+        cacheMap.remove(new CacheKey(clientAddress, requestPacketBuffer));
+    }
+
+    @Override
+    public void clear() {
+        expiryLock.lock();
+
+        try {
+            cacheMap.clear();
+            expiryQueue.clear();
+        }
+        finally {
+            expiryLock.unlock();
+        }
+    }
+
+    private void removeExpired(long currentEpochMillis) {
+        CacheValue oldestCacheValue = expiryQueue.peek();
+
+        if (oldestCacheValue == null || !oldestCacheValue.isExpired(currentEpochMillis)) {
+            // Nothing to remove, which is the common case
+            return;
+        }
+
+        if (!expiryLock.tryLock()) {
+            // Another thread is already removing the expired entries
+            return;
+        }
+
+        try {
+            CacheValue cacheValue;
+
+            while ((cacheValue = expiryQueue.peek()) != null && cacheValue.isExpired(currentEpochMillis)) {
+                expiryQueue.poll();
+
+                // Only removes the entry if it wasn't replaced by a newer value
+                cacheMap.remove(cacheValue.cacheKey, cacheValue);
+            }
+        }
+        finally {
+            expiryLock.unlock();
+        }
+    }
+
+    /**
+     * The client address and the request packet bytes, which are the remaining bytes of a buffer. The keys stored in
+     * the map wrap their own copy of the bytes, while the keys used only for lookups may use a pooled buffer.
+     */
+    private static class CacheKey {
+
+        private final InetSocketAddress clientAddress;
+
+        private final ByteBuffer requestBuffer;
+
+        private final int hashCode;
+
+        private CacheKey(InetSocketAddress clientAddress, ByteBuffer requestBuffer) {
+            this(clientAddress, requestBuffer, Objects.hash(clientAddress, requestBuffer.hashCode()));
+        }
+
+        private CacheKey(InetSocketAddress clientAddress, ByteBuffer requestBuffer, int hashCode) {
+            this.clientAddress = clientAddress;
+            this.requestBuffer = requestBuffer;
+            this.hashCode = hashCode;
+        }
+
+        /**
+         * Returns a key with its own copy of the request packet bytes.
+         */
+        private CacheKey copy() {
+            ByteBuffer requestBufferCopy = ByteBuffer.allocate(requestBuffer.remaining());
+            requestBufferCopy.put(requestBuffer.duplicate());
+            requestBufferCopy.flip();
+
+            return new CacheKey(clientAddress, requestBufferCopy, hashCode);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            CacheKey cacheKey = (CacheKey) obj;
+
+            return hashCode == cacheKey.hashCode
+                    && Objects.equals(clientAddress, cacheKey.clientAddress)
+                    && requestBuffer.equals(cacheKey.requestBuffer);
+        }
+
+    }
+
+    private class CacheValue {
+
+        private final CacheKey cacheKey;
+
+        private final long insertionEpochMillis;
+
+        private volatile byte[] responsePacketBytes;
+
+        private CacheValue(CacheKey cacheKey, long insertionEpochMillis) {
+            this.cacheKey = cacheKey;
+            this.insertionEpochMillis = insertionEpochMillis;
+        }
+
+        private boolean isExpired(long currentEpochMillis) {
+            return insertionEpochMillis + ttlMillis < currentEpochMillis;
+        }
+
+    }
+
+}
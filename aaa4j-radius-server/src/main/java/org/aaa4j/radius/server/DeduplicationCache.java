@@ -17,6 +17,7 @@
 package org.aaa4j.radius.server;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 
 /**
  * Cache for handling duplicate requests.
@@ -50,6 +51,55 @@ public interface DeduplicationCache {
      */
     void unhandleRequest(InetSocketAddress clientAddress, byte[] requestPacketBytes);
 
+    /**
+     * Handles a request given as the remaining bytes of a buffer. The buffer's position and limit are not modified. The
+     * default implementation copies the request packet bytes and calls {@link #handleRequest(InetSocketAddress, byte[])}.
+     *
+     * @param clientAddress the client address
+     * @param requestPacketBuffer the buffer containing the request packet bytes
+     *
+     * @return the duplication strategy result
+     */
+    default Result handleRequest(InetSocketAddress clientAddress, ByteBuffer requestPacketBuffer) {
+        byte[] requestPacketBytes = new byte[requestPacketBuffer.remaining()];
+        requestPacketBuffer.duplicate().get(requestPacketBytes);
+
+        return handleRequest(clientAddress, requestPacketBytes);
+    }
+
+    /**
+     * Handles a response to a request given as the remaining bytes of a buffer. The buffer's position and limit are not
+     * modified. The default implementation copies the request packet bytes and calls
+     * {@link #handleResponse(InetSocketAddress, byte[], byte[])}.
+     *
+     * @param clientAddress the client address
+     * @param requestPacketBuffer the buffer containing the request packet bytes
+     * @param responsePacketBytes the response packet bytes
+     */
+    default void handleResponse(InetSocketAddress clientAddress, ByteBuffer requestPacketBuffer,
+                                byte[] responsePacketBytes)
+    {
+        byte[] requestPacketBytes = new byte[requestPacketBuffer.remaining()];
+        requestPacketBuffer.duplicate().get(requestPacketBytes);
+
+        handleResponse(clientAddress, requestPacketBytes, responsePacketBytes);
+    }
+
+    /**
+     * Unhandles a request given as the remaining bytes of a buffer. The buffer's position and limit are not modified.
+     * The default implementation copies the request packet bytes and calls
+     * {@link #unhandleRequest(InetSocketAddress, byte[])}.
+     *
+     * @param clientAddress the client address
+     * @param requestPacketBuffer the buffer containing the request packet bytes
+     */
+    default void unhandleRequest(InetSocketAddress clientAddress, ByteBuffer requestPacketBuffer) {
+        byte[] requestPacketBytes = new byte[requestPacketBuffer.remaining()];
+        requestPacketBuffer.duplicate().get(requestPacketBytes);
+
+        unhandleRequest(clientAddress, requestPacketBytes);
+    }
+
     /**
      * Clears the cache.
      */
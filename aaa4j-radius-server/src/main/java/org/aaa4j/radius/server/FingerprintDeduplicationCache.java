@@ -0,0 +1,386 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.server;
+
+import org.aaa4j.radius.server.DeduplicationCache.Result.State;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An implementation of {@link DeduplicationCache} with bounded memory. Requests are identified by a fingerprint made of
+ * the client address, the packet code, the packet identifier and the request authenticator, which is what RFC 5080
+ * duplicate detection relies on, instead of the entire request packet bytes. Only the response packet bytes are kept.
+ *
+ * <p>
+ * Besides the time-to-live value, the cache enforces a maximum number of entries and a byte budget. Each entry counts
+ * for its response packet bytes plus an estimated fixed overhead. When a limit is exceeded, the oldest entries are
+ * evicted first; a duplicate of an evicted request is handled as a new request.
+ * </p>
+ *
+ * <p>
+ * The entries are split between independently locked shards to reduce contention between threads, and the limits are
+ * split evenly between the shards.
+ * </p>
+ */
+public final class FingerprintDeduplicationCache implements DeduplicationCache {
+
+    /**
+     * The estimated memory used by an entry besides its response bytes (fingerprint, entry object and map node).
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private static final int MAX_SHARD_COUNT = 16;
+
+    private final Shard[] shards;
+
+    private final long ttlMillis;
+
+    /**
+     * Constructs a fingerprint deduplication cache.
+     *
+     * @param ttlDuration the time-to-live of the cached requests and responses
+     * @param maxEntries the maximum number of cached requests
+     * @param maxBytes the maximum estimated memory used by the cache in bytes
+     */
+    public FingerprintDeduplicationCache(Duration ttlDuration, int maxEntries, long maxBytes) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be at least 1");
+        }
+
+        if (maxBytes < ENTRY_OVERHEAD_BYTES) {
+            throw new IllegalArgumentException("Max bytes must be at least " + ENTRY_OVERHEAD_BYTES);
+        }
+
+        this.ttlMillis = ttlDuration.toMillis();
+
+        // A power of two not greater than the number of entries or bytes allowed, so every shard can hold an entry
+        int shardCount = Integer.highestOneBit((int) Math.min(MAX_SHARD_COUNT,
+                Math.min(maxEntries, maxBytes / ENTRY_OVERHEAD_BYTES)));
+
+        this.shards = new Shard[shardCount];
+
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(maxEntries / shardCount, maxBytes / shardCount);
+        }
+    }
+
+    @Override
+    public Result handleRequest(InetSocketAddress clientAddress, byte[] requestPacketBytes) {
+        Fingerprint fingerprint = Fingerprint.of(clientAddress, requestPacketBytes);
+
+        if (fingerprint == null) {
+            // Not a valid packet so there's nothing to deduplicate
+            return new Result(State.NEW_REQUEST, null);
+        }
+
+        return getShard(fingerprint).handleRequest(fingerprint, System.currentTimeMillis());
+    }
+
+    @Override
+    public void handleResponse(InetSocketAddress clientAddress, byte[] requestPacketBytes,
+                               byte[] responsePacketBytes)
+    {
+        Fingerprint fingerprint = Fingerprint.of(clientAddress, requestPacketBytes);
+
+        if (fingerprint == null) {
+            return;
+        }
+
+        getShard(fingerprint).handleResponse(fingerprint, responsePacketBytes);
+    }
+
+    @Override
+    public void unhandleRequest(InetSocketAddress clientAddress, byte[] requestPacketBytes) {
+        Fingerprint fingerprint = Fingerprint.of(clientAddress, requestPacketBytes);
+
+        if (fingerprint == null) {
+            return;
+        }
+
+        getShard(fingerprint).unhandleRequest(fingerprint);
+    }
+
+    @Override
+    public Result handleRequest(InetSocketAddress clientAddress, ByteBuffer requestPacketBuffer) {
+        Fingerprint fingerprint = Fingerprint.of(clientAddress, requestPacketBuffer);
+
+        if (fingerprint == null) {
+            // Not a valid packet so there's nothing to deduplicate
+            return new Result(State.NEW_REQUEST, null);
+        }
+
+        return getShard(fingerprint).handleRequest(fingerprint, System.currentTimeMillis());
+    }
+
+    @Override
+    public void handleResponse(InetSocketAddress clientAddress, ByteBuffer requestPacketBuffer,
+                               byte[] responsePacketBytes)
+    {
+        Fingerprint fingerprint = Fingerprint.of(clientAddress, requestPacketBuffer);
+
+        if (fingerprint == null) {
+            return;
+        }
+
+        getShard(fingerprint).handleResponse(fingerprint, responsePacketBytes);
+    }
+
+    @Override
+    public void unhandleRequest(InetSocketAddress clientAddress, ByteBuffer requestPacketBuffer) {
+        Fingerprint fingerprint = Fingerprint.of(clientAddress, requestPacketBuffer);
+
+        if (fingerprint == null) {
+            return;
+        }
+
+        getShard(fingerprint).unhandleRequest(fingerprint);
+    }
+
+    @Override
+    public void clear() {
+        for (Shard shard : shards) {
+            shard.clear();
+        }
+    }
+
+    private Shard getShard(Fingerprint fingerprint) {
+        int hashCode = fingerprint.hashCode;
+
+        // Spread the high bits since the shard count is a power of two
+        return shards[(hashCode ^ (hashCode >>> 16)) & (shards.length - 1)];
+    }
+
+    private final class Shard {
+
+        private final Map<Fingerprint, CacheValue> cacheMap = new LinkedHashMap<>();
+
+        private final int maxEntries;
+
+        private final long maxBytes;
+
+        private long bytes;
+
+        private Shard(int maxEntries, long maxBytes) {
+            this.maxEntries = maxEntries;
+            this.maxBytes = maxBytes;
+        }
+
+        private synchronized Result handleRequest(Fingerprint fingerprint, long currentEpochMillis) {
+            // Remove the expired cache entries
+            Iterator<CacheValue> cacheValueIterator = cacheMap.values().iterator();
+
+            while (cacheValueIterator.hasNext()) {
+                CacheValue cacheValue = cacheValueIterator.next();
+
+                if (cacheValue.insertionEpochMillis + ttlMillis < currentEpochMillis) {
+                    cacheValueIterator.remove();
+
+                    bytes = bytes - cacheValue.getSize();
+                }
+                else {
+                    // If this element isn't expired then neither will the subsequent elements (since oldest first)
+                    break;
+                }
+            }
+
+            CacheValue cacheValue = cacheMap.get(fingerprint);
+
+            if (cacheValue == null) {
+                // It's a new, unseen request; add it to the cache
+                cacheValue = new CacheValue(currentEpochMillis);
+
+                cacheMap.put(fingerprint, cacheValue);
+
+                bytes = bytes + cacheValue.getSize();
+
+                evict();
+
+                return new Result(State.NEW_REQUEST, null);
+            }
+
+            if (cacheValue.responsePacketBytes != null) {
+                return new Result(State.CACHED_RESPONSE, cacheValue.responsePacketBytes);
+            }
+            else {
+                return new Result(State.IN_PROGRESS_REQUEST, null);
+            }
+        }
+
+        private synchronized void handleResponse(Fingerprint fingerprint, byte[] responsePacketBytes) {
+            CacheValue cacheValue = cacheMap.get(fingerprint);
+
+            if (cacheValue == null || cacheValue.responsePacketBytes != null) {
+                return;
+            }
+
+            cacheValue.responsePacketBytes = responsePacketBytes;
+
+            bytes = bytes + responsePacketBytes.length;
+
+            evict();
+        }
+
+        private synchronized void unhandleRequest(Fingerprint fingerprint) {
+            CacheValue cacheValue = cacheMap.remove(fingerprint);
+
+            if (cacheValue != null) {
+                bytes = bytes - cacheValue.getSize();
+            }
+        }
+
+        private synchronized void clear() {
+            cacheMap.clear();
+
+            bytes = 0;
+        }
+
+        /**
+         * Evicts the oldest entries until the shard is within its limits.
+         */
+        private void evict() {
+            Iterator<CacheValue> cacheValueIterator = cacheMap.values().iterator();
+
+            while ((cacheMap.size() > maxEntries || bytes > maxBytes) && cacheValueIterator.hasNext()) {
+                CacheValue cacheValue = cacheValueIterator.next();
+                cacheValueIterator.remove();
+
+                bytes = bytes - cacheValue.getSize();
+            }
+        }
+
+    }
+
+    /**
+     * The fields identifying a request: the client address, the packet code and identifier, and the 16-byte request
+     * authenticator stored as two longs.
+     */
+    private static final class Fingerprint {
+
+        private final InetSocketAddress clientAddress;
+
+        private final int codeAndIdentifier;
+
+        private final long authenticatorHigh;
+
+        private final long authenticatorLow;
+
+        private final int hashCode;
+
+        private Fingerprint(InetSocketAddress clientAddress, int codeAndIdentifier, long authenticatorHigh,
+                            long authenticatorLow)
+        {
+            this.clientAddress = clientAddress;
+            this.codeAndIdentifier = codeAndIdentifier;
+            this.authenticatorHigh = authenticatorHigh;
+            this.authenticatorLow = authenticatorLow;
+            this.hashCode = 31 * (31 * (31 * Objects.hashCode(clientAddress) + codeAndIdentifier)
+                    + Long.hashCode(authenticatorHigh)) + Long.hashCode(authenticatorLow);
+        }
+
+        private static Fingerprint of(InetSocketAddress clientAddress, byte[] requestPacketBytes) {
+            if (requestPacketBytes.length < 20) {
+                return null;
+            }
+
+            int codeAndIdentifier = ((requestPacketBytes[0] & 0xff) << 8) | (requestPacketBytes[1] & 0xff);
+
+            return new Fingerprint(clientAddress, codeAndIdentifier, getLong(requestPacketBytes, 4),
+                    getLong(requestPacketBytes, 12));
+        }
+
+        private static Fingerprint of(InetSocketAddress clientAddress, ByteBuffer requestPacketBuffer) {
+            if (requestPacketBuffer.remaining() < 20) {
+                return null;
+            }
+
+            int offset = requestPacketBuffer.position();
+
+            int codeAndIdentifier = ((requestPacketBuffer.get(offset) & 0xff) << 8)
+                    | (requestPacketBuffer.get(offset + 1) & 0xff);
+
+            return new Fingerprint(clientAddress, codeAndIdentifier, getLong(requestPacketBuffer, offset + 4),
+                    getLong(requestPacketBuffer, offset + 12));
+        }
+
+        private static long getLong(ByteBuffer buffer, int offset) {
+            long value = 0;
+
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer.get(offset + i) & 0xff);
+            }
+
+            return value;
+        }
+
+        private static long getLong(byte[] bytes, int offset) {
+            long value = 0;
+
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (bytes[offset + i] & 0xff);
+            }
+
+            return value;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            Fingerprint fingerprint = (Fingerprint) obj;
+
+            return codeAndIdentifier == fingerprint.codeAndIdentifier
+                    && authenticatorHigh == fingerprint.authenticatorHigh
+                    && authenticatorLow == fingerprint.authenticatorLow
+                    && Objects.equals(clientAddress, fingerprint.clientAddress);
+        }
+
+    }
+
+    private static class CacheValue {
+
+        private final long insertionEpochMillis;
+
+        private byte[] responsePacketBytes;
+
+        private CacheValue(long insertionEpochMillis) {
+            this.insertionEpochMillis = insertionEpochMillis;
+        }
+
+        private int getSize() {
+            return ENTRY_OVERHEAD_BYTES + (responsePacketBytes == null ? 0 : responsePacketBytes.length);
+        }
+
+    }
+
+}
@@ -23,11 +23,13 @@ import org.aaa4j.radius.core.packet.Packet;
 import org.aaa4j.radius.core.packet.PacketCodec;
 import org.aaa4j.radius.core.packet.PacketCodecException;
 import org.aaa4j.radius.core.util.SecureRandomProvider;
+import org.aaa4j.radius.server.ConcurrentDeduplicationCache;
 import org.aaa4j.radius.server.DeduplicationCache;
 import org.aaa4j.radius.server.RadiusServer;
 import org.aaa4j.radius.server.TimedDeduplicationCache;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
@@ -44,6 +46,12 @@ abstract class AbstractRadiusServer implements RadiusServer {
     static final Supplier<DeduplicationCache> DEFAULT_DEDUPLICATION_CACHE_SUPPLIER = () ->
             new TimedDeduplicationCache(Duration.ofSeconds(30));
 
+    /**
+     * The default for a cache shared by all the worker threads of a server.
+     */
+    static final Supplier<DeduplicationCache> DEFAULT_SHARED_DEDUPLICATION_CACHE_SUPPLIER = () ->
+            new ConcurrentDeduplicationCache(Duration.ofSeconds(30));
+
     final CountDownLatch startCountDownLatch = new CountDownLatch(1);
 
     final CountDownLatch stopCountDownLatch = new CountDownLatch(1);
@@ -99,7 +107,8 @@ abstract class AbstractRadiusServer implements RadiusServer {
         this.threadNamePrefix = Objects.requireNonNull(threadNamePrefix);
 
         this.packetCodec = new PacketCodec(dictionary, new SecureRandomProvider(),
-                new IncrementingPacketIdGenerator(1));
+                new IncrementingPacketIdGenerator(1),
+                builder.lazyAttributeDecoding != null && builder.lazyAttributeDecoding);
     }
 
     @Override
@@ -184,6 +193,60 @@ abstract class AbstractRadiusServer implements RadiusServer {
         return responsePacketBytes;
     }
 
+    /**
+     * Processes a request packet given as the remaining bytes of a buffer, like
+     * {@link #processRequest(InetSocketAddress, DeduplicationCache, byte[], byte[], PacketProcessor)}. The request is
+     * decoded and deduplicated without copying it out of the buffer (unless the deduplication cache keeps a copy), and
+     * the buffer isn't modified.
+     */
+    byte[] processRequest(InetSocketAddress clientSocketAddress, DeduplicationCache deduplicationCache, byte[] secret,
+                          ByteBuffer requestPacketBuffer, PacketProcessor packetProcessor)
+            throws PacketCodecException
+    {
+        byte[] responsePacketBytes = null;
+
+        Packet requestPacket = packetCodec.decodeRequest(requestPacketBuffer, requestPacketBuffer.position(),
+                requestPacketBuffer.remaining(), secret);
+
+        // Check the duplication cache for a cached response
+        DeduplicationCache.Result result = deduplicationCache.handleRequest(clientSocketAddress,
+                requestPacketBuffer);
+
+        switch (result.getState()) {
+            case NEW_REQUEST:
+                // The response will be generated since it's a new request
+                try {
+                    Packet responsePacket = packetProcessor.process(requestPacket);
+
+                    if (responsePacket != null) {
+                        // The response is encoded into an array since the deduplication cache keeps it
+                        responsePacketBytes = packetCodec.encodeResponse(responsePacket, secret,
+                                requestPacket.getReceivedFields().getIdentifier(),
+                                requestPacket.getReceivedFields().getAuthenticator());
+
+                        deduplicationCache.handleResponse(clientSocketAddress, requestPacketBuffer,
+                                responsePacketBytes);
+                    }
+                }
+                catch (Throwable e) {
+                    deduplicationCache.unhandleRequest(clientSocketAddress, requestPacketBuffer);
+
+                    throw e;
+                }
+                break;
+
+            case IN_PROGRESS_REQUEST:
+                // Ignore the request since it's a duplicate of one that's being handled
+                break;
+
+            case CACHED_RESPONSE:
+                responsePacketBytes = result.getResponsePacket();
+                break;
+        }
+
+        return responsePacketBytes;
+    }
+
     /**
      * Closes all resources.
      */
@@ -219,6 +282,8 @@ abstract class AbstractRadiusServer implements RadiusServer {
 
         Supplier<DeduplicationCache> deduplicationCacheSupplier;
 
+        Boolean lazyAttributeDecoding;
+
         /**
          * Sets the address to bind the server to. Required.
          *
@@ -253,7 +318,8 @@ abstract class AbstractRadiusServer implements RadiusServer {
         }
 
         /**
-         * Sets the {@link Dictionary} to use. Optional. When not set, the standard dictionary will be used.
+         * Sets the {@link Dictionary} to use. Optional. When not set, the standard dictionary will be used. Use a
+         * {@link org.aaa4j.radius.core.dictionary.ReloadableDictionary} to change the dictionary of a running server.
          *
          * @param dictionary the dictionary to use
          *
@@ -285,6 +351,25 @@ abstract class AbstractRadiusServer implements RadiusServer {
             return builder;
         }
 
+        /**
+         * Sets whether the attributes of received requests are decoded on demand. Requests are still verified before
+         * they are handled, but an attribute is only decoded when the handler looks it up, which saves work for
+         * requests that carry attributes the handler doesn't use. Optional. When not set, all the attributes are
+         * decoded when the request is received.
+         *
+         * @param lazyAttributeDecoding whether the attributes of received requests are decoded on demand
+         *
+         * @return this builder
+         */
+        public B lazyAttributeDecoding(boolean lazyAttributeDecoding) {
+            this.lazyAttributeDecoding = lazyAttributeDecoding;
+
+            @SuppressWarnings("unchecked")
+            B builder = (B) this;
+
+            return builder;
+        }
+
         public abstract T build();
 
     }
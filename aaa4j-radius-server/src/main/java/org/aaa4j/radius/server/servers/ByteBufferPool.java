@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.server.servers;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of direct {@link ByteBuffer}s of a fixed size. Buffers are allocated lazily until the pool capacity is
+ * reached. Once every buffer is in use, {@link #acquire()} blocks until another thread releases a buffer.
+ */
+final class ByteBufferPool {
+
+    private final int bufferSize;
+
+    private final int capacity;
+
+    private final BlockingQueue<ByteBuffer> freeBuffers;
+
+    private final AtomicInteger allocatedCount = new AtomicInteger(0);
+
+    /**
+     * Constructs a buffer pool.
+     *
+     * @param bufferSize the size of each buffer in bytes
+     * @param capacity the maximum number of buffers
+     */
+    ByteBufferPool(int bufferSize, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+
+        this.bufferSize = bufferSize;
+        this.capacity = capacity;
+
+        // An array-backed queue doesn't allocate when buffers are released
+        this.freeBuffers = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Takes a cleared buffer from the pool. Blocks while every buffer is in use.
+     *
+     * @return a cleared buffer
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting for a buffer
+     */
+    ByteBuffer acquire() throws InterruptedException {
+        ByteBuffer buffer = freeBuffers.poll();
+
+        if (buffer != null) {
+            return buffer;
+        }
+
+        int count;
+
+        while ((count = allocatedCount.get()) < capacity) {
+            if (allocatedCount.compareAndSet(count, count + 1)) {
+                return ByteBuffer.allocateDirect(bufferSize);
+            }
+        }
+
+        return freeBuffers.take();
+    }
+
+    /**
+     * Returns a buffer to the pool. The buffer must have been acquired from this pool and must not be used after it
+     * has been released.
+     *
+     * @param buffer the buffer to release
+     */
+    void release(ByteBuffer buffer) {
+        buffer.clear();
+
+        freeBuffers.offer(buffer);
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.server.servers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * A selector loop running on a single thread. Channels registered with the loop have their ready operations dispatched
+ * to the {@link Handler} attached to their selection key. All I/O on a registered channel happens on the loop thread;
+ * other threads hand work over to the loop using {@link #execute(Runnable)}.
+ */
+final class EventLoop {
+
+    private final Selector selector;
+
+    private final Thread thread;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    private final ByteBuffer readBuffer;
+
+    private final Consumer<Throwable> exceptionHandler;
+
+    private volatile boolean isRunning = true;
+
+    /**
+     * Constructs an event loop. The loop thread is not started until {@link #start()} is called.
+     *
+     * @param threadName the name of the loop thread
+     * @param readBufferSize the size of the shared read buffer (see {@link #getReadBuffer()})
+     * @param exceptionHandler the handler for unexpected exceptions thrown by the loop
+     *
+     * @throws IOException if the selector can't be opened
+     */
+    EventLoop(String threadName, int readBufferSize, Consumer<Throwable> exceptionHandler) throws IOException {
+        this.selector = Selector.open();
+        this.thread = new Thread(this::run, threadName);
+        this.thread.setDaemon(false);
+        this.readBuffer = ByteBuffer.allocateDirect(readBufferSize);
+        this.exceptionHandler = Objects.requireNonNull(exceptionHandler);
+    }
+
+    /**
+     * Starts the loop thread.
+     */
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Runs a task on the loop thread.
+     *
+     * @param task the task to run
+     */
+    void execute(Runnable task) {
+        tasks.add(task);
+
+        if (Thread.currentThread() != thread) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Registers a channel with the loop. Must be called on the loop thread.
+     *
+     * @param channel the non-blocking channel to register
+     * @param interestOps the initial interest set
+     * @param handler the handler for the channel's ready operations
+     *
+     * @return the selection key
+     *
+     * @throws ClosedChannelException if the channel is closed
+     */
+    SelectionKey register(SelectableChannel channel, int interestOps, Handler handler) throws ClosedChannelException {
+        return channel.register(selector, interestOps, handler);
+    }
+
+    /**
+     * Returns the read buffer shared by all the channels of the loop. The buffer may only be used on the loop thread,
+     * and its contents don't survive past the handler invocation that filled it.
+     *
+     * @return the shared read buffer
+     */
+    ByteBuffer getReadBuffer() {
+        return readBuffer;
+    }
+
+    /**
+     * Stops the loop, closes the handlers of all registered channels and waits for the loop thread to exit.
+     */
+    void close() {
+        isRunning = false;
+
+        selector.wakeup();
+
+        if (Thread.currentThread() == thread) {
+            return;
+        }
+
+        boolean isInterrupted = false;
+
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            }
+            catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (isRunning) {
+                selector.select();
+
+                runTasks();
+
+                Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+
+                while (iterator.hasNext()) {
+                    SelectionKey key = iterator.next();
+                    iterator.remove();
+
+                    if (key.isValid()) {
+                        ((Handler) key.attachment()).handleSelection(key);
+                    }
+                }
+            }
+        }
+        catch (Throwable e) {
+            if (isRunning) {
+                try {
+                    exceptionHandler.accept(e);
+                }
+                catch (Exception ignored) {
+                    // Ignored
+                }
+            }
+        }
+        finally {
+            isRunning = false;
+
+            for (SelectionKey key : selector.keys()) {
+                try {
+                    ((Handler) key.attachment()).close();
+                }
+                catch (Exception ignored) {
+                    // Ignored
+                }
+            }
+
+            try {
+                selector.close();
+            }
+            catch (IOException ignored) {
+                // Ignored
+            }
+
+            // Run the remaining tasks so that they can observe the closed loop
+            runTasks();
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            }
+            catch (Throwable e) {
+                try {
+                    exceptionHandler.accept(e);
+                }
+                catch (Exception ignored) {
+                    // Ignored
+                }
+            }
+        }
+    }
+
+    /**
+     * Handler for the ready operations of a registered channel.
+     */
+    interface Handler {
+
+        /**
+         * Handles the ready operations of the channel. Runs on the loop thread and must not block. Implementations
+         * handle their own I/O errors (e.g., by closing the channel).
+         *
+         * @param key the selection key of the channel
+         */
+        void handleSelection(SelectionKey key);
+
+        /**
+         * Closes the channel. Called by the loop when it shuts down.
+         */
+        void close();
+
+    }
+
+}
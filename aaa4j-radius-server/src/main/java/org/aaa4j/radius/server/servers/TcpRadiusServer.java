@@ -25,11 +25,20 @@ import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
@@ -39,6 +48,13 @@ import java.util.function.Supplier;
  * <p>
  * Build an instance of {@link TcpRadiusServer} by using a {@link Builder} object retrieved from {@link #newBuilder()}.
  * </p>
+ *
+ * <p>
+ * By default, each client connection is served by a thread of the executor that blocks while reading from the
+ * connection. When configured with {@link Builder#eventLoopCount(int)}, the server uses non-blocking sockets instead
+ * and a small number of event loop threads read and write all the client connections, so idle connections don't tie up
+ * any threads. The handler and the packet processing still run on the executor in both modes.
+ * </p>
  */
 public final class TcpRadiusServer extends AbstractRadiusServer {
 
@@ -46,12 +62,16 @@ public final class TcpRadiusServer extends AbstractRadiusServer {
 
     private static final AtomicLong SERVER_ID_COUNTER = new AtomicLong(1);
 
+    private static final int EVENT_LOOP_READ_BUFFER_SIZE = 4 * MAX_PACKET_SIZE;
+
     private final Supplier<DeduplicationCache> deduplicationCacheSupplier;
 
     private final Handler handler;
 
     private final Set<Socket> clientSockets = ConcurrentHashMap.newKeySet();
 
+    private final int eventLoopCount;
+
     private ServerSocket serverSocket;
 
     private TcpRadiusServer(Builder builder) {
@@ -60,6 +80,11 @@ public final class TcpRadiusServer extends AbstractRadiusServer {
         this.deduplicationCacheSupplier = builder.deduplicationCacheSupplier == null
                 ? DEFAULT_DEDUPLICATION_CACHE_SUPPLIER : builder.deduplicationCacheSupplier;
         this.handler = Objects.requireNonNull(builder.handler);
+        this.eventLoopCount = builder.eventLoopCount == null ? 0 : builder.eventLoopCount;
+
+        if (builder.eventLoopCount != null && eventLoopCount < 1) {
+            throw new IllegalArgumentException("Event loop count must be at least 1");
+        }
     }
 
     /**
@@ -96,6 +121,12 @@ public final class TcpRadiusServer extends AbstractRadiusServer {
 
     @Override
     void listen() {
+        if (eventLoopCount > 0) {
+            listenEventLoops();
+
+            return;
+        }
+
         try (ServerSocket serverSocket = new ServerSocket()) {
             this.serverSocket = serverSocket;
 
@@ -147,6 +178,149 @@ public final class TcpRadiusServer extends AbstractRadiusServer {
         }
     }
 
+    private void listenEventLoops() {
+        EventLoop[] eventLoops = new EventLoop[eventLoopCount];
+
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+            this.serverSocket = serverChannel.socket();
+
+            serverChannel.bind(bindAddress);
+
+            for (int i = 0; i < eventLoopCount; i++) {
+                eventLoops[i] = new EventLoop(String.format("%s-event-loop-%d", threadNamePrefix, i + 1),
+                        EVENT_LOOP_READ_BUFFER_SIZE, this::handleEventLoopException);
+                eventLoops[i].start();
+            }
+
+            startCountDownLatch.countDown();
+
+            long connectionCount = 0;
+
+            while (isRunning) {
+                // Block and wait for a new client
+                SocketChannel clientChannel = serverChannel.accept();
+
+                clientSockets.add(clientChannel.socket());
+
+                EventLoop eventLoop = eventLoops[(int) (connectionCount++ % eventLoopCount)];
+
+                // Handle the client
+                executor.execute(() -> handleClient(clientChannel, eventLoop));
+            }
+        }
+        catch (Throwable e) {
+            if (isRunning) {
+                try {
+                    handler.handleException(e);
+                }
+                catch (Exception ignored) {
+                    // Ignored
+                }
+            }
+        }
+        finally {
+            startCountDownLatch.countDown();
+
+            for (EventLoop eventLoop : eventLoops) {
+                if (eventLoop != null) {
+                    // Closes the connections registered with the loop
+                    eventLoop.close();
+                }
+            }
+
+            for (Socket clientSocket : clientSockets) {
+                try {
+                    clientSocket.close();
+                }
+                catch (IOException ignored) {
+                    // Ignored
+                }
+
+                clientSockets.remove(clientSocket);
+            }
+
+            if (isRunning) {
+                close();
+
+                isRunning = false;
+            }
+
+            stopCountDownLatch.countDown();
+        }
+    }
+
+    private void handleEventLoopException(Throwable throwable) {
+        if (isRunning) {
+            handler.handleException(throwable);
+        }
+    }
+
+    private void handleClient(SocketChannel clientChannel, EventLoop eventLoop) {
+        try {
+            InetSocketAddress clientSocketAddress = (InetSocketAddress) clientChannel.getRemoteAddress();
+
+            byte[] secret = handler.handleClient(clientSocketAddress);
+
+            if (secret == null) {
+                // The handler doesn't want to handle requests from this client
+                clientChannel.close();
+
+                clientSockets.remove(clientChannel.socket());
+
+                return;
+            }
+
+            clientChannel.configureBlocking(false);
+
+            Connection connection = new Connection(clientChannel, clientSocketAddress, eventLoop, secret,
+                    deduplicationCacheSupplier.get());
+
+            eventLoop.execute(connection::register);
+        }
+        catch (Throwable e) {
+            if (isRunning) {
+                try {
+                    handler.handleException(e);
+                }
+                catch (Exception ignored) {
+                    // Ignored
+                }
+            }
+
+            try {
+                clientChannel.close();
+            }
+            catch (IOException ignored) {
+                // Ignored
+            }
+
+            clientSockets.remove(clientChannel.socket());
+        }
+    }
+
+    private void handleRequest(Connection connection, byte[] requestPacketBytes) {
+        try {
+            // Perform deduplication and get a response from the handler
+            byte[] responsePacketBytes = processRequest(connection.clientSocketAddress,
+                    connection.deduplicationCache, connection.secret, requestPacketBytes,
+                    (Packet packet) -> handler.handlePacket(connection.clientSocketAddress, packet));
+
+            if (responsePacketBytes != null) {
+                connection.write(responsePacketBytes);
+            }
+        }
+        catch (Throwable e) {
+            try {
+                handler.handleException(e);
+            }
+            catch (Exception ignored) {
+                // Ignored
+            }
+
+            connection.close();
+        }
+    }
+
     private void handleClient(Socket clientSocket) {
         try {
             byte[] secret = handler.handleClient((InetSocketAddress) clientSocket.getRemoteSocketAddress());
@@ -273,6 +447,214 @@ public final class TcpRadiusServer extends AbstractRadiusServer {
         }
     }
 
+    /**
+     * A non-blocking client connection served by an {@link EventLoop}. Reads and writes happen on the loop thread, the
+     * requests are processed on the executor, and the responses are queued until the loop can write them.
+     */
+    private final class Connection implements EventLoop.Handler {
+
+        private final SocketChannel channel;
+
+        private final InetSocketAddress clientSocketAddress;
+
+        private final EventLoop eventLoop;
+
+        private final byte[] secret;
+
+        private final DeduplicationCache deduplicationCache;
+
+        private final Queue<ByteBuffer> writeQueue = new ConcurrentLinkedQueue<>();
+
+        private final AtomicBoolean isFlushScheduled = new AtomicBoolean(false);
+
+        private final AtomicBoolean isClosed = new AtomicBoolean(false);
+
+        private SelectionKey selectionKey;
+
+        /**
+         * The bytes of an incomplete packet left over from the previous read, or null if there are none. Only the
+         * connections in the middle of receiving a packet hold on to memory between reads.
+         */
+        private byte[] pendingBytes;
+
+        private Connection(SocketChannel channel, InetSocketAddress clientSocketAddress, EventLoop eventLoop,
+                           byte[] secret, DeduplicationCache deduplicationCache)
+        {
+            this.channel = channel;
+            this.clientSocketAddress = clientSocketAddress;
+            this.eventLoop = eventLoop;
+            this.secret = secret;
+            this.deduplicationCache = deduplicationCache;
+        }
+
+        private void register() {
+            try {
+                selectionKey = eventLoop.register(channel, SelectionKey.OP_READ, this);
+            }
+            catch (IOException | ClosedSelectorException e) {
+                // The connection or the event loop was closed in the meantime
+                close();
+            }
+        }
+
+        @Override
+        public void handleSelection(SelectionKey key) {
+            try {
+                if (key.isWritable()) {
+                    flush();
+                }
+
+                if (key.isValid() && key.isReadable()) {
+                    read();
+                }
+            }
+            catch (Throwable e) {
+                if (isRunning && !isClosed.get()) {
+                    try {
+                        handler.handleException(e);
+                    }
+                    catch (Exception ignored) {
+                        // Ignored
+                    }
+                }
+
+                close();
+            }
+        }
+
+        private void read() throws IOException {
+            ByteBuffer buffer = eventLoop.getReadBuffer();
+            buffer.clear();
+
+            if (pendingBytes != null) {
+                buffer.put(pendingBytes);
+                pendingBytes = null;
+            }
+
+            int bytesRead = channel.read(buffer);
+
+            if (bytesRead == -1) {
+                // The client gracefully closed the connection
+                close();
+
+                return;
+            }
+
+            buffer.flip();
+
+            while (buffer.remaining() >= 4) {
+                // We have enough bytes to get the packet length, so let's see if we can get a packet
+                int packetLength = buffer.getShort(buffer.position() + 2) & 0xffff;
+
+                if (packetLength < 20 || packetLength > MAX_PACKET_SIZE) {
+                    // The packet is going to be an invalid length, so close the connection
+                    close();
+
+                    return;
+                }
+
+                if (buffer.remaining() < packetLength) {
+                    // We need to read more bytes to get a full packet
+                    break;
+                }
+
+                // We have enough bytes for a full packet
+                byte[] requestPacketBytes = new byte[packetLength];
+                buffer.get(requestPacketBytes);
+
+                // Handle the request
+                executor.execute(() -> handleRequest(this, requestPacketBytes));
+            }
+
+            if (buffer.hasRemaining()) {
+                pendingBytes = new byte[buffer.remaining()];
+                buffer.get(pendingBytes);
+            }
+        }
+
+        /**
+         * Queues a response for writing. May be called from any thread.
+         *
+         * @param responsePacketBytes the response packet bytes
+         */
+        private void write(byte[] responsePacketBytes) {
+            writeQueue.add(ByteBuffer.wrap(responsePacketBytes));
+
+            if (isFlushScheduled.compareAndSet(false, true)) {
+                eventLoop.execute(() -> {
+                    try {
+                        flush();
+                    }
+                    catch (Throwable e) {
+                        close();
+                    }
+                });
+            }
+        }
+
+        private void flush() throws IOException {
+            isFlushScheduled.set(false);
+
+            if (isClosed.get() || selectionKey == null || !selectionKey.isValid()) {
+                return;
+            }
+
+            ByteBuffer buffer;
+
+            while ((buffer = writeQueue.peek()) != null) {
+                channel.write(buffer);
+
+                if (buffer.hasRemaining()) {
+                    // The socket send buffer is full; stop reading new requests until the client catches up
+                    selectionKey.interestOps(SelectionKey.OP_WRITE);
+
+                    return;
+                }
+
+                writeQueue.poll();
+            }
+
+            selectionKey.interestOps(SelectionKey.OP_READ);
+        }
+
+        @Override
+        public void close() {
+            if (!isClosed.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                channel.close();
+            }
+            catch (IOException ignored) {
+                // Ignored
+            }
+
+            clientSockets.remove(channel.socket());
+
+            writeQueue.clear();
+            deduplicationCache.clear();
+
+            Runnable disconnectTask = () -> {
+                try {
+                    handler.handleClientDisconnect(clientSocketAddress);
+                }
+                catch (Exception ignored) {
+                    // Ignored
+                }
+            };
+
+            try {
+                executor.execute(disconnectTask);
+            }
+            catch (RejectedExecutionException e) {
+                // The executor has been shut down
+                disconnectTask.run();
+            }
+        }
+
+    }
+
     /**
      * A TCP RADIUS server handler.
      */
@@ -323,6 +705,8 @@ public final class TcpRadiusServer extends AbstractRadiusServer {
 
         Handler handler;
 
+        Integer eventLoopCount;
+
         /**
          * {@inheritDoc}
          */
@@ -351,6 +735,13 @@ public final class TcpRadiusServer extends AbstractRadiusServer {
             return super.deduplicationCacheSupplier(deduplicationCacheSupplier);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        public Builder lazyAttributeDecoding(boolean lazyAttributeDecoding) {
+            return super.lazyAttributeDecoding(lazyAttributeDecoding);
+        }
+
         /**
          * Sets the server handler. Required.
          *
@@ -364,6 +755,21 @@ public final class TcpRadiusServer extends AbstractRadiusServer {
             return this;
         }
 
+        /**
+         * Sets the number of event loop threads. Optional. When set, the server uses non-blocking sockets and the given
+         * number of threads read and write all the client connections, instead of dedicating an executor thread to
+         * each connection. When not set, each connection is served by its own executor thread.
+         *
+         * @param eventLoopCount the number of event loop threads (at least 1)
+         *
+         * @return this builder
+         */
+        public Builder eventLoopCount(int eventLoopCount) {
+            this.eventLoopCount = eventLoopCount;
+
+            return this;
+        }
+
         /**
          * Returns a new {@link TcpRadiusServer} built using the builder's options.
          *
@@ -21,6 +21,9 @@ import org.aaa4j.radius.core.packet.Packet;
 import org.aaa4j.radius.server.DeduplicationCache;
 
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
 import javax.net.ssl.SSLParameters;
 import javax.net.ssl.SSLServerSocket;
 import javax.net.ssl.SSLServerSocketFactory;
@@ -29,14 +32,24 @@ import javax.net.ssl.SSLSocket;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
+import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
@@ -46,6 +59,14 @@ import java.util.function.Supplier;
  * <p>
  * Build an instance of {@link TlsRadiusServer} by using a {@link Builder} object retrieved from {@link #newBuilder()}.
  * </p>
+ *
+ * <p>
+ * By default, each client connection is served by a thread of the executor that blocks during the TLS handshake and
+ * while reading from the connection. When configured with {@link Builder#eventLoopCount(int)}, the server drives an
+ * {@link SSLEngine} over non-blocking sockets instead, and a small number of event loop threads perform the TLS and
+ * socket I/O of all the client connections. The handler callbacks, the handshake's delegated tasks and the packet
+ * processing run on the executor in both modes.
+ * </p>
  */
 public final class TlsRadiusServer extends AbstractRadiusServer {
 
@@ -53,6 +74,8 @@ public final class TlsRadiusServer extends AbstractRadiusServer {
 
     private static final AtomicLong SERVER_ID_COUNTER = new AtomicLong(1);
 
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
     private final Supplier<DeduplicationCache> deduplicationCacheSupplier;
 
     private final SSLContext sslContext;
@@ -63,7 +86,9 @@ public final class TlsRadiusServer extends AbstractRadiusServer {
 
     private final Set<Socket> clientSockets = ConcurrentHashMap.newKeySet();
 
-    private SSLServerSocket serverSocket;
+    private final int eventLoopCount;
+
+    private ServerSocket serverSocket;
 
     private TlsRadiusServer(Builder builder) {
         super(builder, String.format("%s-%d", THREAD_NAME_PREFIX, SERVER_ID_COUNTER.getAndIncrement()));
@@ -89,6 +114,11 @@ public final class TlsRadiusServer extends AbstractRadiusServer {
                 : builder.sslParameters;
 
         this.handler = Objects.requireNonNull(builder.handler);
+        this.eventLoopCount = builder.eventLoopCount == null ? 0 : builder.eventLoopCount;
+
+        if (builder.eventLoopCount != null && eventLoopCount < 1) {
+            throw new IllegalArgumentException("Event loop count must be at least 1");
+        }
     }
 
     /**
@@ -125,6 +155,12 @@ public final class TlsRadiusServer extends AbstractRadiusServer {
 
     @Override
     void listen() {
+        if (eventLoopCount > 0) {
+            listenEventLoops();
+
+            return;
+        }
+
         try {
             SSLServerSocketFactory sslServerSocketFactory = sslContext.getServerSocketFactory();
 
@@ -180,6 +216,171 @@ public final class TlsRadiusServer extends AbstractRadiusServer {
         }
     }
 
+    private void listenEventLoops() {
+        EventLoop[] eventLoops = new EventLoop[eventLoopCount];
+        ByteBuffer[] applicationBuffers = new ByteBuffer[eventLoopCount];
+        ByteBuffer[] networkOutBuffers = new ByteBuffer[eventLoopCount];
+
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+            this.serverSocket = serverChannel.socket();
+
+            serverChannel.bind(bindAddress);
+
+            // The buffer sizes needed by the engines of this context
+            SSLSession sslSession = sslContext.createSSLEngine().getSession();
+            int packetBufferSize = sslSession.getPacketBufferSize();
+            int applicationBufferSize = sslSession.getApplicationBufferSize();
+
+            for (int i = 0; i < eventLoopCount; i++) {
+                // The loop's read buffer holds the TLS records read from the network. The decrypted bytes also need
+                // room for an incomplete packet left over from a previous record.
+                eventLoops[i] = new EventLoop(String.format("%s-event-loop-%d", threadNamePrefix, i + 1),
+                        packetBufferSize, this::handleEventLoopException);
+                applicationBuffers[i] = ByteBuffer.allocate(applicationBufferSize + MAX_PACKET_SIZE);
+                networkOutBuffers[i] = ByteBuffer.allocateDirect(packetBufferSize);
+                eventLoops[i].start();
+            }
+
+            startCountDownLatch.countDown();
+
+            long connectionCount = 0;
+
+            while (isRunning) {
+                // Block and wait for a new client
+                SocketChannel clientChannel = serverChannel.accept();
+
+                clientSockets.add(clientChannel.socket());
+
+                int index = (int) (connectionCount++ % eventLoopCount);
+
+                EventLoop eventLoop = eventLoops[index];
+                ByteBuffer applicationBuffer = applicationBuffers[index];
+                ByteBuffer networkOutBuffer = networkOutBuffers[index];
+
+                // Handle the client
+                executor.execute(() -> handleClient(clientChannel, eventLoop, applicationBuffer, networkOutBuffer));
+            }
+        }
+        catch (Throwable e) {
+            if (isRunning) {
+                try {
+                    handler.handleException(e);
+                }
+                catch (Exception ignored) {
+                    // Ignored
+                }
+            }
+        }
+        finally {
+            startCountDownLatch.countDown();
+
+            for (EventLoop eventLoop : eventLoops) {
+                if (eventLoop != null) {
+                    // Closes the connections registered with the loop
+                    eventLoop.close();
+                }
+            }
+
+            for (Socket clientSocket : clientSockets) {
+                try {
+                    clientSocket.close();
+                }
+                catch (IOException ignored) {
+                    // Ignored
+                }
+
+                clientSockets.remove(clientSocket);
+            }
+
+            if (isRunning) {
+                isRunning = false;
+
+                close();
+            }
+
+            stopCountDownLatch.countDown();
+        }
+    }
+
+    private void handleEventLoopException(Throwable throwable) {
+        if (isRunning) {
+            handler.handleException(throwable);
+        }
+    }
+
+    private void handleClient(SocketChannel clientChannel, EventLoop eventLoop, ByteBuffer applicationBuffer,
+                              ByteBuffer networkOutBuffer)
+    {
+        try {
+            InetSocketAddress clientSocketAddress = (InetSocketAddress) clientChannel.getRemoteAddress();
+
+            if (!handler.handleClient(clientSocketAddress)) {
+                // The handler doesn't want to handle requests from this client
+                clientChannel.close();
+
+                clientSockets.remove(clientChannel.socket());
+
+                return;
+            }
+
+            SSLEngine sslEngine = sslContext.createSSLEngine(clientSocketAddress.getHostString(),
+                    clientSocketAddress.getPort());
+            sslEngine.setUseClientMode(false);
+            sslEngine.setSSLParameters(sslParameters);
+
+            clientChannel.configureBlocking(false);
+
+            Connection connection = new Connection(clientChannel, clientSocketAddress, sslEngine, eventLoop,
+                    applicationBuffer, networkOutBuffer, deduplicationCacheSupplier.get());
+
+            eventLoop.execute(connection::register);
+        }
+        catch (Throwable e) {
+            if (isRunning) {
+                try {
+                    handler.handleException(e);
+                }
+                catch (Exception ignored) {
+                    // Ignored
+                }
+            }
+
+            try {
+                clientChannel.close();
+            }
+            catch (IOException ignored) {
+                // Ignored
+            }
+
+            clientSockets.remove(clientChannel.socket());
+        }
+    }
+
+    private void handleRequest(Connection connection, byte[] requestPacketBytes) {
+        try {
+            SSLSession sslSession = connection.sslEngine.getSession();
+
+            // Perform deduplication and get a response from the handler
+            byte[] responsePacketBytes = processRequest(connection.clientSocketAddress,
+                    connection.deduplicationCache, connection.secret, requestPacketBytes, (Packet packet) ->
+                            handler.handlePacket(connection.clientSocketAddress, sslSession, packet));
+
+            if (responsePacketBytes != null) {
+                connection.write(responsePacketBytes);
+            }
+        }
+        catch (Throwable e) {
+            try {
+                handler.handleException(e);
+            }
+            catch (Exception ignored) {
+                // Ignored
+            }
+
+            connection.close();
+        }
+    }
+
     private void handleClient(SSLSocket clientSocket) {
         try {
             InetSocketAddress clientSocketAddress = (InetSocketAddress) clientSocket.getRemoteSocketAddress();
@@ -321,6 +522,453 @@ public final class TlsRadiusServer extends AbstractRadiusServer {
         }
     }
 
+    /**
+     * A non-blocking TLS client connection served by an {@link EventLoop}. The {@link SSLEngine} is only used on the
+     * loop thread, except for its delegated tasks which run on the executor. Requests are processed on the executor and
+     * the responses are queued until the loop can encrypt and write them.
+     */
+    private final class Connection implements EventLoop.Handler {
+
+        private final SocketChannel channel;
+
+        private final InetSocketAddress clientSocketAddress;
+
+        private final SSLEngine sslEngine;
+
+        private final EventLoop eventLoop;
+
+        /**
+         * The loop's buffer for decrypted bytes. Only used on the loop thread.
+         */
+        private final ByteBuffer applicationBuffer;
+
+        /**
+         * The loop's buffer for encrypted bytes. Only used on the loop thread.
+         */
+        private final ByteBuffer networkOutBuffer;
+
+        private final DeduplicationCache deduplicationCache;
+
+        private final Queue<ByteBuffer> writeQueue = new ConcurrentLinkedQueue<>();
+
+        private final AtomicBoolean isFlushScheduled = new AtomicBoolean(false);
+
+        private final AtomicBoolean isClosed = new AtomicBoolean(false);
+
+        private volatile byte[] secret;
+
+        private SelectionKey selectionKey;
+
+        /**
+         * Whether the connection is waiting for the executor (delegated tasks or the TLS session handler) before it can
+         * make progress.
+         */
+        private boolean isWaiting;
+
+        private boolean isTlsSessionHandled;
+
+        /**
+         * The encrypted bytes of an incomplete TLS record left over from the previous read, or null if there are none.
+         */
+        private byte[] pendingNetworkInBytes;
+
+        /**
+         * The decrypted bytes of an incomplete packet, or null if there are none.
+         */
+        private byte[] pendingApplicationBytes;
+
+        /**
+         * The encrypted bytes that couldn't be written because the socket send buffer was full, or null if there are
+         * none.
+         */
+        private ByteBuffer pendingNetworkOutBuffer;
+
+        private Connection(SocketChannel channel, InetSocketAddress clientSocketAddress, SSLEngine sslEngine,
+                           EventLoop eventLoop, ByteBuffer applicationBuffer, ByteBuffer networkOutBuffer,
+                           DeduplicationCache deduplicationCache)
+        {
+            this.channel = channel;
+            this.clientSocketAddress = clientSocketAddress;
+            this.sslEngine = sslEngine;
+            this.eventLoop = eventLoop;
+            this.applicationBuffer = applicationBuffer;
+            this.networkOutBuffer = networkOutBuffer;
+            this.deduplicationCache = deduplicationCache;
+        }
+
+        private void register() {
+            try {
+                selectionKey = eventLoop.register(channel, SelectionKey.OP_READ, this);
+            }
+            catch (IOException | ClosedSelectorException e) {
+                // The connection or the event loop was closed in the meantime
+                close();
+
+                return;
+            }
+
+            try {
+                sslEngine.beginHandshake();
+            }
+            catch (SSLException e) {
+                handleConnectionException(e);
+
+                return;
+            }
+
+            processSafely();
+        }
+
+        @Override
+        public void handleSelection(SelectionKey key) {
+            processSafely();
+        }
+
+        /**
+         * Continues after the executor finished the work the connection was waiting for. Runs on the loop thread.
+         */
+        private void resume() {
+            isWaiting = false;
+
+            processSafely();
+        }
+
+        /**
+         * Makes as much progress as possible without blocking. Runs on the loop thread.
+         */
+        private void processSafely() {
+            try {
+                process();
+            }
+            catch (Throwable e) {
+                handleConnectionException(e);
+            }
+        }
+
+        private void process() throws IOException {
+            if (isClosed.get()) {
+                return;
+            }
+
+            if (pendingNetworkOutBuffer != null) {
+                channel.write(pendingNetworkOutBuffer);
+
+                if (pendingNetworkOutBuffer.hasRemaining()) {
+                    // Still waiting for the client to catch up
+                    return;
+                }
+
+                pendingNetworkOutBuffer = null;
+            }
+
+            // Restore the loop's shared buffers with the bytes left over by the previous call
+            ByteBuffer networkInBuffer = eventLoop.getReadBuffer();
+            networkInBuffer.clear();
+
+            if (pendingNetworkInBytes != null) {
+                networkInBuffer.put(pendingNetworkInBytes);
+                pendingNetworkInBytes = null;
+            }
+
+            networkInBuffer.flip();
+
+            applicationBuffer.clear();
+
+            if (pendingApplicationBytes != null) {
+                applicationBuffer.put(pendingApplicationBytes);
+                pendingApplicationBytes = null;
+            }
+
+            try {
+                processBuffers(networkInBuffer);
+            }
+            finally {
+                if (networkInBuffer.hasRemaining()) {
+                    pendingNetworkInBytes = new byte[networkInBuffer.remaining()];
+                    networkInBuffer.get(pendingNetworkInBytes);
+                }
+
+                if (applicationBuffer.position() > 0) {
+                    applicationBuffer.flip();
+                    pendingApplicationBytes = new byte[applicationBuffer.remaining()];
+                    applicationBuffer.get(pendingApplicationBytes);
+                }
+            }
+
+            if (!isClosed.get() && selectionKey.isValid()) {
+                // Stop reading while the client isn't keeping up with the responses, or while waiting for the executor
+                int interestOps = pendingNetworkOutBuffer != null
+                        ? SelectionKey.OP_WRITE
+                        : isWaiting ? 0 : SelectionKey.OP_READ;
+
+                if (selectionKey.interestOps() != interestOps) {
+                    selectionKey.interestOps(interestOps);
+                }
+            }
+        }
+
+        private void processBuffers(ByteBuffer networkInBuffer) throws IOException {
+            while (!isClosed.get() && !isWaiting && pendingNetworkOutBuffer == null) {
+                switch (sslEngine.getHandshakeStatus()) {
+                    case NEED_TASK:
+                        runDelegatedTasks();
+
+                        break;
+                    case NEED_WRAP:
+                        wrap(EMPTY_BUFFER);
+
+                        break;
+                    case NEED_UNWRAP:
+                        if (!unwrap(networkInBuffer)) {
+                            return;
+                        }
+
+                        break;
+                    default:
+                        if (!isTlsSessionHandled) {
+                            // The handshake is complete
+                            isTlsSessionHandled = true;
+                            isWaiting = true;
+
+                            executor.execute(this::handleTlsSession);
+
+                            break;
+                        }
+
+                        ByteBuffer responseBuffer;
+
+                        while (pendingNetworkOutBuffer == null && (responseBuffer = writeQueue.peek()) != null) {
+                            wrap(responseBuffer);
+
+                            if (!responseBuffer.hasRemaining()) {
+                                writeQueue.poll();
+                            }
+                        }
+
+                        if (pendingNetworkOutBuffer == null && !unwrap(networkInBuffer)) {
+                            return;
+                        }
+                }
+            }
+        }
+
+        /**
+         * Decrypts the next TLS record, reading more bytes from the network when needed.
+         *
+         * @param networkInBuffer the buffer holding the encrypted bytes
+         *
+         * @return {@code false} if no progress can be made until more bytes arrive
+         */
+        private boolean unwrap(ByteBuffer networkInBuffer) throws IOException {
+            SSLEngineResult result = sslEngine.unwrap(networkInBuffer, applicationBuffer);
+
+            switch (result.getStatus()) {
+                case OK:
+                    if (result.bytesProduced() > 0) {
+                        handleApplicationBytes();
+                    }
+
+                    return true;
+                case BUFFER_UNDERFLOW:
+                    // We need to read more bytes to get a full TLS record
+                    networkInBuffer.compact();
+
+                    int bytesRead;
+
+                    try {
+                        bytesRead = channel.read(networkInBuffer);
+                    }
+                    finally {
+                        networkInBuffer.flip();
+                    }
+
+                    if (bytesRead == -1) {
+                        // The client closed the connection
+                        close();
+
+                        return false;
+                    }
+
+                    return bytesRead > 0;
+                case CLOSED:
+                    // The client sent a close_notify
+                    close();
+
+                    return false;
+                default:
+                    throw new SSLException("Unexpected unwrap result: " + result.getStatus());
+            }
+        }
+
+        private void handleApplicationBytes() {
+            applicationBuffer.flip();
+
+            while (applicationBuffer.remaining() >= 4) {
+                // We have enough bytes to get the packet length, so let's see if we can get a packet
+                int packetLength = applicationBuffer.getShort(applicationBuffer.position() + 2) & 0xffff;
+
+                if (packetLength < 20 || packetLength > MAX_PACKET_SIZE) {
+                    // The packet is going to be an invalid length, so close the connection
+                    applicationBuffer.clear();
+
+                    close();
+
+                    return;
+                }
+
+                if (applicationBuffer.remaining() < packetLength) {
+                    // We need to decrypt more bytes to get a full packet
+                    break;
+                }
+
+                // We have enough bytes for a full packet
+                byte[] requestPacketBytes = new byte[packetLength];
+                applicationBuffer.get(requestPacketBytes);
+
+                // Handle the request
+                executor.execute(() -> handleRequest(this, requestPacketBytes));
+            }
+
+            applicationBuffer.compact();
+        }
+
+        /**
+         * Encrypts the source bytes into a TLS record and writes it. The part that can't be written right away is kept
+         * until the socket is writable again.
+         *
+         * @param sourceBuffer the bytes to encrypt
+         */
+        private void wrap(ByteBuffer sourceBuffer) throws IOException {
+            networkOutBuffer.clear();
+
+            SSLEngineResult result = sslEngine.wrap(sourceBuffer, networkOutBuffer);
+
+            if (result.getStatus() == SSLEngineResult.Status.BUFFER_OVERFLOW) {
+                throw new SSLException("Unexpected wrap result: " + result.getStatus());
+            }
+
+            networkOutBuffer.flip();
+
+            channel.write(networkOutBuffer);
+
+            if (networkOutBuffer.hasRemaining()) {
+                pendingNetworkOutBuffer = ByteBuffer.allocate(networkOutBuffer.remaining());
+                pendingNetworkOutBuffer.put(networkOutBuffer);
+                pendingNetworkOutBuffer.flip();
+            }
+
+            if (result.getStatus() == SSLEngineResult.Status.CLOSED) {
+                close();
+            }
+        }
+
+        private void runDelegatedTasks() {
+            isWaiting = true;
+
+            executor.execute(() -> {
+                try {
+                    Runnable task;
+
+                    while ((task = sslEngine.getDelegatedTask()) != null) {
+                        task.run();
+                    }
+
+                    eventLoop.execute(this::resume);
+                }
+                catch (Throwable e) {
+                    handleConnectionException(e);
+                }
+            });
+        }
+
+        private void handleTlsSession() {
+            try {
+                byte[] secret = handler.handleTlsSession(clientSocketAddress, sslEngine.getSession());
+
+                if (secret == null) {
+                    // The handler doesn't want to handle requests from this client
+                    close();
+
+                    return;
+                }
+
+                this.secret = secret;
+
+                eventLoop.execute(this::resume);
+            }
+            catch (Throwable e) {
+                handleConnectionException(e);
+            }
+        }
+
+        /**
+         * Queues a response for writing. May be called from any thread.
+         *
+         * @param responsePacketBytes the response packet bytes
+         */
+        private void write(byte[] responsePacketBytes) {
+            writeQueue.add(ByteBuffer.wrap(responsePacketBytes));
+
+            if (isFlushScheduled.compareAndSet(false, true)) {
+                eventLoop.execute(() -> {
+                    isFlushScheduled.set(false);
+
+                    processSafely();
+                });
+            }
+        }
+
+        private void handleConnectionException(Throwable throwable) {
+            if (isRunning && !isClosed.get()) {
+                try {
+                    handler.handleException(throwable);
+                }
+                catch (Exception ignored) {
+                    // Ignored
+                }
+            }
+
+            close();
+        }
+
+        @Override
+        public void close() {
+            if (!isClosed.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                channel.close();
+            }
+            catch (IOException ignored) {
+                // Ignored
+            }
+
+            clientSockets.remove(channel.socket());
+
+            writeQueue.clear();
+            deduplicationCache.clear();
+
+            Runnable disconnectTask = () -> {
+                try {
+                    handler.handleClientDisconnect(clientSocketAddress);
+                }
+                catch (Exception ignored) {
+                    // Ignored
+                }
+            };
+
+            try {
+                executor.execute(disconnectTask);
+            }
+            catch (RejectedExecutionException e) {
+                // The executor has been shut down
+                disconnectTask.run();
+            }
+        }
+
+    }
+
     /**
      * A TLS RADIUS server handler.
      */
@@ -387,6 +1035,8 @@ public final class TlsRadiusServer extends AbstractRadiusServer {
 
         private SSLParameters sslParameters;
 
+        Integer eventLoopCount;
+
         /**
          * {@inheritDoc}
          */
@@ -415,6 +1065,13 @@ public final class TlsRadiusServer extends AbstractRadiusServer {
             return super.deduplicationCacheSupplier(deduplicationCacheSupplier);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        public Builder lazyAttributeDecoding(boolean lazyAttributeDecoding) {
+            return super.lazyAttributeDecoding(lazyAttributeDecoding);
+        }
+
         /**
          * Sets the {@link SSLContext} to use for the TLS connection.
          *
@@ -441,6 +1098,21 @@ public final class TlsRadiusServer extends AbstractRadiusServer {
             return this;
         }
 
+        /**
+         * Sets the number of event loop threads. Optional. When set, the server uses {@link SSLEngine}s over
+         * non-blocking sockets, and the given number of threads perform the TLS and socket I/O of all the client
+         * connections. When not set, each connection is served by its own executor thread.
+         *
+         * @param eventLoopCount the number of event loop threads (at least 1)
+         *
+         * @return this builder
+         */
+        public Builder eventLoopCount(int eventLoopCount) {
+            this.eventLoopCount = eventLoopCount;
+
+            return this;
+        }
+
         /**
          * Sets the server handler. Required.
          *
@@ -20,12 +20,16 @@ import org.aaa4j.radius.core.dictionary.Dictionary;
 import org.aaa4j.radius.core.packet.Packet;
 import org.aaa4j.radius.server.DeduplicationCache;
 
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
+import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
 import java.util.Objects;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
@@ -35,6 +39,19 @@ import java.util.function.Supplier;
  * <p>
  * Build an instance of {@link UdpRadiusServer} by using a {@link Builder} object retrieved from {@link #newBuilder()}.
  * </p>
+ *
+ * <p>
+ * The server receives and sends datagrams using {@link DatagramChannel}s and a bounded pool of direct buffers; a
+ * buffer is held from the moment a request is received until its response has been sent. When every buffer is in use,
+ * the listener threads stop reading until a buffer is returned (see {@link Builder#bufferPoolSize(int)}).
+ * </p>
+ *
+ * <p>
+ * By default, the server receives packets on a single socket using a single listener thread. When configured with
+ * {@link Builder#socketCount(int)}, the server binds several sockets to the same address using the SO_REUSEPORT socket
+ * option, each with its own listener thread, and the operating system distributes the incoming client flows across
+ * the sockets.
+ * </p>
  */
 public final class UdpRadiusServer extends AbstractRadiusServer {
 
@@ -42,18 +59,45 @@ public final class UdpRadiusServer extends AbstractRadiusServer {
 
     private static final AtomicLong SERVER_ID_COUNTER = new AtomicLong(1);
 
+    private static final SocketOption<Boolean> SO_REUSEPORT = getReusePortOption();
+
+    private static final int DEFAULT_BUFFER_POOL_SIZE = 1024;
+
     private final DeduplicationCache deduplicationCache;
 
     private final Handler handler;
 
-    private DatagramSocket serverSocket;
+    private final int socketCount;
+
+    /**
+     * Indicates that a listener thread has failed and that the failure has already been handled.
+     */
+    private final AtomicBoolean isListenerFailed = new AtomicBoolean(false);
+
+    private final ByteBufferPool bufferPool;
+
+    private DatagramChannel[] serverChannels;
+
+    private Thread[] listenerThreads;
 
     private UdpRadiusServer(Builder builder) {
         super(builder, String.format("%s-%d", THREAD_NAME_PREFIX, SERVER_ID_COUNTER.getAndIncrement()));
 
         this.deduplicationCache = builder.deduplicationCacheSupplier == null
-                ? DEFAULT_DEDUPLICATION_CACHE_SUPPLIER.get() : builder.deduplicationCacheSupplier.get();
+                ? DEFAULT_SHARED_DEDUPLICATION_CACHE_SUPPLIER.get() : builder.deduplicationCacheSupplier.get();
         this.handler = Objects.requireNonNull(builder.handler);
+        this.socketCount = builder.socketCount == null ? 1 : builder.socketCount;
+
+        if (socketCount < 1) {
+            throw new IllegalArgumentException("Socket count must be at least 1");
+        }
+
+        if (socketCount > 1 && SO_REUSEPORT == null) {
+            throw new UnsupportedOperationException("Multiple sockets require SO_REUSEPORT (Java 9 or later)");
+        }
+
+        this.bufferPool = new ByteBufferPool(MAX_PACKET_SIZE,
+                builder.bufferPoolSize == null ? DEFAULT_BUFFER_POOL_SIZE : builder.bufferPoolSize);
     }
 
     /**
@@ -65,6 +109,17 @@ public final class UdpRadiusServer extends AbstractRadiusServer {
         return new Builder();
     }
 
+    @SuppressWarnings("unchecked")
+    private static SocketOption<Boolean> getReusePortOption() {
+        try {
+            // StandardSocketOptions.SO_REUSEPORT was added in Java 9
+            return (SocketOption<Boolean>) StandardSocketOptions.class.getField("SO_REUSEPORT").get(null);
+        }
+        catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
     @Override
     void close() {
         try {
@@ -74,9 +129,7 @@ public final class UdpRadiusServer extends AbstractRadiusServer {
             // Ignored
         }
 
-        if (serverSocket != null) {
-            serverSocket.close();
-        }
+        closeListeners();
 
         if (isInternalExecutor) {
             ((ExecutorService) executor).shutdown();
@@ -87,31 +140,43 @@ public final class UdpRadiusServer extends AbstractRadiusServer {
 
     @Override
     void listen() {
-        try (DatagramSocket serverSocket = new DatagramSocket(bindAddress)) {
-            this.serverSocket = serverSocket;
+        Thread[] listenerThreads = new Thread[socketCount];
+        listenerThreads[0] = Thread.currentThread();
 
-            startCountDownLatch.countDown();
+        try {
+            DatagramChannel[] serverChannels = new DatagramChannel[socketCount];
+            this.serverChannels = serverChannels;
+            this.listenerThreads = listenerThreads;
 
-            while (isRunning) {
-                byte[] buffer = new byte[MAX_PACKET_SIZE];
-                DatagramPacket requestDatagramPacket = new DatagramPacket(buffer, buffer.length);
+            if (socketCount == 1) {
+                serverChannels[0] = openChannel(bindAddress, false);
+            }
+            else {
+                serverChannels[0] = openChannel(bindAddress, true);
+
+                // Bind the remaining sockets to the actual address in case an ephemeral port was requested
+                InetSocketAddress boundAddress = (InetSocketAddress) serverChannels[0].getLocalAddress();
+
+                for (int i = 1; i < socketCount; i++) {
+                    serverChannels[i] = openChannel(boundAddress, true);
+                }
+            }
+
+            startCountDownLatch.countDown();
 
-                // Block and wait
-                serverSocket.receive(requestDatagramPacket);
+            for (int i = 1; i < socketCount; i++) {
+                DatagramChannel serverChannel = serverChannels[i];
 
-                // Handle the request
-                executor.execute(() -> handleRequest(serverSocket, requestDatagramPacket));
+                listenerThreads[i] = new Thread(() -> listen(serverChannel),
+                        String.format("%s-listener-%d", threadNamePrefix, i + 1));
+                listenerThreads[i].setDaemon(false);
+                listenerThreads[i].start();
             }
+
+            listen(serverChannels[0]);
         }
         catch (Throwable e) {
-            if (isRunning) {
-                try {
-                    handler.handleException(e);
-                }
-                catch (Exception ignored) {
-                    // Ignored
-                }
-            }
+            handleListenerException(e);
         }
         finally {
             startCountDownLatch.countDown();
@@ -121,36 +186,161 @@ public final class UdpRadiusServer extends AbstractRadiusServer {
 
                 isRunning = false;
             }
+            else {
+                closeListeners();
+            }
+
+            joinListenerThreads(listenerThreads);
 
             stopCountDownLatch.countDown();
         }
     }
 
-    private void handleRequest(DatagramSocket serverSocket, DatagramPacket requestDatagramPacket) {
+    private void listen(DatagramChannel serverChannel) {
+        try {
+            while (isRunning) {
+                // Block while all the buffers are in use
+                ByteBuffer buffer = bufferPool.acquire();
+
+                try {
+                    // Block and wait
+                    InetSocketAddress clientSocketAddress = (InetSocketAddress) serverChannel.receive(buffer);
+
+                    buffer.flip();
+
+                    // Handle the request
+                    executor.execute(() -> handleRequest(serverChannel, clientSocketAddress, buffer));
+                }
+                catch (Throwable e) {
+                    bufferPool.release(buffer);
+
+                    throw e;
+                }
+            }
+        }
+        catch (Throwable e) {
+            handleListenerException(e);
+        }
+    }
+
+    private void handleListenerException(Throwable e) {
+        if (isRunning && isListenerFailed.compareAndSet(false, true)) {
+            try {
+                handler.handleException(e);
+            }
+            catch (Exception ignored) {
+                // Ignored
+            }
+
+            // Unblock the other listener threads so that the server shuts down as a whole
+            closeListeners();
+        }
+    }
+
+    private void closeListeners() {
+        DatagramChannel[] serverChannels = this.serverChannels;
+
+        if (serverChannels != null) {
+            for (DatagramChannel serverChannel : serverChannels) {
+                if (serverChannel != null) {
+                    try {
+                        serverChannel.close();
+                    }
+                    catch (IOException ignored) {
+                        // Ignored
+                    }
+                }
+            }
+        }
+
+        Thread[] listenerThreads = this.listenerThreads;
+
+        if (listenerThreads != null) {
+            for (Thread listenerThread : listenerThreads) {
+                if (listenerThread != null && listenerThread != Thread.currentThread()) {
+                    // Wake up listener threads that are waiting for a buffer
+                    listenerThread.interrupt();
+                }
+            }
+        }
+    }
+
+    private static void joinListenerThreads(Thread[] listenerThreads) {
+        boolean isInterrupted = Thread.interrupted();
+
+        for (Thread listenerThread : listenerThreads) {
+            if (listenerThread == null || listenerThread == Thread.currentThread()) {
+                continue;
+            }
+
+            while (true) {
+                try {
+                    // The sockets are closed at this point, so the listener threads exit promptly
+                    listenerThread.join();
+
+                    break;
+                }
+                catch (InterruptedException e) {
+                    isInterrupted = true;
+                }
+            }
+        }
+
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static DatagramChannel openChannel(InetSocketAddress address, boolean reusePort) throws IOException {
+        DatagramChannel channel = DatagramChannel.open();
+
         try {
-            InetSocketAddress clientInetSocketAddress = (InetSocketAddress) requestDatagramPacket.getSocketAddress();
+            if (reusePort) {
+                channel.setOption(SO_REUSEPORT, true);
+            }
 
-            byte[] secret = handler.handleClient(clientInetSocketAddress);
+            channel.bind(address);
+
+            return channel;
+        }
+        catch (IOException | RuntimeException e) {
+            channel.close();
+
+            throw e;
+        }
+    }
+
+    private void handleRequest(DatagramChannel serverChannel, InetSocketAddress clientSocketAddress,
+                               ByteBuffer buffer)
+    {
+        try {
+            byte[] secret = handler.handleClient(clientSocketAddress);
 
             if (secret == null) {
                 // The handler doesn't want to handle requests from this client
                 return;
             }
 
-            byte[] requestPacketBytes = new byte[requestDatagramPacket.getLength()];
-            System.arraycopy(requestDatagramPacket.getData(), 0, requestPacketBytes, 0,
-                    requestDatagramPacket.getLength());
-
-            // Perform deduplication and get a response from the handler
-            byte[] responsePacketBytes = processRequest(clientInetSocketAddress, deduplicationCache, secret,
-                    requestPacketBytes, (Packet packet) -> handler.handlePacket(clientInetSocketAddress, packet));
+            // Perform deduplication and get a response from the handler, reading the request from the buffer
+            byte[] responsePacketBytes = processRequest(clientSocketAddress, deduplicationCache, secret,
+                    buffer, (Packet packet) -> handler.handlePacket(clientSocketAddress, packet));
 
             if (responsePacketBytes != null) {
-                DatagramPacket responseDatagramPacket = new DatagramPacket(responsePacketBytes,
-                        responsePacketBytes.length, clientInetSocketAddress);
+                ByteBuffer responseBuffer = buffer;
+
+                if (responsePacketBytes.length <= buffer.capacity()) {
+                    // Reuse the direct request buffer now that the request has been handled (the channel would
+                    // otherwise copy the array into a temporary direct buffer)
+                    buffer.clear();
+                    buffer.put(responsePacketBytes);
+                    buffer.flip();
+                }
+                else {
+                    responseBuffer = ByteBuffer.wrap(responsePacketBytes);
+                }
 
                 // Send the response
-                serverSocket.send(responseDatagramPacket);
+                send(serverChannel, responseBuffer, clientSocketAddress);
             }
         }
         catch (Throwable e) {
@@ -161,6 +351,29 @@ public final class UdpRadiusServer extends AbstractRadiusServer {
                 // Ignored
             }
         }
+        finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    /**
+     * Sends a datagram from a worker thread. The channel is interruptible and shared by all the clients, so the
+     * interrupt status of the thread (e.g., set by a handler or by an executor shutting down) is cleared while sending
+     * and restored afterwards, instead of letting the send close the channel and stop the server.
+     */
+    private static void send(DatagramChannel serverChannel, ByteBuffer buffer, InetSocketAddress clientSocketAddress)
+            throws IOException
+    {
+        boolean isInterrupted = Thread.interrupted();
+
+        try {
+            serverChannel.send(buffer, clientSocketAddress);
+        }
+        finally {
+            if (isInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
     }
 
     /**
@@ -205,6 +418,10 @@ public final class UdpRadiusServer extends AbstractRadiusServer {
 
         Handler handler;
 
+        Integer socketCount;
+
+        Integer bufferPoolSize;
+
         /**
          * {@inheritDoc}
          */
@@ -233,6 +450,13 @@ public final class UdpRadiusServer extends AbstractRadiusServer {
             return super.deduplicationCacheSupplier(deduplicationCacheSupplier);
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        public Builder lazyAttributeDecoding(boolean lazyAttributeDecoding) {
+            return super.lazyAttributeDecoding(lazyAttributeDecoding);
+        }
+
         /**
          * Sets the server handler. Required.
          *
@@ -246,6 +470,39 @@ public final class UdpRadiusServer extends AbstractRadiusServer {
             return this;
         }
 
+        /**
+         * Sets the number of sockets to bind to the bind address. Optional. When set to more than one, every socket is
+         * bound with the SO_REUSEPORT socket option and is read by its own listener thread so that the operating system
+         * can spread the incoming client flows across CPU cores. All sockets share the same deduplication cache. When
+         * not set, a single socket is used. Requires Java 9 or later and operating system support for SO_REUSEPORT
+         * when set to more than one.
+         *
+         * @param socketCount the number of sockets (at least 1)
+         *
+         * @return this builder
+         */
+        public Builder socketCount(int socketCount) {
+            this.socketCount = socketCount;
+
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of packet buffers. Optional. Each request holds a buffer until its response has been
+         * sent, so this bounds the number of requests being received and processed at once. When all buffers are in
+         * use, packets are left in the operating system socket buffers until a buffer becomes available. When not set,
+         * a pool of 1024 buffers is used.
+         *
+         * @param bufferPoolSize the maximum number of buffers (at least 1)
+         *
+         * @return this builder
+         */
+        public Builder bufferPoolSize(int bufferPoolSize) {
+            this.bufferPoolSize = bufferPoolSize;
+
+            return this;
+        }
+
         /**
          * Returns a new {@link UdpRadiusServer} built using the builder's options.
          *
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.server;
+
+import org.aaa4j.radius.server.DeduplicationCache.Result.State;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("ConcurrentDeduplicationCache")
+class ConcurrentDeduplicationCacheTest {
+
+    private static final InetSocketAddress CLIENT_ADDRESS = new InetSocketAddress(InetAddress.getLoopbackAddress(), 1812);
+
+    @Test
+    @DisplayName("Requests handled from a reused buffer are cached with their own bytes")
+    void reusedBuffer() {
+        DeduplicationCache deduplicationCache = new ConcurrentDeduplicationCache(Duration.ofMinutes(1));
+
+        byte[] requestPacketBytes = {1, 2, 3, 4};
+        byte[] responsePacketBytes = {5, 6};
+
+        // The request is in the middle of a larger buffer, like a pooled receive buffer
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.position(2);
+        buffer.put(requestPacketBytes);
+        buffer.flip();
+        buffer.position(2);
+
+        assertEquals(State.NEW_REQUEST, deduplicationCache.handleRequest(CLIENT_ADDRESS, buffer).getState());
+        assertEquals(2, buffer.position());
+        assertEquals(6, buffer.limit());
+
+        deduplicationCache.handleResponse(CLIENT_ADDRESS, buffer, responsePacketBytes);
+
+        // Reusing the buffer for another request doesn't change the cached request
+        buffer.put(2, (byte) 9);
+
+        assertEquals(State.NEW_REQUEST, deduplicationCache.handleRequest(CLIENT_ADDRESS, buffer).getState());
+        assertEquals(State.IN_PROGRESS_REQUEST, deduplicationCache.handleRequest(CLIENT_ADDRESS, buffer).getState());
+
+        DeduplicationCache.Result result = deduplicationCache.handleRequest(CLIENT_ADDRESS,
+                ByteBuffer.wrap(requestPacketBytes));
+
+        assertEquals(State.CACHED_RESPONSE, result.getState());
+        assertArrayEquals(responsePacketBytes, result.getResponsePacket());
+        assertEquals(State.CACHED_RESPONSE, deduplicationCache.handleRequest(CLIENT_ADDRESS,
+                requestPacketBytes).getState());
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 The AAA4J-RADIUS Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.aaa4j.radius.server.servers;
+
+import org.aaa4j.radius.core.attribute.TextData;
+import org.aaa4j.radius.core.attribute.attributes.UserName;
+import org.aaa4j.radius.core.dictionary.dictionaries.StandardDictionary;
+import org.aaa4j.radius.core.packet.Packet;
+import org.aaa4j.radius.core.packet.PacketCodec;
+import org.aaa4j.radius.core.packet.PacketCodecException;
+import org.aaa4j.radius.core.packet.packets.AccessAccept;
+import org.aaa4j.radius.core.packet.packets.AccessRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("UdpRadiusServer")
+class UdpRadiusServerTest {
+
+    private static final byte[] SECRET = "sharedsecret".getBytes(UTF_8);
+
+    @Test
+    @DisplayName("A handler that interrupts its thread doesn't stop the server")
+    void interruptingHandler() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        InetSocketAddress serverAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), getFreePort());
+
+        UdpRadiusServer radiusServer = UdpRadiusServer.newBuilder()
+                .bindAddress(serverAddress)
+                .executor(executor)
+                .handler(new UdpRadiusServer.Handler() {
+                    @Override
+                    public byte[] handleClient(InetSocketAddress clientSocketAddress) {
+                        return SECRET;
+                    }
+
+                    @Override
+                    public Packet handlePacket(InetSocketAddress clientSocketAddress, Packet requestPacket) {
+                        // Like a handler that catches an InterruptedException and restores the interrupt status
+                        Thread.currentThread().interrupt();
+
+                        return new AccessAccept();
+                    }
+                })
+                .build();
+
+        radiusServer.start();
+
+        try (DatagramSocket socket = new DatagramSocket()) {
+            socket.setSoTimeout(5000);
+
+            PacketCodec packetCodec = new PacketCodec(new StandardDictionary());
+
+            assertInstanceOf(AccessAccept.class, send(socket, serverAddress, packetCodec, "jdoe1"));
+            assertInstanceOf(AccessAccept.class, send(socket, serverAddress, packetCodec, "jdoe2"));
+            assertTrue(radiusServer.isRunning());
+        }
+        finally {
+            radiusServer.stop();
+            executor.shutdown();
+        }
+    }
+
+    private static Packet send(DatagramSocket socket, InetSocketAddress serverAddress, PacketCodec packetCodec,
+                               String userName)
+            throws IOException, PacketCodecException
+    {
+        byte[] requestAuthenticator = new byte[16];
+        Arrays.fill(requestAuthenticator, (byte) userName.hashCode());
+
+        byte[] requestBytes = packetCodec.encodeRequest(new AccessRequest(Collections.singletonList(
+                new UserName(new TextData(userName)))), SECRET, requestAuthenticator);
+
+        socket.send(new DatagramPacket(requestBytes, requestBytes.length, serverAddress));
+
+        DatagramPacket responseDatagram = new DatagramPacket(new byte[4096], 4096);
+        socket.receive(responseDatagram);
+
+        return packetCodec.decodeResponse(Arrays.copyOf(responseDatagram.getData(), responseDatagram.getLength()),
+                SECRET, requestAuthenticator);
+    }
+
+    private static int getFreePort() throws IOException {
+        try (DatagramSocket socket = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+}